@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astgen.base.EmptyTree;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.interpreter.CompositeConverter;
+import org.cqfn.astgen.interpreter.Converter;
+import org.cqfn.astgen.interpreter.Factory;
+import org.cqfn.astgen.rules.Descriptor;
+import org.cqfn.astgen.rules.Statement;
+import org.cqfn.astgen.rules.Transformation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures converters on nodes that do not match, which is the common case.
+ * Run it with the allocation profiler to see the memory allocated per call:
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.options="-prof gc"
+ *  -Dbenchmark="ConverterBenchmark"
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConverterBenchmark {
+    /**
+     * The number of nodes to be converted per invocation.
+     */
+    private static final int NODES = 1000;
+
+    /**
+     * The maximum depth of patterns and random nodes.
+     */
+    private static final int DEPTH = 3;
+
+    /**
+     * The number of rules.
+     */
+    @Param("100")
+    private int rules;
+
+    /**
+     * Separate converters, one for each rule.
+     */
+    private Converter[] converters;
+
+    /**
+     * The converter that checks all rules at once.
+     */
+    private CompositeConverter composite;
+
+    /**
+     * Random nodes to be converted, none of them matches any pattern.
+     */
+    private Node[] nodes;
+
+    /**
+     * Generates rules and nodes. Each rule replaces a subtree with a copy of itself.
+     */
+    @Setup
+    public void setup() {
+        final RandomRules random = new RandomRules(this.rules);
+        final List<Statement<Transformation>> statements = new ArrayList<>(this.rules);
+        this.converters = new Converter[this.rules];
+        for (int index = 0; index < this.rules; index = index + 1) {
+            final Descriptor pattern = random.pattern(ConverterBenchmark.DEPTH);
+            final Transformation rule = new Transformation(pattern, pattern);
+            statements.add(new Statement<>(rule, ""));
+            this.converters[index] = new Converter(rule);
+        }
+        this.composite = new CompositeConverter(statements);
+        this.nodes = new Node[ConverterBenchmark.NODES];
+        int index = 0;
+        while (index < ConverterBenchmark.NODES) {
+            final Node node = random.node(ConverterBenchmark.DEPTH);
+            if (this.composite.convert(node, Factory.INSTANCE) instanceof EmptyTree) {
+                this.nodes[index] = node;
+                index = index + 1;
+            }
+        }
+    }
+
+    /**
+     * Tries each converter on each node.
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void perRuleConverter(final Blackhole blackhole) {
+        for (final Node node : this.nodes) {
+            for (final Converter converter : this.converters) {
+                blackhole.consume(converter.convert(node, Factory.INSTANCE));
+            }
+        }
+    }
+
+    /**
+     * Converts each node with the converter that checks all rules at once.
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void compositeConverter(final Blackhole blackhole) {
+        for (final Node node : this.nodes) {
+            blackhole.consume(this.composite.convert(node, Factory.INSTANCE));
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astgen.analyzer.Analyzer;
+import org.cqfn.astgen.analyzer.PreparedEnvironment;
+import org.cqfn.astgen.codegen.java.Environment;
+import org.cqfn.astgen.codegen.java.License;
+import org.cqfn.astgen.codegen.java.ProgramGenerator;
+import org.cqfn.astgen.codegen.java.TaggedChild;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.cqfn.astgen.rules.Program;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the stages of source code generation: parsing of the DSL, analysis of
+ * the type hierarchy and generation of the code in test mode, that is, without
+ * writing files. The DSL is made of copies of the analyzer test rules, see
+ * {@link SeedProgram}.
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GeneratorBenchmark {
+    /**
+     * The number of copies of the seed rules, each copy has 7 rules.
+     */
+    @Param({"10", "100"})
+    private int rules;
+
+    /**
+     * The number of abstract types above the top type of each copy.
+     */
+    @Param({"0", "8"})
+    private int depth;
+
+    /**
+     * The DSL code.
+     */
+    private String source;
+
+    /**
+     * The parsed program.
+     */
+    private Program program;
+
+    /**
+     * The prepared environments, one for each programming language.
+     */
+    private Map<String, Environment> envs;
+
+    /**
+     * Generates the DSL code and prepares everything the measured stage needs.
+     * @throws IOException If the seed rules could not be read
+     * @throws BaseException If the rules could not be parsed or analyzed
+     */
+    @Setup
+    public void setup() throws IOException, BaseException {
+        this.source = new SeedProgram(this.rules, this.depth).getSource();
+        this.program = new ProgramParser(this.source).parse();
+        final Environment base = new BaseEnvironment();
+        this.envs = new TreeMap<>();
+        this.envs.put("", new PreparedEnvironment(base, this.program.getVertices(), ""));
+        for (final String language : this.program.getNamesOfAllLanguages()) {
+            this.envs.put(
+                language,
+                new PreparedEnvironment(base, this.program.getVertices(), language)
+            );
+        }
+    }
+
+    /**
+     * Parses the DSL code.
+     * @return The program
+     * @throws BaseException If the rules could not be parsed
+     */
+    @Benchmark
+    public Program parse() throws BaseException {
+        return new ProgramParser(this.source).parse();
+    }
+
+    /**
+     * Analyzes the type hierarchy.
+     * @return The analyzer
+     * @throws BaseException If the rules could not be analyzed
+     */
+    @Benchmark
+    public Analyzer analyze() throws BaseException {
+        return new Analyzer(this.program.getVertices(), "").analyze();
+    }
+
+    /**
+     * Generates the source code in test mode.
+     * @throws BaseException If the code could not be generated
+     */
+    @Benchmark
+    public void generate() throws BaseException {
+        new ProgramGenerator(
+            System.getProperty("java.io.tmpdir"), this.program, this.envs
+        ).generate();
+    }
+
+    /**
+     * The environment with the test mode switched on.
+     *
+     * @since 1.0
+     */
+    private static final class BaseEnvironment implements Environment {
+        /**
+         * The license.
+         */
+        private final License license;
+
+        /**
+         * Constructor.
+         */
+        BaseEnvironment() {
+            this.license = new License("LICENSE.txt");
+        }
+
+        @Override
+        public License getLicense() {
+            return this.license;
+        }
+
+        @Override
+        public String getVersion() {
+            return "1.0";
+        }
+
+        @Override
+        public String getRootPackage() {
+            return "org.cqfn.astgen.example";
+        }
+
+        @Override
+        public String getBasePackage() {
+            return "org.cqfn.astgen.base";
+        }
+
+        @Override
+        public boolean isTestMode() {
+            return true;
+        }
+
+        @Override
+        public String getLanguage() {
+            return "";
+        }
+
+        @Override
+        public List<String> getHierarchy(final String name) {
+            return Collections.singletonList(name);
+        }
+
+        @Override
+        public List<TaggedChild> getTags(final String type) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Set<String> getImports(final String type) {
+            return Collections.emptySet();
+        }
+    }
+}
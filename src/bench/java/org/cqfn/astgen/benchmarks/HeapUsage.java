@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+/**
+ * Tracks the peak usage of the heap.
+ *
+ * @since 1.0
+ */
+final class HeapUsage {
+    /**
+     * The number of bytes in a megabyte.
+     */
+    private static final long MEGABYTE = 1024L * 1024L;
+
+    /**
+     * The memory pools.
+     */
+    private final List<MemoryPoolMXBean> pools;
+
+    /**
+     * Constructor.
+     */
+    HeapUsage() {
+        this.pools = ManagementFactory.getMemoryPoolMXBeans();
+    }
+
+    /**
+     * Collects garbage and resets the peak usage.
+     */
+    @SuppressWarnings("PMD.DoNotCallGarbageCollectionExplicitly")
+    void reset() {
+        System.gc();
+        for (final MemoryPoolMXBean pool : this.pools) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Prints the peak usage since the last reset.
+     * @param label The label printed before the value
+     */
+    @SuppressWarnings("PMD.SystemPrintln")
+    void report(final String label) {
+        long peak = 0;
+        for (final MemoryPoolMXBean pool : this.pools) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak = peak + pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.printf("%n%s: peak heap %d MB%n", label, peak / HeapUsage.MEGABYTE);
+    }
+
+    /**
+     * Collects garbage and prints the heap usage, that is, the size of live objects.
+     * @param label The label printed before the value
+     */
+    @SuppressWarnings({"PMD.DoNotCallGarbageCollectionExplicitly", "PMD.SystemPrintln"})
+    void reportRetained(final String label) {
+        System.gc();
+        long used = 0;
+        for (final MemoryPoolMXBean pool : this.pools) {
+            if (pool.getType() == MemoryType.HEAP) {
+                used = used + pool.getUsage().getUsed();
+            }
+        }
+        System.out.printf("%n%s: retained heap %d MB%n", label, used / HeapUsage.MEGABYTE);
+    }
+}
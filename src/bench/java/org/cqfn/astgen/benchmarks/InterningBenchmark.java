@@ -0,0 +1,264 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astgen.base.Builder;
+import org.cqfn.astgen.base.Factory;
+import org.cqfn.astgen.base.Interner;
+import org.cqfn.astgen.base.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares building a large repetitive tree with and without sharing identical
+ * subtrees. Leaves are identifiers and literals from a small vocabulary, and most
+ * expressions are small, so, as in real code, many subtrees repeat.
+ * Prints the heap retained by the tree and the hit rate of the interner after
+ * each iteration. Run it with '-wi 1 -i 3', for example:
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.options="-wi 1 -i 3"
+ *  -Dbenchmark="InterningBenchmark"
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InterningBenchmark {
+    /**
+     * The seed of the random generator, the same for all iterations.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * The number of different identifiers.
+     */
+    private static final int NAMES = 64;
+
+    /**
+     * The number of different literals.
+     */
+    private static final int LITERALS = 16;
+
+    /**
+     * The maximum number of statements in a block.
+     */
+    private static final int STATEMENTS = 8;
+
+    /**
+     * The maximum depth of an expression.
+     */
+    private static final int DEPTH = 3;
+
+    /**
+     * The number of percents in one.
+     */
+    private static final double PERCENTS = 100;
+
+    /**
+     * The 'Identifier' type name.
+     */
+    private static final String IDENTIFIER = "Identifier";
+
+    /**
+     * The number of blocks in the tree.
+     */
+    @Param("200000")
+    private int blocks;
+
+    /**
+     * The mode: 'plain' creates every node, 'interned' shares identical subtrees.
+     */
+    @Param({"plain", "interned"})
+    private String mode;
+
+    /**
+     * The interner.
+     */
+    private Interner interner;
+
+    /**
+     * The factory.
+     */
+    private Factory factory;
+
+    /**
+     * The tree built in the last invocation, kept to measure the retained heap.
+     */
+    private Node tree;
+
+    /**
+     * The heap usage.
+     */
+    private HeapUsage heap;
+
+    /**
+     * Creates the heap usage tracker.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        this.heap = new HeapUsage();
+    }
+
+    /**
+     * Creates a new interner and a factory that uses it.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+        this.tree = new Factory(Collections.emptyList()).createBuilder("Empty").createNode();
+        final Factory plain = new Factory(Collections.emptyList());
+        if ("interned".equals(this.mode)) {
+            this.interner = new Interner();
+            this.factory = plain.intern(this.interner);
+        } else {
+            this.interner = Interner.DISABLED;
+            this.factory = plain;
+        }
+        this.heap.reset();
+    }
+
+    /**
+     * Prints the retained heap and the hit rate.
+     */
+    @TearDown(Level.Iteration)
+    @SuppressWarnings("PMD.SystemPrintln")
+    public void report() {
+        this.heap.reportRetained(this.mode);
+        if (this.interner.isEnabled()) {
+            System.out.printf(
+                "hits %d of %d (%.1f%%), %d shared nodes%n",
+                this.interner.getHits(),
+                this.interner.getLookups(),
+                this.interner.getHitRate() * InterningBenchmark.PERCENTS,
+                this.interner.size()
+            );
+        }
+    }
+
+    /**
+     * Builds the tree.
+     * @return The root node
+     */
+    @Benchmark
+    public Node build() {
+        final Random random = new Random(InterningBenchmark.SEED);
+        final List<Node> children = new ArrayList<>(this.blocks);
+        for (int index = 0; index < this.blocks; index = index + 1) {
+            children.add(this.createBlock(random));
+        }
+        this.tree = this.create("Program", children);
+        return this.tree;
+    }
+
+    /**
+     * Creates a block of statements.
+     * @param random The random generator
+     * @return The node
+     */
+    private Node createBlock(final Random random) {
+        final int count = 1 + random.nextInt(InterningBenchmark.STATEMENTS);
+        final List<Node> children = new ArrayList<>(count);
+        for (int index = 0; index < count; index = index + 1) {
+            final Node target = this.createLeaf(InterningBenchmark.IDENTIFIER, random);
+            final Node value = this.createExpression(random, InterningBenchmark.DEPTH);
+            children.add(this.create("Assignment", target, value));
+        }
+        return this.create("Block", children);
+    }
+
+    /**
+     * Creates an expression.
+     * @param random The random generator
+     * @param depth The maximum depth of the expression
+     * @return The node
+     */
+    private Node createExpression(final Random random, final int depth) {
+        final Node result;
+        final int kind = random.nextInt(InterningBenchmark.DEPTH);
+        if (depth == 1 || kind == 0) {
+            result = this.createLeaf(InterningBenchmark.IDENTIFIER, random);
+        } else if (kind == 1) {
+            result = this.createLeaf("IntegerLiteral", random);
+        } else {
+            final Node left = this.createExpression(random, depth - 1);
+            final Node right = this.createExpression(random, depth - 1);
+            result = this.create("Addition", left, right);
+        }
+        return result;
+    }
+
+    /**
+     * Creates a leaf.
+     * @param type The type name
+     * @param random The random generator
+     * @return The node
+     */
+    private Node createLeaf(final String type, final Random random) {
+        final Builder builder = this.factory.createBuilder(type);
+        if (InterningBenchmark.IDENTIFIER.equals(type)) {
+            builder.setData(String.format("v%d", random.nextInt(InterningBenchmark.NAMES)));
+        } else {
+            builder.setData(String.valueOf(random.nextInt(InterningBenchmark.LITERALS)));
+        }
+        return builder.createNode();
+    }
+
+    /**
+     * Creates a node with children.
+     * @param type The type name
+     * @param children The children
+     * @return The node
+     */
+    private Node create(final String type, final Node... children) {
+        final List<Node> list = new ArrayList<>(children.length);
+        Collections.addAll(list, children);
+        return this.create(type, list);
+    }
+
+    /**
+     * Creates a node with children.
+     * @param type The type name
+     * @param children The children
+     * @return The node
+     */
+    private Node create(final String type, final List<Node> children) {
+        final Builder builder = this.factory.createBuilder(type);
+        builder.setChildrenList(children);
+        return builder.createNode();
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astgen.base.DraftNode;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.interpreter.Adapter;
+import org.cqfn.astgen.interpreter.JsonDeserializer;
+import org.cqfn.astgen.interpreter.JsonSerializer;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.cqfn.astgen.utils.FilesReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the interpreter on trees and rules grown from the interpreter test
+ * fixtures. The tree is a list of copies of the test tree, each one nested into
+ * blocks, the rules are the test rules followed by variants that never match.
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InterpreterBenchmark {
+    /**
+     * The directory with the fixtures.
+     */
+    private static final String FIXTURES = "src/test/resources/interpreter/";
+
+    /**
+     * The number of copies of the test tree, each copy has 13 nodes.
+     */
+    @Param({"100", "10000"})
+    private int size;
+
+    /**
+     * The number of rules.
+     */
+    @Param({"2", "50"})
+    private int rules;
+
+    /**
+     * The number of blocks each copy of the test tree is nested into.
+     */
+    @Param({"0", "16"})
+    private int depth;
+
+    /**
+     * The tree.
+     */
+    private Node tree;
+
+    /**
+     * The tree in the JSON format.
+     */
+    private String json;
+
+    /**
+     * The adapter.
+     */
+    private Adapter adapter;
+
+    /**
+     * Generates the tree and the rules.
+     * @throws IOException If the fixtures could not be read
+     * @throws BaseException If the rules could not be parsed
+     */
+    @Setup
+    public void setup() throws IOException, BaseException {
+        final Node seed = new JsonDeserializer(
+            InterpreterBenchmark.read("test_0_source_tree.json")
+        ).convert();
+        final List<Node> copies = new ArrayList<>(this.size);
+        for (int index = 0; index < this.size; index = index + 1) {
+            Node copy = seed;
+            for (int level = 0; level < this.depth; level = level + 1) {
+                copy = InterpreterBenchmark.create("Block", Collections.singletonList(copy));
+            }
+            copies.add(copy);
+        }
+        this.tree = InterpreterBenchmark.create("Program", copies);
+        this.json = new JsonSerializer(this.tree).serialize();
+        this.adapter = new Adapter(
+            new ProgramParser(this.createRules()).parse().getTransformations()
+        );
+    }
+
+    /**
+     * Converts the tree.
+     * @return The converted tree
+     */
+    @Benchmark
+    public Node convert() {
+        return this.adapter.convert(this.tree);
+    }
+
+    /**
+     * Reads the tree from JSON.
+     * @return The tree
+     */
+    @Benchmark
+    public Node deserialize() {
+        return new JsonDeserializer(this.json).convert();
+    }
+
+    /**
+     * Writes the tree to JSON.
+     * @return The JSON
+     */
+    @Benchmark
+    public String serialize() {
+        return new JsonSerializer(this.tree).serialize();
+    }
+
+    /**
+     * Creates the rules, the test rules go first, the following rules are the test
+     * rules with the data of nodes changed, so that they do not match.
+     * @return The DSL code
+     * @throws IOException If the test rules could not be read
+     */
+    private String createRules() throws IOException {
+        final List<String> seed = new ArrayList<>(2);
+        for (final String rule : InterpreterBenchmark.read("test_0_rules.dsl").split(";")) {
+            final String text = rule.trim();
+            if (!text.isEmpty()) {
+                seed.add(text);
+            }
+        }
+        final StringBuilder builder = new StringBuilder();
+        for (int index = 0; index < this.rules; index = index + 1) {
+            final String rule = seed.get(index % seed.size());
+            final int variant = index / seed.size();
+            if (variant == 0) {
+                builder.append(rule);
+            } else {
+                final String data = String.format("\"$1_%d\"", variant);
+                builder.append(rule.replaceAll("\"([^\"]*)\"", data));
+            }
+            builder.append(";\n");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Reads a fixture.
+     * @param name The file name
+     * @return The file content
+     * @throws IOException If the file could not be read
+     */
+    private static String read(final String name) throws IOException {
+        return new FilesReader(InterpreterBenchmark.FIXTURES.concat(name)).readAsString();
+    }
+
+    /**
+     * Creates a node.
+     * @param type The type name
+     * @param children The children
+     * @return The node
+     */
+    private static Node create(final String type, final List<Node> children) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName(type);
+        ctor.setChildrenList(children);
+        return ctor.createNode();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.interpreter.JsonDeserializer;
+import org.cqfn.astgen.utils.FilesReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares reading a large tree file as a string with reading it as a stream.
+ * Prints the peak heap usage after each iteration. The file is generated once
+ * in the temporary directory. Run it with '-wi 0 -i 1', for example:
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.options="-wi 0 -i 1"
+ *  -Dbenchmark="JsonReadingBenchmark"
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JsonReadingBenchmark {
+    /**
+     * The size of the file in megabytes.
+     */
+    @Param("500")
+    private int megabytes;
+
+    /**
+     * The mode: 'string' reads the whole file into a string, 'stream' reads
+     * the file as a stream.
+     */
+    @Param({"string", "stream"})
+    private String mode;
+
+    /**
+     * The file.
+     */
+    private Path file;
+
+    /**
+     * The heap usage.
+     */
+    private HeapUsage heap;
+
+    /**
+     * Generates the file, if it does not exist.
+     * @throws IOException If the file could not be written
+     */
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        this.file = new TreeFile(this.megabytes).getPath();
+        this.heap = new HeapUsage();
+    }
+
+    /**
+     * Resets the peak heap usage.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+        this.heap.reset();
+    }
+
+    /**
+     * Prints the peak heap usage.
+     */
+    @TearDown(Level.Iteration)
+    public void report() {
+        this.heap.report(this.mode);
+    }
+
+    /**
+     * Reads the tree.
+     * @return The root node
+     * @throws IOException If the file could not be read
+     */
+    @Benchmark
+    public Node read() throws IOException {
+        final Node result;
+        if ("string".equals(this.mode)) {
+            result = new JsonDeserializer(
+                new FilesReader(this.file.toString()).readAsString()
+            ).convert();
+        } else {
+            try (InputStream stream = Files.newInputStream(this.file)) {
+                result = new JsonDeserializer(stream).convert();
+            }
+        }
+        return result;
+    }
+}
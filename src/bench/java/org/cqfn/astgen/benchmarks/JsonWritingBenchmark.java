@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.interpreter.JsonDeserializer;
+import org.cqfn.astgen.interpreter.JsonSerializer;
+import org.cqfn.astgen.utils.FilesWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares writing a large tree to a file through a string with writing it
+ * as a stream, in the pretty printed and in the compact form.
+ * Prints the peak heap usage after each iteration. Run it with '-wi 1 -i 3',
+ * for example:
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.options="-wi 1 -i 3"
+ *  -Dbenchmark="JsonWritingBenchmark"
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JsonWritingBenchmark {
+    /**
+     * The size of the source file in megabytes.
+     */
+    @Param("100")
+    private int megabytes;
+
+    /**
+     * The mode: 'string' builds the whole JSON as a string, 'pretty' and 'compact'
+     * write the JSON as a stream.
+     */
+    @Param({"string", "pretty", "compact"})
+    private String mode;
+
+    /**
+     * The tree.
+     */
+    private Node tree;
+
+    /**
+     * The file.
+     */
+    private Path file;
+
+    /**
+     * The heap usage.
+     */
+    private HeapUsage heap;
+
+    /**
+     * Reads the tree.
+     * @throws IOException If the tree could not be read or the file could not be created
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        try (InputStream stream = Files.newInputStream(new TreeFile(this.megabytes).getPath())) {
+            this.tree = new JsonDeserializer(stream).convert();
+        }
+        this.file = Files.createTempFile("astgen-result", ".json");
+        this.heap = new HeapUsage();
+    }
+
+    /**
+     * Resets the peak heap usage.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+        this.heap.reset();
+    }
+
+    /**
+     * Prints the peak heap usage.
+     */
+    @TearDown(Level.Iteration)
+    public void report() {
+        this.heap.report(this.mode);
+    }
+
+    /**
+     * Deletes the file.
+     * @throws IOException If the file could not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        Files.delete(this.file);
+    }
+
+    /**
+     * Writes the tree.
+     * @return The result, {@code true} if the file was successful written
+     */
+    @Benchmark
+    public boolean write() {
+        final JsonSerializer serializer = new JsonSerializer(this.tree);
+        final String filename = this.file.toString();
+        final boolean result;
+        if ("string".equals(this.mode)) {
+            result = new FilesWriter(filename).writeStringNoExcept(serializer.serialize());
+        } else {
+            result = serializer.serializeToFile(filename, "pretty".equals(this.mode));
+        }
+        return result;
+    }
+}
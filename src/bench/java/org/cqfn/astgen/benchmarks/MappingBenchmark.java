@@ -0,0 +1,237 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astgen.analyzer.Analyzer;
+import org.cqfn.astgen.base.Builder;
+import org.cqfn.astgen.base.ChildDescriptor;
+import org.cqfn.astgen.base.ChildrenMapper;
+import org.cqfn.astgen.base.DraftNode;
+import org.cqfn.astgen.base.EmptyFragment;
+import org.cqfn.astgen.base.Fragment;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.base.Type;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the mapping of children to the positions of a node.
+ * Each position accepts the topmost abstract type of a copy of the analyzer test
+ * rules, see {@link SeedProgram}, and each child is a node of the final type
+ * 'Addition' of one of the copies, with the hierarchy computed by the analyzer.
+ * The children come either in the order of the positions or in the reverse order,
+ * so that each of them is matched against the groups of all positions.
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappingBenchmark {
+    /**
+     * The number of children, that is, the number of copies of the seed rules.
+     */
+    @Param({"4", "32"})
+    private int size;
+
+    /**
+     * The number of abstract types above the top type of each copy.
+     */
+    @Param({"0", "8"})
+    private int depth;
+
+    /**
+     * Flag indicating that the children come in the reverse order.
+     */
+    @Param({"false", "true"})
+    private boolean reversed;
+
+    /**
+     * The mapper, shared like the one of a generated node.
+     */
+    private ChildrenMapper mapper;
+
+    /**
+     * The children.
+     */
+    private List<Node> children;
+
+    /**
+     * Generates the descriptors and the children.
+     * @throws IOException If the seed rules could not be read
+     * @throws BaseException If the rules could not be parsed or analyzed
+     */
+    @Setup
+    public void setup() throws IOException, BaseException {
+        final SeedProgram seed = new SeedProgram(this.size, this.depth);
+        final Analyzer analyzer = seed.analyze();
+        final List<ChildDescriptor> descriptors = new ArrayList<>(this.size);
+        this.children = new ArrayList<>(this.size);
+        for (int copy = 0; copy < this.size; copy = copy + 1) {
+            descriptors.add(new ChildDescriptor(seed.getGroup(copy)));
+            final String name = SeedProgram.getType("Addition", copy);
+            this.children.add(new Leaf(new SeedType(name, analyzer.getHierarchy(name))));
+        }
+        if (this.reversed) {
+            Collections.reverse(this.children);
+        }
+        this.mapper = new ChildrenMapper(descriptors);
+    }
+
+    /**
+     * Maps the children.
+     * @return The children placed at the positions
+     */
+    @Benchmark
+    public Node[] map() {
+        final Node[] result = new Node[this.size];
+        if (!this.mapper.map(result, this.children)) {
+            throw new IllegalStateException("Could not map the children");
+        }
+        return result;
+    }
+
+    /**
+     * The type of the node, with the hierarchy computed by the analyzer.
+     * Like the type of a generated node, it checks group membership with a set.
+     *
+     * @since 1.0
+     */
+    private static final class SeedType implements Type {
+        /**
+         * The type name.
+         */
+        private final String name;
+
+        /**
+         * The hierarchy.
+         */
+        private final List<String> hierarchy;
+
+        /**
+         * The set of groups the type belongs to.
+         */
+        private final Set<String> groups;
+
+        /**
+         * Constructor.
+         * @param name The type name
+         * @param hierarchy The hierarchy
+         */
+        SeedType(final String name, final List<String> hierarchy) {
+            this.name = name;
+            this.hierarchy = hierarchy;
+            this.groups = new HashSet<>(hierarchy);
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public List<ChildDescriptor> getChildTypes() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<String> getHierarchy() {
+            return this.hierarchy;
+        }
+
+        @Override
+        public boolean belongsToGroup(final String type) {
+            return this.groups.contains(type);
+        }
+
+        @Override
+        public String getProperty(final String property) {
+            return "";
+        }
+
+        @Override
+        public Builder createBuilder() {
+            return new DraftNode.Constructor();
+        }
+    }
+
+    /**
+     * The node without children.
+     *
+     * @since 1.0
+     */
+    private static final class Leaf implements Node {
+        /**
+         * The type.
+         */
+        private final Type type;
+
+        /**
+         * Constructor.
+         * @param type The type
+         */
+        Leaf(final Type type) {
+            this.type = type;
+        }
+
+        @Override
+        public Fragment getFragment() {
+            return EmptyFragment.INSTANCE;
+        }
+
+        @Override
+        public Type getType() {
+            return this.type;
+        }
+
+        @Override
+        public String getData() {
+            return "";
+        }
+
+        @Override
+        public int getChildCount() {
+            return 0;
+        }
+
+        @Override
+        public Node getChild(final int index) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astgen.base.Captures;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.interpreter.DiscriminationTree;
+import org.cqfn.astgen.interpreter.Matcher;
+import org.cqfn.astgen.rules.Descriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the per-rule {@link Matcher} with the {@link DiscriminationTree}
+ * on generated rule sets.
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MatchingBenchmark {
+    /**
+     * The number of nodes to be matched per invocation.
+     */
+    private static final int NODES = 1000;
+
+    /**
+     * The maximum depth of patterns and random nodes.
+     */
+    private static final int DEPTH = 3;
+
+    /**
+     * The number of rules.
+     */
+    @Param({"100", "1000", "10000"})
+    private int rules;
+
+    /**
+     * Separate matchers, one for each rule.
+     */
+    private Matcher[] matchers;
+
+    /**
+     * The discrimination tree built from the same rules.
+     */
+    private DiscriminationTree tree;
+
+    /**
+     * Nodes to be matched.
+     */
+    private Node[] nodes;
+
+    /**
+     * Generates rules and nodes, half of the nodes are instances of patterns.
+     */
+    @Setup
+    public void setup() {
+        final RandomRules random = new RandomRules(this.rules);
+        final List<Descriptor> patterns = new ArrayList<>(this.rules);
+        this.matchers = new Matcher[this.rules];
+        for (int index = 0; index < this.rules; index = index + 1) {
+            final Descriptor pattern = random.pattern(MatchingBenchmark.DEPTH);
+            patterns.add(pattern);
+            this.matchers[index] = new Matcher(pattern);
+        }
+        this.tree = new DiscriminationTree(patterns);
+        this.nodes = new Node[MatchingBenchmark.NODES];
+        for (int index = 0; index < MatchingBenchmark.NODES; index = index + 1) {
+            if (index % 2 == 0) {
+                this.nodes[index] = random.instance(patterns.get(random.nextInt(this.rules)));
+            } else {
+                this.nodes[index] = random.node(MatchingBenchmark.DEPTH);
+            }
+        }
+    }
+
+    /**
+     * Matches nodes by trying rules one by one.
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void perRuleMatcher(final Blackhole blackhole) {
+        final Captures captures = new Captures(0);
+        for (final Node node : this.nodes) {
+            int found = -1;
+            for (int rule = 0; rule < this.matchers.length; rule = rule + 1) {
+                final boolean matched = this.matchers[rule].match(node, captures);
+                captures.reset();
+                if (matched) {
+                    found = rule;
+                    break;
+                }
+            }
+            blackhole.consume(found);
+        }
+    }
+
+    /**
+     * Matches nodes with the discrimination tree.
+     * @param blackhole The blackhole
+     */
+    @Benchmark
+    public void discriminationTree(final Blackhole blackhole) {
+        final Captures captures = new Captures(0);
+        for (final Node node : this.nodes) {
+            blackhole.consume(this.tree.match(node, captures));
+            captures.reset();
+        }
+    }
+}
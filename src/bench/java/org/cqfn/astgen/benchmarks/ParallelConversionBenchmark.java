@@ -0,0 +1,179 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astgen.base.DraftNode;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.base.ParallelAdapter;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.interpreter.Adapter;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures how the conversion of one large tree scales with the number of cores
+ * when disjoint subtrees are converted as fork-join tasks.
+ * The 'sequential' benchmark is the baseline, it does not depend on the number of cores.
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParallelConversionBenchmark {
+    /**
+     * The number of children of each non-leaf node.
+     */
+    private static final int FANOUT = 4;
+
+    /**
+     * The depth of the tree, a tree of depth 10 has 349525 nodes.
+     */
+    private static final int DEPTH = 10;
+
+    /**
+     * The rules applied by the adapter.
+     */
+    private static final String RULES = String.join(
+        "\n",
+        "Literal<#1> -> IntegerLiteral<#1>;",
+        "Addition(#1, #2, #3, #4) -> Sum(#1, #2, #3, #4);",
+        "Statement(#1, #2, #3, #4) -> Block(#4, #3, #2, #1);"
+    );
+
+    /**
+     * The number of threads of the pool.
+     */
+    @Param({"1", "2", "4", "8", "16"})
+    private int cores;
+
+    /**
+     * The maximum number of nodes in a subtree converted by one task.
+     */
+    @Param("4096")
+    private int threshold;
+
+    /**
+     * The tree.
+     */
+    private Node tree;
+
+    /**
+     * The sequential adapter.
+     */
+    private Adapter adapter;
+
+    /**
+     * The pool.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * The parallel adapter.
+     */
+    private ParallelAdapter forkjoin;
+
+    /**
+     * Generates the tree, creates adapters.
+     * @throws BaseException If the rules could not be parsed
+     */
+    @Setup
+    public void setup() throws BaseException {
+        this.tree = ParallelConversionBenchmark.create(ParallelConversionBenchmark.DEPTH, 0);
+        this.adapter = new Adapter(
+            new ProgramParser(ParallelConversionBenchmark.RULES).parse().getTransformations()
+        );
+        this.pool = new ForkJoinPool(this.cores);
+        this.forkjoin = new ParallelAdapter(this.adapter, this.pool, this.threshold);
+    }
+
+    /**
+     * Stops the pool.
+     */
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Converts the tree by the sequential adapter.
+     * @return The converted tree
+     */
+    @Benchmark
+    public Node sequential() {
+        return this.adapter.convert(this.tree);
+    }
+
+    /**
+     * Converts the tree by the parallel adapter.
+     * @return The converted tree
+     */
+    @Benchmark
+    public Node parallel() {
+        return this.forkjoin.convert(this.tree);
+    }
+
+    /**
+     * Creates a full tree.
+     * @param height The height of the tree
+     * @param number The number of the node among its siblings
+     * @return The root node
+     */
+    private static Node create(final int height, final int number) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        if (height == 1) {
+            ctor.setName("Literal");
+            ctor.setData(String.valueOf(number));
+        } else {
+            final List<Node> children =
+                new ArrayList<>(ParallelConversionBenchmark.FANOUT);
+            for (int index = 0; index < ParallelConversionBenchmark.FANOUT;
+                index = index + 1) {
+                children.add(ParallelConversionBenchmark.create(height - 1, index));
+            }
+            if (number % 2 == 0) {
+                ctor.setName("Statement");
+            } else {
+                ctor.setName("Addition");
+            }
+            ctor.setChildrenList(children);
+        }
+        return ctor.createNode();
+    }
+}
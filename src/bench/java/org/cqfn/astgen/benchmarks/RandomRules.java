@@ -0,0 +1,217 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.cqfn.astgen.base.DraftNode;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.rules.Data;
+import org.cqfn.astgen.rules.Descriptor;
+import org.cqfn.astgen.rules.DescriptorFactory;
+import org.cqfn.astgen.rules.Hole;
+import org.cqfn.astgen.rules.HoleAttribute;
+import org.cqfn.astgen.rules.Parameter;
+import org.cqfn.astgen.rules.StringData;
+
+/**
+ * Generator of random patterns (left parts of rules) and nodes for benchmarks.
+ * Most patterns and nodes share the root type, so that rules compete with each other.
+ *
+ * @since 1.0
+ */
+public final class RandomRules {
+    /**
+     * The number of type names.
+     */
+    private static final int TYPES = 20;
+
+    /**
+     * The number of distinct data values.
+     */
+    private static final int VALUES = 50;
+
+    /**
+     * The number of kinds of pattern data (none, exact, hole).
+     */
+    private static final int KINDS = 3;
+
+    /**
+     * The maximum number of children of a generated node.
+     */
+    private static final int FANOUT = 4;
+
+    /**
+     * The random generator.
+     */
+    private final Random random;
+
+    /**
+     * Constructor.
+     * @param seed The seed of the random generator
+     */
+    public RandomRules(final long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Returns a random integer.
+     * @param bound The upper bound (exclusive)
+     * @return The integer
+     */
+    public int nextInt(final int bound) {
+        return this.random.nextInt(bound);
+    }
+
+    /**
+     * Creates a random pattern.
+     * @param depth The maximum depth
+     * @return A descriptor
+     */
+    public Descriptor pattern(final int depth) {
+        return this.pattern(depth, new int[1]);
+    }
+
+    /**
+     * Creates a node that matches the pattern.
+     * @param pattern The pattern
+     * @return A node
+     */
+    public Node instance(final Descriptor pattern) {
+        final List<Parameter> parameters = pattern.getParameters();
+        final Node[] children = new Node[parameters.size()];
+        for (int index = 0; index < children.length; index = index + 1) {
+            final Parameter parameter = parameters.get(index);
+            if (parameter instanceof Descriptor) {
+                children[index] = this.instance((Descriptor) parameter);
+            } else {
+                children[index] = this.node(1);
+            }
+        }
+        final Data data = pattern.getData();
+        final String value;
+        if (data instanceof StringData) {
+            value = ((StringData) data).getValue();
+        } else if (data instanceof Hole) {
+            value = this.value();
+        } else {
+            value = "";
+        }
+        return RandomRules.create(pattern.getType(), value, children);
+    }
+
+    /**
+     * Creates a random node.
+     * @param depth The maximum depth
+     * @return A node
+     */
+    public Node node(final int depth) {
+        int count = 0;
+        if (depth > 0) {
+            count = this.random.nextInt(RandomRules.FANOUT);
+        }
+        final Node[] children = new Node[count];
+        for (int index = 0; index < count; index = index + 1) {
+            children[index] = this.node(depth - 1);
+        }
+        String value = "";
+        if (this.random.nextBoolean()) {
+            value = this.value();
+        }
+        return RandomRules.create(this.type(), value, children);
+    }
+
+    /**
+     * Creates a random pattern.
+     * @param depth The maximum depth
+     * @param holes The counter of holes
+     * @return A descriptor
+     */
+    private Descriptor pattern(final int depth, final int... holes) {
+        final DescriptorFactory factory = new DescriptorFactory("first", this.type());
+        final int kind = this.random.nextInt(RandomRules.KINDS);
+        if (kind == 1) {
+            factory.setData(new StringData(this.value()));
+        } else if (kind == 2) {
+            holes[0] = holes[0] + 1;
+            factory.setData(new Hole(holes[0], HoleAttribute.NONE));
+        }
+        if (depth > 0) {
+            final int count = 1 + this.random.nextInt(RandomRules.KINDS);
+            for (int index = 0; index < count; index = index + 1) {
+                if (this.random.nextInt(RandomRules.KINDS) == 0) {
+                    holes[0] = holes[0] + 1;
+                    factory.addParameter(new Hole(holes[0], HoleAttribute.NONE));
+                } else {
+                    factory.addParameter(this.pattern(depth - 1, holes));
+                }
+            }
+        }
+        return factory.createDescriptor();
+    }
+
+    /**
+     * Returns a random type name, the first type is the most frequent.
+     * @return The type name
+     */
+    private String type() {
+        final int index;
+        if (this.random.nextBoolean()) {
+            index = 0;
+        } else {
+            index = this.random.nextInt(RandomRules.TYPES);
+        }
+        final String result;
+        if (index == 0) {
+            result = "singleExpression";
+        } else {
+            result = String.format("type%d", index);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a random data value.
+     * @return The value
+     */
+    private String value() {
+        return String.valueOf(this.random.nextInt(RandomRules.VALUES));
+    }
+
+    /**
+     * Creates a draft node.
+     * @param type The type name
+     * @param data The data
+     * @param children The children
+     * @return The node
+     */
+    private static Node create(final String type, final String data, final Node... children) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName(type);
+        ctor.setData(data);
+        ctor.setChildrenList(Arrays.asList(children));
+        return ctor.createNode();
+    }
+}
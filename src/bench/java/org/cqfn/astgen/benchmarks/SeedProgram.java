@@ -0,0 +1,170 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.cqfn.astgen.analyzer.Analyzer;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.cqfn.astgen.utils.FilesReader;
+
+/**
+ * A DSL program made of renamed copies of the rules from the analyzer tests.
+ * Each copy gets its own type names, so the number of rules grows with the number
+ * of copies, and a chain of abstract types is put above the top type of each copy,
+ * so the hierarchy grows with the depth.
+ *
+ * @since 1.0
+ */
+final class SeedProgram {
+    /**
+     * The file with seed rules.
+     */
+    private static final String SEED = "src/test/resources/analyzer/complex_set.txt";
+
+    /**
+     * The top abstract type of the seed rules.
+     */
+    private static final String TOP = "Expression";
+
+    /**
+     * Type names to be renamed, native code in dollar signs is matched to be skipped.
+     */
+    private static final Pattern NAME = Pattern.compile("\\$[^$]*\\$|[A-Z][A-Za-z0-9]*");
+
+    /**
+     * The number of copies.
+     */
+    private final int copies;
+
+    /**
+     * The number of abstract types above the top type of each copy.
+     */
+    private final int depth;
+
+    /**
+     * Constructor.
+     * @param copies The number of copies
+     * @param depth The number of abstract types above the top type of each copy
+     */
+    SeedProgram(final int copies, final int depth) {
+        this.copies = copies;
+        this.depth = depth;
+    }
+
+    /**
+     * Generates the source code of the program.
+     * @return The DSL code
+     * @throws IOException If the seed rules could not be read
+     */
+    String getSource() throws IOException {
+        final String seed = new FilesReader(SeedProgram.SEED).readAsString();
+        final StringBuilder builder = new StringBuilder();
+        for (int copy = 0; copy < this.copies; copy = copy + 1) {
+            builder.append(SeedProgram.rename(seed, copy)).append('\n');
+            for (int level = 1; level <= this.depth; level = level + 1) {
+                final String spare = String.format("Spare%dOf%d", level, copy);
+                builder.append(
+                    String.format(
+                        "%s <- %s | %s;\n%s <- $String$, $#$, $#$;\n",
+                        SeedProgram.level(level, copy),
+                        SeedProgram.level(level - 1, copy),
+                        spare,
+                        spare
+                    )
+                );
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Parses the program and analyzes the type hierarchy.
+     * @return The analyzer
+     * @throws IOException If the seed rules could not be read
+     * @throws BaseException If the rules could not be parsed or analyzed
+     */
+    Analyzer analyze() throws IOException, BaseException {
+        return new Analyzer(
+            new ProgramParser(this.getSource()).parse().getVertices(), ""
+        ).analyze();
+    }
+
+    /**
+     * Returns the name of the topmost abstract type of a copy.
+     * @param copy The number of the copy
+     * @return The type name
+     */
+    String getGroup(final int copy) {
+        return SeedProgram.level(this.depth, copy);
+    }
+
+    /**
+     * Returns the name of a type of a copy.
+     * @param name The name of the type in the seed rules
+     * @param copy The number of the copy
+     * @return The type name
+     */
+    static String getType(final String name, final int copy) {
+        return String.format("%s%d", name, copy);
+    }
+
+    /**
+     * Renames all types of the seed rules.
+     * @param seed The seed rules
+     * @param copy The number of the copy
+     * @return The renamed rules
+     */
+    private static String rename(final String seed, final int copy) {
+        final Matcher matcher = SeedProgram.NAME.matcher(seed);
+        final StringBuffer buffer = new StringBuffer();
+        while (matcher.find()) {
+            String name = matcher.group();
+            if (name.charAt(0) != '$') {
+                name = SeedProgram.getType(name, copy);
+            }
+            matcher.appendReplacement(buffer, Matcher.quoteReplacement(name));
+        }
+        matcher.appendTail(buffer);
+        return buffer.toString();
+    }
+
+    /**
+     * Returns the name of an abstract type above the top type of a copy.
+     * @param level The level, zero is the top type of the seed rules
+     * @param copy The number of the copy
+     * @return The type name
+     */
+    private static String level(final int level, final int copy) {
+        final String name;
+        if (level == 0) {
+            name = SeedProgram.getType(SeedProgram.TOP, copy);
+        } else {
+            name = String.format("Level%dOf%d", level, copy);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astgen.base.ConvertibleNode;
+import org.cqfn.astgen.base.DraftNode;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.interpreter.Adapter;
+import org.cqfn.astgen.interpreter.JsonDeserializer;
+import org.cqfn.astgen.interpreter.JsonSerializer;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the throughput of whole-tree traversals: wrapping into convertible nodes,
+ * conversion, JSON reading and writing.
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TraversalBenchmark {
+    /**
+     * The number of children of each non-leaf node.
+     */
+    private static final int FANOUT = 4;
+
+    /**
+     * The rules applied by the adapter.
+     */
+    private static final String RULES = String.join(
+        "\n",
+        "Literal<#1> -> IntegerLiteral<#1>;",
+        "Addition(#1, #2, #3, #4) -> Sum(#1, #2, #3, #4);",
+        "Statement(#1, #2, #3, #4) -> Block(#4, #3, #2, #1);"
+    );
+
+    /**
+     * The rule that changes a small part of the tree.
+     */
+    private static final String SPARSE = "Literal<\"0\"> -> Zero;";
+
+    /**
+     * The depth of the tree, a tree of depth 6 has 1365 nodes, of depth 9 has 87381 nodes.
+     */
+    @Param({"6", "9"})
+    private int depth;
+
+    /**
+     * The tree.
+     */
+    private Node tree;
+
+    /**
+     * The tree in the JSON format.
+     */
+    private String json;
+
+    /**
+     * The adapter.
+     */
+    private Adapter adapter;
+
+    /**
+     * The adapter that changes a small part of the tree.
+     */
+    private Adapter sparse;
+
+    /**
+     * Generates the tree.
+     * @throws BaseException If the rules could not be parsed
+     */
+    @Setup
+    public void setup() throws BaseException {
+        this.tree = TraversalBenchmark.create(this.depth, 0);
+        this.json = new JsonSerializer(this.tree).serialize();
+        this.adapter = new Adapter(
+            new ProgramParser(TraversalBenchmark.RULES).parse().getTransformations()
+        );
+        this.sparse = new Adapter(
+            new ProgramParser(TraversalBenchmark.SPARSE).parse().getTransformations()
+        );
+    }
+
+    /**
+     * Wraps the tree into convertible nodes.
+     * @return The wrapped tree
+     */
+    @Benchmark
+    public Node wrap() {
+        return new ConvertibleNode(this.tree);
+    }
+
+    /**
+     * Converts the tree.
+     * @return The converted tree
+     */
+    @Benchmark
+    public Node convert() {
+        return this.adapter.convert(this.tree);
+    }
+
+    /**
+     * Converts the tree, only a quarter of leaves are changed.
+     * @return The converted tree
+     */
+    @Benchmark
+    public Node convertSparse() {
+        return this.sparse.convert(this.tree);
+    }
+
+    /**
+     * Reads the tree from JSON.
+     * @return The tree
+     */
+    @Benchmark
+    public Node deserialize() {
+        return new JsonDeserializer(this.json).convert();
+    }
+
+    /**
+     * Writes the tree to JSON.
+     * @return The JSON
+     */
+    @Benchmark
+    public String serialize() {
+        return new JsonSerializer(this.tree).serialize();
+    }
+
+    /**
+     * Creates a full tree.
+     * @param height The height of the tree
+     * @param number The number of the node among its siblings
+     * @return The root node
+     */
+    private static Node create(final int height, final int number) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        if (height == 1) {
+            ctor.setName("Literal");
+            ctor.setData(String.valueOf(number));
+        } else {
+            final List<Node> children = new ArrayList<>(TraversalBenchmark.FANOUT);
+            for (int index = 0; index < TraversalBenchmark.FANOUT; index = index + 1) {
+                children.add(TraversalBenchmark.create(height - 1, index));
+            }
+            if (number % 2 == 0) {
+                ctor.setName("Statement");
+            } else {
+                ctor.setName("Addition");
+            }
+            ctor.setChildrenList(children);
+        }
+        return ctor.createNode();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * A large syntax tree in the JSON format, stored in the temporary directory.
+ * The tree is a program with a long list of statements. The file is generated
+ * once and reused by the following runs.
+ *
+ * @since 1.0
+ */
+final class TreeFile {
+    /**
+     * The number of bytes in a megabyte.
+     */
+    private static final long MEGABYTE = 1024L * 1024L;
+
+    /**
+     * The beginning of the file.
+     */
+    private static final String PREFIX = "{\"root\":{\"type\":\"Program\",\"children\":[";
+
+    /**
+     * The statement template.
+     */
+    private static final String STATEMENT = String.join(
+        "",
+        "{\"type\":\"ExpressionStatement\",\"children\":[{\"type\":\"Assignment\",",
+        "\"children\":[{\"type\":\"Identifier\",\"data\":\"var%07d\"},",
+        "{\"type\":\"IntegerLiteral\",\"data\":\"%07d\"}]}]}"
+    );
+
+    /**
+     * The size of the file in megabytes.
+     */
+    private final int megabytes;
+
+    /**
+     * Constructor.
+     * @param megabytes The size of the file in megabytes
+     */
+    TreeFile(final int megabytes) {
+        this.megabytes = megabytes;
+    }
+
+    /**
+     * Returns the path to the file, generates the file if it does not exist.
+     * @return The path
+     * @throws IOException If the file could not be written
+     */
+    Path getPath() throws IOException {
+        final Path file = Paths.get(
+            System.getProperty("java.io.tmpdir"),
+            String.format("astgen-tree-%dmb.json", this.megabytes)
+        );
+        if (!Files.exists(file)) {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                this.write(writer);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Writes the tree.
+     * @param output The writer
+     * @throws IOException If the file could not be written
+     */
+    private void write(final BufferedWriter output) throws IOException {
+        final long size = this.megabytes * TreeFile.MEGABYTE;
+        output.write(TreeFile.PREFIX);
+        long written = TreeFile.PREFIX.length();
+        int index = 0;
+        while (written < size) {
+            if (index > 0) {
+                output.write(',');
+                written = written + 1;
+            }
+            final String statement = String.format(TreeFile.STATEMENT, index, index);
+            output.write(statement);
+            written = written + statement.length();
+            index = index + 1;
+        }
+        output.write("]}}");
+    }
+}
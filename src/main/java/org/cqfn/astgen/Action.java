@@ -38,5 +38,10 @@ public enum Action {
     /**
      * Load a syntax tree from file, apply the transformation rules and save the result.
      */
-    CONVERT
+    CONVERT,
+
+    /**
+     * Synthesize a random syntax tree that satisfies the node descriptions and save it.
+     */
+    SYNTHESIZE
 }
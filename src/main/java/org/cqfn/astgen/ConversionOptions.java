@@ -0,0 +1,373 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen;
+
+import com.beust.jcommander.Parameter;
+import java.io.File;
+import org.cqfn.astgen.exceptions.InterpreterException;
+import org.cqfn.astgen.interpreter.BatchInterpreter;
+import org.cqfn.astgen.interpreter.BatchOptions;
+import org.cqfn.astgen.interpreter.Interpreter;
+import org.cqfn.astgen.interpreter.SynthesisOptions;
+import org.cqfn.astgen.interpreter.TreeFormat;
+import org.cqfn.astgen.interpreter.TreeSynthesizer;
+import org.cqfn.astgen.rules.Program;
+import org.cqfn.astgen.utils.cli.DestinationFileConverter;
+import org.cqfn.astgen.utils.cli.FormatConverter;
+import org.cqfn.astgen.utils.cli.PositiveIntegerValidator;
+import org.cqfn.astgen.utils.cli.SourceFileConverter;
+import org.cqfn.astgen.utils.cli.StatisticsFileConverter;
+
+/**
+ * Command-line options of the 'convert' and 'synthesize' actions.
+ * The fields are set by JCommander through reflection.
+ *
+ * @since 1.0
+ */
+@SuppressWarnings({"PMD.ImmutableField", "PMD.TooManyFields"})
+final class ConversionOptions implements BatchOptions, SynthesisOptions {
+    /**
+     * The default number of nodes of a synthesized tree.
+     */
+    private static final int SIZE = 10_000;
+
+    /**
+     * The default maximum depth of a synthesized tree.
+     */
+    private static final int DEPTH = 32;
+
+    /**
+     * The default maximum number of elements of lists in a synthesized tree.
+     */
+    private static final int FANOUT = 8;
+
+    /**
+     * The file that contains source syntax tree.
+     */
+    @Parameter(
+        names = { "--source", "--src", "-s" },
+        converter = SourceFileConverter.class,
+        description = "The file that contains source syntax tree in the JSON or binary format"
+    )
+    private File source;
+
+    /**
+     * The file for saving resulting syntax tree.
+     */
+    @Parameter(
+        names = { "--destination", "--dst", "-d" },
+        converter = DestinationFileConverter.class,
+        description = "The file for saving resulting syntax tree in the JSON or binary format"
+    )
+    private File destination;
+
+    /**
+     * The format of the source file, if it is not chosen by the file extension.
+     */
+    @Parameter(
+        names = "--source-format",
+        converter = FormatConverter.class,
+        arity = 1,
+        description = "The format of source syntax trees: 'json' or 'binary'"
+    )
+    private TreeFormat srcformat;
+
+    /**
+     * The format of the destination file, if it is not chosen by the file extension.
+     */
+    @Parameter(
+        names = "--format",
+        converter = FormatConverter.class,
+        arity = 1,
+        description = "The format of resulting syntax trees: 'json' or 'binary'"
+    )
+    private TreeFormat dstformat;
+
+    /**
+     * The maximum number of conversion passes.
+     */
+    @Parameter(
+        names = { "--iterations", "-i" },
+        validateWith = PositiveIntegerValidator.class,
+        arity = 1,
+        description = "Maximum number of conversion passes until the tree stops changing"
+    )
+    private int iterations;
+
+    /**
+     * Flag indicating that the resulting syntax tree is written in the compact form.
+     */
+    @Parameter(
+        names = "--compact",
+        description = "Write the resulting syntax tree in the compact JSON form, without indents"
+    )
+    private boolean compact;
+
+    /**
+     * Flag indicating that source syntax trees in the binary format are mapped into memory.
+     */
+    @Parameter(
+        names = "--mmap",
+        description = "Map source syntax trees in the binary format into memory, without reading"
+    )
+    private boolean mapped;
+
+    /**
+     * Directory or glob pattern of files converted in the batch mode.
+     */
+    @Parameter(
+        names = "--batch",
+        arity = 1,
+        description = "Directory or glob pattern of source syntax trees converted in parallel"
+    )
+    private String batch;
+
+    /**
+     * The directory for saving resulting syntax trees in the batch mode.
+     */
+    @Parameter(
+        names = "--batch-output",
+        description = "The directory for saving resulting syntax trees in the batch mode"
+    )
+    private File output;
+
+    /**
+     * The number of threads used in the batch mode.
+     */
+    @Parameter(
+        names = { "--threads", "-t" },
+        validateWith = PositiveIntegerValidator.class,
+        arity = 1,
+        description = "Number of threads that convert files in the batch mode"
+    )
+    private int threads;
+
+    /**
+     * The file for saving the statistics of conversion rules.
+     */
+    @Parameter(
+        names = "--stats",
+        converter = StatisticsFileConverter.class,
+        description = "The file for saving the statistics of conversion rules, JSON or text"
+    )
+    private File stats;
+
+    /**
+     * The number of nodes of a synthesized tree.
+     */
+    @Parameter(
+        names = "--size",
+        validateWith = PositiveIntegerValidator.class,
+        arity = 1,
+        description = "The number of nodes of the synthesized syntax tree"
+    )
+    private int size;
+
+    /**
+     * The maximum depth of a synthesized tree.
+     */
+    @Parameter(
+        names = "--depth",
+        validateWith = PositiveIntegerValidator.class,
+        arity = 1,
+        description = "The maximum depth of the synthesized syntax tree"
+    )
+    private int depth;
+
+    /**
+     * The maximum number of elements of lists in a synthesized tree.
+     */
+    @Parameter(
+        names = "--fanout",
+        validateWith = PositiveIntegerValidator.class,
+        arity = 1,
+        description = "The maximum number of elements of lists in the synthesized syntax tree"
+    )
+    private int fanout;
+
+    /**
+     * The seed of the random number generator.
+     */
+    @Parameter(
+        names = "--seed",
+        arity = 1,
+        description = "The seed of the random number generator used for synthesis"
+    )
+    private long seed;
+
+    /**
+     * The type of the root node of a synthesized tree.
+     */
+    @Parameter(
+        names = "--root",
+        arity = 1,
+        description = "The type of the root node of the synthesized syntax tree"
+    )
+    private String root;
+
+    /**
+     * Constructor with default values.
+     */
+    ConversionOptions() {
+        this.iterations = 1;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.size = ConversionOptions.SIZE;
+        this.depth = ConversionOptions.DEPTH;
+        this.fanout = ConversionOptions.FANOUT;
+        this.root = "";
+    }
+
+    @Override
+    public File getSource() {
+        return this.source;
+    }
+
+    @Override
+    public File getDestination() {
+        return this.destination;
+    }
+
+    @Override
+    public int getIterations() {
+        return this.iterations;
+    }
+
+    @Override
+    public boolean isCompact() {
+        return this.compact;
+    }
+
+    @Override
+    public TreeFormat getSourceFormat() {
+        return ConversionOptions.chooseFormat(this.srcformat, this.source);
+    }
+
+    @Override
+    public boolean isMapped() {
+        return this.mapped;
+    }
+
+    @Override
+    public TreeFormat getDestinationFormat() {
+        return ConversionOptions.chooseFormat(this.dstformat, this.destination);
+    }
+
+    @Override
+    public TreeFormat getSourceFormat(final File file) {
+        return ConversionOptions.chooseFormat(this.srcformat, file);
+    }
+
+    @Override
+    public TreeFormat getDestinationFormat(final File file) {
+        TreeFormat result = this.dstformat;
+        if (result == null) {
+            result = this.getSourceFormat(file);
+        }
+        return result;
+    }
+
+    @Override
+    public String getBatch() {
+        return this.batch;
+    }
+
+    @Override
+    public File getOutputDirectory() {
+        return this.output;
+    }
+
+    @Override
+    public int getThreads() {
+        return this.threads;
+    }
+
+    @Override
+    public File getStatisticsFile() {
+        return this.stats;
+    }
+
+    @Override
+    public int getSize() {
+        return this.size;
+    }
+
+    @Override
+    public int getDepth() {
+        return this.depth;
+    }
+
+    @Override
+    public int getFanout() {
+        return this.fanout;
+    }
+
+    @Override
+    public long getSeed() {
+        return this.seed;
+    }
+
+    @Override
+    public String getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Converts one syntax tree, or many of them in the batch mode.
+     * @param program The program
+     * @throws InterpreterException If fails
+     */
+    void convert(final Program program) throws InterpreterException {
+        if (this.batch == null) {
+            new Interpreter(program, this).run();
+        } else {
+            new BatchInterpreter(program, this).run();
+        }
+    }
+
+    /**
+     * Synthesizes a random syntax tree that satisfies the node descriptions.
+     * @param program The program
+     * @throws InterpreterException If fails
+     */
+    void synthesize(final Program program) throws InterpreterException {
+        new TreeSynthesizer(program, this).run();
+    }
+
+    /**
+     * Chooses the format of a file. If the format is not specified,
+     * files with the '.ast' extension are in the binary format.
+     * @param format The format specified in the command line, or {@code null}
+     * @param file The file, or {@code null} in the batch mode
+     * @return The specified format, or the format chosen by the file extension
+     */
+    private static TreeFormat chooseFormat(final TreeFormat format, final File file) {
+        TreeFormat result = format;
+        if (result == null && file == null) {
+            result = TreeFormat.JSON;
+        } else if (result == null) {
+            result = TreeFormat.byFile(file);
+        }
+        return result;
+    }
+}
@@ -26,6 +26,7 @@ package org.cqfn.astgen;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParametersDelegate;
 import java.io.File;
 import java.util.Collections;
 import java.util.List;
@@ -39,17 +40,14 @@ import org.cqfn.astgen.codegen.java.License;
 import org.cqfn.astgen.codegen.java.ProgramGenerator;
 import org.cqfn.astgen.codegen.java.TaggedChild;
 import org.cqfn.astgen.exceptions.BaseException;
-import org.cqfn.astgen.interpreter.Interpreter;
 import org.cqfn.astgen.parser.ProgramParser;
 import org.cqfn.astgen.rules.Program;
 import org.cqfn.astgen.utils.FilesReader;
 import org.cqfn.astgen.utils.cli.ActionConverter;
-import org.cqfn.astgen.utils.cli.DestinationFileConverter;
 import org.cqfn.astgen.utils.cli.LicenseValidator;
 import org.cqfn.astgen.utils.cli.PackageValidator;
 import org.cqfn.astgen.utils.cli.ProjectRootValidator;
 import org.cqfn.astgen.utils.cli.RulesFileConverter;
-import org.cqfn.astgen.utils.cli.SourceFileConverter;
 
 /**
  * Main class.
@@ -70,7 +68,7 @@ public final class Main {
         names = { "--action", "-a" },
         converter = ActionConverter.class,
         required = true,
-        description = "The action: 'generate' or 'convert'"
+        description = "The action: 'generate', 'convert' or 'synthesize'"
     )
     private Action action;
 
@@ -140,24 +138,10 @@ public final class Main {
     private String version;
 
     /**
-     * The file that contains source syntax tree in the JSON format.
+     * Options of the conversion of syntax trees.
      */
-    @Parameter(
-        names = { "--source", "--src", "-s" },
-        converter = SourceFileConverter.class,
-        description = "The file that contains source syntax tree in the JSON format"
-    )
-    private File source;
-
-    /**
-     * The file for saving resulting syntax tree in the JSON format.
-     */
-    @Parameter(
-        names = { "--destination", "--dst", "-d" },
-        converter = DestinationFileConverter.class,
-        description = "The file for saving resulting syntax tree in the JSON format"
-    )
-    private File destination;
+    @ParametersDelegate
+    private final ConversionOptions conversion;
 
     /**
      * Test mode.
@@ -184,6 +168,7 @@ public final class Main {
         this.rootpkg = "org.uast";
         this.basepkg = "org.uast.uast.base";
         this.version = "";
+        this.conversion = new ConversionOptions();
     }
 
     /**
@@ -239,7 +224,9 @@ public final class Main {
                 final ProgramGenerator generator = new ProgramGenerator(this.path, program, env);
                 generator.generate();
             } else if (this.action == Action.CONVERT) {
-                new Interpreter(this.source, this.destination, program).run();
+                this.conversion.convert(program);
+            } else if (this.action == Action.SYNTHESIZE) {
+                this.conversion.synthesize(program);
             }
         } catch (final BaseException exc) {
             LOG.severe(String.format("%s, %s", exc.getInitiator(), exc.getErrorMessage()));
@@ -24,7 +24,10 @@
 package org.cqfn.astgen.base;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Tree converter built on a set of rules described in DSL.
@@ -42,14 +45,61 @@ public class Adapter {
      */
     private final Factory factory;
 
+    /**
+     * Flag indicating that at least one converter declares the type of the pattern root.
+     */
+    private final boolean indexed;
+
+    /**
+     * Candidate converters arranged by the name of the node type.
+     */
+    private final Map<String, List<Converter>> candidates;
+
+    /**
+     * Groups of converters selected by derived classes, made of the converters
+     * of this adapter.
+     */
+    private final List<List<Converter>> groups;
+
     /**
      * Constructor.
      * @param converters The list of node converters
      * @param factory The node factory
      */
     public Adapter(final List<Converter> converters, final Factory factory) {
-        this.converters = converters;
+        this(converters, factory, Statistics.DISABLED);
+    }
+
+    /**
+     * Constructor that collects statistics of converters. The converter at each
+     * position of the list is recorded as the rule with the same index.
+     * Converters are not wrapped if the statistics are disabled.
+     * @param converters The list of node converters
+     * @param factory The node factory
+     * @param statistics The statistics
+     */
+    public Adapter(final List<Converter> converters, final Factory factory,
+        final Statistics statistics) {
+        this(converters, factory, statistics, Collections.emptyList());
+    }
+
+    /**
+     * Constructor for adapters that select converters by the type of the node themselves.
+     * Each group is a list of indexes of converters, a derived class gets the group
+     * by its index, see {@link #getGroup(int)}. Groups consist of the same
+     * converters the adapter tries, so the statistics are recorded for them as well.
+     * @param converters The list of node converters
+     * @param factory The node factory
+     * @param statistics The statistics
+     * @param groups The groups of indexes of converters
+     */
+    public Adapter(final List<Converter> converters, final Factory factory,
+        final Statistics statistics, final List<List<Integer>> groups) {
+        this.converters = Adapter.measure(converters, statistics);
         this.factory = factory;
+        this.indexed = Adapter.hasRootTypes(converters);
+        this.candidates = new ConcurrentHashMap<>();
+        this.groups = Adapter.createGroups(this.converters, groups);
     }
 
     /**
@@ -58,38 +108,160 @@ public class Adapter {
      * @return A converted tree or empty tree if the conversion is impossible
      */
     public Node convert(final Node root) {
-        final ConvertibleNode convertible = new ConvertibleNode(root);
-        Node result = convertible;
-        final List<ConvertibleNode> nodes = new ArrayList<>(0);
-        Adapter.buildNodeList(convertible, nodes);
-        for (final ConvertibleNode original : nodes) {
-            for (final Converter converter : this.converters) {
-                final Node transformed = converter.convert(original, this.factory);
-                if (!(transformed instanceof EmptyTree)) {
-                    final ConvertibleNode parent = original.getParent();
-                    if (parent == null) {
-                        result = transformed;
-                    } else {
-                        parent.replaceChild(original, transformed);
-                    }
-                    break;
-                }
+        return this.convert(root, 1);
+    }
+
+    /**
+     * Converts the [sub]tree to another, based on DSL rules, repeating the conversion
+     * until the tree stops changing or the number of passes reaches the limit.
+     * The first pass processes the whole tree, each next pass processes only
+     * the subtrees created by the previous pass and their ancestors.
+     * @param root The root node of the subtree.
+     * @param iterations The maximum number of passes
+     * @return A converted tree or empty tree if the conversion is impossible
+     */
+    public Node convert(final Node root, final int iterations) {
+        final Worklist worklist = new Worklist(root);
+        boolean changed = true;
+        int iteration = 0;
+        while (changed && iteration < iterations) {
+            changed = this.pass(worklist);
+            iteration = iteration + 1;
+        }
+        return worklist.getResult();
+    }
+
+    /**
+     * Returns the list of converters that can match the node, in the original order.
+     * @param node The node
+     * @return The list of candidate converters
+     */
+    protected List<Converter> getCandidates(final Node node) {
+        final List<Converter> result;
+        if (this.indexed) {
+            final Type type = node.getType();
+            result = this.candidates.computeIfAbsent(
+                type.getName(),
+                name -> this.selectCandidates(type)
+            );
+        } else {
+            result = this.converters;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the group of converters passed to the constructor as indexes.
+     * @param index The index of the group
+     * @return The list of converters, in the original order
+     */
+    protected final List<Converter> getGroup(final int index) {
+        return this.groups.get(index);
+    }
+
+    /**
+     * Performs one conversion pass over the nodes of the worklist.
+     * @param worklist The worklist
+     * @return Result of the pass, {@code true} if at least one node was replaced
+     */
+    boolean pass(final Worklist worklist) {
+        boolean changed = false;
+        for (final ConvertibleNode original : worklist.next()) {
+            final Node transformed = this.transform(original);
+            if (!(transformed instanceof EmptyTree)) {
+                worklist.replace(original, transformed);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Tries converters one by one and returns the result of the first successful conversion.
+     * @param node The node
+     * @return A converted node or empty tree if the conversion is impossible
+     */
+    Node transform(final ConvertibleNode node) {
+        Node result = EmptyTree.INSTANCE;
+        for (final Converter converter : this.getCandidates(node)) {
+            final Node transformed = converter.convert(node, this.factory);
+            if (!(transformed instanceof EmptyTree)) {
+                result = transformed;
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Selects converters whose pattern root can match a node of the specified type.
+     * @param type The node type
+     * @return The list of converters
+     */
+    private List<Converter> selectCandidates(final Type type) {
+        final List<Converter> result = new ArrayList<>(0);
+        for (final Converter converter : this.converters) {
+            final String root = converter.getRootType();
+            if (root.isEmpty() || type.belongsToGroup(root)) {
+                result.add(converter);
             }
         }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Wraps converters into ones that record statistics.
+     * @param converters The list of node converters
+     * @param statistics The statistics
+     * @return The list of wrapped converters, or the original list
+     *  if the statistics are disabled
+     */
+    private static List<Converter> measure(final List<Converter> converters,
+        final Statistics statistics) {
+        List<Converter> result = converters;
+        if (statistics.isEnabled()) {
+            result = new ArrayList<>(converters.size());
+            int index = 0;
+            for (final Converter converter : converters) {
+                result.add(new MeasuredConverter(converter, statistics, index));
+                index = index + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Replaces indexes of converters in groups with the converters.
+     * @param converters The list of node converters
+     * @param groups The groups of indexes of converters
+     * @return The groups of converters
+     */
+    private static List<List<Converter>> createGroups(final List<Converter> converters,
+        final List<List<Integer>> groups) {
+        final List<List<Converter>> result = new ArrayList<>(groups.size());
+        for (final List<Integer> group : groups) {
+            final List<Converter> list = new ArrayList<>(group.size());
+            for (final Integer index : group) {
+                list.add(converters.get(index));
+            }
+            result.add(Collections.unmodifiableList(list));
+        }
         return result;
     }
 
     /**
-     * Expands the tree to the node list.
-     * @param root Root node
-     * @param nodes Resulting list of nodes
+     * Checks whether at least one converter declares the type of the pattern root.
+     * @param converters The list of node converters
+     * @return Checking result
      */
-    private static void buildNodeList(final ConvertibleNode root,
-        final List<ConvertibleNode> nodes) {
-        final int count = root.getChildCount();
-        for (int index = 0; index < count; index = index + 1) {
-            Adapter.buildNodeList(root.getConvertibleChild(index), nodes);
+    private static boolean hasRootTypes(final List<Converter> converters) {
+        boolean result = false;
+        for (final Converter converter : converters) {
+            if (!converter.getRootType().isEmpty()) {
+                result = true;
+                break;
+            }
         }
-        nodes.add(root);
+        return result;
     }
 }
@@ -0,0 +1,212 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The frame that stores children and data extracted by a matcher, indexed by hole numbers.
+ * A frame is sized by the highest hole number of a rule and is meant to be reused:
+ * storing a value does not allocate memory, and {@link #reset()} does nothing
+ * if nothing was stored. A frame is not thread-safe, each thread needs its own one.
+ *
+ * @since 1.0
+ */
+public final class Captures {
+    /**
+     * Captured children, each item is a node or a list of nodes.
+     */
+    private Object[] children;
+
+    /**
+     * Captured data.
+     */
+    private String[] data;
+
+    /**
+     * The number of values stored since the last reset.
+     */
+    private int count;
+
+    /**
+     * Constructor.
+     * @param size The number of holes, that is, the highest hole number plus one
+     */
+    public Captures(final int size) {
+        this.children = new Object[size];
+        this.data = new String[size];
+    }
+
+    /**
+     * Stores a child node.
+     * @param hole The hole number
+     * @param node The node
+     */
+    public void putChild(final int hole, final Node node) {
+        this.ensureCapacity(hole);
+        this.children[hole] = node;
+        this.count = this.count + 1;
+    }
+
+    /**
+     * Stores a list of child nodes.
+     * @param hole The hole number
+     * @param list The list of nodes
+     */
+    public void putChildren(final int hole, final List<Node> list) {
+        this.ensureCapacity(hole);
+        this.children[hole] = list;
+        this.count = this.count + 1;
+    }
+
+    /**
+     * Stores data.
+     * @param hole The hole number
+     * @param value The data
+     */
+    public void putData(final int hole, final String value) {
+        this.ensureCapacity(hole);
+        this.data[hole] = value;
+        this.count = this.count + 1;
+    }
+
+    /**
+     * Returns child nodes stored in the hole.
+     * @param hole The hole number
+     * @return The list of nodes, or an empty list if the hole is empty
+     */
+    @SuppressWarnings("unchecked")
+    public List<Node> getChildren(final int hole) {
+        Object value = null;
+        if (hole < this.children.length) {
+            value = this.children[hole];
+        }
+        final List<Node> result;
+        if (value instanceof Node) {
+            result = Collections.singletonList((Node) value);
+        } else if (value instanceof List) {
+            result = (List<Node>) value;
+        } else {
+            result = Collections.emptyList();
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether data is stored in the hole.
+     * @param hole The hole number
+     * @return Checking result, {@code true} if the hole contains data
+     */
+    public boolean hasData(final int hole) {
+        return hole < this.data.length && this.data[hole] != null;
+    }
+
+    /**
+     * Returns data stored in the hole.
+     * @param hole The hole number
+     * @return The data, or an empty string if the hole is empty
+     */
+    public String getData(final int hole) {
+        String result = "";
+        if (this.hasData(hole)) {
+            result = this.data[hole];
+        }
+        return result;
+    }
+
+    /**
+     * Removes all stored values, so that the frame can be used for the next matching.
+     */
+    public void reset() {
+        if (this.count > 0) {
+            Arrays.fill(this.children, null);
+            Arrays.fill(this.data, null);
+            this.count = 0;
+        }
+    }
+
+    /**
+     * Copies all stored values to maps.
+     * @param nodes Where to copy children
+     * @param values Where to copy data
+     */
+    public void copyTo(final Map<Integer, List<Node>> nodes, final Map<Integer, String> values) {
+        for (int hole = 0; hole < this.children.length; hole = hole + 1) {
+            if (this.children[hole] != null) {
+                nodes.put(hole, this.getChildren(hole));
+            }
+            if (this.data[hole] != null) {
+                values.put(hole, this.data[hole]);
+            }
+        }
+    }
+
+    /**
+     * Stores all values from maps.
+     * @param nodes Children arranged by hole numbers
+     * @param values Data arranged by hole numbers
+     */
+    public void putAll(final Map<Integer, List<Node>> nodes, final Map<Integer, String> values) {
+        for (final Map.Entry<Integer, List<Node>> entry : nodes.entrySet()) {
+            this.putChildren(entry.getKey(), entry.getValue());
+        }
+        for (final Map.Entry<Integer, String> entry : values.entrySet()) {
+            this.putData(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Matches the node using a frame and copies extracted values to maps.
+     * Matchers that work with frames implement the map-based method with it.
+     * @param matcher The matcher
+     * @param node The node
+     * @param nodes Where to save children when matched
+     * @param values Where to save data when matched
+     * @return The result of matching, {@code true} if node matches and data was extracted
+     */
+    public static boolean match(final Matcher matcher, final Node node,
+        final Map<Integer, List<Node>> nodes, final Map<Integer, String> values) {
+        final Captures captures = new Captures(0);
+        final boolean result = matcher.match(node, captures);
+        if (result) {
+            captures.copyTo(nodes, values);
+        }
+        return result;
+    }
+
+    /**
+     * Grows the frame if the hole number exceeds its size.
+     * @param hole The hole number
+     */
+    private void ensureCapacity(final int hole) {
+        if (hole >= this.children.length) {
+            final int size = Math.max(hole + 1, this.children.length * 2);
+            this.children = Arrays.copyOf(this.children, size);
+            this.data = Arrays.copyOf(this.data, size);
+        }
+    }
+}
@@ -23,49 +23,75 @@
  */
 package org.cqfn.astgen.base;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Mapping of the list of nodes by positions based on node types.
+ * The mapper precomputes a plan from the child descriptors once, so a single
+ * instance is shared by all builders of a type, even concurrently.
  *
  * @since 1.0
  */
+@SuppressWarnings("PMD.TooManyMethods")
 public class ChildrenMapper {
     /**
-     * The list of child descriptors.
+     * The type names from the descriptors in alphabetical order.
      */
-    private final List<ChildDescriptor> descriptors;
+    private final String[] names;
 
     /**
-     * Required positions (must be filled in).
+     * The indexes of type names.
      */
-    private PositionSet required;
+    private final Map<String, Integer> indexes;
 
     /**
-     * All possible positions.
+     * The index of the type name of each position.
      */
-    private PositionSet possible;
+    private final int[] types;
 
     /**
-     * Number of unused cells of each type.
+     * The flags of optional positions.
      */
-    private Map<String, Integer> unused;
+    private final boolean[] optional;
 
     /**
-     * The appropriate types from the descriptors for each node.
+     * The number of optional positions before each position.
      */
-    private Map<Node, String> suitable;
+    private final int[] before;
+
+    /**
+     * The positions of each type name, in ascending order.
+     */
+    private final int[][] positions;
+
+    /**
+     * The number of required positions.
+     */
+    private final int required;
+
+    /**
+     * Flag indicating that nodes whose types follow the descriptors one by one
+     * are mapped to the positions in the same order.
+     */
+    private final boolean positional;
 
     /**
      * Constructor.
      * @param descriptors The list of child descriptors.
      */
     public ChildrenMapper(final List<ChildDescriptor> descriptors) {
-        this.descriptors = descriptors;
+        this.names = ChildrenMapper.collectNames(descriptors);
+        this.indexes = ChildrenMapper.indexNames(this.names);
+        this.types = ChildrenMapper.indexTypes(descriptors, this.indexes);
+        this.optional = ChildrenMapper.collectOptional(descriptors);
+        this.before = ChildrenMapper.countBefore(this.optional);
+        this.positions = ChildrenMapper.groupPositions(this.types, this.names.length);
+        this.required = ChildrenMapper.countRequired(this.optional);
+        this.positional = new Binding(this.types).isPositional();
     }
 
     /**
@@ -77,20 +103,90 @@ public class ChildrenMapper {
      */
     public boolean map(final Node[] destination, final List<Node> source) {
         boolean result = false;
-        final int capacity = this.descriptors.size();
+        final int capacity = this.types.length;
         final int count = source.size();
         if (capacity == 0 && count == 0) {
             result = true;
-        } else if (capacity >= count) {
+        } else if (capacity >= count && count >= this.required) {
             assert destination.length == capacity;
-            this.required = new PositionSet(false);
-            if (count >= this.required.getCount()) {
+            if (this.positional && count == capacity && this.isInOrder(source)) {
+                source.toArray(destination);
+                result = true;
+            } else {
                 result = this.fullMapping(destination, source);
             }
         }
         return result;
     }
 
+    /**
+     * Packs the nodes placed at positions into a right-sized array in the order
+     * of positions, skipping empty optional positions.
+     * If all the positions are filled, the passed array is returned as is.
+     * @param nodes The nodes, one for each position, {@code null} if the position is empty
+     * @return The array of nodes
+     */
+    public Node[] pack(final Node... nodes) {
+        assert nodes.length == this.types.length;
+        int count = 0;
+        for (final Node node : nodes) {
+            if (node != null) {
+                count = count + 1;
+            }
+        }
+        Node[] result = nodes;
+        if (count < nodes.length) {
+            result = new Node[count];
+            int index = 0;
+            for (final Node node : nodes) {
+                if (node != null) {
+                    result[index] = node;
+                    index = index + 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the flags of empty optional positions, the flag of the N-th optional
+     * position is the N-th bit, so that a node that stores packed children can find
+     * its child by position.
+     * Only the first {@link Integer#SIZE} optional positions can be flagged.
+     * @param nodes The nodes, one for each position, {@code null} if the position is empty
+     * @return The flags
+     */
+    public int absent(final Node... nodes) {
+        assert nodes.length == this.types.length;
+        int result = 0;
+        for (int position = 0; position < nodes.length; position = position + 1) {
+            if (nodes[position] == null) {
+                assert this.optional[position] && this.before[position] < Integer.SIZE;
+                result = result | 1 << this.before[position];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the node placed at the position among packed nodes.
+     * @param nodes The nodes packed by the {@link #pack(Node...)} method
+     * @param absent The flags of empty optional positions computed
+     *  by the {@link #absent(Node...)} method
+     * @param position The position
+     * @return The node or {@code null} if the position is empty
+     */
+    public Node locate(final Node[] nodes, final int absent, final int position) {
+        final int count = this.before[position];
+        final Node result;
+        if (this.optional[position] && (absent & 1 << count) != 0) {
+            result = null;
+        } else {
+            result = nodes[position - Integer.bitCount(absent & (int) ((1L << count) - 1))];
+        }
+        return result;
+    }
+
     /**
      * Full mapper that performs matching in two passes.
      * @param destination The array in which each node is placed at a suitable position
@@ -98,227 +194,390 @@ public class ChildrenMapper {
      * @return Mapping result, {@code true} if such a mapping is possible (array was filled)
      */
     private boolean fullMapping(final Node[] destination, final List<Node> source) {
-        boolean result;
-        do {
-            result = this.calculate(source);
-            if (!result) {
-                break;
-            }
-            final Node[] array = new Node[source.size()];
-            source.toArray(array);
-            final int unprocessed = this.bindAllUniqueNodes(destination, array);
-            if (unprocessed < 0) {
+        final int count = source.size();
+        final int[] suitable = new int[count];
+        boolean result = true;
+        for (int index = 0; index < count; index = index + 1) {
+            suitable[index] = this.findType(source.get(index).getType());
+            if (suitable[index] < 0) {
                 result = false;
                 break;
-            } else if (unprocessed == 0) {
-                result = this.required.getCount() == 0;
-                break;
             }
-            result = this.bindAllNodes(destination, array) && this.required.getCount() == 0;
-        } while (false);
+        }
+        if (result) {
+            final Binding binding = new Binding(suitable);
+            result = binding.run();
+            if (result) {
+                binding.fill(destination, source);
+            }
+        }
         return result;
     }
 
     /**
-     * Counts the number of nodes of each type and calculates the suitable type names.
-     * @param nodes The list of nodes
-     * @return Calculation result, {@code true} if structures have been filled
+     * Checks that the types of nodes follow the descriptors one by one.
+     * @param source The source list of nodes, one for each position
+     * @return Checking result
      */
-    private boolean calculate(final List<Node> nodes) {
+    private boolean isInOrder(final List<Node> source) {
         boolean result = true;
-        this.possible = new PositionSet(true);
-        this.unused = new TreeMap<>();
-        this.suitable = new HashMap<>();
-        for (final Node node : nodes) {
-            final String type = this.possible.findSuitableBaseType(node);
-            if (type.isEmpty()) {
+        for (int index = 0; index < this.types.length; index = index + 1) {
+            final Type type = source.get(index).getType();
+            final int expected = this.types[index];
+            if (!type.getName().equals(this.names[expected])
+                && this.findType(type) != expected) {
                 result = false;
                 break;
             }
-            final Integer count = this.unused.computeIfAbsent(type, x -> 0);
-            this.unused.put(type, count + 1);
-            this.suitable.put(node, type);
         }
         return result;
     }
 
     /**
-     * Binds all nodes, the type of which occurs once.
-     * @param destination Array in which each node is placed at a suitable position
-     * @param source Array of source nodes
-     * @return Number of unprocessed nodes, or -1 if binding failed
+     * Looks for suitable type name from the descriptors that a node can be mapped to,
+     * that is, the name of the node type or the first group the node belongs to.
+     * @param type The type of the node
+     * @return The index of the type name or -1 if the node can't be mapped
      */
-    private int bindAllUniqueNodes(final Node[] destination, final Node... source) {
-        int count = source.length;
-        for (int index = 0; index < source.length; index = index + 1) {
-            final Node node = source[index];
-            final String type = this.suitable.get(node);
-            if (this.unused.get(type) == 1) {
-                count = count - 1;
-                List<Integer> positions = this.required.getPositionsByType(type);
-                if (positions == null) {
-                    positions = this.possible.getPositionsByType(type);
-                }
-                if (positions.size() > 1) {
-                    count = -1;
+    private int findType(final Type type) {
+        final Integer index = this.indexes.get(type.getName());
+        int result = -1;
+        if (index == null) {
+            for (int group = 0; group < this.names.length; group = group + 1) {
+                if (type.belongsToGroup(this.names[group])) {
+                    result = group;
                     break;
                 }
-                final Integer position = positions.get(0);
-                destination[position] = node;
-                source[index] = EmptyTree.INSTANCE;
-                this.required.removePosition(type, position);
-                this.possible.removePosition(type, position);
-                this.unused.put(type, 0);
             }
+        } else {
+            result = index;
         }
-        return count;
+        return result;
     }
 
     /**
-     * Binds all nodes (given their order).
-     * @param destination Array in which each node is placed at a suitable position
-     * @param source Array of source nodes
-     * @return Binding result, {@code true} if all nodes were bind
+     * Collects the type names from the descriptors.
+     * @param descriptors The list of child descriptors
+     * @return The type names in alphabetical order
      */
-    private boolean bindAllNodes(final Node[] destination, final Node... source) {
-        boolean result = true;
-        for (final Node node : source) {
-            if (!(node instanceof EmptyTree)) {
-                final String type = this.suitable.get(node);
-                final List<Integer> allowed = this.possible.getPositionsByType(type);
-                if (allowed == null) {
-                    result = false;
-                    break;
-                }
-                final int unprocessed = this.unused.get(type);
-                final List<Integer> obligatory = this.required.getPositionsByType(type);
-                final Integer position;
-                if (obligatory == null && allowed.size() > 1) {
-                    result = false;
-                    break;
-                } else if (obligatory == null || unprocessed > obligatory.size()) {
-                    position = allowed.get(0);
-                } else  {
-                    position = obligatory.get(0);
-                }
-                destination[position] = node;
-                this.required.removePosition(type, position);
-                this.possible.removePosition(type, position);
-                this.unused.put(type, unprocessed - 1);
+    private static String[] collectNames(final List<ChildDescriptor> descriptors) {
+        final Set<String> set = new TreeSet<>();
+        for (final ChildDescriptor descriptor : descriptors) {
+            set.add(descriptor.getType());
+        }
+        return set.toArray(new String[0]);
+    }
+
+    /**
+     * Builds the map of indexes of type names.
+     * @param names The type names
+     * @return The map
+     */
+    private static Map<String, Integer> indexNames(final String... names) {
+        final Map<String, Integer> map = new HashMap<>();
+        for (int index = 0; index < names.length; index = index + 1) {
+            map.put(names[index], index);
+        }
+        return map;
+    }
+
+    /**
+     * Finds the index of the type name of each position.
+     * @param descriptors The list of child descriptors
+     * @param indexes The indexes of type names
+     * @return The indexes, one for each position
+     */
+    private static int[] indexTypes(final List<ChildDescriptor> descriptors,
+        final Map<String, Integer> indexes) {
+        final int[] result = new int[descriptors.size()];
+        for (int position = 0; position < result.length; position = position + 1) {
+            result[position] = indexes.get(descriptors.get(position).getType());
+        }
+        return result;
+    }
+
+    /**
+     * Collects the flags of optional positions.
+     * @param descriptors The list of child descriptors
+     * @return The flags, one for each position
+     */
+    private static boolean[] collectOptional(final List<ChildDescriptor> descriptors) {
+        final boolean[] result = new boolean[descriptors.size()];
+        for (int position = 0; position < result.length; position = position + 1) {
+            result[position] = descriptors.get(position).isOptional();
+        }
+        return result;
+    }
+
+    /**
+     * Counts the number of optional positions before each position.
+     * @param optional The flags of optional positions
+     * @return The numbers, one for each position
+     */
+    private static int[] countBefore(final boolean... optional) {
+        final int[] result = new int[optional.length];
+        int count = 0;
+        for (int position = 0; position < optional.length; position = position + 1) {
+            result[position] = count;
+            if (optional[position]) {
+                count = count + 1;
             }
         }
         return result;
     }
 
     /**
-     * The set of types with a relationship of possible position for a node of each such type.
+     * Groups positions by type names.
+     * @param types The index of the type name of each position
+     * @param count The number of type names
+     * @return The positions of each type name, in ascending order
+     */
+    private static int[][] groupPositions(final int[] types, final int count) {
+        final int[] sizes = ChildrenMapper.countTypes(count, types);
+        final int[][] result = new int[count][];
+        for (int type = 0; type < count; type = type + 1) {
+            result[type] = new int[sizes[type]];
+            sizes[type] = 0;
+        }
+        for (int position = 0; position < types.length; position = position + 1) {
+            final int type = types[position];
+            result[type][sizes[type]] = position;
+            sizes[type] = sizes[type] + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Counts the number of occurrences of each type name.
+     * @param count The number of type names
+     * @param types The indexes of type names
+     * @return The number of occurrences of each type name
+     */
+    private static int[] countTypes(final int count, final int... types) {
+        final int[] result = new int[count];
+        for (final int type : types) {
+            result[type] = result[type] + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Counts the number of required positions.
+     * @param optional The flags of optional positions
+     * @return The number of required positions
+     */
+    private static int countRequired(final boolean... optional) {
+        int result = 0;
+        for (final boolean flag : optional) {
+            if (!flag) {
+                result = result + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The state of the mapping of one list of nodes.
      * @since 1.0
      */
-    private final class PositionSet {
+    private final class Binding {
         /**
-         * Also consider optional items.
+         * The index of the suitable type name of each node.
          */
-        private final boolean optional;
+        private final int[] suitable;
 
         /**
-         * The set of positions arranged by type name.
+         * The number of unbound nodes of each type name.
          */
-        private Map<String, List<Integer>> positions;
+        private final int[] unused;
 
         /**
-         * The number of positions.
+         * The flags of positions that are already taken.
          */
-        private int count;
+        private final boolean[] taken;
+
+        /**
+         * The flags of nodes that are already bound.
+         */
+        private final boolean[] bound;
+
+        /**
+         * The position of each bound node.
+         */
+        private final int[] placement;
+
+        /**
+         * The number of required positions that are not taken yet.
+         */
+        private int missing;
 
         /**
          * Constructor.
-         * @param optional Also consider optional items
+         * @param suitable The index of the suitable type name of each node
          */
-        private PositionSet(final boolean optional) {
-            this.optional = optional;
+        @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+        private Binding(final int... suitable) {
+            this.suitable = suitable;
+            this.unused = ChildrenMapper.countTypes(ChildrenMapper.this.names.length, suitable);
+            this.taken = new boolean[ChildrenMapper.this.types.length];
+            this.bound = new boolean[suitable.length];
+            this.placement = new int[suitable.length];
+            this.missing = ChildrenMapper.this.required;
         }
 
         /**
-         * Returns the number of positions.
-         * @return The number of positions
+         * Binds all nodes to positions in two passes.
+         * @return Binding result, {@code true} if all nodes were bound and all
+         *  required positions were taken
          */
-        public int getCount() {
-            return this.count;
+        public boolean run() {
+            return this.bindAllUniqueNodes() >= 0
+                && this.bindAllNodes()
+                && this.missing == 0;
         }
 
         /**
-         * Returns list of positions by type name.
-         * @param type The type name
-         * @return The list of positions
+         * Checks that the nodes are bound to the positions in the same order.
+         * @return Checking result
          */
-        public List<Integer> getPositionsByType(final String type) {
-            this.init();
-            return this.positions.get(type);
+        public boolean isPositional() {
+            boolean result = this.run();
+            for (int index = 0; result && index < this.placement.length; index = index + 1) {
+                result = this.placement[index] == index;
+            }
+            return result;
         }
 
         /**
-         * Looks for suitable base type that can be mapped.
-         * @param node The node
-         * @return Base type or an empty string if node can't be mapped
+         * Places the bound nodes at their positions.
+         * @param destination The array in which each node is placed
+         * @param source The source list of nodes
          */
-        public String findSuitableBaseType(final Node node) {
-            this.init();
-            String result = "";
-            final Type type = node.getType();
-            final String name = type.getName();
-            if (this.positions.containsKey(name)) {
-                result = name;
-            } else {
-                for (final String group : this.positions.keySet()) {
-                    if (type.belongsToGroup(group)) {
-                        result = group;
+        public void fill(final Node[] destination, final List<Node> source) {
+            for (int index = 0; index < this.placement.length; index = index + 1) {
+                destination[this.placement[index]] = source.get(index);
+            }
+        }
+
+        /**
+         * Binds all nodes, the type of which occurs once.
+         * @return Number of unprocessed nodes, or -1 if binding failed
+         */
+        private int bindAllUniqueNodes() {
+            int count = this.suitable.length;
+            for (int index = 0; index < this.suitable.length; index = index + 1) {
+                final int type = this.suitable[index];
+                if (this.unused[type] == 1) {
+                    count = count - 1;
+                    boolean obligatory = true;
+                    if (this.countFree(type, true) == 0) {
+                        obligatory = false;
+                    }
+                    if (this.countFree(type, obligatory) > 1) {
+                        count = -1;
                         break;
                     }
+                    this.bind(index, this.findFree(type, obligatory));
+                    this.unused[type] = 0;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Binds all nodes (given their order).
+         * @return Binding result, {@code true} if all nodes were bound
+         */
+        private boolean bindAllNodes() {
+            boolean result = true;
+            for (int index = 0; result && index < this.bound.length; index = index + 1) {
+                if (!this.bound[index]) {
+                    result = this.bindNode(index);
                 }
             }
             return result;
         }
 
         /**
-         * Removes position from the set.
-         * @param type The type name
-         * @param index The position index
+         * Binds a node, preferring required positions if there are not more nodes
+         * of the same type than such positions.
+         * @param index The index of the node
+         * @return Binding result, {@code true} if the node was bound
          */
-        public void removePosition(final String type, final Integer index) {
-            this.init();
-            final List<Integer> list = this.positions.get(type);
-            if (list != null && list.remove(index)) {
-                this.count = this.count - 1;
-                if (list.isEmpty()) {
-                    this.positions.remove(type);
+        private boolean bindNode(final int index) {
+            final int type = this.suitable[index];
+            final int allowed = this.countFree(type, false);
+            final int obligatory = this.countFree(type, true);
+            boolean result = true;
+            if (allowed == 0 || obligatory == 0 && allowed > 1) {
+                result = false;
+            } else {
+                final int unprocessed = this.unused[type];
+                this.bind(
+                    index,
+                    this.findFree(type, obligatory > 0 && unprocessed <= obligatory)
+                );
+                this.unused[type] = unprocessed - 1;
+            }
+            return result;
+        }
+
+        /**
+         * Binds a node to a position.
+         * @param index The index of the node
+         * @param position The position
+         */
+        private void bind(final int index, final int position) {
+            this.bound[index] = true;
+            this.placement[index] = position;
+            this.taken[position] = true;
+            if (!ChildrenMapper.this.optional[position]) {
+                this.missing = this.missing - 1;
+            }
+        }
+
+        /**
+         * Counts free positions of a type name.
+         * @param type The index of the type name
+         * @param obligatory Count only required positions
+         * @return The number of free positions
+         */
+        private int countFree(final int type, final boolean obligatory) {
+            int result = 0;
+            for (final int position : ChildrenMapper.this.positions[type]) {
+                if (this.isFree(position, obligatory)) {
+                    result = result + 1;
                 }
             }
+            return result;
         }
 
         /**
-         * Initializes the set of positions.
+         * Finds the first free position of a type name.
+         * @param type The index of the type name
+         * @param obligatory Look only for required positions
+         * @return The position or -1 if there are no free positions
          */
-        private void init() {
-            if (this.positions == null) {
-                this.positions = new TreeMap<>();
-                this.count = 0;
-                int index = 0;
-                for (final ChildDescriptor descriptor : ChildrenMapper.this.descriptors) {
-                    boolean allowed = true;
-                    if (!this.optional && descriptor.isOptional()) {
-                        allowed = false;
-                    }
-                    if (allowed) {
-                        final String type = descriptor.getType();
-                        final List<Integer> indexes = this.positions.computeIfAbsent(
-                            type, x -> new ArrayList<>(2)
-                        );
-                        indexes.add(index);
-                        this.count = this.count + 1;
-                    }
-                    index = index + 1;
+        private int findFree(final int type, final boolean obligatory) {
+            int result = -1;
+            for (final int position : ChildrenMapper.this.positions[type]) {
+                if (this.isFree(position, obligatory)) {
+                    result = position;
+                    break;
                 }
             }
+            return result;
+        }
+
+        /**
+         * Checks that a position is free.
+         * @param position The position
+         * @param obligatory Consider only required positions
+         * @return Checking result
+         */
+        private boolean isFree(final int position, final boolean obligatory) {
+            return !this.taken[position]
+                && !(obligatory && ChildrenMapper.this.optional[position]);
         }
     }
 }
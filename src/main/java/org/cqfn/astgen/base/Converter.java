@@ -38,4 +38,14 @@ public interface Converter {
      * @return A new [unified] node
      */
     Node convert(Node node, Factory factory);
+
+    /**
+     * Returns the name of the type (or the group) that the root of the pattern requires.
+     * The adapter uses it to skip converters that can't match a node.
+     *
+     * @return The type name or an empty string if the converter can match any node
+     */
+    default String getRootType() {
+        return "";
+    }
 }
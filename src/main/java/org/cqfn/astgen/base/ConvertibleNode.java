@@ -23,11 +23,15 @@
  */
 package org.cqfn.astgen.base;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Mutable node whose children can be replaced during syntactic tree customization.
+ * Wrappers are created lazily, when a node is visited, and a wrapper is stored in its
+ * parent only when something in its subtree has been replaced. Unchanged subtrees are
+ * represented by the original nodes.
  *
  * @since 1.0
  */
@@ -37,25 +41,32 @@ public final class ConvertibleNode implements Node {
      */
     private final ConvertibleNode parent;
 
+    /**
+     * The index of the node in the list of children of the parent.
+     */
+    private final int index;
+
     /**
      * The prototype node.
      */
     private final Node prototype;
 
     /**
-     * The list of children.
-      */
-    private final List<Node> children;
+     * The array of children, {@code null} until some child is replaced.
+     */
+    private Node[] children;
 
     /**
      * Constructor.
      * @param parent The parent convertible node.
      * @param prototype The prototype node.
+     * @param index The index of the node in the list of children of the parent
      */
-    private ConvertibleNode(final ConvertibleNode parent, final Node prototype) {
+    private ConvertibleNode(final ConvertibleNode parent, final Node prototype,
+        final int index) {
         this.parent = parent;
         this.prototype = prototype;
-        this.children = this.initChildrenList();
+        this.index = index;
     }
 
     /**
@@ -63,7 +74,7 @@ public final class ConvertibleNode implements Node {
      * @param prototype The prototype node.
      */
     public ConvertibleNode(final Node prototype) {
-        this(null, prototype);
+        this(null, prototype, 0);
     }
 
     /**
@@ -74,6 +85,14 @@ public final class ConvertibleNode implements Node {
         return this.parent;
     }
 
+    /**
+     * Returns the index of the node in the list of children of the parent.
+     * @return The index
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
     @Override
     public Fragment getFragment() {
         return this.prototype.getFragment();
@@ -91,62 +110,124 @@ public final class ConvertibleNode implements Node {
 
     @Override
     public int getChildCount() {
-        return this.children.size();
+        return this.prototype.getChildCount();
     }
 
     @Override
-    public Node getChild(final int index) {
-        return this.children.get(index);
+    public Node getChild(final int position) {
+        final Node result;
+        if (this.children == null) {
+            result = this.prototype.getChild(position);
+        } else {
+            result = this.children[position];
+        }
+        return result;
     }
 
     /**
      * Returns a child, transformed to {@link ConvertibleNode}, by its index.
-     * @param index Child index
+     * If the child has not been transformed before, a new wrapper is returned each time.
+     * @param position Child index
      * @return Convertible node
      */
-    public ConvertibleNode getConvertibleChild(final int index) {
-        final Node node = this.children.get(index);
+    public ConvertibleNode getConvertibleChild(final int position) {
+        final Node node = this.getChild(position);
         final ConvertibleNode result;
-        if (node instanceof ConvertibleNode) {
+        if (node instanceof ConvertibleNode && ((ConvertibleNode) node).parent == this) {
             result = (ConvertibleNode) node;
         } else {
-            result = new ConvertibleNode(this, node);
-            this.children.set(index, result);
+            result = new ConvertibleNode(this, node, position);
         }
         return result;
     }
 
     @Override
     public List<Node> getChildrenList() {
-        return this.children;
+        final List<Node> result;
+        if (this.children == null) {
+            result = this.prototype.getChildrenList();
+        } else {
+            result = Collections.unmodifiableList(Arrays.asList(this.children));
+        }
+        return result;
     }
 
     /**
      * Replaces a child node with another node.
+     * If the child is a wrapper created by this node, the replacement takes constant time.
      * @param child Child node
      * @param substitute Substitute node
      * @return Result of operation, {@code true} if replacement was successful
      */
     public boolean replaceChild(final Node child, final Node substitute) {
-        boolean result = false;
-        final int index = this.children.indexOf(child);
-        if (index >= 0) {
-            this.children.set(index, substitute);
-            result = true;
+        final int position = this.findChild(child);
+        final boolean result = position >= 0;
+        if (result) {
+            this.replaceChild(position, substitute);
         }
         return result;
     }
 
     /**
-     * Transforms children nodes to convertible ones.
-     * @return Array of convertible nodes
+     * Replaces a child node with another node.
+     * @param position Child index
+     * @param substitute Substitute node
      */
-    private List<Node> initChildrenList() {
-        final int count = this.prototype.getChildCount();
-        final List<Node> result = new ArrayList<>(count);
-        for (int index = 0; index < count; index = index + 1) {
-            result.add(new ConvertibleNode(this, this.prototype.getChild(index)));
+    public void replaceChild(final int position, final Node substitute) {
+        this.setChild(position, substitute);
+        ConvertibleNode node = this;
+        while (node.parent != null && !node.isAttached()) {
+            node.parent.setChild(node.index, node);
+            node = node.parent;
+        }
+    }
+
+    /**
+     * Stores a child, creates the array of children if necessary.
+     * @param position Child index
+     * @param child Child node
+     */
+    private void setChild(final int position, final Node child) {
+        if (this.children == null) {
+            final int count = this.prototype.getChildCount();
+            this.children = new Node[count];
+            for (int item = 0; item < count; item = item + 1) {
+                this.children[item] = this.prototype.getChild(item);
+            }
+        }
+        this.children[position] = child;
+    }
+
+    /**
+     * Looks for the position of the child.
+     * @param child Child node
+     * @return The index of the child or -1 if the node is not a child
+     */
+    private int findChild(final Node child) {
+        int result = -1;
+        if (child instanceof ConvertibleNode && ((ConvertibleNode) child).parent == this) {
+            final ConvertibleNode wrapper = (ConvertibleNode) child;
+            final Node current = this.getChild(wrapper.index);
+            if (current.equals(wrapper) || current.equals(wrapper.prototype)) {
+                result = wrapper.index;
+            }
+        } else {
+            final int count = this.getChildCount();
+            for (int position = 0; position < count; position = position + 1) {
+                if (this.getChild(position).equals(child)) {
+                    result = position;
+                    break;
+                }
+            }
         }
         return result;
     }
+
+    /**
+     * Checks whether the node is stored in the parent.
+     * @return Checking result, {@code true} if the parent holds this node
+     */
+    private boolean isAttached() {
+        return this.parent.children != null && this.parent.children[this.index] == this;
+    }
 }
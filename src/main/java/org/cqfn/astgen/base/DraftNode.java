@@ -24,7 +24,6 @@
 package org.cqfn.astgen.base;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -87,51 +86,6 @@ public final class DraftNode implements Node {
         return this.children.get(index);
     }
 
-    /**
-     * Type implementation for the draft node.
-     *
-     * @since 1.0
-     */
-    private static class TypeImpl implements Type {
-        /**
-         * The type name.
-         */
-        private final String name;
-
-        /**
-         * Constructor.
-         * @param name The type name
-         */
-        TypeImpl(final String name) {
-            this.name = name;
-        }
-
-        @Override
-        public String getName() {
-            return this.name;
-        }
-
-        @Override
-        public List<ChildDescriptor> getChildTypes() {
-            return Collections.emptyList();
-        }
-
-        @Override
-        public List<String> getHierarchy() {
-            return Collections.singletonList(this.name);
-        }
-
-        @Override
-        public String getProperty(final String property) {
-            return "";
-        }
-
-        @Override
-        public Builder createBuilder() {
-            return new Constructor();
-        }
-    }
-
     /**
      * The constructor class for draft node.
      * @since 1.0
@@ -213,7 +167,7 @@ public final class DraftNode implements Node {
             }
             final DraftNode node = new DraftNode();
             node.fragment = this.fragment;
-            node.type = new TypeImpl(this.name);
+            node.type = TypeTable.INSTANCE.getType(this.name);
             node.data = this.data;
             node.children = new ArrayList<>(this.children);
             return node;
@@ -23,25 +23,103 @@
  */
 package org.cqfn.astgen.base;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * The node factory.
+ * Builders are created by type names, and generated factories also create them
+ * by type identifiers, which are positions of types in the list passed
+ * to the constructor.
+ * A factory with an interner creates builders that replace new nodes with shared
+ * identical ones.
  *
  * @since 1.0
  */
 public class Factory {
+    /**
+     * The types arranged by identifiers.
+     */
+    private final Type[] table;
+
     /**
      * The set of types arranged by name.
      */
     private final Map<String, Type> types;
 
+    /**
+     * The interner of created nodes.
+     */
+    private final Interner interner;
+
     /**
      * Constructor.
      * @param types The set of types arranged by name
      */
     public Factory(final Map<String, Type> types) {
-        this.types = types;
+        this(new ArrayList<>(types.values()));
+    }
+
+    /**
+     * Constructor.
+     * @param types The list of types, the position of each type is its identifier
+     */
+    public Factory(final List<Type> types) {
+        this(types, Factory.arrange(types), Interner.DISABLED);
+    }
+
+    /**
+     * Constructor.
+     * @param types The list of types, the position of each type is its identifier
+     * @param map The set of types arranged by name
+     * @param interner The interner of created nodes
+     */
+    private Factory(final List<Type> types, final Map<String, Type> map,
+        final Interner interner) {
+        this.table = types.toArray(new Type[0]);
+        this.types = map;
+        this.interner = interner;
+    }
+
+    /**
+     * Creates the factory of the same types whose builders share identical nodes.
+     * Type identifiers of both factories are the same.
+     * @param obj The interner of created nodes
+     * @return A new factory
+     */
+    public final Factory intern(final Interner obj) {
+        return new Factory(Arrays.asList(this.table), this.types, obj);
+    }
+
+    /**
+     * Creates node builder by type identifier.
+     * @param id The type identifier, that is valid only for this factory
+     * @return A node builder
+     */
+    public final Builder createBuilder(final int id) {
+        return this.wrap(this.table[id].createBuilder());
+    }
+
+    /**
+     * Creates node builder by type identifier of some factory, if this factory has
+     * the type with the same name under this identifier, and by type name otherwise.
+     * So generated converters can use identifiers of their language factory and still
+     * work with any other factory.
+     * @param id The type identifier
+     * @param name The type name
+     * @return A node builder
+     */
+    public final Builder createBuilder(final int id, final String name) {
+        final Builder result;
+        if (id < this.table.length && this.table[id].getName().equals(name)) {
+            result = this.wrap(this.table[id].createBuilder());
+        } else {
+            result = this.createBuilder(name);
+        }
+        return result;
     }
 
     /**
@@ -50,15 +128,43 @@ public class Factory {
      * @return A node builder
      */
     public final Builder createBuilder(final String name) {
+        final Type type = this.types.get(name);
         final Builder result;
-        if (this.types.containsKey(name)) {
-            final Type type = this.types.get(name);
-            result = type.createBuilder();
-        } else {
+        if (type == null) {
             final DraftNode.Constructor draft = new DraftNode.Constructor();
             draft.setName(name);
             result = draft;
+        } else {
+            result = type.createBuilder();
+        }
+        return this.wrap(result);
+    }
+
+    /**
+     * Wraps the builder so that it interns created nodes, if the factory has an interner.
+     * @param builder The builder
+     * @return The wrapped builder or the same builder
+     */
+    private Builder wrap(final Builder builder) {
+        final Builder result;
+        if (this.interner.isEnabled()) {
+            result = new InterningBuilder(builder, this.interner);
+        } else {
+            result = builder;
         }
         return result;
     }
+
+    /**
+     * Arranges types by name.
+     * @param types The list of types
+     * @return The map of types by name
+     */
+    private static Map<String, Type> arrange(final List<Type> types) {
+        final Map<String, Type> map = new HashMap<>();
+        for (final Type type : types) {
+            map.put(type.getName(), type);
+        }
+        return map;
+    }
 }
@@ -0,0 +1,326 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Table of shared nodes (hash consing).
+ * Nodes are immutable, so structurally identical subtrees can be one instance.
+ * Two nodes are identical if they have the same type, fragment and children
+ * (compared by reference) and equal data. Children are interned before their
+ * parents, so comparing them by reference is enough to share whole subtrees.
+ * The table refers to shared nodes weakly and forgets nodes that nobody else uses.
+ * Do not intern nodes that are used as keys of identity maps, for example,
+ * in a tree where each node must have its own parent.
+ *
+ * @since 1.0
+ */
+public final class Interner {
+    /**
+     * The interner that does not share anything, factories check it and
+     * do not wrap builders.
+     */
+    public static final Interner DISABLED = new Interner(false);
+
+    /**
+     * Flag indicating that the interner shares nodes.
+     */
+    private final boolean enabled;
+
+    /**
+     * The table of shared nodes.
+     */
+    private final Map<Key, Entry> table;
+
+    /**
+     * The queue of entries whose nodes have been collected.
+     */
+    private final ReferenceQueue<Node> queue;
+
+    /**
+     * The number of interned nodes.
+     */
+    private final LongAdder lookups;
+
+    /**
+     * The number of interned nodes replaced with shared ones.
+     */
+    private final LongAdder hits;
+
+    /**
+     * Constructor.
+     */
+    public Interner() {
+        this(true);
+    }
+
+    /**
+     * Constructor.
+     * @param enabled Flag indicating that the interner shares nodes
+     */
+    private Interner(final boolean enabled) {
+        this.enabled = enabled;
+        this.table = new ConcurrentHashMap<>();
+        this.queue = new ReferenceQueue<>();
+        this.lookups = new LongAdder();
+        this.hits = new LongAdder();
+    }
+
+    /**
+     * Checks whether the interner shares nodes.
+     * @return Checking result
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Returns the shared node identical to the given one. If there is no such node,
+     * the given node becomes shared.
+     * @param node The node
+     * @return The shared node
+     */
+    public Node intern(final Node node) {
+        this.purge();
+        this.lookups.increment();
+        final Key key = new Key(node);
+        final Entry entry = new Entry(node, key, this.queue);
+        Node result = node;
+        boolean done = false;
+        while (!done) {
+            final Entry previous = this.table.putIfAbsent(key, entry);
+            if (previous == null) {
+                done = true;
+            } else {
+                final Node shared = previous.get();
+                if (shared == null) {
+                    this.table.remove(key, previous);
+                } else {
+                    result = shared;
+                    done = true;
+                    this.hits.increment();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of nodes passed to the interner.
+     * @return The number of lookups
+     */
+    public long getLookups() {
+        return this.lookups.sum();
+    }
+
+    /**
+     * Returns the number of nodes replaced with shared ones.
+     * @return The number of hits
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the share of nodes replaced with shared ones.
+     * @return The hit rate, from 0 to 1
+     */
+    public double getHitRate() {
+        final long total = this.lookups.sum();
+        double rate = 0;
+        if (total > 0) {
+            rate = (double) this.hits.sum() / total;
+        }
+        return rate;
+    }
+
+    /**
+     * Returns the number of shared nodes, including nodes that have been collected
+     * but not yet removed from the table.
+     * @return The number of shared nodes
+     */
+    public int size() {
+        this.purge();
+        return this.table.size();
+    }
+
+    /**
+     * Removes entries whose nodes have been collected.
+     */
+    private void purge() {
+        Reference<? extends Node> ref = this.queue.poll();
+        while (ref != null) {
+            final Entry entry = (Entry) ref;
+            this.table.remove(entry.key, entry);
+            ref = this.queue.poll();
+        }
+    }
+
+    /**
+     * The key of a node: its type, fragment, data and children.
+     *
+     * @since 1.0
+     */
+    private static final class Key {
+        /**
+         * The factor that combines hash codes of children.
+         */
+        private static final int FACTOR = 31;
+
+        /**
+         * The type.
+         */
+        private final Type type;
+
+        /**
+         * The fragment.
+         */
+        private final Fragment fragment;
+
+        /**
+         * The data.
+         */
+        private final String data;
+
+        /**
+         * The children.
+         */
+        private final Node[] children;
+
+        /**
+         * The hash code.
+         */
+        private final int code;
+
+        /**
+         * Constructor.
+         * @param node The node
+         */
+        Key(final Node node) {
+            this.type = node.getType();
+            this.fragment = node.getFragment();
+            this.data = node.getData();
+            this.children = Key.getChildren(node);
+            this.code = Key.calculateHash(node, this.children);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.code;
+        }
+
+        @Override
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        public boolean equals(final Object obj) {
+            boolean result = this == obj;
+            if (!result && obj instanceof Key) {
+                final Key other = (Key) obj;
+                result = this.code == other.code
+                    && this.type == other.type
+                    && this.fragment == other.fragment
+                    && Objects.equals(this.data, other.data)
+                    && this.hasSameChildren(other);
+            }
+            return result;
+        }
+
+        /**
+         * Returns the children of a node.
+         * @param node The node
+         * @return The array of children
+         */
+        private static Node[] getChildren(final Node node) {
+            final int count = node.getChildCount();
+            final Node[] children = new Node[count];
+            for (int index = 0; index < count; index = index + 1) {
+                children[index] = node.getChild(index);
+            }
+            return children;
+        }
+
+        /**
+         * Calculates the hash code of a node, the children contribute
+         * their identity hash codes.
+         * @param node The node
+         * @param children The children
+         * @return The hash code
+         */
+        private static int calculateHash(final Node node, final Node... children) {
+            int result = Objects.hash(
+                System.identityHashCode(node.getType()),
+                System.identityHashCode(node.getFragment()),
+                node.getData()
+            );
+            for (final Node child : children) {
+                result = result * Key.FACTOR + System.identityHashCode(child);
+            }
+            return result;
+        }
+
+        /**
+         * Checks whether the other key has the same children.
+         * @param other The other key
+         * @return Checking result
+         */
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        private boolean hasSameChildren(final Key other) {
+            boolean result = this.children.length == other.children.length;
+            for (int index = 0; result && index < this.children.length; index = index + 1) {
+                result = this.children[index] == other.children[index];
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The weak reference to a shared node that remembers its key,
+     * so the table can forget the node after it has been collected.
+     *
+     * @since 1.0
+     */
+    private static final class Entry extends WeakReference<Node> {
+        /**
+         * The key.
+         */
+        private final Key key;
+
+        /**
+         * Constructor.
+         * @param node The node
+         * @param key The key
+         * @param queue The queue of collected entries
+         */
+        Entry(final Node node, final Key key, final ReferenceQueue<Node> queue) {
+            super(node, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.List;
+
+/**
+ * Builder that replaces created nodes with shared identical ones.
+ *
+ * @since 1.0
+ */
+final class InterningBuilder implements Builder {
+    /**
+     * The builder that creates nodes.
+     */
+    private final Builder builder;
+
+    /**
+     * The interner.
+     */
+    private final Interner interner;
+
+    /**
+     * Constructor.
+     * @param builder The builder that creates nodes
+     * @param interner The interner
+     */
+    InterningBuilder(final Builder builder, final Interner interner) {
+        this.builder = builder;
+        this.interner = interner;
+    }
+
+    @Override
+    public void setFragment(final Fragment fragment) {
+        this.builder.setFragment(fragment);
+    }
+
+    @Override
+    public boolean setData(final String str) {
+        return this.builder.setData(str);
+    }
+
+    @Override
+    public boolean setChildrenList(final List<Node> list) {
+        return this.builder.setChildrenList(list);
+    }
+
+    @Override
+    public boolean isValid() {
+        return this.builder.isValid();
+    }
+
+    @Override
+    public Node createNode() {
+        return this.interner.intern(this.builder.createNode());
+    }
+}
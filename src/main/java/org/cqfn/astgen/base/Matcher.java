@@ -25,6 +25,7 @@ package org.cqfn.astgen.base;
 
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Checks if the node matches some structure, and extracts the data or (and) children if so.
@@ -40,4 +41,24 @@ public interface Matcher {
      * @return The result of matching, {@code true} if node matches and data was extracted
      */
     boolean match(Node node, Map<Integer, List<Node>> children, Map<Integer, String> data);
+
+    /**
+     * Matches the node, saves extracted children and data to the frame.
+     * The frame may contain values written by nested matchers during an unsuccessful
+     * match, so the caller resets it after use.
+     * The default implementation allocates maps on each call, matchers override it
+     * where the performance matters.
+     * @param node The node
+     * @param captures The frame where to save children and data when matched
+     * @return The result of matching, {@code true} if node matches and data was extracted
+     */
+    default boolean match(final Node node, final Captures captures) {
+        final Map<Integer, List<Node>> children = new TreeMap<>();
+        final Map<Integer, String> data = new TreeMap<>();
+        final boolean result = this.match(node, children, data);
+        if (result) {
+            captures.putAll(children, data);
+        }
+        return result;
+    }
 }
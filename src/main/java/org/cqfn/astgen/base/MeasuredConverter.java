@@ -0,0 +1,78 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+/**
+ * Converter that records the attempts, matches and time of another converter.
+ * A converter returns a new subtree only if its pattern matched, so each result
+ * counts both as a match and as a rewrite.
+ *
+ * @since 1.0
+ */
+final class MeasuredConverter implements Converter {
+    /**
+     * The measured converter.
+     */
+    private final Converter converter;
+
+    /**
+     * The statistics.
+     */
+    private final Statistics statistics;
+
+    /**
+     * The index of the rule in the statistics.
+     */
+    private final int rule;
+
+    /**
+     * Constructor.
+     * @param converter The measured converter
+     * @param statistics The statistics
+     * @param rule The index of the rule in the statistics
+     */
+    MeasuredConverter(final Converter converter, final Statistics statistics, final int rule) {
+        this.converter = converter;
+        this.statistics = statistics;
+        this.rule = rule;
+    }
+
+    @Override
+    public Node convert(final Node node, final Factory factory) {
+        final long start = System.nanoTime();
+        final Node result = this.converter.convert(node, factory);
+        this.statistics.addTime(this.rule, System.nanoTime() - start);
+        this.statistics.addAttempt(this.rule);
+        if (!(result instanceof EmptyTree)) {
+            this.statistics.addMatch(this.rule);
+            this.statistics.addRewrite(this.rule);
+        }
+        return result;
+    }
+
+    @Override
+    public String getRootType() {
+        return this.converter.getRootType();
+    }
+}
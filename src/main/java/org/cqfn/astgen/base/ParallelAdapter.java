@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tree converter that processes disjoint subtrees in parallel.
+ * Each pass splits the tree into subtrees of limited size, converts them as fork-join tasks
+ * and then converts the nodes above them, children before their parents.
+ * Since the conversion of a node depends only on its subtree, the result is the same
+ * as the result of the {@link Adapter} that performs the conversion.
+ *
+ * @since 1.0
+ */
+public final class ParallelAdapter {
+    /**
+     * The default maximum number of nodes in a subtree converted by one task.
+     */
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    /**
+     * The adapter that converts nodes.
+     */
+    private final Adapter adapter;
+
+    /**
+     * The pool that runs tasks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The maximum number of nodes in a subtree converted by one task.
+     */
+    private final int threshold;
+
+    /**
+     * Constructor.
+     * @param adapter The adapter that converts nodes
+     * @param pool The pool that runs tasks
+     */
+    public ParallelAdapter(final Adapter adapter, final ForkJoinPool pool) {
+        this(adapter, pool, ParallelAdapter.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Constructor.
+     * @param adapter The adapter that converts nodes
+     * @param pool The pool that runs tasks
+     * @param threshold The maximum number of nodes in a subtree converted by one task,
+     *  a positive number
+     */
+    public ParallelAdapter(final Adapter adapter, final ForkJoinPool pool,
+        final int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException(
+                String.format("The threshold should be a positive integer, found: %d", threshold)
+            );
+        }
+        this.adapter = adapter;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Converts the [sub]tree to another, based on DSL rules.
+     * @param root The root node of the subtree.
+     * @return A converted tree or empty tree if the conversion is impossible
+     */
+    public Node convert(final Node root) {
+        return this.convert(root, 1);
+    }
+
+    /**
+     * Converts the [sub]tree to another, based on DSL rules, repeating the conversion
+     * until the tree stops changing or the number of passes reaches the limit.
+     * @param root The root node of the subtree.
+     * @param iterations The maximum number of passes
+     * @return A converted tree or empty tree if the conversion is impossible
+     */
+    public Node convert(final Node root, final int iterations) {
+        Node result = root;
+        boolean changed = true;
+        int iteration = 0;
+        while (changed && iteration < iterations) {
+            final Partition partition = new Partition(this.adapter, this.threshold);
+            partition.split(result);
+            this.pool.invoke(partition.createTask());
+            changed = partition.join();
+            result = partition.getResult();
+            iteration = iteration + 1;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splitting of a tree for parallel conversion.
+ * Maximal subtrees whose size does not exceed the threshold become chunks, which can be
+ * converted independently of each other. The remaining nodes and the root form the spine,
+ * the upper part of the tree that joins the chunks and is converted after them, children
+ * before their parents. The tree is measured with an explicit stack, so its depth is limited
+ * only by the heap size.
+ *
+ * @since 1.0
+ */
+final class Partition {
+    /**
+     * The adapter that converts nodes.
+     */
+    private final Adapter adapter;
+
+    /**
+     * The maximum number of nodes in a chunk.
+     */
+    private final int threshold;
+
+    /**
+     * Spine nodes in the post-order.
+     */
+    private final List<Spine> spine;
+
+    /**
+     * Chunks in the order of the tree.
+     */
+    private final List<Chunk> chunks;
+
+    /**
+     * Frames of the explicit stack, reused for each level of the tree.
+     */
+    private final List<Frame> frames;
+
+    /**
+     * The result of conversion.
+     */
+    private Node result;
+
+    /**
+     * Constructor.
+     * @param adapter The adapter that converts nodes
+     * @param threshold The maximum number of nodes in a chunk
+     */
+    Partition(final Adapter adapter, final int threshold) {
+        this.adapter = adapter;
+        this.threshold = threshold;
+        this.spine = new ArrayList<>(0);
+        this.chunks = new ArrayList<>(0);
+        this.frames = new ArrayList<>(0);
+    }
+
+    /**
+     * Splits the tree into the spine and chunks.
+     * @param root The root of the tree
+     */
+    void split(final Node root) {
+        this.push(0, root, 0);
+        int depth = 1;
+        while (depth > 0) {
+            final Frame frame = this.frames.get(depth - 1);
+            if (frame.next < frame.node.getChildCount()) {
+                final int index = frame.next;
+                frame.next = index + 1;
+                this.push(depth, frame.node.getChild(index), index);
+                depth = depth + 1;
+            } else {
+                depth = depth - 1;
+                this.finish(frame, depth);
+            }
+        }
+        final int last = this.spine.size() - 1;
+        for (int index = last; index >= 0; index = index - 1) {
+            this.spine.get(index).wrap();
+        }
+        this.result = this.spine.get(last).wrapper;
+    }
+
+    /**
+     * Creates the fork-join task that converts all chunks.
+     * @return The task
+     */
+    RecursiveAction createTask() {
+        return new Task(this, 0, this.chunks.size());
+    }
+
+    /**
+     * Puts converted chunks into the tree and converts the spine.
+     * Must be called after all chunks are converted.
+     * @return Result of conversion, {@code true} if at least one node was replaced
+     */
+    boolean join() {
+        boolean changed = false;
+        for (final Chunk chunk : this.chunks) {
+            if (chunk.changed) {
+                this.attach(chunk.parent, chunk.index, chunk.result);
+                changed = true;
+            }
+        }
+        for (final Spine node : this.spine) {
+            final Node transformed = this.adapter.transform(node.wrapper);
+            if (!(transformed instanceof EmptyTree)) {
+                this.attach(node.parent, node.index, transformed);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the result of conversion.
+     * @return The converted tree
+     */
+    Node getResult() {
+        return this.result;
+    }
+
+    /**
+     * Prepares the frame for the next level of the tree.
+     * @param depth The level
+     * @param node The node
+     * @param index The index of the node in the list of children of the parent
+     */
+    private void push(final int depth, final Node node, final int index) {
+        if (depth == this.frames.size()) {
+            this.frames.add(new Frame());
+        }
+        this.frames.get(depth).reset(node, index);
+    }
+
+    /**
+     * Completes the measurement of the subtree, adds its size to the parent frame.
+     * @param frame The frame of the subtree root
+     * @param depth The level of the subtree root
+     */
+    private void finish(final Frame frame, final int depth) {
+        final boolean large = frame.size > this.threshold;
+        if (large || depth == 0) {
+            final Spine node = this.createSpine(frame);
+            if (large && depth > 0) {
+                this.frames.get(depth - 1).spines.add(node);
+            }
+        }
+        if (depth > 0) {
+            final Frame parent = this.frames.get(depth - 1);
+            parent.sizes[frame.index] = frame.size;
+            parent.size = parent.size + frame.size;
+        }
+    }
+
+    /**
+     * Creates a spine node, its children that are small enough become chunks.
+     * @param frame The frame of the node
+     * @return The spine node
+     */
+    private Spine createSpine(final Frame frame) {
+        final Spine node = new Spine(frame.node, frame.index);
+        for (final Spine child : frame.spines) {
+            child.parent = node;
+        }
+        final int count = frame.node.getChildCount();
+        for (int index = 0; index < count; index = index + 1) {
+            final int size = frame.sizes[index];
+            if (size <= this.threshold) {
+                this.chunks.add(new Chunk(node, index, size));
+            }
+        }
+        this.spine.add(node);
+        return node;
+    }
+
+    /**
+     * Puts the node into the tree.
+     * @param parent The spine node that becomes the parent or {@code null} for the root
+     * @param index The index of the node in the list of children of the parent
+     * @param node The node
+     */
+    private void attach(final Spine parent, final int index, final Node node) {
+        if (parent == null) {
+            this.result = node;
+        } else {
+            parent.wrapper.replaceChild(index, node);
+        }
+    }
+
+    /**
+     * The task that converts a range of chunks, splitting the range in halves
+     * while it contains more nodes than the threshold.
+     *
+     * @since 1.0
+     */
+    private static class Task extends RecursiveAction {
+        /**
+         * The serial version UID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The partition.
+         */
+        private final transient Partition partition;
+
+        /**
+         * The index of the first chunk in the range.
+         */
+        private final int first;
+
+        /**
+         * The index following the last chunk in the range.
+         */
+        private final int last;
+
+        /**
+         * Constructor.
+         * @param partition The partition
+         * @param first The index of the first chunk in the range
+         * @param last The index following the last chunk in the range
+         */
+        Task(final Partition partition, final int first, final int last) {
+            this.partition = partition;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            final List<Chunk> chunks = this.partition.chunks;
+            int size = 0;
+            for (int index = this.first; index < this.last; index = index + 1) {
+                size = size + chunks.get(index).size;
+            }
+            if (this.last - this.first > 1 && size > this.partition.threshold) {
+                final int middle = (this.first + this.last) >>> 1;
+                RecursiveAction.invokeAll(
+                    new Task(this.partition, this.first, middle),
+                    new Task(this.partition, middle, this.last)
+                );
+            } else {
+                for (int index = this.first; index < this.last; index = index + 1) {
+                    chunks.get(index).convert(this.partition.adapter);
+                }
+            }
+        }
+    }
+
+    /**
+     * A subtree that is converted independently.
+     *
+     * @since 1.0
+     */
+    private static final class Chunk {
+        /**
+         * The spine node that is the parent of the chunk.
+         */
+        private final Spine parent;
+
+        /**
+         * The index of the subtree in the list of children of the parent.
+         */
+        private final int index;
+
+        /**
+         * The number of nodes in the subtree.
+         */
+        private final int size;
+
+        /**
+         * The result of conversion.
+         */
+        private Node result;
+
+        /**
+         * Flag indicating that at least one node of the subtree was replaced.
+         */
+        private boolean changed;
+
+        /**
+         * Constructor.
+         * @param parent The spine node that is the parent of the chunk
+         * @param index The index of the subtree in the list of children of the parent
+         * @param size The number of nodes in the subtree
+         */
+        Chunk(final Spine parent, final int index, final int size) {
+            this.parent = parent;
+            this.index = index;
+            this.size = size;
+        }
+
+        /**
+         * Converts the subtree by one pass of the adapter.
+         * @param adapter The adapter
+         */
+        void convert(final Adapter adapter) {
+            final Worklist worklist = new Worklist(this.parent.node.getChild(this.index));
+            this.changed = adapter.pass(worklist);
+            this.result = worklist.getResult();
+        }
+    }
+
+    /**
+     * A node of the spine.
+     *
+     * @since 1.0
+     */
+    private static final class Spine {
+        /**
+         * The original node.
+         */
+        private final Node node;
+
+        /**
+         * The index of the node in the list of children of the parent.
+         */
+        private final int index;
+
+        /**
+         * The parent spine node, {@code null} for the root.
+         */
+        private Spine parent;
+
+        /**
+         * The wrapper whose children are replaced during conversion.
+         */
+        private ConvertibleNode wrapper;
+
+        /**
+         * Constructor.
+         * @param node The original node
+         * @param index The index of the node in the list of children of the parent
+         */
+        Spine(final Node node, final int index) {
+            this.node = node;
+            this.index = index;
+        }
+
+        /**
+         * Creates the wrapper, the wrapper of the parent must be created before.
+         */
+        void wrap() {
+            if (this.parent == null) {
+                this.wrapper = new ConvertibleNode(this.node);
+            } else {
+                this.wrapper = this.parent.wrapper.getConvertibleChild(this.index);
+            }
+        }
+    }
+
+    /**
+     * The state of measurement of one node.
+     *
+     * @since 1.0
+     */
+    private static final class Frame {
+        /**
+         * The node.
+         */
+        private Node node;
+
+        /**
+         * The index of the node in the list of children of the parent.
+         */
+        private int index;
+
+        /**
+         * The index of the next child to measure.
+         */
+        private int next;
+
+        /**
+         * The number of nodes measured in the subtree.
+         */
+        private int size;
+
+        /**
+         * The sizes of the measured children.
+         */
+        private int[] sizes;
+
+        /**
+         * Spine nodes among the measured children.
+         */
+        private final List<Spine> spines;
+
+        /**
+         * Constructor.
+         */
+        Frame() {
+            this.sizes = new int[0];
+            this.spines = new ArrayList<>(0);
+        }
+
+        /**
+         * Prepares the frame for measuring a node.
+         * @param root The node
+         * @param position The index of the node in the list of children of the parent
+         */
+        void reset(final Node root, final int position) {
+            this.node = root;
+            this.index = position;
+            this.next = 0;
+            this.size = 1;
+            final int count = root.getChildCount();
+            if (this.sizes.length < count) {
+                this.sizes = new int[Math.max(count, this.sizes.length * 2)];
+            }
+            this.spines.clear();
+        }
+    }
+}
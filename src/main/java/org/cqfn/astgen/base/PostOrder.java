@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the tree in the post-order (children go before their parent),
+ * wrapping nodes into {@link ConvertibleNode} only when they are visited.
+ * An explicit stack is used instead of recursion, so the depth of the tree
+ * is limited only by the heap size.
+ * The visited node may be replaced in its parent before the next node is requested.
+ *
+ * @since 1.0
+ */
+final class PostOrder implements Iterable<ConvertibleNode> {
+    /**
+     * The root of the tree.
+     */
+    private final ConvertibleNode root;
+
+    /**
+     * Constructor.
+     * @param root The root of the tree
+     */
+    PostOrder(final ConvertibleNode root) {
+        this.root = root;
+    }
+
+    @Override
+    public Iterator<ConvertibleNode> iterator() {
+        return new Walker(this.root);
+    }
+
+    /**
+     * The iterator.
+     *
+     * @since 1.0
+     */
+    private static final class Walker implements Iterator<ConvertibleNode> {
+        /**
+         * The initial capacity of the stack.
+         */
+        private static final int CAPACITY = 64;
+
+        /**
+         * Nodes on the path from the root to the current node.
+         */
+        private ConvertibleNode[] path;
+
+        /**
+         * The index of the next child to visit, for each node on the path.
+         */
+        private int[] cursors;
+
+        /**
+         * The length of the path.
+         */
+        private int size;
+
+        /**
+         * Constructor.
+         * @param root The root of the tree
+         */
+        Walker(final ConvertibleNode root) {
+            this.path = new ConvertibleNode[Walker.CAPACITY];
+            this.cursors = new int[Walker.CAPACITY];
+            this.path[0] = root;
+            this.size = 1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.size > 0;
+        }
+
+        @Override
+        public ConvertibleNode next() {
+            if (this.size == 0) {
+                throw new NoSuchElementException();
+            }
+            ConvertibleNode node = this.path[this.size - 1];
+            int cursor = this.cursors[this.size - 1];
+            while (cursor < node.getChildCount()) {
+                this.cursors[this.size - 1] = cursor + 1;
+                node = node.getConvertibleChild(cursor);
+                this.push(node);
+                cursor = 0;
+            }
+            this.size = this.size - 1;
+            return node;
+        }
+
+        /**
+         * Pushes the node onto the path.
+         * @param node The node
+         */
+        private void push(final ConvertibleNode node) {
+            if (this.size == this.path.length) {
+                this.path = Arrays.copyOf(this.path, this.size * 2);
+                this.cursors = Arrays.copyOf(this.cursors, this.size * 2);
+            }
+            this.path[this.size] = node;
+            this.cursors[this.size] = 0;
+            this.size = this.size + 1;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of conversion rules: how many times each rule was tried, how many times
+ * its pattern matched, how many times it rewrote a node and how much time it took.
+ * The counters are striped, so threads that convert different subtrees
+ * do not contend on them.
+ *
+ * @since 1.0
+ */
+public final class Statistics {
+    /**
+     * Statistics that are not collected, converters check it and do not measure anything.
+     */
+    public static final Statistics DISABLED = new Statistics(Collections.emptyList());
+
+    /**
+     * The names of rules.
+     */
+    private final List<String> names;
+
+    /**
+     * The number of attempts of each rule.
+     */
+    private final LongAdder[] attempts;
+
+    /**
+     * The number of matches of each rule.
+     */
+    private final LongAdder[] matches;
+
+    /**
+     * The number of rewrites of each rule.
+     */
+    private final LongAdder[] rewrites;
+
+    /**
+     * The time spent in each rule, in nanoseconds.
+     */
+    private final LongAdder[] nanos;
+
+    /**
+     * The number of converted trees.
+     */
+    private final LongAdder trees;
+
+    /**
+     * The time spent converting trees, in nanoseconds.
+     */
+    private final LongAdder total;
+
+    /**
+     * Constructor.
+     * @param names The names of rules, in the order of their indexes
+     */
+    public Statistics(final List<String> names) {
+        this.names = Collections.unmodifiableList(new ArrayList<>(names));
+        this.attempts = Statistics.createCounters(names.size());
+        this.matches = Statistics.createCounters(names.size());
+        this.rewrites = Statistics.createCounters(names.size());
+        this.nanos = Statistics.createCounters(names.size());
+        this.trees = new LongAdder();
+        this.total = new LongAdder();
+    }
+
+    /**
+     * Checks whether the statistics are collected.
+     * @return Checking result
+     */
+    public boolean isEnabled() {
+        return !this.names.isEmpty();
+    }
+
+    /**
+     * Returns the number of rules.
+     * @return The number of rules
+     */
+    public int size() {
+        return this.names.size();
+    }
+
+    /**
+     * Returns the name of a rule.
+     * @param rule The index of the rule
+     * @return The name
+     */
+    public String getName(final int rule) {
+        return this.names.get(rule);
+    }
+
+    /**
+     * Records that a rule was tried on a node.
+     * @param rule The index of the rule
+     */
+    public void addAttempt(final int rule) {
+        this.attempts[rule].increment();
+    }
+
+    /**
+     * Records that the pattern of a rule matched a node.
+     * @param rule The index of the rule
+     */
+    public void addMatch(final int rule) {
+        this.matches[rule].increment();
+    }
+
+    /**
+     * Records that a rule replaced a node with a new subtree.
+     * @param rule The index of the rule
+     */
+    public void addRewrite(final int rule) {
+        this.rewrites[rule].increment();
+    }
+
+    /**
+     * Records the time spent in a rule.
+     * @param rule The index of the rule
+     * @param time The time in nanoseconds
+     */
+    public void addTime(final int rule, final long time) {
+        this.nanos[rule].add(time);
+    }
+
+    /**
+     * Records the conversion of a whole tree.
+     * @param time The time in nanoseconds
+     */
+    public void addTree(final long time) {
+        this.trees.increment();
+        this.total.add(time);
+    }
+
+    /**
+     * Returns the number of times a rule was tried.
+     * @param rule The index of the rule
+     * @return The number of attempts
+     */
+    public long getAttempts(final int rule) {
+        return this.attempts[rule].sum();
+    }
+
+    /**
+     * Returns the number of times the pattern of a rule matched.
+     * @param rule The index of the rule
+     * @return The number of matches
+     */
+    public long getMatches(final int rule) {
+        return this.matches[rule].sum();
+    }
+
+    /**
+     * Returns the number of times a rule replaced a node.
+     * @param rule The index of the rule
+     * @return The number of rewrites
+     */
+    public long getRewrites(final int rule) {
+        return this.rewrites[rule].sum();
+    }
+
+    /**
+     * Returns the time spent in a rule.
+     * @param rule The index of the rule
+     * @return The time in nanoseconds
+     */
+    public long getTime(final int rule) {
+        return this.nanos[rule].sum();
+    }
+
+    /**
+     * Returns the number of converted trees.
+     * @return The number of trees
+     */
+    public long getTrees() {
+        return this.trees.sum();
+    }
+
+    /**
+     * Returns the time spent converting trees.
+     * @return The time in nanoseconds
+     */
+    public long getTotalTime() {
+        return this.total.sum();
+    }
+
+    /**
+     * Creates counters.
+     * @param count The number of counters
+     * @return The array of counters
+     */
+    private static LongAdder[] createCounters(final int count) {
+        final LongAdder[] result = new LongAdder[count];
+        for (int index = 0; index < count; index = index + 1) {
+            result[index] = new LongAdder();
+        }
+        return result;
+    }
+}
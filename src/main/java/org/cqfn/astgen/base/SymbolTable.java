@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Symbol table that keeps one instance of each string met while reading a syntax tree,
+ * i.e. type names and data, so that repeated identifiers and literals do not take memory
+ * again. The table is not thread-safe, each reader creates its own one.
+ *
+ * @since 1.0
+ */
+public final class SymbolTable {
+    /**
+     * The type names.
+     */
+    private final Map<String, String> names;
+
+    /**
+     * The strings.
+     */
+    private final Map<String, String> strings;
+
+    /**
+     * Constructor.
+     */
+    public SymbolTable() {
+        this.names = new HashMap<>();
+        this.strings = new HashMap<>();
+    }
+
+    /**
+     * Returns the name of the type, which is the same instance as the name
+     * of the shared type of draft nodes, see {@link TypeTable}.
+     * @param name The type name
+     * @return The string equal to the specified one
+     */
+    public String getTypeName(final String name) {
+        String result = this.names.get(name);
+        if (result == null) {
+            result = TypeTable.INSTANCE.getType(name).getName();
+            this.names.put(result, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the instance of the string stored in the table,
+     * adds the string to the table if it is not there.
+     * @param str The string
+     * @return The string equal to the specified one
+     */
+    public String intern(final String str) {
+        String result = this.strings.putIfAbsent(str, str);
+        if (result == null) {
+            result = str;
+        }
+        return result;
+    }
+}
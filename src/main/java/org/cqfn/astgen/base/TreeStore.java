@@ -0,0 +1,411 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Syntax tree stored as a structure of arrays instead of an object per node.
+ * Each node is an integer: the index in arrays of type ids, offsets in the pool
+ * of data strings, offsets of the first child in the array of links and numbers
+ * of children. Nodes are exposed as lightweight views implementing {@link Node},
+ * which are created on demand and hold only the store and the index.
+ * The store is immutable, so it can be shared by any number of threads.
+ * Fragments are not stored, all nodes have the empty fragment. Empty trees are
+ * exposed as {@link EmptyTree#INSTANCE}, so the adapter recognizes them.
+ *
+ * @since 1.0
+ */
+public final class TreeStore {
+    /**
+     * The types arranged by type ids.
+     */
+    private final Type[] types;
+
+    /**
+     * The pool of data strings, the first string is empty.
+     */
+    private final String[] pool;
+
+    /**
+     * The type id of each node.
+     */
+    private final int[] kinds;
+
+    /**
+     * The offset of data of each node in the pool.
+     */
+    private final int[] data;
+
+    /**
+     * The offset of the first child of each node in the array of links.
+     */
+    private final int[] first;
+
+    /**
+     * The number of children of each node.
+     */
+    private final int[] count;
+
+    /**
+     * Indexes of children, children of each node are stored contiguously.
+     */
+    private final int[] links;
+
+    /**
+     * The index of the root node.
+     */
+    private final int root;
+
+    /**
+     * Constructor.
+     * @param appender The appender containing the tree
+     */
+    private TreeStore(final Appender appender) {
+        this.types = appender.types.toArray(new Type[0]);
+        this.pool = appender.strings.toArray(new String[0]);
+        this.kinds = Arrays.copyOf(appender.kinds, appender.size);
+        this.data = Arrays.copyOf(appender.data, appender.size);
+        this.first = Arrays.copyOf(appender.first, appender.size);
+        this.count = Arrays.copyOf(appender.count, appender.size);
+        this.links = Arrays.copyOf(appender.links, appender.linked);
+        this.root = appender.pending[0];
+    }
+
+    /**
+     * Returns the root node.
+     * @return The view of the root node
+     */
+    public Node getRoot() {
+        return this.getNode(this.root);
+    }
+
+    /**
+     * Returns the number of nodes.
+     * @return The number of nodes
+     */
+    public int size() {
+        return this.kinds.length;
+    }
+
+    /**
+     * Returns the view of the node.
+     * @param index The index of the node
+     * @return The view or the empty tree
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private Node getNode(final int index) {
+        final Node node;
+        if (this.types[this.kinds[index]] == EmptyTree.TYPE) {
+            node = EmptyTree.INSTANCE;
+        } else {
+            node = new View(this, index);
+        }
+        return node;
+    }
+
+    /**
+     * Lightweight view of a node of the store.
+     *
+     * @since 1.0
+     */
+    private static final class View implements Node {
+        /**
+         * The store.
+         */
+        private final TreeStore store;
+
+        /**
+         * The index of the node.
+         */
+        private final int index;
+
+        /**
+         * Constructor.
+         * @param store The store
+         * @param index The index of the node
+         */
+        View(final TreeStore store, final int index) {
+            this.store = store;
+            this.index = index;
+        }
+
+        @Override
+        public Fragment getFragment() {
+            return EmptyFragment.INSTANCE;
+        }
+
+        @Override
+        public Type getType() {
+            return this.store.types[this.store.kinds[this.index]];
+        }
+
+        @Override
+        public String getData() {
+            return this.store.pool[this.store.data[this.index]];
+        }
+
+        @Override
+        public int getChildCount() {
+            return this.store.count[this.index];
+        }
+
+        @Override
+        public Node getChild(final int position) {
+            if (position < 0 || position >= this.store.count[this.index]) {
+                throw new IndexOutOfBoundsException();
+            }
+            return this.store.getNode(
+                this.store.links[this.store.first[this.index] + position]
+            );
+        }
+
+        @Override
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        public boolean equals(final Object obj) {
+            return obj instanceof View && ((View) obj).store == this.store
+                && ((View) obj).index == this.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(this.store), this.index);
+        }
+    }
+
+    /**
+     * Appends nodes to a new store in the post-order, i.e. each node is appended
+     * after its children. Appended nodes wait on a stack until they are taken
+     * as children of the next node.
+     *
+     * @since 1.0
+     */
+    public static final class Appender {
+        /**
+         * The initial capacity of arrays.
+         */
+        private static final int CAPACITY = 64;
+
+        /**
+         * The types.
+         */
+        private final List<Type> types;
+
+        /**
+         * Type ids arranged by types.
+         */
+        private final Map<Type, Integer> ids;
+
+        /**
+         * The pool of data strings.
+         */
+        private final List<String> strings;
+
+        /**
+         * Offsets of data strings arranged by strings.
+         */
+        private final Map<String, Integer> offsets;
+
+        /**
+         * The type id of each node.
+         */
+        private int[] kinds;
+
+        /**
+         * The offset of data of each node.
+         */
+        private int[] data;
+
+        /**
+         * The offset of the first child of each node.
+         */
+        private int[] first;
+
+        /**
+         * The number of children of each node.
+         */
+        private int[] count;
+
+        /**
+         * The number of nodes.
+         */
+        private int size;
+
+        /**
+         * Indexes of children.
+         */
+        private int[] links;
+
+        /**
+         * The number of links.
+         */
+        private int linked;
+
+        /**
+         * Nodes appended, but not taken as children yet.
+         */
+        private int[] pending;
+
+        /**
+         * The number of pending nodes.
+         */
+        private int waiting;
+
+        /**
+         * Constructor.
+         */
+        public Appender() {
+            this.types = new ArrayList<>(0);
+            this.ids = new IdentityHashMap<>();
+            this.strings = new ArrayList<>(Appender.CAPACITY);
+            this.offsets = new HashMap<>();
+            this.kinds = new int[Appender.CAPACITY];
+            this.data = new int[Appender.CAPACITY];
+            this.first = new int[Appender.CAPACITY];
+            this.count = new int[Appender.CAPACITY];
+            this.links = new int[Appender.CAPACITY];
+            this.pending = new int[Appender.CAPACITY];
+        }
+
+        /**
+         * Appends a node, the last appended pending nodes become its children.
+         * @param type The node type
+         * @param value The node data
+         * @param children The number of children
+         */
+        public void append(final Type type, final String value, final int children) {
+            if (children > this.waiting) {
+                throw new IllegalStateException();
+            }
+            if (this.size == this.kinds.length) {
+                this.grow();
+            }
+            if (this.linked + children > this.links.length) {
+                this.links = Arrays.copyOf(
+                    this.links, Math.max(this.links.length * 2, this.linked + children)
+                );
+            }
+            final int node = this.size;
+            this.kinds[node] = this.getTypeId(type);
+            this.data[node] = this.getOffset(value);
+            this.first[node] = this.linked;
+            this.count[node] = children;
+            this.waiting = this.waiting - children;
+            System.arraycopy(this.pending, this.waiting, this.links, this.linked, children);
+            this.linked = this.linked + children;
+            this.size = node + 1;
+            if (this.waiting == this.pending.length) {
+                this.pending = Arrays.copyOf(this.pending, this.waiting * 2);
+            }
+            this.pending[this.waiting] = node;
+            this.waiting = this.waiting + 1;
+        }
+
+        /**
+         * Appends a copy of the tree. The tree is traversed with an explicit stack,
+         * so its depth is limited only by the heap size.
+         * @param tree The root of the tree
+         */
+        public void append(final Node tree) {
+            final List<Node> path = new ArrayList<>(Appender.CAPACITY);
+            int[] cursors = new int[Appender.CAPACITY];
+            path.add(tree);
+            while (!path.isEmpty()) {
+                final int depth = path.size() - 1;
+                final Node node = path.get(depth);
+                if (cursors[depth] < node.getChildCount()) {
+                    final int cursor = cursors[depth];
+                    cursors[depth] = cursor + 1;
+                    path.add(node.getChild(cursor));
+                    if (depth + 1 == cursors.length) {
+                        cursors = Arrays.copyOf(cursors, cursors.length * 2);
+                    }
+                    cursors[depth + 1] = 0;
+                } else {
+                    path.remove(depth);
+                    cursors[depth] = 0;
+                    this.append(node.getType(), node.getData(), node.getChildCount());
+                }
+            }
+        }
+
+        /**
+         * Creates the store, exactly one node must be pending, it becomes the root.
+         * @return The store
+         */
+        public TreeStore build() {
+            if (this.waiting != 1) {
+                throw new IllegalStateException();
+            }
+            return new TreeStore(this);
+        }
+
+        /**
+         * Returns the id of the type, assigns a new id if the type is met first.
+         * @param type The type
+         * @return The type id
+         */
+        private int getTypeId(final Type type) {
+            Integer id = this.ids.get(type);
+            if (id == null) {
+                id = this.types.size();
+                this.types.add(type);
+                this.ids.put(type, id);
+            }
+            return id;
+        }
+
+        /**
+         * Returns the offset of the string in the pool, adds the string if it is met first.
+         * @param value The string
+         * @return The offset
+         */
+        private int getOffset(final String value) {
+            Integer offset = this.offsets.get(value);
+            if (offset == null) {
+                offset = this.strings.size();
+                this.strings.add(value);
+                this.offsets.put(value, offset);
+            }
+            return offset;
+        }
+
+        /**
+         * Doubles the capacity of arrays of nodes.
+         */
+        private void grow() {
+            final int capacity = this.kinds.length * 2;
+            this.kinds = Arrays.copyOf(this.kinds, capacity);
+            this.data = Arrays.copyOf(this.data, capacity);
+            this.first = Arrays.copyOf(this.first, capacity);
+            this.count = Arrays.copyOf(this.count, capacity);
+        }
+    }
+}
@@ -64,6 +64,8 @@ public interface Type {
 
     /**
      * Checks whether the type belongs to group.
+     * The default implementation scans the hierarchy, generated types override it
+     * with a lookup in a set that is built once per type.
      * @param type The type name
      * @return Checking result, {@code true} if the type belongs to the group
      */
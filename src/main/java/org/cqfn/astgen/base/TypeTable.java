@@ -0,0 +1,150 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Types of draft nodes, one instance for each type name.
+ * Since all draft nodes with the same type name share one type, such types
+ * can be compared by identity.
+ * The table is global and only grows, so it holds as many types as there are
+ *  distinct type names in the rules and in all the trees read by the process,
+ *  a type is a name and a few references. Long-lived processes that read
+ *  trees with an open set of type names can release the types by
+ *  {@link #clear()}.
+ *
+ * @since 1.0
+ */
+public final class TypeTable {
+    /**
+     * The instance.
+     */
+    public static final TypeTable INSTANCE = new TypeTable();
+
+    /**
+     * The types arranged by names.
+     */
+    private volatile Map<String, Type> types;
+
+    /**
+     * Constructor.
+     */
+    private TypeTable() {
+        this.types = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the type of draft nodes with the specified name.
+     * @param name The type name
+     * @return The type
+     */
+    public Type getType(final String name) {
+        final Map<String, Type> map = this.types;
+        Type type = map.get(name);
+        if (type == null) {
+            type = map.computeIfAbsent(name, key -> new TypeImpl(map, key));
+        }
+        return type;
+    }
+
+    /**
+     * Removes all the types from the table.
+     * Draft nodes created before keep their types, but these types are
+     *  no longer taken from this table and are compared with new ones by name.
+     */
+    public void clear() {
+        this.types = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Checks whether the type is a type of draft nodes taken from this table.
+     * @param type The type
+     * @return Checking result
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    public boolean contains(final Type type) {
+        return type instanceof TypeImpl && ((TypeImpl) type).table == this.types;
+    }
+
+    /**
+     * Type implementation for the draft node.
+     *
+     * @since 1.0
+     */
+    private static final class TypeImpl implements Type {
+        /**
+         * The types of the table that holds the type.
+         */
+        private final Map<String, Type> table;
+
+        /**
+         * The type name.
+         */
+        private final String name;
+
+        /**
+         * Constructor.
+         * @param table The types of the table that holds the type
+         * @param name The type name
+         */
+        TypeImpl(final Map<String, Type> table, final String name) {
+            this.table = table;
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public List<ChildDescriptor> getChildTypes() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<String> getHierarchy() {
+            return Collections.singletonList(this.name);
+        }
+
+        @Override
+        public boolean belongsToGroup(final String type) {
+            return this.name.equals(type);
+        }
+
+        @Override
+        public String getProperty(final String property) {
+            return "";
+        }
+
+        @Override
+        public Builder createBuilder() {
+            return new DraftNode.Constructor();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The list of nodes to be processed by each conversion pass.
+ * The first pass processes the whole tree, each next pass processes only the subtrees
+ * created by the previous pass and their ancestors, children go before their parents.
+ *
+ * @since 1.0
+ */
+final class Worklist {
+    /**
+     * Replacements made by the current pass.
+     */
+    private final List<Replacement> replacements;
+
+    /**
+     * Nodes replaced by the current pass.
+     */
+    private final Set<ConvertibleNode> replaced;
+
+    /**
+     * The root of the tree being converted.
+     */
+    private ConvertibleNode root;
+
+    /**
+     * The result of conversion.
+     */
+    private Node result;
+
+    /**
+     * Constructor.
+     * @param root The root of the tree
+     */
+    Worklist(final Node root) {
+        this.replacements = new ArrayList<>(0);
+        this.replaced = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.result = root;
+    }
+
+    /**
+     * Returns nodes to be processed by the next pass.
+     * @return The list of nodes
+     */
+    Iterable<ConvertibleNode> next() {
+        final Iterable<ConvertibleNode> nodes;
+        if (this.result == this.root) {
+            nodes = this.collect();
+        } else {
+            this.root = new ConvertibleNode(this.result);
+            this.result = this.root;
+            nodes = new PostOrder(this.root);
+        }
+        this.replacements.clear();
+        this.replaced.clear();
+        return nodes;
+    }
+
+    /**
+     * Replaces a node with the result of its conversion.
+     * @param original The original node
+     * @param substitute The substitute node
+     */
+    void replace(final ConvertibleNode original, final Node substitute) {
+        final ConvertibleNode parent = original.getParent();
+        if (parent == null) {
+            this.result = substitute;
+        } else {
+            parent.replaceChild(original.getIndex(), substitute);
+            this.replacements.add(new Replacement(original, substitute));
+        }
+        this.replaced.add(original);
+    }
+
+    /**
+     * Returns the result of conversion.
+     * @return The converted tree
+     */
+    Node getResult() {
+        return this.result;
+    }
+
+    /**
+     * Collects the subtrees created by replacements and their ancestors.
+     * @return The list of nodes, children go before their parents
+     */
+    private List<ConvertibleNode> collect() {
+        final List<Entry> entries = new ArrayList<>(0);
+        final Set<ConvertibleNode> ancestors =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final Replacement replacement : this.replacements) {
+            this.collect(replacement, entries, ancestors);
+        }
+        entries.sort((first, second) -> Integer.compare(second.depth, first.depth));
+        final List<ConvertibleNode> nodes = new ArrayList<>(entries.size());
+        for (final Entry entry : entries) {
+            nodes.add(entry.node);
+        }
+        return nodes;
+    }
+
+    /**
+     * Collects the subtree created by the replacement and its ancestors, if the subtree
+     * is still attached to the tree (i.e. none of its ancestors was replaced later).
+     * @param replacement The replacement
+     * @param entries The resulting list
+     * @param ancestors The set of already collected ancestors
+     */
+    private void collect(final Replacement replacement, final List<Entry> entries,
+        final Set<ConvertibleNode> ancestors) {
+        final List<ConvertibleNode> chain = new ArrayList<>(0);
+        ConvertibleNode node = replacement.parent;
+        while (node != null && !this.replaced.contains(node)) {
+            chain.add(node);
+            node = node.getParent();
+        }
+        if (node == null
+            && replacement.parent.getChild(replacement.index) == replacement.substitute) {
+            final int depth = chain.size();
+            for (int level = 0; level < depth; level = level + 1) {
+                final ConvertibleNode ancestor = chain.get(level);
+                if (ancestors.add(ancestor)) {
+                    entries.add(new Entry(ancestor, depth - level - 1));
+                }
+            }
+            Worklist.collectSubtree(
+                replacement.parent.getConvertibleChild(replacement.index), depth, entries
+            );
+        }
+    }
+
+    /**
+     * Expands the subtree to the list of entries (the order does not matter,
+     * entries are sorted by depth later).
+     * @param root The root of the subtree
+     * @param depth The depth of the root
+     * @param entries The resulting list
+     */
+    private static void collectSubtree(final ConvertibleNode root, final int depth,
+        final List<Entry> entries) {
+        final Deque<Entry> stack = new ArrayDeque<>();
+        stack.push(new Entry(root, depth));
+        while (!stack.isEmpty()) {
+            final Entry entry = stack.pop();
+            entries.add(entry);
+            for (int index = entry.node.getChildCount() - 1; index >= 0; index = index - 1) {
+                stack.push(new Entry(entry.node.getConvertibleChild(index), entry.depth + 1));
+            }
+        }
+    }
+
+    /**
+     * Replacement of a node made during a pass.
+     *
+     * @since 1.0
+     */
+    private static final class Replacement {
+        /**
+         * The parent of the replaced node.
+         */
+        private final ConvertibleNode parent;
+
+        /**
+         * The index of the replaced node.
+         */
+        private final int index;
+
+        /**
+         * The substitute node.
+         */
+        private final Node substitute;
+
+        /**
+         * Constructor.
+         * @param original The replaced node
+         * @param substitute The substitute node
+         */
+        Replacement(final ConvertibleNode original, final Node substitute) {
+            this.parent = original.getParent();
+            this.index = original.getIndex();
+            this.substitute = substitute;
+        }
+    }
+
+    /**
+     * Node to be processed with its depth.
+     *
+     * @since 1.0
+     */
+    private static final class Entry {
+        /**
+         * The node.
+         */
+        private final ConvertibleNode node;
+
+        /**
+         * The depth of the node.
+         */
+        private final int depth;
+
+        /**
+         * Constructor.
+         * @param node The node
+         * @param depth The depth of the node
+         */
+        Entry(final ConvertibleNode node, final int depth) {
+            this.node = node;
+            this.depth = depth;
+        }
+    }
+}
@@ -23,6 +23,7 @@
  */
 package org.cqfn.astgen.codegen.java;
 
+import java.util.List;
 import java.util.Locale;
 
 /**
@@ -42,9 +43,14 @@ public final class AdapterGenerator extends BaseGenerator {
     private final String language;
 
     /**
-     * The number of rules.
+     * Types of pattern roots of rules, in the DSL order.
      */
-    private final int count;
+    private final List<String> roots;
+
+    /**
+     * The types the factory of the language creates.
+     */
+    private FactoryTypes factory;
 
     /**
      * The class.
@@ -65,12 +71,13 @@ public final class AdapterGenerator extends BaseGenerator {
      * Constructor.
      * @param env The environment required for generation.
      * @param language Language for which the factory is generated
-     * @param count The count of rules
+     * @param roots Types of pattern roots of rules, in the DSL order
      */
-    AdapterGenerator(final Environment env, final String language, final int count) {
+    AdapterGenerator(final Environment env, final String language, final List<String> roots) {
         super(env);
         this.language = language;
-        this.count = count;
+        this.roots = roots;
+        this.factory = FactoryTypes.EMPTY;
     }
 
     /**
@@ -81,12 +88,22 @@ public final class AdapterGenerator extends BaseGenerator {
         return this.classname;
     }
 
+    /**
+     * Sets the types the factory of the language creates. Nodes of these types
+     * get their own cases in the dispatch method.
+     * @param types The types
+     */
+    public void setFactoryTypes(final FactoryTypes types) {
+        this.factory = types;
+    }
+
     @Override
     public CompilationUnit generate() {
         final Environment env = this.getEnv();
         this.createClass();
         this.createConstructor();
         this.createInitializer();
+        new RuleDispatcher(this.getEnv(), this.roots, this.factory).fill(this.klass);
         final String pkg = this.getPackageName(this.language);
         final CompilationUnit unit = new CompilationUnit(
             env.getLicense(),
@@ -126,15 +143,20 @@ public final class AdapterGenerator extends BaseGenerator {
         );
         field.makePublic();
         field.makeStaticFinal();
-        field.setInitExpr(String.format("new %s()", this.classname));
+        field.setInitExpr(String.format("new %s(Statistics.DISABLED)", this.classname));
         this.klass.addField(field);
         final Constructor ctor = new Constructor(this.classname);
-        ctor.makePrivate();
+        ctor.addArgument(
+            "Statistics",
+            "statistics",
+            "The statistics, the index of a rule is its number in the DSL order"
+        );
         ctor.setCode(
             String.format(
-                "super(Collections.unmodifiableList(%s.init()), %sFactory.INSTANCE);",
-                this.classname,
-                this.clang
+                "super(\n\t%s,\n\t%sFactory.INSTANCE,\n\tstatistics,\n\t%s.groups()\n);",
+                String.format("Collections.unmodifiableList(%s.init())", this.classname),
+                this.clang,
+                this.classname
             )
         );
         this.klass.addConstructor(ctor);
@@ -157,7 +179,7 @@ public final class AdapterGenerator extends BaseGenerator {
         final StringBuilder code = new StringBuilder(256);
         code.append("return Arrays.asList(\n");
         boolean flag = false;
-        for (int index = 0; index < count; index = index + 1) {
+        for (int index = 0; index < this.roots.size(); index = index + 1) {
             if (flag) {
                 code.append(",\n");
             }
@@ -182,7 +204,9 @@ public final class AdapterGenerator extends BaseGenerator {
         final String base = env.getBasePackage();
         unit.addImport(base.concat(".Adapter"));
         unit.addImport(base.concat(".Converter"));
-        for (int index = 0; index < this.count; index = index + 1) {
+        unit.addImport(base.concat(".Node"));
+        unit.addImport(base.concat(".Statistics"));
+        for (int index = 0; index < this.roots.size(); index = index + 1) {
             unit.addImport(
                 String.format(
                     "%s.rules.Rule%d",
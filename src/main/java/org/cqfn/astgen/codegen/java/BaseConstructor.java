@@ -244,6 +244,7 @@ abstract class BaseConstructor {
         getter.setReturnType(BaseConstructor.LIST_STRING);
         getter.setCode("return TypeImpl.HIERARCHY;");
         this.klass.addMethod(getter);
+        this.fillGroups();
     }
 
     /**
@@ -285,4 +286,25 @@ abstract class BaseConstructor {
      * @return The type name
      */
     protected abstract String getType();
+
+    /**
+     * Creates the set of groups the type belongs to and the 'belongsToGroup()' method
+     *  that checks the membership in constant time.
+     */
+    private void fillGroups() {
+        final Field field = new Field(
+            "The set of groups the type belongs to",
+            "Set<String>",
+            "GROUPS"
+        );
+        field.makePrivate();
+        field.makeStaticFinal();
+        field.setInitExpr("new HashSet<>(TypeImpl.HIERARCHY)");
+        this.klass.addField(field);
+        final Method method = new Method("belongsToGroup");
+        method.addArgument(BaseConstructor.STR_STRING, "type");
+        method.setReturnType("boolean");
+        method.setCode("return TypeImpl.GROUPS.contains(type);");
+        this.klass.addMethod(method);
+    }
 }
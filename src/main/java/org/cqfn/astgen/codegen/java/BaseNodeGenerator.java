@@ -43,9 +43,10 @@ public abstract class BaseNodeGenerator extends BaseGenerator {
     /**
      * Creates class for node construction.
      * @param rule The rule
+     * @param language The language for which the node is declared
      * @return The class constructor
      */
-    protected Klass createClass(final Node rule) {
+    protected Klass createClass(final Node rule, final String language) {
         final String type = rule.getType();
         final Klass klass = new Klass(
             String.format("Node that describes the '%s' type", type),
@@ -53,10 +54,11 @@ public abstract class BaseNodeGenerator extends BaseGenerator {
         );
         klass.makeFinal();
         final List<String> hierarchy = this.getEnv().getHierarchy(type);
+        final String visitable = VisitorGenerator.getVisitableName(language);
         if (hierarchy.size() > 1) {
-            klass.setInterfaces(hierarchy.get(1));
+            klass.setInterfaces(hierarchy.get(1), visitable);
         } else {
-            klass.setInterfaces("Node");
+            klass.setInterfaces("Node", visitable);
         }
         return klass;
     }
@@ -30,6 +30,7 @@ import org.cqfn.astgen.rules.Descriptor;
 import org.cqfn.astgen.rules.Hole;
 import org.cqfn.astgen.rules.Parameter;
 import org.cqfn.astgen.rules.StringData;
+import org.cqfn.astgen.rules.Transformation;
 import org.cqfn.astgen.utils.LabelFactory;
 import org.cqfn.astgen.utils.StringUtils;
 
@@ -64,6 +65,11 @@ public class ConverterClassFiller {
      */
     private static final String RETURN_RESULT = "return result;";
 
+    /**
+     * The 'captures' variable name.
+     */
+    private static final String CAPTURES_NAME = "captures";
+
     /**
      * Class to be filled.
      */
@@ -74,6 +80,16 @@ public class ConverterClassFiller {
      */
     private final Descriptor root;
 
+    /**
+     * The type of the pattern root.
+     */
+    private final String pattern;
+
+    /**
+     * The size of the capture frame, i.e. the highest hole number plus one.
+     */
+    private final int frame;
+
     /**
      * The name of the matcher class.
      */
@@ -89,6 +105,21 @@ public class ConverterClassFiller {
      */
     private final LabelFactory labels;
 
+    /**
+     * The types the factory of the language creates by identifiers.
+     */
+    private FactoryTypes factory;
+
+    /**
+     * Flag indicates that the factory class is needed.
+     */
+    private boolean fneeded;
+
+    /**
+     * Flag indicates that the package 'java.util.List' is needed.
+     */
+    private boolean list;
+
     /**
      * Flag indicates that the package 'java.util.LinkedList' is needed.
      */
@@ -97,16 +128,21 @@ public class ConverterClassFiller {
     /**
      * Constructor.
      * @param klass Class to be filled
-     * @param descriptor The descriptor
+     * @param rule The transformation rule
      * @param matcher The name of the matcher class
      */
     public ConverterClassFiller(final Klass klass,
-        final Descriptor descriptor, final String matcher) {
+        final Transformation rule, final String matcher) {
         this.klass = klass;
-        this.root = descriptor;
+        this.root = rule.getRight();
+        this.pattern = rule.getLeft().getType();
+        this.frame = rule.getHighestHole() + 1;
         this.matcher = matcher;
         this.stg = new StaticStringGenerator(klass);
         this.labels = new LabelFactory();
+        this.factory = FactoryTypes.EMPTY;
+        this.fneeded = false;
+        this.list = false;
         this.llist = false;
     }
 
@@ -117,9 +153,26 @@ public class ConverterClassFiller {
         this.klass.makeFinal();
         this.klass.setInterfaces("Converter");
         this.klass.makeSingleton();
+        this.createCapturesField();
         this.createConvertMethod();
     }
 
+    /**
+     * Returns the flag indicates that the factory class is needed.
+     * @return The flag
+     */
+    public boolean isFactoryNeeded() {
+        return this.fneeded;
+    }
+
+    /**
+     * Returns the flag indicates that the package 'java.util.List' is needed.
+     * @return The flag
+     */
+    public boolean isListNeeded() {
+        return this.list;
+    }
+
     /**
      * Returns the flag indicates that the package 'java.util.LinkedList' is needed.
      * @return The flag
@@ -128,12 +181,42 @@ public class ConverterClassFiller {
         return this.llist;
     }
 
+    /**
+     * Sets the types the factory of the language creates, nodes of these types
+     * are built by constant type identifiers instead of type names.
+     * @param types The types
+     */
+    void setFactoryTypes(final FactoryTypes types) {
+        this.factory = types;
+    }
+
+    /**
+     * Creates the static field that holds the capture frame of the current thread.
+     */
+    private void createCapturesField() {
+        final Field field = new Field(
+            "The frame for extracted children and data, one per thread",
+            "ThreadLocal<Captures>",
+            "CAPTURES"
+        );
+        field.makeStaticFinal();
+        field.setInitExpr(
+            Arrays.asList(
+                "ThreadLocal.withInitial(",
+                String.format("() -> new Captures(%d)", this.frame),
+                ")"
+            )
+        );
+        this.klass.addField(field);
+    }
+
     /**
      * Creates the 'convert() method.
      */
     private void createConvertMethod() {
         final Method method = new Method("convert");
         this.klass.addMethod(method);
+        this.createRootTypeMethod();
         method.makeOverridden();
         method.setReturnType(ConverterClassFiller.NODE_TYPE);
         method.addArgument(ConverterClassFiller.NODE_TYPE, "node");
@@ -141,10 +224,12 @@ public class ConverterClassFiller {
         final CreationResult builder = this.createBuildMethod(this.root);
         final List<String> code = Arrays.asList(
             ConverterClassFiller.DECLARE_RESULT,
-            "final Map<Integer, List<Node>> children = new TreeMap<>();",
-            "final Map<Integer, String> data = new TreeMap<>();",
             String.format(
-                "final boolean matched = %s.INSTANCE.match(node, children, data);",
+                "final Captures captures = %s.CAPTURES.get();",
+                this.klass.getName()
+            ),
+            String.format(
+                "final boolean matched = %s.INSTANCE.match(node, captures);",
                 this.matcher
             ),
             "if (matched) {",
@@ -155,11 +240,24 @@ public class ConverterClassFiller {
                 builder.getArgumentsList()
             ),
             "}",
+            "captures.reset();",
             ConverterClassFiller.RETURN_RESULT
         );
         method.setCode(String.join("\n", code));
     }
 
+    /**
+     * Creates the 'getRootType()' method that returns the type of the pattern root,
+     * so that the adapter does not try the converter on nodes of other types.
+     */
+    private void createRootTypeMethod() {
+        final Method method = new Method("getRootType");
+        this.klass.addMethod(method);
+        method.makeOverridden();
+        method.setReturnType("String");
+        method.setCode(String.format("return %s;", this.stg.getFieldName(this.pattern)));
+    }
+
     /**
      * Creates the 'xxxBuilder' method, where 'xxx' is 'first', 'second', etc.
      * @param descriptor The descriptor
@@ -189,7 +287,7 @@ public class ConverterClassFiller {
             ConverterClassFiller.DECLARE_RESULT,
             String.format(
                 "final Builder builder = factory.createBuilder(%s);",
-                this.stg.getFieldName(type)
+                this.getTypeReference(type)
             ),
             children,
             data,
@@ -199,19 +297,36 @@ public class ConverterClassFiller {
             ConverterClassFiller.RETURN_RESULT
         );
         method.setCode(String.join("\n", code));
-        if (result.areChildrenNeeded()) {
+        if (result.areCapturesNeeded()) {
             method.addArgument(
-                "Map<Integer, List<Node>>",
-                "children",
-                "The collection of child nodes"
+                "Captures",
+                ConverterClassFiller.CAPTURES_NAME,
+                "The extracted child nodes and data"
             );
         }
-        if (result.isDataNeeded()) {
-            method.addArgument(
-                "Map<Integer, String>",
-                "data",
-                "The data"
+        return result;
+    }
+
+    /**
+     * Returns the arguments that identify a type: its identifier declared in
+     * the factory class together with its name, since the converter may be given
+     * a factory of another language, or its name only.
+     * @param type The type name
+     * @return The arguments
+     */
+    private String getTypeReference(final String type) {
+        final String name = this.stg.getFieldName(type);
+        final String result;
+        if (this.factory.contains(type)) {
+            this.fneeded = true;
+            result = String.format(
+                "%s.%s, %s",
+                this.factory.getClassname(),
+                this.factory.getConstantName(type),
+                name
             );
+        } else {
+            result = name;
         }
         return result;
     }
@@ -246,12 +361,13 @@ public class ConverterClassFiller {
         if (parameters.isEmpty()) {
             result = "";
         } else {
+            this.list = true;
             final StringBuilder code = new StringBuilder(128);
             if (parameters.size() == 1 && parameters.get(0) instanceof Hole) {
-                crr.childrenNeeded();
+                crr.capturesNeeded();
                 code.append(
                     String.format(
-                        "final List<Node> list = children.get(%d);\n",
+                        "final List<Node> list = captures.getChildren(%d);\n",
                         ((Hole) parameters.get(0)).getValue()
                     )
                 );
@@ -281,11 +397,11 @@ public class ConverterClassFiller {
             final Hole hole = (Hole) parameter;
             code.append(
                 String.format(
-                    "list.addAll(children.get(%d));\n",
+                    "list.addAll(captures.getChildren(%d));\n",
                     hole.getValue()
                 )
             );
-            crr.childrenNeeded();
+            crr.capturesNeeded();
         } else if (parameter instanceof Descriptor) {
             final Descriptor child = (Descriptor) parameter;
             final CreationResult builder = this.createBuildMethod(child);
@@ -313,10 +429,10 @@ public class ConverterClassFiller {
         if (data instanceof Hole) {
             final Hole hole = (Hole) data;
             code = String.format(
-                "final boolean set = builder.setData(data.get(%s));",
+                "final boolean set = builder.setData(captures.getData(%s));",
                 hole.getValue()
             );
-            crr.dataNeeded();
+            crr.capturesNeeded();
         } else if (data instanceof StringData) {
             final StringData string = (StringData) data;
             code = String.format(
@@ -338,14 +454,9 @@ public class ConverterClassFiller {
         private final String name;
 
         /**
-         * Flag indicating that the method has the 'children' argument.
+         * Flag indicating that the method has the 'captures' argument.
          */
-        private boolean children;
-
-        /**
-         * Flag indicating that the method has the 'data' argument.
-         */
-        private boolean data;
+        private boolean captures;
 
         /**
          * Constructor.
@@ -353,22 +464,14 @@ public class ConverterClassFiller {
          */
         CreationResult(final String name) {
             this.name = name;
-            this.children = false;
-            this.data = false;
+            this.captures = false;
         }
 
         /**
-         * Sets the flag to indicate that the 'children' argument is required.
+         * Sets the flag to indicate that the 'captures' argument is required.
          */
-        void childrenNeeded() {
-            this.children = true;
-        }
-
-        /**
-         * Sets the flag to indicate that the 'data' argument is required.
-         */
-        void dataNeeded() {
-            this.data = true;
+        void capturesNeeded() {
+            this.captures = true;
         }
 
         /**
@@ -376,8 +479,7 @@ public class ConverterClassFiller {
          * @param other Another object
          */
         void merge(final CreationResult other) {
-            this.children = this.children | other.children;
-            this.data = this.data | other.data;
+            this.captures = this.captures | other.captures;
         }
 
         /**
@@ -389,19 +491,11 @@ public class ConverterClassFiller {
         }
 
         /**
-         * Returns the flag to indicate that the 'children' argument is required.
-         * @return The flag
-         */
-        boolean areChildrenNeeded() {
-            return this.children;
-        }
-
-        /**
-         * Returns the flag to indicate that the 'data' argument is required.
+         * Returns the flag to indicate that the 'captures' argument is required.
          * @return The flag
          */
-        boolean isDataNeeded() {
-            return this.data;
+        boolean areCapturesNeeded() {
+            return this.captures;
         }
 
         /**
@@ -411,11 +505,8 @@ public class ConverterClassFiller {
         String getArgumentsList() {
             final StringBuilder builder = new StringBuilder()
                 .append(ConverterClassFiller.FACTORY_NAME);
-            if (this.children) {
-                builder.append(", children");
-            }
-            if (this.data) {
-                builder.append(", data");
+            if (this.captures) {
+                builder.append(", ").append(ConverterClassFiller.CAPTURES_NAME);
             }
             return builder.toString();
         }
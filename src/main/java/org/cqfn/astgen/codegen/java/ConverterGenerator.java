@@ -27,8 +27,8 @@ import java.io.File;
 import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
-import org.cqfn.astgen.rules.Descriptor;
 import org.cqfn.astgen.rules.DescriptorAttribute;
+import org.cqfn.astgen.rules.Transformation;
 
 /**
  * Generates converter classes.
@@ -58,45 +58,66 @@ public final class ConverterGenerator {
      */
     private final Map<String, CompilationUnit> units;
 
+    /**
+     * The types the factory of the language creates by identifiers.
+     */
+    private final FactoryTypes factory;
+
     /**
      * Constructor.
      * @param env The environment.
      * @param pkg The package name.
      */
     public ConverterGenerator(final Environment env, final String pkg) {
+        this(env, pkg, FactoryTypes.EMPTY);
+    }
+
+    /**
+     * Constructor.
+     * @param env The environment.
+     * @param pkg The package name.
+     * @param factory The types the factory of the language creates by identifiers
+     */
+    ConverterGenerator(final Environment env, final String pkg, final FactoryTypes factory) {
         this.env = env;
         this.pkg = pkg;
+        this.factory = factory;
         this.names = new ClassNameGenerator("Rule");
         this.units = new TreeMap<>();
     }
 
     /**
-     * Generates compilation unit from descriptor.
-     * @param descriptor The descriptor
+     * Generates compilation unit from the right part of a transformation rule.
+     * @param rule The transformation rule
      * @param matcher The nme of the matcher class
      */
-    public void generate(final Descriptor descriptor, final String matcher) {
-        assert descriptor.getAttribute() == DescriptorAttribute.NONE;
+    public void generate(final Transformation rule, final String matcher) {
+        assert rule.getRight().getAttribute() == DescriptorAttribute.NONE;
         final String name = this.names.getName();
         final Klass klass = new Klass(
             "Converter describing DSL conversion rule",
             name
         );
-        final ConverterClassFiller filler = new ConverterClassFiller(klass, descriptor, matcher);
+        final ConverterClassFiller filler = new ConverterClassFiller(klass, rule, matcher);
+        filler.setFactoryTypes(this.factory);
         filler.fill();
         final CompilationUnit unit = new CompilationUnit(
             this.env.getLicense(),
             this.pkg,
             klass
         );
-        unit.addImport("java.util.List");
-        unit.addImport("java.util.Map");
-        unit.addImport("java.util.TreeMap");
+        if (filler.isListNeeded()) {
+            unit.addImport("java.util.List");
+        }
         if (filler.isLinkedListNeeded()) {
             unit.addImport("java.util.LinkedList");
         }
+        if (filler.isFactoryNeeded()) {
+            unit.addImport(this.factory.getQualifiedName(this.env.getRootPackage()));
+        }
         final String base = this.env.getBasePackage();
         unit.addImport(base.concat(".Builder"));
+        unit.addImport(base.concat(".Captures"));
         unit.addImport(base.concat(".Converter"));
         unit.addImport(base.concat(".EmptyTree"));
         unit.addImport(base.concat(".Factory"));
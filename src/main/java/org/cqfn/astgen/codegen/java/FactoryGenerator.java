@@ -25,13 +25,7 @@ package org.cqfn.astgen.codegen.java;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
-import java.util.Set;
-import java.util.TreeSet;
-import org.cqfn.astgen.rules.Literal;
-import org.cqfn.astgen.rules.Node;
 import org.cqfn.astgen.rules.Program;
-import org.cqfn.astgen.rules.Statement;
 
 /**
  * Generates a factory for node creation.
@@ -56,14 +50,9 @@ public final class FactoryGenerator extends BaseGenerator {
     private final String language;
 
     /**
-     * Common ("green") nodes set.
+     * The types the factory creates.
      */
-    private Set<String> common;
-
-    /**
-     * Specific nodes set.
-     */
-    private Set<String> specific;
+    private FactoryTypes types;
 
     /**
      * The class.
@@ -98,9 +87,10 @@ public final class FactoryGenerator extends BaseGenerator {
     @Override
     public CompilationUnit generate() {
         final Environment env = this.getEnv();
-        this.prepareRuleSet();
+        this.types = new FactoryTypes(this.program, this.language);
         this.createClass();
         this.createConstructor();
+        this.createIdentifiers();
         this.createInitializer();
         final CompilationUnit unit = new CompilationUnit(
             env.getLicense(),
@@ -111,48 +101,6 @@ public final class FactoryGenerator extends BaseGenerator {
         return unit;
     }
 
-    /**
-     * Prepares a set of nodes for generation.
-     */
-    private void prepareRuleSet() {
-        this.common = new TreeSet<>();
-        this.specific = new TreeSet<>();
-        this.prepareNodeSet();
-        this.prepareLiteralSet();
-    }
-
-    /**
-     * Prepares set of nodes.
-     */
-    private void prepareNodeSet() {
-        for (final Statement<Node> statement : this.program.getNodes()) {
-            final Node rule = statement.getRule();
-            final String lang = statement.getLanguage();
-            if (rule.isOrdinary() || rule.isList()) {
-                if (lang.equals(this.language)) {
-                    this.specific.add(rule.getType());
-                } else if (lang.isEmpty() && !this.language.isEmpty()) {
-                    this.common.add(rule.getType());
-                }
-            }
-        }
-    }
-
-    /**
-     * Prepares set of literals.
-     */
-    private void prepareLiteralSet() {
-        for (final Statement<Literal> statement : this.program.getLiterals()) {
-            final Literal rule = statement.getRule();
-            final String lang = statement.getLanguage();
-            if (lang.equals(this.language)) {
-                this.specific.add(rule.getType());
-            } else if (lang.isEmpty() && !this.language.isEmpty()) {
-                this.common.add(rule.getType());
-            }
-        }
-    }
-
     /**
      * Creates the class constructor.
      */
@@ -164,16 +112,31 @@ public final class FactoryGenerator extends BaseGenerator {
             name = this.language;
         }
         final String brief = String.format("Factory that creates '%s' nodes", name);
-        this.classname = String.format(
-            "%s%sFactory",
-            name.substring(0, 1).toUpperCase(Locale.ENGLISH),
-            name.substring(1)
-        );
+        this.classname = this.types.getClassname();
         this.klass = new Klass(brief, this.classname);
         this.klass.makeFinal();
         this.klass.setParentClass(FactoryGenerator.STR_FACTORY);
     }
 
+    /**
+     * Creates constants that hold identifiers of types.
+     */
+    private void createIdentifiers() {
+        int index = 0;
+        for (final String name : this.types.getNames()) {
+            final Field field = new Field(
+                String.format("The identifier of the '%s' type", name),
+                "int",
+                this.types.getConstantName(name)
+            );
+            field.makePublic();
+            field.makeStaticFinal();
+            field.setInitExpr(String.valueOf(index));
+            this.klass.addField(field);
+            index = index + 1;
+        }
+    }
+
     /**
      * Creates the constructor and the static instance.
      */
@@ -189,12 +152,7 @@ public final class FactoryGenerator extends BaseGenerator {
         this.klass.addField(field);
         final Constructor ctor = new Constructor(this.classname);
         ctor.makePrivate();
-        ctor.setCode(
-            String.format(
-                "super(Collections.unmodifiableMap(%s.init()));",
-                this.classname
-            )
-        );
+        ctor.setCode(String.format("super(%s.init());", this.classname));
         this.klass.addConstructor(ctor);
     }
 
@@ -203,24 +161,19 @@ public final class FactoryGenerator extends BaseGenerator {
      */
     private void createInitializer() {
         final Method method = new Method(
-            "Initialises the set of types arranged by name",
+            "Initialises the list of types, the position of each type is its identifier",
             "init"
         );
         method.makePrivate();
         method.makeStatic();
         method.setReturnType(
-            "Map<String, Type>",
-            "The map of types by name"
+            "List<Type>",
+            "The list of types"
         );
         final List<String> code = Arrays.asList(
-            "final List<Type> types = Arrays.asList(",
+            "return Arrays.asList(",
             this.createList(),
-            ");",
-            "final Map<String, Type> map = new TreeMap<>();",
-            "for (final Type type : types) {",
-            "    map.put(type.getName(), type);",
-            "}\n",
-            "return map;"
+            ");"
         );
         method.setCode(String.join("\n", code));
         this.klass.addMethod(method);
@@ -231,12 +184,9 @@ public final class FactoryGenerator extends BaseGenerator {
      * @return The string where all classes are enumerated
      */
     private String createList() {
-        final Set<String> set = new TreeSet<>();
-        set.addAll(this.common);
-        set.addAll(this.specific);
         boolean flag = false;
         final StringBuilder result = new StringBuilder();
-        for (final String name : set) {
+        for (final String name : this.types.getNames()) {
             if (flag) {
                 result.append(",\n");
             }
@@ -252,15 +202,12 @@ public final class FactoryGenerator extends BaseGenerator {
      */
     private void addImports(final CompilationUnit unit) {
         unit.addImport("java.util.Arrays");
-        unit.addImport("java.util.Collections");
         unit.addImport("java.util.List");
-        unit.addImport("java.util.Map");
-        unit.addImport("java.util.TreeMap");
         final Environment env = this.getEnv();
         final String base = env.getBasePackage();
         unit.addImport(base.concat(".Factory"));
         unit.addImport(base.concat(".Type"));
-        for (final String name : this.common) {
+        for (final String name : this.types.getCommon()) {
             unit.addImport(String.format("%s.green.%s", env.getRootPackage(), name));
         }
     }
@@ -0,0 +1,308 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.codegen.java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.cqfn.astgen.rules.Literal;
+import org.cqfn.astgen.rules.Node;
+import org.cqfn.astgen.rules.Program;
+import org.cqfn.astgen.rules.Statement;
+
+/**
+ * The types a generated factory creates builders for.
+ * Each type has a dense identifier, that is, its position in the alphabetical
+ * list of type names, so the factory finds builders by identifiers in an array.
+ *
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.CloseResource")
+final class FactoryTypes {
+    /**
+     * The factory without types, used when the identifiers are unknown.
+     */
+    public static final FactoryTypes EMPTY = new FactoryTypes(
+        "", Collections.emptySet(), Collections.emptySet()
+    );
+
+    /**
+     * The language for which the factory is generated.
+     */
+    private final String language;
+
+    /**
+     * Common ("green") types.
+     */
+    private final Set<String> common;
+
+    /**
+     * Types that are specific for the language.
+     */
+    private final Set<String> specific;
+
+    /**
+     * All types in alphabetical order.
+     */
+    private final List<String> names;
+
+    /**
+     * Names of constants that hold identifiers, arranged by type names.
+     */
+    private final Map<String, String> constants;
+
+    /**
+     * Constructor.
+     * @param program The program
+     * @param language The language for which the factory is generated
+     */
+    FactoryTypes(final Program program, final String language) {
+        this(
+            language,
+            FactoryTypes.collect(program, language, true),
+            FactoryTypes.collect(program, language, false)
+        );
+    }
+
+    /**
+     * Constructor.
+     * @param language The language for which the factory is generated
+     * @param common Common ("green") types
+     * @param specific Types that are specific for the language
+     */
+    private FactoryTypes(final String language, final Set<String> common,
+        final Set<String> specific) {
+        this.language = language;
+        this.common = common;
+        this.specific = specific;
+        this.names = FactoryTypes.merge(common, specific);
+        this.constants = FactoryTypes.createConstants(this.names);
+    }
+
+    /**
+     * Returns the name of the factory class.
+     * @return The class name
+     */
+    public String getClassname() {
+        return FactoryTypes.getPrefix(this.language).concat("Factory");
+    }
+
+    /**
+     * Returns the fully qualified name of the factory class.
+     * @param root The root package of generated classes
+     * @return The class name with the package
+     */
+    public String getQualifiedName(final String root) {
+        return String.format(
+            "%s.%s.%s",
+            root,
+            FactoryTypes.getName(this.language).toLowerCase(Locale.ENGLISH),
+            this.getClassname()
+        );
+    }
+
+    /**
+     * Returns the common ("green") types, which are declared in another package.
+     * @return The set of type names
+     */
+    public Set<String> getCommon() {
+        return Collections.unmodifiableSet(this.common);
+    }
+
+    /**
+     * Returns all types in the order of identifiers.
+     * @return The list of type names
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(this.names);
+    }
+
+    /**
+     * Returns the types that are declared for the language itself, i.e. all types
+     * for the factory of common nodes.
+     * @return The set of type names in alphabetical order
+     */
+    public Set<String> getSpecific() {
+        return Collections.unmodifiableSet(this.specific);
+    }
+
+    /**
+     * Checks whether the factory creates nodes of the type.
+     * @param type The type name
+     * @return Checking result
+     */
+    public boolean contains(final String type) {
+        return Collections.binarySearch(this.names, type) >= 0;
+    }
+
+    /**
+     * Returns the name of the constant that holds the identifier of the type,
+     * for example, 'VARIABLE_DECLARATION_ID' for 'VariableDeclaration'.
+     * The suffix keeps the constants apart from other fields of the factory,
+     * such as 'INSTANCE'.
+     * @param type The type name
+     * @return The constant name
+     */
+    public String getConstantName(final String type) {
+        return this.constants.get(type);
+    }
+
+    /**
+     * Returns the prefix of names of generated classes that belong to the package
+     * of the language, for example, 'Js' for 'JsFactory' or 'Green' for common nodes.
+     * @param language The language
+     * @return The prefix
+     */
+    static String getPrefix(final String language) {
+        final String name = FactoryTypes.getName(language);
+        return name.substring(0, 1).toUpperCase(Locale.ENGLISH).concat(name.substring(1));
+    }
+
+    /**
+     * Returns the name of the language, 'green' for common nodes.
+     * @param language The language
+     * @return The name
+     */
+    private static String getName(final String language) {
+        final String name;
+        if (language.isEmpty()) {
+            name = "green";
+        } else {
+            name = language;
+        }
+        return name;
+    }
+
+    /**
+     * Collects the types of ordinary nodes, list nodes and literals
+     * the factory creates.
+     * @param program The program
+     * @param language The language for which the factory is generated
+     * @param green Collect common ("green") types, otherwise the types that are
+     *  specific for the language
+     * @return The set of type names
+     */
+    private static Set<String> collect(final Program program, final String language,
+        final boolean green) {
+        final Set<String> result = new TreeSet<>();
+        for (final Statement<Node> statement : program.getNodes()) {
+            final Node rule = statement.getRule();
+            if ((rule.isOrdinary() || rule.isList())
+                && FactoryTypes.accepts(statement.getLanguage(), language, green)) {
+                result.add(rule.getType());
+            }
+        }
+        for (final Statement<Literal> statement : program.getLiterals()) {
+            if (FactoryTypes.accepts(statement.getLanguage(), language, green)) {
+                result.add(statement.getRule().getType());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the factory of the language accepts a type declared
+     * for some language.
+     * @param declared The language for which the type is declared
+     * @param language The language for which the factory is generated
+     * @param green Check common ("green") types, otherwise the types that are
+     *  specific for the language
+     * @return Checking result
+     */
+    private static boolean accepts(final String declared, final String language,
+        final boolean green) {
+        final boolean result;
+        if (green) {
+            result = declared.isEmpty() && !language.isEmpty();
+        } else {
+            result = declared.equals(language);
+        }
+        return result;
+    }
+
+    /**
+     * Creates names of constants that hold identifiers. Words of a type name are
+     * separated by underscores, a sequence of capital letters is one word, for example,
+     * 'XML_NODE_ID' for 'XMLNode'. If two types get the same name, the name of the latter
+     * also contains its identifier, for example, 'ID_ID' for 'ID' and 'ID_1_ID' for 'Id'.
+     * @param names All types in the order of identifiers
+     * @return Names of constants arranged by type names
+     */
+    private static Map<String, String> createConstants(final List<String> names) {
+        final Map<String, String> result = new HashMap<>();
+        final Set<String> used = new HashSet<>();
+        for (int index = 0; index < names.size(); index = index + 1) {
+            final String type = names.get(index);
+            final String base = FactoryTypes.splitWords(type);
+            String name = base.concat("_ID");
+            if (!used.add(name)) {
+                name = String.format("%s_%d_ID", base, index);
+                used.add(name);
+            }
+            result.put(type, name);
+        }
+        return result;
+    }
+
+    /**
+     * Converts a type name to upper case, separating words by underscores.
+     * @param type The type name
+     * @return The converted name
+     */
+    private static String splitWords(final String type) {
+        final StringBuilder name = new StringBuilder();
+        final int length = type.length();
+        for (int index = 0; index < length; index = index + 1) {
+            final char symbol = type.charAt(index);
+            if (index > 0 && Character.isUpperCase(symbol)) {
+                final char previous = type.charAt(index - 1);
+                final boolean lower = index + 1 < length
+                    && Character.isLowerCase(type.charAt(index + 1));
+                if (!Character.isUpperCase(previous) || lower) {
+                    name.append('_');
+                }
+            }
+            name.append(Character.toUpperCase(symbol));
+        }
+        return name.toString();
+    }
+
+    /**
+     * Merges two sets of type names.
+     * @param first The first set
+     * @param second The second set
+     * @return The list of type names in alphabetical order
+     */
+    private static List<String> merge(final Set<String> first, final Set<String> second) {
+        final Set<String> set = new TreeSet<>(first);
+        set.addAll(second);
+        return new ArrayList<>(set);
+    }
+}
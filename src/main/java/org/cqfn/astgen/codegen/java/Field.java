@@ -227,7 +227,7 @@ public final class Field implements Entity {
 
     /**
      * Generates init expression from single line (case if it really
-     *  takes more than one line).
+     *  takes more than one line). Calls without arguments are kept on one line.
      * @param builder Where to generate
      * @param indent Indentation
      */
@@ -239,10 +239,15 @@ public final class Field implements Entity {
             .split("\n");
         int offset = 0;
         for (int index = 0; index < lines.length; index = index + 1) {
-            final String line = lines[index].trim();
+            String line = lines[index].trim();
             if (line.isEmpty()) {
                 continue;
             }
+            if (line.endsWith("(") && index + 2 < lines.length
+                && lines[index + 1].isEmpty() && lines[index + 2].startsWith(")")) {
+                line = line.concat(")");
+                lines[index + 2] = lines[index + 2].substring(1);
+            }
             if (line.charAt(0) == ')') {
                 offset = offset - 1;
             }
@@ -257,7 +262,9 @@ public final class Field implements Entity {
     }
 
     /**
-     * Generates init expression from list of lines.
+     * Generates init expression from list of lines. Each tab at the beginning of a line
+     * adds a level of indentation, a line starting with a closing parenthesis
+     * is placed one level left.
      * @param builder Where to generate
      * @param indent Indentation
      */
@@ -280,6 +287,9 @@ public final class Field implements Entity {
             if (line.isEmpty()) {
                 continue;
             }
+            if (line.charAt(0) == ')') {
+                gap = gap - 1;
+            }
             if (index > 0) {
                 builder.append('\n')
                     .append(StringUtils.SPACE.repeat((indent + gap) * Entity.TAB_SIZE));
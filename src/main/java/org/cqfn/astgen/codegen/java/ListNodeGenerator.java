@@ -51,9 +51,11 @@ final class ListNodeGenerator extends BaseNodeGenerator {
     public CompilationUnit generate() {
         final Environment env = this.getEnv();
         final Node rule = this.statement.getRule();
-        final Klass klass = this.createClass(rule);
+        final String language = this.statement.getLanguage();
+        final Klass klass = this.createClass(rule, language);
         new ListNodeClassConstructor(env, rule, klass).run();
-        final String pkg = this.getPackageName(this.statement.getLanguage());
+        VisitorGenerator.addAcceptor(klass, language, rule.getType());
+        final String pkg = this.getPackageName(language);
         final CompilationUnit unit = new CompilationUnit(env.getLicense(), pkg, klass);
         this.generateImports(unit);
         return unit;
@@ -67,8 +69,10 @@ final class ListNodeGenerator extends BaseNodeGenerator {
         unit.addImport("java.util.ArrayList");
         unit.addImport("java.util.Arrays");
         unit.addImport("java.util.Collections");
+        unit.addImport("java.util.HashSet");
         unit.addImport("java.util.List");
         unit.addImport("java.util.Map");
+        unit.addImport("java.util.Set");
         unit.addImport("java.util.stream.Collectors");
         unit.addImport("java.util.stream.Stream");
         final String base = this.getEnv().getBasePackage();
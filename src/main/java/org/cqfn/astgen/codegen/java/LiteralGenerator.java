@@ -52,9 +52,11 @@ final class LiteralGenerator extends BaseGenerator {
     public CompilationUnit generate() {
         final Environment env = this.getEnv();
         final Literal rule = this.statement.getRule();
-        final Klass klass = this.createClass(rule);
+        final String language = this.statement.getLanguage();
+        final Klass klass = this.createClass(rule, language);
         new LiteralClassConstructor(env, rule, klass).run();
-        final String pkg = this.getPackageName(this.statement.getLanguage());
+        VisitorGenerator.addAcceptor(klass, language, rule.getType());
+        final String pkg = this.getPackageName(language);
         final CompilationUnit unit = new CompilationUnit(env.getLicense(), pkg, klass);
         this.generateImports(unit);
         return unit;
@@ -63,9 +65,10 @@ final class LiteralGenerator extends BaseGenerator {
     /**
      * Creates class for node construction.
      * @param rule The rule
+     * @param language The language for which the node is declared
      * @return The class constructor
      */
-    private Klass createClass(final Literal rule) {
+    private Klass createClass(final Literal rule, final String language) {
         final String type = rule.getType();
         final Klass klass = new Klass(
             String.format("Node that describes the '%s' type", type),
@@ -73,10 +76,11 @@ final class LiteralGenerator extends BaseGenerator {
         );
         klass.makeFinal();
         final List<String> hierarchy = this.getEnv().getHierarchy(type);
+        final String visitable = VisitorGenerator.getVisitableName(language);
         if (hierarchy.size() > 1) {
-            klass.setInterfaces(hierarchy.get(1));
+            klass.setInterfaces(hierarchy.get(1), visitable);
         } else {
-            klass.setInterfaces("Node");
+            klass.setInterfaces("Node", visitable);
         }
         return klass;
     }
@@ -88,8 +92,10 @@ final class LiteralGenerator extends BaseGenerator {
     private void generateImports(final CompilationUnit unit) {
         unit.addImport("java.util.Arrays");
         unit.addImport("java.util.Collections");
+        unit.addImport("java.util.HashSet");
         unit.addImport("java.util.List");
         unit.addImport("java.util.Map");
+        unit.addImport("java.util.Set");
         unit.addImport("java.util.stream.Collectors");
         unit.addImport("java.util.stream.Stream");
         final String base = this.getEnv().getBasePackage();
@@ -64,11 +64,6 @@ public class MatcherClassFiller {
      */
     private final Descriptor descriptor;
 
-    /**
-     * Flag indicates that the package 'java.util.Collections' is needed.
-     */
-    private boolean collections;
-
     /**
      * Flag indicates that the package 'java.util.ArrayList' is needed.
      */
@@ -85,7 +80,6 @@ public class MatcherClassFiller {
         this.generator = generator;
         this.klass = klass;
         this.descriptor = descriptor;
-        this.collections = false;
         this.alist = false;
     }
 
@@ -98,14 +92,7 @@ public class MatcherClassFiller {
         this.klass.makeSingleton();
         this.createStaticFields();
         this.createMatchMethod();
-    }
-
-    /**
-     * Returns the flag indicates that the package 'java.util.Collections' is needed.
-     * @return The flag
-     */
-    public boolean isCollectionsNeeded() {
-        return this.collections;
+        this.createMapMatchMethod();
     }
 
     /**
@@ -154,8 +141,7 @@ public class MatcherClassFiller {
         method.makeOverridden();
         method.setReturnType("boolean");
         method.addArgument("Node", "node");
-        method.addArgument("Map<Integer, List<Node>>", "children");
-        method.addArgument("Map<Integer, String>", "data");
+        method.addArgument("Captures", "captures");
         final String condition = this.createCondition();
         if (this.descriptor.hasHole()) {
             final List<String> code = Arrays.asList(
@@ -171,6 +157,20 @@ public class MatcherClassFiller {
         }
     }
 
+    /**
+     * Creates the 'match() method that saves extracted children and data to maps.
+     */
+    private void createMapMatchMethod() {
+        final Method method = new Method("match");
+        this.klass.addMethod(method);
+        method.makeOverridden();
+        method.setReturnType("boolean");
+        method.addArgument("Node", "node");
+        method.addArgument("Map<Integer, List<Node>>", "children");
+        method.addArgument("Map<Integer, String>", "data");
+        method.setCode("return Captures.match(this, node, children, data);");
+    }
+
     /**
      * Generates the condition of the matcher.
      * @return The expression (boolean type)
@@ -191,7 +191,7 @@ public class MatcherClassFiller {
                 final String subclass = this.generator.generate((Descriptor) parameter);
                 condition.append(
                     String.format(
-                        "\n\t&& %s.INSTANCE.match(node.getChild(%d), children, data)",
+                        "\n\t&& %s.INSTANCE.match(node.getChild(%d), captures)",
                         subclass,
                         index
                     )
@@ -242,7 +242,7 @@ public class MatcherClassFiller {
             final Hole hole = (Hole) data;
             extractor.append(
                 String.format(
-                    "data.put(%d, node.getData());\n",
+                    "captures.putData(%d, node.getData());\n",
                     hole.getValue()
                 )
             );
@@ -261,7 +261,7 @@ public class MatcherClassFiller {
         if (hole.getAttribute() == HoleAttribute.ELLIPSIS && index == 0) {
             result =
                 String.format(
-                    "children.put(%d, node.getChildrenList());\n",
+                    "captures.putChildren(%d, node.getChildrenList());\n",
                     hole.getValue()
                 );
         } else if (hole.getAttribute() == HoleAttribute.ELLIPSIS) {
@@ -275,14 +275,13 @@ public class MatcherClassFiller {
                 ),
                 "list.add(node.getChild(index));",
                 "}",
-                String.format("children.put(%d, list);", hole.getValue())
+                String.format("captures.putChildren(%d, list);", hole.getValue())
             );
             result = String.join("\n", code);
         } else {
-            this.collections = true;
             result =
                 String.format(
-                    "children.put(%d, Collections.singletonList(node.getChild(%d)));\n",
+                    "captures.putChild(%d, node.getChild(%d));\n",
                     hole.getValue(),
                     index
                 );
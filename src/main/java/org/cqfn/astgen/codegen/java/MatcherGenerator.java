@@ -88,15 +88,13 @@ public final class MatcherGenerator {
             this.pkg,
             klass
         );
-        unit.addImport("java.util.List");
-        unit.addImport("java.util.Map");
-        if (filler.isCollectionsNeeded()) {
-            unit.addImport("java.util.Collections");
-        }
         if (filler.isArrayListNeeded()) {
             unit.addImport("java.util.ArrayList");
         }
+        unit.addImport("java.util.List");
+        unit.addImport("java.util.Map");
         final String base = this.env.getBasePackage();
+        unit.addImport(base.concat(".Captures"));
         unit.addImport(base.concat(".Matcher"));
         unit.addImport(base.concat(".Node"));
         this.units.put(String.format("rules%s%s", File.separator, name), unit);
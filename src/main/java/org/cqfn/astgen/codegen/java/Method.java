@@ -30,6 +30,7 @@ import org.cqfn.astgen.utils.StringUtils;
  *
  * @since 1.0
  */
+@SuppressWarnings("PMD.TooManyMethods")
 public final class Method implements Entity {
     /**
      * The beginning of the method body.
@@ -56,6 +57,11 @@ public final class Method implements Entity {
      */
     private boolean fprivate;
 
+    /**
+     * The flag indicates that the method is protected.
+     */
+    private boolean fprotected;
+
     /**
      * The flag indicates that the method is static.
      */
@@ -151,6 +157,7 @@ public final class Method implements Entity {
     public void resetFlags() {
         this.fpublic = false;
         this.fprivate = false;
+        this.fprotected = false;
         this.fstatic = false;
         this.fabstract = false;
         this.foverride = false;
@@ -162,6 +169,7 @@ public final class Method implements Entity {
     public void makePublic() {
         this.fpublic = true;
         this.fprivate = false;
+        this.fprotected = false;
     }
 
     /**
@@ -172,6 +180,15 @@ public final class Method implements Entity {
         this.fprivate = true;
     }
 
+    /**
+     * Makes this method protected.
+     */
+    public void makeProtected() {
+        this.fpublic = false;
+        this.fprivate = false;
+        this.fprotected = true;
+    }
+
     /**
      * Makes this method abstract.
      */
@@ -224,6 +241,8 @@ public final class Method implements Entity {
         block.append(tabulation);
         if (this.fprivate) {
             block.append("private ");
+        } else if (this.fprotected) {
+            block.append("protected ");
         } else if (this.fpublic) {
             block.append("public ");
         }
@@ -23,6 +23,9 @@
  */
 package org.cqfn.astgen.codegen.java;
 
+import org.cqfn.astgen.rules.Child;
+import org.cqfn.astgen.rules.Descriptor;
+import org.cqfn.astgen.rules.DescriptorAttribute;
 import org.cqfn.astgen.rules.Node;
 
 /**
@@ -70,6 +73,24 @@ abstract class NodeConstructor extends BaseConstructor {
         return this.rule.getType();
     }
 
+    /**
+     * Checks whether the node finds tagged children among the packed children by
+     * the flags of empty optional positions instead of storing them in fields,
+     * that is possible if there are optional children and their flags fit
+     * into an integer.
+     * @return Checking result
+     */
+    protected boolean locatesTaggedChildren() {
+        int count = 0;
+        for (final Child child : this.rule.getComposition()) {
+            if (child instanceof Descriptor
+                && ((Descriptor) child).getAttribute() == DescriptorAttribute.OPTIONAL) {
+                count = count + 1;
+            }
+        }
+        return count > 0 && count <= Integer.SIZE;
+    }
+
     /**
      * Creates the method 'getChild'.
      */
@@ -137,11 +137,10 @@ final class OrdinaryNodeBuilderConstructor extends NodeConstructor {
             composition.size()
         );
         final String second = String.format(
-            "final ChildrenMapper mapper = new ChildrenMapper(%s.TYPE.getChildTypes());\n",
+            "final boolean result = %s.MAPPER.map(mapping, list);\n",
             this.getRule().getType()
         );
-        final String third = "final boolean result = mapper.map(mapping, list);\n";
-        code.append(first).append(second).append(third).append("if (result) { \n");
+        code.append(first).append(second).append("if (result) { \n");
         int index = 0;
         for (final Child child : this.getRule().getComposition()) {
             final Descriptor descriptor = (Descriptor) child;
@@ -233,31 +232,56 @@ final class OrdinaryNodeBuilderConstructor extends NodeConstructor {
 
     /**
      * Fills variables assignment code in the body of the method 'createNode' for non-empty
-     *  children list.
+     *  children list. If all the children are required, the node stores each of them
+     *  in its own field, otherwise children are packed into an array, and tagged
+     *  children are found in it by the flags of empty optional positions
+     *  (or get fields if there are too many optional positions to flag).
      * @return Source code
      */
     private String fillCreateNodeForNonEmptyChildrenList() {
-        final StringBuilder fourth = new StringBuilder(128);
-        final StringBuilder fifth = new StringBuilder(128);
-        fourth.append("node.children = new ListUtils<Node>()\n\t.add(");
-        boolean flag = false;
+        final boolean optional = this.getRule().hasOptionalChild();
+        final boolean locates = this.locatesTaggedChildren();
+        final StringBuilder code = new StringBuilder(128);
+        if (optional) {
+            code.append(this.createPackingCode("children", "pack"));
+        }
+        if (locates && !this.getEnv().getTags(this.getType()).isEmpty()) {
+            code.append(this.createPackingCode("absent", "absent"));
+        }
         for (final Child child : this.getRule().getComposition()) {
             final Descriptor descriptor = (Descriptor) child;
-            final String var = descriptor.getVariableName();
+            if (!optional || !locates && !descriptor.getTag().isEmpty()) {
+                final String var = descriptor.getVariableName();
+                code.append("node.").append(var).append(" = this.").append(var)
+                    .append(OrdinaryNodeBuilderConstructor.STR_SEMICOLON);
+            }
+        }
+        return code.toString();
+    }
+
+    /**
+     * Creates code that passes all the children to a method of the mapper
+     *  and assigns the result to a field of the node, i.e. packs children into
+     *  a right-sized array or computes the flags of empty optional positions.
+     * @param field The field name
+     * @param name The method name
+     * @return Source code
+     */
+    private String createPackingCode(final String field, final String name) {
+        final StringBuilder code = new StringBuilder(128);
+        code.append("node.").append(field).append(" = ").append(this.getRule().getType())
+            .append(".MAPPER.").append(name).append('(');
+        boolean flag = false;
+        for (final Child child : this.getRule().getComposition()) {
             if (flag) {
-                fourth.append(',');
+                code.append(',');
             }
             flag = true;
-            fourth
-                .append("\n\t\t")
+            code.append("\n\t")
                 .append(OrdinaryNodeBuilderConstructor.STR_THIS)
-                .append(var);
-            if (!descriptor.getTag().isEmpty()) {
-                fifth.append("node.").append(var).append(" = this.").append(var)
-                .append(OrdinaryNodeBuilderConstructor.STR_SEMICOLON);
-            }
+                .append(((Descriptor) child).getVariableName());
         }
-        fourth.append("\n\t)\n\t.make();\n");
-        return fourth.append(fifth).toString();
+        code.append("\n);\n");
+        return code.toString();
     }
 }
@@ -25,6 +25,8 @@ package org.cqfn.astgen.codegen.java;
 
 import java.util.List;
 import java.util.Locale;
+import org.cqfn.astgen.rules.Child;
+import org.cqfn.astgen.rules.Descriptor;
 import org.cqfn.astgen.rules.Node;
 
 /**
@@ -56,8 +58,10 @@ final class OrdinaryNodeClassConstructor extends NodeConstructor {
         this.fillType();
         this.fillBuilder();
         this.createFragmentWithGetter();
+        this.createMapper();
         this.createCommonFields();
-        this.createChildrenGetter();
+        this.createChildrenFields();
+        this.createChildGetter();
         this.createTaggedFields();
     }
 
@@ -88,14 +92,11 @@ final class OrdinaryNodeClassConstructor extends NodeConstructor {
         data.setReturnType("String");
         data.setCode("return \"\";");
         klass.addMethod(data);
-        if (!rule.isEmpty()) {
-            klass.addField(new Field("List of child nodes", "List<Node>", "children"));
-        }
         final Method count = new Method("getChildCount");
         count.makeOverridden();
         count.setReturnType(OrdinaryNodeClassConstructor.STR_INT);
         if (rule.hasOptionalChild()) {
-            count.setCode("return this.children.size();");
+            count.setCode("return this.children.length;");
         } else if (rule.isEmpty()) {
             count.setCode("return 0;");
         } else {
@@ -113,20 +114,119 @@ final class OrdinaryNodeClassConstructor extends NodeConstructor {
     }
 
     /**
-     * Creates fields for tagged nodes and getters for them.
+     * Creates fields that store child nodes, if the node has children.
+     * Optional children are stored in a right-sized array, along with the flags
+     *  of empty optional positions to find tagged children in it, otherwise each child
+     *  is stored in its own field (fields of tagged children are created together
+     *  with their getters).
+     */
+    private void createChildrenFields() {
+        final Node rule = this.getRule();
+        if (rule.hasOptionalChild()) {
+            final Klass klass = this.getKlass();
+            klass.addField(new Field("Array of child nodes", "Node[]", "children"));
+            if (this.locatesTaggedChildren() && !this.getEnv().getTags(this.getType()).isEmpty()) {
+                klass.addField(
+                    new Field(
+                        "The flags of empty optional positions",
+                        OrdinaryNodeClassConstructor.STR_INT,
+                        "absent"
+                    )
+                );
+            }
+        } else if (!rule.isEmpty()) {
+            this.createUntaggedFields();
+        }
+    }
+
+    /**
+     * Creates fields for child nodes without tags.
+     */
+    private void createUntaggedFields() {
+        int index = 0;
+        for (final Child child : this.getRule().getComposition()) {
+            if (child instanceof Descriptor && ((Descriptor) child).getTag().isEmpty()) {
+                final Descriptor descriptor = (Descriptor) child;
+                this.getKlass().addField(
+                    new Field(
+                        String.format("Child %d", index),
+                        descriptor.getType(),
+                        descriptor.getVariableName()
+                    )
+                );
+            }
+            index = index + 1;
+        }
+    }
+
+    /**
+     * Creates the 'getChild' method. If each child is stored in its own field,
+     *  the field is selected by a 'switch' statement.
+     */
+    private void createChildGetter() {
+        final Node rule = this.getRule();
+        final Method getter = new Method("getChild");
+        getter.makeOverridden();
+        getter.addArgument(OrdinaryNodeClassConstructor.STR_INT, "index");
+        getter.setReturnType("Node");
+        if (rule.isEmpty()) {
+            getter.setCode("throw new IndexOutOfBoundsException();");
+        } else if (rule.hasOptionalChild()) {
+            getter.setCode("return this.children[index];");
+        } else {
+            final StringBuilder code = new StringBuilder(256);
+            code.append("final Node result;\nswitch (index) {\n");
+            int index = 0;
+            for (final Child child : rule.getComposition()) {
+                code.append("case ").append(index).append(":\n\tresult = this.")
+                    .append(((Descriptor) child).getVariableName())
+                    .append(";\n\tbreak;\n");
+                index = index + 1;
+            }
+            code.append("default:\n\tthrow new IndexOutOfBoundsException();\n}\nreturn result;\n");
+            getter.setCode(code.toString());
+        }
+        this.getKlass().addMethod(getter);
+    }
+
+    /**
+     * Creates the mapper of child nodes, which is shared by all builders,
+     *  if the node has children.
+     */
+    private void createMapper() {
+        if (!this.getRule().isEmpty()) {
+            final Field mapper = new Field(
+                "The mapper of child nodes, shared by all builders",
+                "ChildrenMapper",
+                "MAPPER"
+            );
+            mapper.makeStaticFinal();
+            mapper.setInitExpr(
+                String.format("new ChildrenMapper(%s.TYPE.getChildTypes())", this.getType())
+            );
+            this.getKlass().addField(mapper);
+        }
+    }
+
+    /**
+     * Creates fields for tagged nodes and getters for them. If tagged children
+     *  are found among the packed children, there are no fields.
      */
     private void createTaggedFields() {
         final Klass klass = this.getKlass();
         final List<TaggedChild> tags = this.getEnv().getTags(this.getType());
+        final boolean locates = this.locatesTaggedChildren();
         for (final TaggedChild child : tags) {
             final String type = child.getType();
             final String tag = child.getTag();
-            final Field field = new Field(
-                String.format("Child with the '%s' tag", tag),
-                type,
-                tag
-            );
-            klass.addField(field);
+            if (!locates) {
+                final Field field = new Field(
+                    String.format("Child with the '%s' tag", tag),
+                    type,
+                    tag
+                );
+                klass.addField(field);
+            }
             final Method getter = new Method(
                 String.format("Returns the child with the '%s' tag", tag),
                 String.format(
@@ -136,11 +236,41 @@ final class OrdinaryNodeClassConstructor extends NodeConstructor {
                 )
             );
             getter.setReturnType(type, "The node");
-            getter.setCode(String.format("return this.%s;", tag));
+            if (locates) {
+                getter.setCode(
+                    String.format(
+                        "return (%s) %s.MAPPER.locate(this.children, this.absent, %d);",
+                        type,
+                        this.getType(),
+                        this.findPosition(tag)
+                    )
+                );
+            } else {
+                getter.setCode(String.format("return this.%s;", tag));
+            }
             if (child.isOverridden()) {
                 getter.makeOverridden();
             }
             klass.addMethod(getter);
         }
     }
+
+    /**
+     * Finds the position of the child with the tag.
+     * @param tag The tag
+     * @return The position
+     */
+    private int findPosition(final String tag) {
+        int result = -1;
+        int index = 0;
+        for (final Child child : this.getRule().getComposition()) {
+            if (((Descriptor) child).getTag().equals(tag)) {
+                result = index;
+                break;
+            }
+            index = index + 1;
+        }
+        assert result >= 0;
+        return result;
+    }
 }
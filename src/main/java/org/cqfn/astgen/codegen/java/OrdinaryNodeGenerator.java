@@ -51,9 +51,11 @@ final class OrdinaryNodeGenerator extends BaseNodeGenerator {
     public CompilationUnit generate() {
         final Environment env = this.getEnv();
         final Node rule = this.statement.getRule();
-        final Klass klass = this.createClass(rule);
+        final String language = this.statement.getLanguage();
+        final Klass klass = this.createClass(rule, language);
         new OrdinaryNodeClassConstructor(env, rule, klass).run();
-        final String pkg = this.getPackageName(this.statement.getLanguage());
+        VisitorGenerator.addAcceptor(klass, language, rule.getType());
+        final String pkg = this.getPackageName(language);
         final CompilationUnit unit = new CompilationUnit(env.getLicense(), pkg, klass);
         this.generateImports(unit);
         return unit;
@@ -66,8 +68,10 @@ final class OrdinaryNodeGenerator extends BaseNodeGenerator {
     private void generateImports(final CompilationUnit unit) {
         unit.addImport("java.util.Arrays");
         unit.addImport("java.util.Collections");
+        unit.addImport("java.util.HashSet");
         unit.addImport("java.util.List");
         unit.addImport("java.util.Map");
+        unit.addImport("java.util.Set");
         unit.addImport("java.util.stream.Collectors");
         unit.addImport("java.util.stream.Stream");
         final Environment env = this.getEnv();
@@ -76,7 +80,6 @@ final class OrdinaryNodeGenerator extends BaseNodeGenerator {
         unit.addImport(base.concat(".ChildDescriptor"));
         if (!this.statement.getRule().isEmpty()) {
             unit.addImport(base.concat(".ChildrenMapper"));
-            unit.addImport(base.concat(".ListUtils"));
         }
         unit.addImport(base.concat(".EmptyFragment"));
         unit.addImport(base.concat(".Fragment"));
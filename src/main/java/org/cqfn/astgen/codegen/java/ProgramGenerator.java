@@ -24,6 +24,7 @@
 package org.cqfn.astgen.codegen.java;
 
 import java.io.File;
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import org.cqfn.astgen.exceptions.GeneratorCouldNotWriteFile;
@@ -198,20 +199,26 @@ public final class ProgramGenerator {
     }
 
     /**
-     * Generates source code for one factory.
+     * Generates source code for one factory and for the visitor of nodes it creates.
      * @param language The programming language
      * @throws GeneratorException When can't generate
      */
     private void generateFactory(final String language) throws GeneratorException {
         final String version = this.env.getVersion();
         final FactoryGenerator generator = new FactoryGenerator(this.env, this.program, language);
-        final CompilationUnit unit = generator.generate();
-        if (!version.isEmpty()) {
-            unit.setVersion(version);
+        final CompilationUnit factory = generator.generate();
+        final Map<String, CompilationUnit> units = new HashMap<>(
+            VisitorGenerator.generateUnits(this.env, this.program, language)
+        );
+        units.put(generator.getClassname(), factory);
+        for (final Map.Entry<String, CompilationUnit> entry : units.entrySet()) {
+            final CompilationUnit unit = entry.getValue();
+            if (!version.isEmpty()) {
+                unit.setVersion(version);
+            }
+            final String filename = this.getFilePath(language, entry.getKey());
+            this.createFile(filename, unit.generate());
         }
-        final String code = unit.generate();
-        final String filename = this.getFilePath(language, generator.getClassname());
-        this.createFile(filename, code);
     }
 
     /**
@@ -223,7 +230,7 @@ public final class ProgramGenerator {
         for (final String language : this.program.getNamesOfAllLanguages()) {
             final TransformationGenerator generator = new TransformationGenerator(
                 this.envs.get(language),
-                this.program.getTransformations(),
+                this.program,
                 language
             );
             generator.generate();
@@ -0,0 +1,296 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.codegen.java;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Generates the method of an adapter that selects rules by the type of the node
+ * using a 'switch' statement, so that the adapter tries only rules whose
+ * pattern roots can match the node.
+ *
+ * @since 1.0
+ */
+final class RuleDispatcher {
+    /**
+     * The 'List of converters' type.
+     */
+    private static final String STR_LIST = "List<Converter>";
+
+    /**
+     * The 'Node' string.
+     */
+    private static final String STR_NODE = "Node";
+
+    /**
+     * The name of the argument.
+     */
+    private static final String STR_ARGUMENT = "node";
+
+    /**
+     * The end of the 'switch' statement and the 'return' statement.
+     */
+    private static final String STR_RETURN = "}\nreturn result;\n";
+
+    /**
+     * The 'break' statement.
+     */
+    private static final String STR_BREAK = "\tbreak;\n";
+
+    /**
+     * The maximum number of type names in one 'switch' statement.
+     * Larger statements are split into several methods by hash codes of names,
+     * so that methods remain small enough to be compiled by JIT.
+     */
+    private static final int SWITCH_LIMIT = 128;
+
+    /**
+     * The environment.
+     */
+    private final Environment env;
+
+    /**
+     * Types of pattern roots of rules, in the DSL order.
+     */
+    private final List<String> roots;
+
+    /**
+     * The types the factory of the language creates.
+     */
+    private final FactoryTypes factory;
+
+    /**
+     * Constructor.
+     * @param env The environment
+     * @param roots Types of pattern roots of rules, in the DSL order
+     * @param factory The types the factory of the language creates
+     */
+    RuleDispatcher(final Environment env, final List<String> roots, final FactoryTypes factory) {
+        this.env = env;
+        this.roots = roots;
+        this.factory = factory;
+    }
+
+    /**
+     * Adds the 'getCandidates()' method and groups of rules it returns to the class.
+     * @param klass The class of the adapter
+     */
+    void fill(final Klass klass) {
+        final Map<String, String> cases =
+            RuleDispatcher.createGroups(klass, this.collectCandidates());
+        final Method method = new Method("getCandidates");
+        method.makeProtected();
+        method.addArgument(RuleDispatcher.STR_NODE, RuleDispatcher.STR_ARGUMENT);
+        method.setReturnType(RuleDispatcher.STR_LIST);
+        klass.addMethod(method);
+        if (cases.size() <= RuleDispatcher.SWITCH_LIMIT) {
+            method.setCode(RuleDispatcher.createSwitch(cases));
+        } else {
+            int buckets = 2;
+            while (cases.size() > buckets * RuleDispatcher.SWITCH_LIMIT) {
+                buckets = buckets * 2;
+            }
+            method.setCode(RuleDispatcher.createBucketSwitch(buckets));
+            RuleDispatcher.createBucketMethods(klass, cases, buckets);
+        }
+    }
+
+    /**
+     * Selects rules whose pattern roots can match a node of each known type.
+     * @return Indexes of rules, in the DSL order, arranged by type names
+     */
+    private Map<String, List<Integer>> collectCandidates() {
+        final Set<String> names = new TreeSet<>(this.factory.getNames());
+        names.addAll(this.roots);
+        names.remove("");
+        final Map<String, List<Integer>> result = new TreeMap<>();
+        for (final String name : names) {
+            final Set<String> hierarchy = new HashSet<>(this.env.getHierarchy(name));
+            hierarchy.add(name);
+            final List<Integer> indexes = new ArrayList<>(0);
+            for (int index = 0; index < this.roots.size(); index = index + 1) {
+                if (hierarchy.contains(this.roots.get(index))) {
+                    indexes.add(index);
+                }
+            }
+            result.put(name, indexes);
+        }
+        return result;
+    }
+
+    /**
+     * Creates the static method that returns groups of indexes of rules, one group
+     * for each distinct list. The base class turns the groups into lists of
+     * the converters the adapter was created with.
+     * @param klass The class of the adapter
+     * @param candidates Indexes of rules arranged by type names
+     * @return Expressions that return lists of rules, arranged by type names
+     */
+    private static Map<String, String> createGroups(final Klass klass,
+        final Map<String, List<Integer>> candidates) {
+        final Map<List<Integer>, String> groups = new LinkedHashMap<>();
+        groups.put(Collections.emptyList(), "Collections.emptyList()");
+        final Map<String, String> result = new TreeMap<>();
+        for (final Map.Entry<String, List<Integer>> entry : candidates.entrySet()) {
+            final List<Integer> indexes = entry.getValue();
+            if (!groups.containsKey(indexes)) {
+                groups.put(indexes, String.format("this.getGroup(%d)", groups.size() - 1));
+            }
+            result.put(entry.getKey(), groups.get(indexes));
+        }
+        groups.remove(Collections.emptyList());
+        klass.addMethod(RuleDispatcher.createGroupsMethod(groups.keySet()));
+        return result;
+    }
+
+    /**
+     * Creates the static method that returns groups of indexes of rules.
+     * @param groups Groups of indexes of rules
+     * @return The method
+     */
+    private static Method createGroupsMethod(final Collection<List<Integer>> groups) {
+        final Method method = new Method(
+            "Initializes groups of rules that can convert nodes of some types",
+            "groups"
+        );
+        method.makePrivate();
+        method.makeStatic();
+        method.setReturnType(
+            "List<List<Integer>>",
+            "Groups of indexes of rules, in the DSL order"
+        );
+        final StringBuilder code = new StringBuilder(256);
+        if (groups.isEmpty()) {
+            code.append("return Collections.emptyList();\n");
+        } else {
+            code.append("return Arrays.asList(\n");
+            boolean flag = false;
+            for (final List<Integer> indexes : groups) {
+                if (flag) {
+                    code.append(",\n");
+                }
+                flag = true;
+                final List<String> list = new ArrayList<>(indexes.size());
+                for (final Integer index : indexes) {
+                    list.add(index.toString());
+                }
+                code.append("\tArrays.asList(").append(String.join(", ", list)).append(')');
+            }
+            code.append("\n);\n");
+        }
+        method.setCode(code.toString());
+        return method;
+    }
+
+    /**
+     * Creates private methods that select rules, one method for each bucket
+     * of type names arranged by hash codes.
+     * @param klass The class of the adapter
+     * @param cases Expressions that return lists of rules, arranged by type names
+     * @param buckets The number of buckets, a power of two
+     */
+    private static void createBucketMethods(final Klass klass, final Map<String, String> cases,
+        final int buckets) {
+        final List<Map<String, String>> parts = new ArrayList<>(buckets);
+        for (int index = 0; index < buckets; index = index + 1) {
+            parts.add(new TreeMap<>());
+        }
+        for (final Map.Entry<String, String> entry : cases.entrySet()) {
+            parts.get(entry.getKey().hashCode() & (buckets - 1))
+                .put(entry.getKey(), entry.getValue());
+        }
+        for (int index = 0; index < buckets; index = index + 1) {
+            final Method method = new Method(
+                "Returns the list of rules that can convert the node, for some node types",
+                String.format("getCandidates%d", index)
+            );
+            method.makePrivate();
+            method.addArgument(RuleDispatcher.STR_NODE, RuleDispatcher.STR_ARGUMENT, "The node");
+            method.setReturnType(RuleDispatcher.STR_LIST, "The list of rules");
+            method.setCode(RuleDispatcher.createSwitch(parts.get(index)));
+            klass.addMethod(method);
+        }
+    }
+
+    /**
+     * Creates the 'switch' statement over type names. Unknown names are
+     * processed by the base class.
+     * @param cases Expressions that return lists of rules, arranged by type names
+     * @return Source code
+     */
+    private static String createSwitch(final Map<String, String> cases) {
+        final Map<String, List<String>> labels = new LinkedHashMap<>();
+        for (final Map.Entry<String, String> entry : cases.entrySet()) {
+            labels.computeIfAbsent(entry.getValue(), key -> new ArrayList<>(1))
+                .add(String.format("case \"%s\":\n", entry.getKey()));
+        }
+        final StringBuilder code = new StringBuilder(256);
+        code.append("final List<Converter> result;\nswitch (node.getTypeName()) {\n");
+        for (final Map.Entry<String, List<String>> entry : labels.entrySet()) {
+            for (final String label : entry.getValue()) {
+                code.append(label);
+            }
+            code.append("\tresult = ").append(entry.getKey()).append(";\n")
+                .append(RuleDispatcher.STR_BREAK);
+        }
+        code.append("default:\n\tresult = super.getCandidates(node);\n")
+            .append(RuleDispatcher.STR_BREAK)
+            .append(RuleDispatcher.STR_RETURN);
+        return code.toString();
+    }
+
+    /**
+     * Creates the 'switch' statement over hash codes of type names that calls
+     * the method which selects rules for the bucket. The last bucket is processed
+     * by the 'default' label.
+     * @param buckets The number of buckets, a power of two
+     * @return Source code
+     */
+    private static String createBucketSwitch(final int buckets) {
+        final StringBuilder code = new StringBuilder(256);
+        code.append("final List<Converter> result;\nswitch (node.getTypeName().hashCode() & ")
+            .append(buckets - 1)
+            .append(") {\n");
+        for (int index = 0; index < buckets; index = index + 1) {
+            if (index < buckets - 1) {
+                code.append("case ").append(index).append(":\n");
+            } else {
+                code.append("default:\n");
+            }
+            code.append("\tresult = this.getCandidates").append(index).append("(node);\n")
+                .append(RuleDispatcher.STR_BREAK);
+        }
+        code.append(RuleDispatcher.STR_RETURN);
+        return code.toString();
+    }
+}
@@ -23,11 +23,13 @@
  */
 package org.cqfn.astgen.codegen.java;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TreeMap;
+import org.cqfn.astgen.rules.Program;
 import org.cqfn.astgen.rules.Statement;
 import org.cqfn.astgen.rules.Transformation;
 
@@ -58,18 +60,23 @@ public class TransformationGenerator {
      */
     private final Map<String, CompilationUnit> units;
 
+    /**
+     * The types the factory of the language creates by identifiers.
+     */
+    private final FactoryTypes factory;
+
     /**
      * Constructor.
      * @param env The environment
-     * @param rules The list of rules
+     * @param program The program that contains rules
      * @param language The processing language
      */
-    public TransformationGenerator(final Environment env,
-        final List<Statement<Transformation>> rules,
+    public TransformationGenerator(final Environment env, final Program program,
         final String language) {
         this.env = env;
-        this.rules = rules;
+        this.rules = program.getTransformations();
         this.language = language;
+        this.factory = new FactoryTypes(program, language);
         this.units = new TreeMap<>();
     }
 
@@ -84,19 +91,20 @@ public class TransformationGenerator {
             this.language.toLowerCase(Locale.ENGLISH)
         );
         final MatcherGenerator matchers = new MatcherGenerator(this.env, pkg);
-        final ConverterGenerator converters = new ConverterGenerator(this.env, pkg);
-        int count = 0;
+        final ConverterGenerator converters = new ConverterGenerator(this.env, pkg, this.factory);
+        final List<String> roots = new ArrayList<>(this.rules.size());
         for (final Statement<Transformation> stmt : this.rules) {
             if (stmt.getLanguage().equals(this.language)) {
                 final Transformation rule = stmt.getRule();
                 final String matcher = matchers.generate(rule.getLeft());
-                converters.generate(rule.getRight(), matcher);
-                count = count + 1;
+                converters.generate(rule, matcher);
+                roots.add(rule.getLeft().getType());
             }
         }
         this.units.putAll(matchers.getUnits());
         this.units.putAll(converters.getUnits());
-        final AdapterGenerator adapter = new AdapterGenerator(this.env, this.language, count);
+        final AdapterGenerator adapter = new AdapterGenerator(this.env, this.language, roots);
+        adapter.setFactoryTypes(this.factory);
         final CompilationUnit unit = adapter.generate();
         this.units.put(adapter.getClassname(), unit);
     }
@@ -0,0 +1,321 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.codegen.java;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.cqfn.astgen.rules.Program;
+
+/**
+ * Generates source code for visiting nodes of one package: the visitor interface
+ * with one method for each type of nodes, the interface of nodes that accept
+ * the visitor and the walker that visits all nodes of a tree without recursion.
+ *
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.CloseResource")
+final class VisitorGenerator {
+    /**
+     * The 'Node' string.
+     */
+    private static final String STR_NODE = "Node";
+
+    /**
+     * The 'node' string.
+     */
+    private static final String STR_ARGUMENT = "node";
+
+    /**
+     * The description of the node.
+     */
+    private static final String STR_NODE_BRIEF = "The node";
+
+    /**
+     * The 'Visitor' suffix.
+     */
+    private static final String STR_VISITOR = "Visitor";
+
+    /**
+     * The 'Visitable' suffix.
+     */
+    private static final String STR_VISITABLE = "Visitable";
+
+    /**
+     * The name of the method that accepts the visitor.
+     */
+    private static final String STR_ACCEPT = "accept";
+
+    /**
+     * The 'visitor' string.
+     */
+    private static final String STR_FIELD = "visitor";
+
+    /**
+     * The description of the visitor.
+     */
+    private static final String STR_VISITOR_BRIEF = "The visitor";
+
+    /**
+     * The type returned by methods of the visitor.
+     */
+    private static final String STR_RESULT = "R";
+
+    /**
+     * The description of the result returned by the visitor.
+     */
+    private static final String STR_RESULT_BRIEF = "The result returned by the visitor";
+
+    /**
+     * The return type of the method that accepts the visitor.
+     */
+    private static final String STR_GENERIC = "<R> R";
+
+    /**
+     * The environment.
+     */
+    private final Environment env;
+
+    /**
+     * The language, an empty string for common nodes.
+     */
+    private final String language;
+
+    /**
+     * The types of nodes the factory of the language creates.
+     */
+    private final FactoryTypes types;
+
+    /**
+     * The collection of compilation units.
+     */
+    private final Map<String, CompilationUnit> units;
+
+    /**
+     * Constructor.
+     * @param env The environment
+     * @param program The program
+     * @param language The language, an empty string for common nodes
+     */
+    VisitorGenerator(final Environment env, final Program program, final String language) {
+        this.env = env;
+        this.language = language;
+        this.types = new FactoryTypes(program, language);
+        this.units = new TreeMap<>();
+    }
+
+    /**
+     * Generates source code.
+     */
+    public void generate() {
+        final String prefix = FactoryTypes.getPrefix(this.language);
+        this.units.put(prefix.concat(VisitorGenerator.STR_VISITOR), this.generateVisitor());
+        this.units.put(prefix.concat(VisitorGenerator.STR_VISITABLE), this.generateVisitable());
+        this.units.put(
+            prefix.concat("Walker"),
+            new WalkerGenerator(this.env, this.language).generate()
+        );
+    }
+
+    /**
+     * Returns the collection of generated units.
+     * @return Generated units
+     */
+    public Map<String, CompilationUnit> getUnits() {
+        return Collections.unmodifiableMap(this.units);
+    }
+
+    /**
+     * Generates source code for visiting nodes of one package.
+     * @param env The environment
+     * @param program The program
+     * @param language The language, an empty string for common nodes
+     * @return Generated units
+     */
+    static Map<String, CompilationUnit> generateUnits(final Environment env,
+        final Program program, final String language) {
+        final VisitorGenerator generator = new VisitorGenerator(env, program, language);
+        generator.generate();
+        return generator.getUnits();
+    }
+
+    /**
+     * Adds the method that accepts the visitor to the class of a node.
+     * @param klass The class of the node
+     * @param language The language for which the node is declared
+     * @param type The type of the node
+     */
+    static void addAcceptor(final Klass klass, final String language, final String type) {
+        final Method method = new Method(VisitorGenerator.STR_ACCEPT);
+        method.addArgument(
+            VisitorGenerator.getVisitorType(language),
+            VisitorGenerator.STR_FIELD
+        );
+        method.setReturnType(VisitorGenerator.STR_GENERIC);
+        method.setCode(String.format("return visitor.visit%s(this);", type));
+        klass.addMethod(method);
+    }
+
+    /**
+     * Returns the name of the interface of nodes that accept the visitor.
+     * @param language The language for which nodes are declared
+     * @return The interface name
+     */
+    static String getVisitableName(final String language) {
+        return FactoryTypes.getPrefix(language).concat(VisitorGenerator.STR_VISITABLE);
+    }
+
+    /**
+     * Returns the parameterized type of the visitor.
+     * @param language The language, an empty string for common nodes
+     * @return The type
+     */
+    static String getVisitorType(final String language) {
+        return String.format(
+            "%s%s<%s>",
+            FactoryTypes.getPrefix(language),
+            VisitorGenerator.STR_VISITOR,
+            VisitorGenerator.STR_RESULT
+        );
+    }
+
+    /**
+     * Creates the compilation unit in the package of the language.
+     * @param env The environment
+     * @param language The language, an empty string for common nodes
+     * @param type The interface or the class
+     * @return The compilation unit
+     */
+    static CompilationUnit createUnit(final Environment env, final String language,
+        final Type type) {
+        return new CompilationUnit(
+            env.getLicense(),
+            String.format(
+                "%s.%s",
+                env.getRootPackage(),
+                FactoryTypes.getPrefix(language).toLowerCase(Locale.ENGLISH)
+            ),
+            type
+        );
+    }
+
+    /**
+     * Returns the import of the node interface.
+     * @param env The environment
+     * @return The fully qualified interface name
+     */
+    static String getNodeImport(final Environment env) {
+        return env.getBasePackage().concat(".Node");
+    }
+
+    /**
+     * Returns the import of a class generated for common nodes.
+     * @param env The environment
+     * @param name The class name
+     * @return The fully qualified class name
+     */
+    static String getGreenImport(final Environment env, final String name) {
+        return String.format("%s.green.%s", env.getRootPackage(), name);
+    }
+
+    /**
+     * Generates the visitor interface.
+     * @return The compilation unit
+     */
+    private CompilationUnit generateVisitor() {
+        final String prefix = FactoryTypes.getPrefix(this.language);
+        final Interface iface = new Interface(
+            String.format(
+                "Visitor of '%s' nodes, with one method for each type of nodes",
+                prefix.toLowerCase(Locale.ENGLISH)
+            ),
+            VisitorGenerator.getVisitorType(this.language)
+        );
+        for (final String type : this.types.getSpecific()) {
+            final MethodDescriptor method = new MethodDescriptor(
+                String.format("Visits a node of the '%s' type", type),
+                String.format("visit%s", type)
+            );
+            method.addArgument(
+                type,
+                VisitorGenerator.STR_ARGUMENT,
+                VisitorGenerator.STR_NODE_BRIEF
+            );
+            method.setReturnType(VisitorGenerator.STR_RESULT, VisitorGenerator.STR_RESULT_BRIEF);
+            iface.addMethod(method);
+        }
+        final CompilationUnit unit = VisitorGenerator.createUnit(this.env, this.language, iface);
+        if (this.language.isEmpty()) {
+            final MethodDescriptor other = new MethodDescriptor(
+                "Visits a node of a type the visitor does not know, for example, a draft node",
+                "visitOther"
+            );
+            other.addArgument(
+                VisitorGenerator.STR_NODE,
+                VisitorGenerator.STR_ARGUMENT,
+                VisitorGenerator.STR_NODE_BRIEF
+            );
+            other.setReturnType(VisitorGenerator.STR_RESULT, VisitorGenerator.STR_RESULT_BRIEF);
+            iface.addMethod(other);
+            unit.addImport(VisitorGenerator.getNodeImport(this.env));
+        } else {
+            iface.setInterfaces(VisitorGenerator.getVisitorType(""));
+            unit.addImport(
+                VisitorGenerator.getGreenImport(
+                    this.env,
+                    FactoryTypes.getPrefix("").concat(VisitorGenerator.STR_VISITOR)
+                )
+            );
+        }
+        return unit;
+    }
+
+    /**
+     * Generates the interface of nodes that accept the visitor.
+     * @return The compilation unit
+     */
+    private CompilationUnit generateVisitable() {
+        final String prefix = FactoryTypes.getPrefix(this.language);
+        final Interface iface = new Interface(
+            String.format(
+                "Node that accepts the visitor of '%s' nodes",
+                prefix.toLowerCase(Locale.ENGLISH)
+            ),
+            VisitorGenerator.getVisitableName(this.language)
+        );
+        final MethodDescriptor method = new MethodDescriptor(
+            "Accepts the visitor, that is, calls the visitor method for the type of this node",
+            VisitorGenerator.STR_ACCEPT
+        );
+        method.addArgument(
+            VisitorGenerator.getVisitorType(this.language),
+            VisitorGenerator.STR_FIELD,
+            VisitorGenerator.STR_VISITOR_BRIEF
+        );
+        method.setReturnType(VisitorGenerator.STR_GENERIC, VisitorGenerator.STR_RESULT_BRIEF);
+        iface.addMethod(method);
+        return VisitorGenerator.createUnit(this.env, this.language, iface);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.codegen.java;
+
+import java.util.Locale;
+
+/**
+ * Generates source code of the walker, that passes all nodes of a tree
+ * to the visitor without recursion.
+ *
+ * @since 1.0
+ */
+final class WalkerGenerator {
+    /**
+     * The 'Node' string.
+     */
+    private static final String STR_NODE = "Node";
+
+    /**
+     * The 'visitor' string.
+     */
+    private static final String STR_FIELD = "visitor";
+
+    /**
+     * The description of the visitor.
+     */
+    private static final String STR_VISITOR_BRIEF = "The visitor";
+
+    /**
+     * The environment.
+     */
+    private final Environment env;
+
+    /**
+     * The language, an empty string for common nodes.
+     */
+    private final String language;
+
+    /**
+     * Constructor.
+     * @param env The environment
+     * @param language The language, an empty string for common nodes
+     */
+    WalkerGenerator(final Environment env, final String language) {
+        this.env = env;
+        this.language = language;
+    }
+
+    /**
+     * Generates source code.
+     * @return The compilation unit
+     */
+    public CompilationUnit generate() {
+        final String prefix = FactoryTypes.getPrefix(this.language);
+        final String visitor = VisitorGenerator.getVisitorType(this.language);
+        final Klass klass = new Klass(
+            String.format(
+                "Walker that passes nodes of a tree to the visitor of '%s' nodes",
+                prefix.toLowerCase(Locale.ENGLISH)
+            ),
+            String.format("%sWalker<R>", prefix)
+        );
+        klass.makeFinal();
+        final Field field = new Field(
+            WalkerGenerator.STR_VISITOR_BRIEF,
+            visitor,
+            WalkerGenerator.STR_FIELD
+        );
+        field.makeFinal();
+        klass.addField(field);
+        final Constructor ctor = new Constructor(String.format("%sWalker", prefix));
+        ctor.makePublic();
+        ctor.addArgument(visitor, WalkerGenerator.STR_FIELD, WalkerGenerator.STR_VISITOR_BRIEF);
+        ctor.setCode("this.visitor = visitor;");
+        klass.addConstructor(ctor);
+        klass.addMethod(this.createDispatcher());
+        klass.addMethod(WalkerGenerator.createWalkMethod());
+        final CompilationUnit unit = VisitorGenerator.createUnit(this.env, this.language, klass);
+        unit.addImport("java.util.ArrayDeque");
+        unit.addImport("java.util.Deque");
+        unit.addImport(VisitorGenerator.getNodeImport(this.env));
+        if (!this.language.isEmpty()) {
+            unit.addImport(
+                VisitorGenerator.getGreenImport(this.env, WalkerGenerator.getGreenVisitable())
+            );
+        }
+        return unit;
+    }
+
+    /**
+     * Creates the method of the walker that passes one node to the visitor.
+     * @return The method
+     */
+    private Method createDispatcher() {
+        final Method method = new Method(
+            "Passes the node to the method of the visitor for the type of the node",
+            "dispatch"
+        );
+        method.addArgument(WalkerGenerator.STR_NODE, "node", "The node");
+        method.setReturnType("R", "The result returned by the visitor");
+        final StringBuilder code = new StringBuilder(256);
+        code.append("final R result;\n");
+        final String own = VisitorGenerator.getVisitableName(this.language);
+        code.append(WalkerGenerator.createCheck(own, false));
+        if (!this.language.isEmpty()) {
+            code.append(WalkerGenerator.createCheck(WalkerGenerator.getGreenVisitable(), true));
+        }
+        code.append("} else {\nresult = this.visitor.visitOther(node);\n}\nreturn result;\n");
+        method.setCode(code.toString());
+        return method;
+    }
+
+    /**
+     * Returns the name of the interface of common nodes that accept the visitor.
+     * @return The interface name
+     */
+    private static String getGreenVisitable() {
+        return VisitorGenerator.getVisitableName("");
+    }
+
+    /**
+     * Creates the branch of the dispatcher that checks whether the node accepts
+     * visitors of some package.
+     * @param visitable The name of the interface of nodes that accept visitors
+     * @param next Flag indicating that the branch follows another one
+     * @return Source code
+     */
+    private static String createCheck(final String visitable, final boolean next) {
+        final StringBuilder code = new StringBuilder(128);
+        if (next) {
+            code.append("} else ");
+        }
+        code.append("if (node instanceof ").append(visitable).append(") {\nresult = ((")
+            .append(visitable).append(") node).accept(this.visitor);\n");
+        return code.toString();
+    }
+
+    /**
+     * Creates the method of the walker that visits all nodes of a tree.
+     * @return The method
+     */
+    private static Method createWalkMethod() {
+        final Method method = new Method(
+            "Passes nodes of the tree to the visitor in pre-order, using an explicit stack",
+            "walk"
+        );
+        method.addArgument(WalkerGenerator.STR_NODE, "root", "The root of the tree");
+        method.setCode(
+            String.join(
+                "\n",
+                "final Deque<Node> stack = new ArrayDeque<>();",
+                "stack.push(root);",
+                "while (!stack.isEmpty()) {",
+                "final Node node = stack.pop();",
+                "this.dispatch(node);",
+                "for (int index = node.getChildCount() - 1; index >= 0; index = index - 1) {",
+                "stack.push(node.getChild(index));",
+                "}",
+                "}"
+            )
+        );
+        return method;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.exceptions;
+
+/**
+ * Exception "Could not synthesize a tree" produced by the interpreter when rules
+ * do not describe a tree with the requested root that fits in the requested depth.
+ *
+ * @since 1.0
+ */
+public final class InterpreterCouldNotSynthesizeTree extends InterpreterException {
+    /**
+     * The type of the root node.
+     */
+    private final String root;
+
+    /**
+     * The maximum depth of the tree.
+     */
+    private final int depth;
+
+    /**
+     * Constructor.
+     * @param root The type of the root node
+     * @param depth The maximum depth of the tree
+     */
+    public InterpreterCouldNotSynthesizeTree(final String root, final int depth) {
+        this.root = root;
+        this.depth = depth;
+    }
+
+    @Override
+    public String getErrorMessage() {
+        return String.format(
+            "Could not synthesize a tree with the root '%s' within the depth %d",
+            this.root,
+            this.depth
+        );
+    }
+}
@@ -23,14 +23,15 @@
  */
 package org.cqfn.astgen.interpreter;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import org.cqfn.astgen.base.Statistics;
 import org.cqfn.astgen.rules.Statement;
 import org.cqfn.astgen.rules.Transformation;
 
 /**
  * Tree converter built on a set of rules described in DSL.
+ * All rules are merged into one discrimination tree, so each node is checked in one walk.
  *
  * @since 1.0
  */
@@ -41,21 +42,22 @@ public class Adapter extends org.cqfn.astgen.base.Adapter {
      * @param statements The list of transformation statements
      */
     public Adapter(final List<Statement<Transformation>> statements) {
-        super(Collections.unmodifiableList(Adapter.init(statements)), Factory.INSTANCE);
+        super(
+            Collections.singletonList(new CompositeConverter(statements)),
+            Factory.INSTANCE
+        );
     }
 
     /**
-     * Initialises the list of converters.
+     * Constructor that collects statistics of rules.
      * @param statements The list of transformation statements
-     * @return List of converters
+     * @param statistics The statistics, one rule for each statement
      */
-    private static List<org.cqfn.astgen.base.Converter> init(
-        final List<Statement<Transformation>> statements) {
-        final List<org.cqfn.astgen.base.Converter> result = new ArrayList<>(statements.size());
-        for (final Statement<Transformation> statement : statements) {
-            final Transformation rule = statement.getRule();
-            result.add(new Converter(rule));
-        }
-        return result;
+    public Adapter(final List<Statement<Transformation>> statements,
+        final Statistics statistics) {
+        super(
+            Collections.singletonList(new CompositeConverter(statements, statistics)),
+            Factory.INSTANCE
+        );
     }
 }
@@ -0,0 +1,260 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Logger;
+import org.cqfn.astgen.base.Statistics;
+import org.cqfn.astgen.exceptions.BatchConversionFailed;
+import org.cqfn.astgen.exceptions.DestinationNotSpecified;
+import org.cqfn.astgen.exceptions.InterpreterException;
+import org.cqfn.astgen.exceptions.SourceNotSpecified;
+import org.cqfn.astgen.rules.Program;
+
+/**
+ * The interpreter that converts many syntax trees in parallel.
+ * The DSL program is compiled into one adapter, which is shared by all files.
+ * Files are converted on a fork-join pool of the configured size. If a file
+ * could not be converted, the error is reported and the batch goes on;
+ * when all files are processed, an exception with the number of failures is thrown.
+ *
+ * @since 1.0
+ */
+public final class BatchInterpreter {
+    /**
+     * The logger.
+     */
+    private static final Logger LOG = Logger.getLogger(BatchInterpreter.class.getName());
+
+    /**
+     * The adapter built on the rules of the DSL program.
+     */
+    private final Adapter adapter;
+
+    /**
+     * The conversion options.
+     */
+    private final BatchOptions options;
+
+    /**
+     * The statistics of conversion rules, shared by all files.
+     */
+    private final Statistics statistics;
+
+    /**
+     * Constructor.
+     * @param program The program
+     * @param options The conversion options
+     */
+    public BatchInterpreter(final Program program, final BatchOptions options) {
+        this.statistics = StatisticsReport.createStatistics(program, options);
+        this.adapter = new Adapter(program.getTransformations(), this.statistics);
+        this.options = options;
+    }
+
+    /**
+     * Runs the interpreter.
+     * @throws InterpreterException If the files could not be found
+     *  or some of them could not be converted
+     */
+    public void run() throws InterpreterException {
+        if (this.options.getBatch() == null) {
+            throw SourceNotSpecified.INSTANCE;
+        }
+        if (this.options.getOutputDirectory() == null) {
+            throw DestinationNotSpecified.INSTANCE;
+        }
+        final SourceFiles files = new SourceFiles(this.options.getBatch());
+        final List<Path> sources = files.find();
+        final ForkJoinPool pool = new ForkJoinPool(this.options.getThreads());
+        final int failed;
+        try {
+            failed = this.convertAll(pool, files, sources);
+        } finally {
+            pool.shutdown();
+        }
+        if (this.options.getStatisticsFile() != null) {
+            new StatisticsReport(this.statistics).save(this.options.getStatisticsFile());
+        }
+        if (failed > 0) {
+            throw new BatchConversionFailed(failed, sources.size());
+        }
+    }
+
+    /**
+     * Converts all files on the pool.
+     * @param pool The pool
+     * @param files The set of source files
+     * @param sources The list of source files
+     * @return The number of files that could not be converted
+     */
+    private int convertAll(final ForkJoinPool pool, final SourceFiles files,
+        final List<Path> sources) {
+        final Path output = this.options.getOutputDirectory().toPath();
+        final List<ForkJoinTask<Boolean>> tasks = new ArrayList<>(sources.size());
+        for (final Path source : sources) {
+            final File destination = output.resolve(
+                BatchInterpreter.rename(
+                    files.relativize(source),
+                    this.options.getDestinationFormat(source.toFile())
+                )
+            ).toFile();
+            tasks.add(pool.submit(() -> this.convert(source.toFile(), destination)));
+        }
+        int failed = 0;
+        for (final ForkJoinTask<Boolean> task : tasks) {
+            if (!task.join()) {
+                failed = failed + 1;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Converts one file, reports an error if the file could not be converted.
+     * Any failure, including a malformed tree that is found only while the mapped
+     *  nodes are decoded, is reported for the file and does not stop the batch.
+     * @param source The source file
+     * @param destination The destination file
+     * @return The result, {@code true} if the file was successfully converted
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private boolean convert(final File source, final File destination) {
+        boolean success = false;
+        try {
+            new Interpreter(
+                this.adapter,
+                new FileOptions(source, destination, this.options),
+                this.statistics
+            ).run();
+            success = true;
+        } catch (final InterpreterException exception) {
+            BatchInterpreter.report(source, exception.getErrorMessage());
+        } catch (final RuntimeException exception) {
+            BatchInterpreter.report(source, exception.toString());
+        }
+        return success;
+    }
+
+    /**
+     * Replaces the extension of a file with the extension of the format.
+     * @param file The file
+     * @param format The format
+     * @return The file with the extension of the format
+     */
+    private static Path rename(final Path file, final TreeFormat format) {
+        final String name = file.getFileName().toString();
+        final int dot = name.lastIndexOf('.');
+        final String base;
+        if (dot > 0) {
+            base = name.substring(0, dot);
+        } else {
+            base = name;
+        }
+        return file.resolveSibling(base.concat(format.getExtension()));
+    }
+
+    /**
+     * Reports that a file could not be converted.
+     * @param source The source file
+     * @param error The error message
+     */
+    private static void report(final File source, final String error) {
+        BatchInterpreter.LOG.severe(String.format("%s: %s", source.getPath(), error));
+    }
+
+    /**
+     * Options for the conversion of one file of the batch.
+     *
+     * @since 1.0
+     */
+    private static final class FileOptions implements Options {
+        /**
+         * The source file.
+         */
+        private final File source;
+
+        /**
+         * The destination file.
+         */
+        private final File destination;
+
+        /**
+         * The options of the batch.
+         */
+        private final BatchOptions batch;
+
+        /**
+         * Constructor.
+         * @param source The source file
+         * @param destination The destination file
+         * @param batch The options of the batch
+         */
+        FileOptions(final File source, final File destination, final BatchOptions batch) {
+            this.source = source;
+            this.destination = destination;
+            this.batch = batch;
+        }
+
+        @Override
+        public File getSource() {
+            return this.source;
+        }
+
+        @Override
+        public File getDestination() {
+            return this.destination;
+        }
+
+        @Override
+        public int getIterations() {
+            return this.batch.getIterations();
+        }
+
+        @Override
+        public boolean isCompact() {
+            return this.batch.isCompact();
+        }
+
+        @Override
+        public TreeFormat getSourceFormat() {
+            return this.batch.getSourceFormat(this.source);
+        }
+
+        @Override
+        public boolean isMapped() {
+            return this.batch.isMapped();
+        }
+
+        @Override
+        public TreeFormat getDestinationFormat() {
+            return this.batch.getDestinationFormat(this.source);
+        }
+    }
+}
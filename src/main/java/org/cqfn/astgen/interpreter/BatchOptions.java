@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.File;
+
+/**
+ * Options required for the batch conversion of many syntax trees.
+ *
+ * @since 1.0
+ */
+public interface BatchOptions extends Options {
+    /**
+     * Returns the directory that contains source syntax trees, or a glob pattern,
+     * for example, 'trees/**.json'.
+     * @return The directory or the pattern
+     */
+    String getBatch();
+
+    /**
+     * Returns the directory for saving resulting syntax trees.
+     * The structure of subdirectories of the source directory is preserved.
+     * @return The output directory
+     */
+    File getOutputDirectory();
+
+    /**
+     * Returns the number of threads that convert files.
+     * @return The number of threads
+     */
+    int getThreads();
+
+    /**
+     * Returns the format of a source file of the batch, the specified one
+     * or the one chosen by the file extension.
+     * @param file The source file
+     * @return The format
+     */
+    TreeFormat getSourceFormat(File file);
+
+    /**
+     * Returns the format of the resulting file converted from a source file
+     * of the batch, the specified one or the format of the source file.
+     * @param file The source file
+     * @return The format
+     */
+    TreeFormat getDestinationFormat(File file);
+}
@@ -0,0 +1,299 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import org.cqfn.astgen.base.DraftNode;
+import org.cqfn.astgen.base.EmptyTree;
+import org.cqfn.astgen.base.Node;
+
+/**
+ * Converts a stream in the binary format, which is written by {@link BinarySerializer},
+ * to a syntax tree. Nodes are built in one pass with an explicit stack, so the depth
+ * of the tree is limited only by the heap size. Nodes share the strings of the table.
+ *
+ * @since 1.0
+ */
+public final class BinaryDeserializer {
+    /**
+     * The maximum number of bytes of a variable-length integer.
+     */
+    private static final int MAX_BYTES = 5;
+
+    /**
+     * The message about a malformed number.
+     */
+    private static final String MALFORMED = "Malformed number";
+
+    /**
+     * The stream.
+     */
+    private final InputStream source;
+
+    /**
+     * Constructor.
+     * The stream is not closed by the deserializer, and can be converted only once.
+     * @param source Stream contains a syntax tree in the binary format
+     */
+    public BinaryDeserializer(final InputStream source) {
+        this.source = source;
+    }
+
+    /**
+     * Converts the stream to a syntax tree.
+     * @return Root node
+     * @throws IOException If the stream could not be read or has a wrong format
+     */
+    public Node convert() throws IOException {
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(this.source));
+        final byte[] header = new byte[BinarySerializer.MAGIC.length];
+        input.readFully(header);
+        if (!Arrays.equals(header, BinarySerializer.MAGIC)) {
+            throw new IOException("Not a syntax tree in the binary format");
+        }
+        final String[] strings = new String[BinaryDeserializer.readNumber(input)];
+        for (int index = 0; index < strings.length; index = index + 1) {
+            final byte[] bytes = new byte[BinaryDeserializer.readNumber(input)];
+            input.readFully(bytes);
+            strings[index] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new Reading(input, Arrays.asList(strings)).readTree();
+    }
+
+    /**
+     * Reads an unsigned variable-length integer.
+     * @param input The stream
+     * @return The number
+     * @throws IOException If the stream could not be read or the number is malformed
+     */
+    private static int readNumber(final InputStream input) throws IOException {
+        int result = 0;
+        int shift = 0;
+        int value = BinarySerializer.NEXT_BIT;
+        while ((value & BinarySerializer.NEXT_BIT) != 0) {
+            if (shift == BinarySerializer.SHIFT * BinaryDeserializer.MAX_BYTES) {
+                throw new IOException(BinaryDeserializer.MALFORMED);
+            }
+            value = input.read();
+            if (value < 0) {
+                throw new EOFException();
+            }
+            result = result | (value & BinarySerializer.LOW_BITS) << shift;
+            shift = shift + BinarySerializer.SHIFT;
+        }
+        if (result < 0) {
+            throw new IOException(BinaryDeserializer.MALFORMED);
+        }
+        return result;
+    }
+
+    /**
+     * Skips an unsigned variable-length integer, which is not used by the deserializer.
+     * @param input The stream
+     * @throws IOException If the stream could not be read
+     */
+    private static void skipNumber(final InputStream input) throws IOException {
+        int value = BinarySerializer.NEXT_BIT;
+        while ((value & BinarySerializer.NEXT_BIT) != 0) {
+            value = input.read();
+            if (value < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    /**
+     * Reading of node records.
+     *
+     * @since 1.0
+     */
+    private static final class Reading {
+        /**
+         * The stream.
+         */
+        private final InputStream input;
+
+        /**
+         * The table of strings.
+         */
+        private final List<String> strings;
+
+        /**
+         * The stack of nodes whose children are being read.
+         */
+        private final Deque<Frame> stack;
+
+        /**
+         * The node builder, which is shared by all nodes.
+         */
+        private final DraftNode.Constructor builder;
+
+        /**
+         * Constructor.
+         * @param input The stream
+         * @param strings The table of strings
+         */
+        Reading(final InputStream input, final List<String> strings) {
+            this.input = input;
+            this.strings = strings;
+            this.stack = new ArrayDeque<>();
+            this.builder = new DraftNode.Constructor();
+        }
+
+        /**
+         * Reads node records until the tree is complete.
+         * @return The root node
+         * @throws IOException If the stream could not be read or has a wrong format
+         */
+        Node readTree() throws IOException {
+            final Frame sentinel = new Frame("", "", 1);
+            this.stack.push(sentinel);
+            while (!sentinel.isComplete()) {
+                final Frame frame = this.stack.peek();
+                if (frame.isComplete()) {
+                    this.stack.pop();
+                    this.stack.peek().add(frame.createNode(this.builder));
+                } else {
+                    this.readRecord(frame);
+                }
+            }
+            return sentinel.children[0];
+        }
+
+        /**
+         * Reads a node record. An empty tree is added to the parent at once,
+         * other nodes are pushed onto the stack.
+         * @param parent The parent node
+         * @throws IOException If the stream could not be read or has a wrong format
+         */
+        private void readRecord(final Frame parent) throws IOException {
+            final int kind = BinaryDeserializer.readNumber(this.input);
+            if (kind == 0) {
+                parent.add(EmptyTree.INSTANCE);
+            } else {
+                final String type = this.getString(kind - 1);
+                final String data = this.getString(BinaryDeserializer.readNumber(this.input));
+                final int count = BinaryDeserializer.readNumber(this.input);
+                if (count > 0) {
+                    BinaryDeserializer.skipNumber(this.input);
+                }
+                this.stack.push(new Frame(type, data, count));
+            }
+        }
+
+        /**
+         * Returns a string from the table.
+         * @param index The index of the string
+         * @return The string
+         * @throws IOException If the index is out of the table
+         */
+        private String getString(final int index) throws IOException {
+            if (index >= this.strings.size()) {
+                throw new IOException("Malformed string index");
+            }
+            return this.strings.get(index);
+        }
+    }
+
+    /**
+     * Node whose children are being read.
+     *
+     * @since 1.0
+     */
+    private static final class Frame {
+        /**
+         * The type name.
+         */
+        private final String type;
+
+        /**
+         * The node data.
+         */
+        private final String data;
+
+        /**
+         * The children.
+         */
+        private final Node[] children;
+
+        /**
+         * The number of children read.
+         */
+        private int count;
+
+        /**
+         * Constructor.
+         * @param type The type name
+         * @param data The node data
+         * @param count The number of children
+         */
+        Frame(final String type, final String data, final int count) {
+            this.type = type;
+            this.data = data;
+            this.children = new Node[count];
+        }
+
+        /**
+         * Checks whether all children are read.
+         * @return Checking result
+         */
+        boolean isComplete() {
+            return this.count == this.children.length;
+        }
+
+        /**
+         * Adds a child.
+         * @param node The child
+         */
+        void add(final Node node) {
+            this.children[this.count] = node;
+            this.count = this.count + 1;
+        }
+
+        /**
+         * Creates a node.
+         * @param builder The node builder
+         * @return A node or empty tree if the type name is empty
+         */
+        Node createNode(final DraftNode.Constructor builder) {
+            Node result = EmptyTree.INSTANCE;
+            builder.setName(this.type);
+            builder.setData(this.data);
+            builder.setChildrenList(Arrays.asList(this.children));
+            if (builder.isValid()) {
+                result = builder.createNode();
+            }
+            return result;
+        }
+    }
+}
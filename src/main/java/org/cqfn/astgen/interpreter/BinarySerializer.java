@@ -0,0 +1,450 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.cqfn.astgen.base.EmptyTree;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.utils.FilesWriter;
+
+/**
+ * Converts a syntax tree to the compact binary format.
+ * The format consists of a header, a table of strings and node records in the pre-order.
+ * The header is the {@link BinarySerializer#MAGIC} bytes. The table of strings starts
+ * with the number of strings, then each string is written as the length of its UTF-8 bytes
+ * followed by the bytes; the first string is always empty. Each node record starts with
+ * the kind, which is zero for an empty tree or the index of the type name in the table
+ * plus one. The kind of a node is followed by the index of the data in the table
+ * and the number of children. If the node has children, the record ends with the number
+ * of bytes taken by the records of all its descendants, which are written right after
+ * the node, so a reader can skip the subtree without decoding it.
+ * All numbers are unsigned variable-length integers, seven bits per byte,
+ * the lowest bits first. The tree is traversed with an explicit stack, so its depth
+ * is limited only by the heap size.
+ *
+ * @since 1.0
+ */
+public final class BinarySerializer {
+    /**
+     * The header of the binary format: the 'AST' signature and the version.
+     */
+    static final byte[] MAGIC = {'A', 'S', 'T', 2};
+
+    /**
+     * The mask of the lower seven bits of a byte of a variable-length integer.
+     */
+    static final int LOW_BITS = 0x7f;
+
+    /**
+     * The bit indicating that a variable-length integer continues.
+     */
+    static final int NEXT_BIT = 0x80;
+
+    /**
+     * The number of payload bits in a byte of a variable-length integer.
+     */
+    static final int SHIFT = 7;
+
+    /**
+     * The root node.
+     */
+    private final Node root;
+
+    /**
+     * Constructor.
+     * @param root The root node
+     */
+    public BinarySerializer(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Writes the syntax tree to the stream. The stream is neither buffered
+     * nor closed by the serializer.
+     * @param output The stream
+     * @throws IOException If the tree could not be written
+     */
+    public void serialize(final OutputStream output) throws IOException {
+        final Layout layout = new Layout(this.root);
+        layout.measure();
+        output.write(BinarySerializer.MAGIC);
+        BinarySerializer.writeNumber(output, layout.getStringCount());
+        for (final String str : layout.getStrings()) {
+            final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            BinarySerializer.writeNumber(output, bytes.length);
+            output.write(bytes);
+        }
+        int number = 0;
+        for (final Node node : new PreOrder(this.root)) {
+            if (node instanceof EmptyTree) {
+                output.write(0);
+            } else {
+                BinarySerializer.writeNumber(output, layout.getKind(node));
+                BinarySerializer.writeNumber(output, layout.getIndex(node.getData()));
+                BinarySerializer.writeNumber(output, node.getChildCount());
+            }
+            if (node.getChildCount() > 0) {
+                BinarySerializer.writeNumber(output, layout.getSize(number));
+            }
+            number = number + 1;
+        }
+    }
+
+    /**
+     * Writes the syntax tree to file in the binary format.
+     * @param filename The file name
+     * @return The result, {@code true} if the file was successful written
+     */
+    public boolean serializeToFile(final String filename) {
+        boolean success = true;
+        try (OutputStream output = new FilesWriter(filename).openStream()) {
+            this.serialize(output);
+        } catch (final IOException ignored) {
+            success = false;
+        }
+        return success;
+    }
+
+    /**
+     * Writes an unsigned variable-length integer.
+     * @param output The stream
+     * @param number The number
+     * @throws IOException If the number could not be written
+     */
+    private static void writeNumber(final OutputStream output, final long number)
+        throws IOException {
+        long rest = number;
+        while ((rest & ~BinarySerializer.LOW_BITS) != 0) {
+            output.write((int) (rest & BinarySerializer.LOW_BITS | BinarySerializer.NEXT_BIT));
+            rest = rest >>> BinarySerializer.SHIFT;
+        }
+        output.write((int) rest);
+    }
+
+    /**
+     * Returns the number of bytes of an unsigned variable-length integer.
+     * @param number The number
+     * @return The number of bytes
+     */
+    private static int getLength(final long number) {
+        int length = 1;
+        long rest = number >>> BinarySerializer.SHIFT;
+        while (rest != 0) {
+            length = length + 1;
+            rest = rest >>> BinarySerializer.SHIFT;
+        }
+        return length;
+    }
+
+    /**
+     * The table of strings and sizes of subtrees.
+     * Sizes are computed during the pre-order traversal: nodes whose children
+     * are not visited yet are kept on a stack.
+     *
+     * @since 1.0
+     */
+    private static final class Layout {
+        /**
+         * The initial capacity of arrays.
+         */
+        private static final int CAPACITY = 64;
+
+        /**
+         * The strings with their indexes, in the order of indexes.
+         */
+        private final Map<String, Integer> table;
+
+        /**
+         * The root node.
+         */
+        private final Node root;
+
+        /**
+         * The number of bytes of descendants of each node, in the pre-order.
+         */
+        private long[] sizes;
+
+        /**
+         * The numbers of nodes on the stack.
+         */
+        private int[] numbers;
+
+        /**
+         * The numbers of children of nodes on the stack, which are not visited yet.
+         */
+        private int[] remaining;
+
+        /**
+         * The number of bytes of visited descendants of nodes on the stack.
+         */
+        private long[] bytes;
+
+        /**
+         * The number of bytes of records of nodes on the stack, except the size
+         * of descendants.
+         */
+        private int[] headers;
+
+        /**
+         * The number of nodes on the stack.
+         */
+        private int depth;
+
+        /**
+         * Constructor.
+         * @param root The root node
+         */
+        Layout(final Node root) {
+            this.table = new LinkedHashMap<>();
+            this.root = root;
+            this.sizes = new long[Layout.CAPACITY];
+            this.numbers = new int[Layout.CAPACITY];
+            this.remaining = new int[Layout.CAPACITY];
+            this.bytes = new long[Layout.CAPACITY];
+            this.headers = new int[Layout.CAPACITY];
+        }
+
+        /**
+         * Fills the table of strings and computes sizes of subtrees.
+         */
+        void measure() {
+            this.table.put("", 0);
+            int number = 0;
+            for (final Node node : new PreOrder(this.root)) {
+                if (!(node instanceof EmptyTree)) {
+                    this.table.putIfAbsent(node.getType().getName(), this.table.size());
+                    this.table.putIfAbsent(node.getData(), this.table.size());
+                }
+                if (number == this.sizes.length) {
+                    this.sizes = Arrays.copyOf(this.sizes, number * 2);
+                }
+                final int count = node.getChildCount();
+                final int header = this.getHeaderLength(node);
+                if (count == 0) {
+                    this.complete(header);
+                } else {
+                    this.push(number, count, header);
+                }
+                number = number + 1;
+            }
+        }
+
+        /**
+         * Returns the kind of a node, i.e. the index of its type name plus one.
+         * @param node The node, which is not an empty tree
+         * @return The kind
+         */
+        int getKind(final Node node) {
+            return this.table.get(node.getType().getName()) + 1;
+        }
+
+        /**
+         * Returns the number of bytes of descendants of a node.
+         * @param number The number of the node in the pre-order
+         * @return The number of bytes
+         */
+        long getSize(final int number) {
+            return this.sizes[number];
+        }
+
+        /**
+         * Returns the number of strings in the table.
+         * @return The number of strings
+         */
+        int getStringCount() {
+            return this.table.size();
+        }
+
+        /**
+         * Returns the strings in the order of indexes.
+         * @return The strings
+         */
+        Iterable<String> getStrings() {
+            return this.table.keySet();
+        }
+
+        /**
+         * Returns the index of a string.
+         * @param str The string
+         * @return The index
+         */
+        int getIndex(final String str) {
+            return this.table.get(str);
+        }
+
+        /**
+         * Pushes a node whose children are not visited yet.
+         * @param number The number of the node in the pre-order
+         * @param count The number of children
+         * @param header The number of bytes of the node record except the size
+         *  of descendants
+         */
+        private void push(final int number, final int count, final int header) {
+            if (this.depth == this.numbers.length) {
+                final int capacity = this.depth * 2;
+                this.numbers = Arrays.copyOf(this.numbers, capacity);
+                this.remaining = Arrays.copyOf(this.remaining, capacity);
+                this.bytes = Arrays.copyOf(this.bytes, capacity);
+                this.headers = Arrays.copyOf(this.headers, capacity);
+            }
+            this.numbers[this.depth] = number;
+            this.remaining[this.depth] = count;
+            this.bytes[this.depth] = 0;
+            this.headers[this.depth] = header;
+            this.depth = this.depth + 1;
+        }
+
+        /**
+         * Adds the size of a visited subtree to its parent. If it is the last child,
+         * the parent is removed from the stack and its size is added to its parent.
+         * @param size The number of bytes of the subtree
+         */
+        private void complete(final long size) {
+            long total = size;
+            while (this.depth > 0) {
+                final int top = this.depth - 1;
+                this.bytes[top] = this.bytes[top] + total;
+                this.remaining[top] = this.remaining[top] - 1;
+                if (this.remaining[top] > 0) {
+                    break;
+                }
+                this.depth = top;
+                total = this.bytes[top];
+                this.sizes[this.numbers[top]] = total;
+                total = total + BinarySerializer.getLength(total) + this.headers[top];
+            }
+        }
+
+        /**
+         * Returns the number of bytes of a node record except the size of descendants.
+         * @param node The node
+         * @return The number of bytes
+         */
+        private int getHeaderLength(final Node node) {
+            int length = 1;
+            if (!(node instanceof EmptyTree)) {
+                length = BinarySerializer.getLength(this.getKind(node))
+                    + BinarySerializer.getLength(this.getIndex(node.getData()))
+                    + BinarySerializer.getLength(node.getChildCount());
+            }
+            return length;
+        }
+    }
+
+    /**
+     * Traversal of a tree in the pre-order, children are visited in the forward order.
+     *
+     * @since 1.0
+     */
+    private static final class PreOrder implements Iterable<Node>, Iterator<Node> {
+        /**
+         * The initial capacity of arrays.
+         */
+        private static final int CAPACITY = 64;
+
+        /**
+         * The path from the root to the last visited node.
+         */
+        private Node[] path;
+
+        /**
+         * The indexes of the next children of nodes of the path.
+         */
+        private int[] cursors;
+
+        /**
+         * The number of nodes of the path, or -1 if the root is not visited yet.
+         */
+        private int depth;
+
+        /**
+         * Constructor.
+         * @param root The root node
+         */
+        PreOrder(final Node root) {
+            this.path = new Node[] {root};
+            this.cursors = new int[PreOrder.CAPACITY];
+            this.depth = -1;
+        }
+
+        @Override
+        public Iterator<Node> iterator() {
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            boolean result = true;
+            if (this.depth >= 0) {
+                while (this.depth > 0
+                    && this.cursors[this.depth - 1] == this.path[this.depth - 1].getChildCount()) {
+                    this.depth = this.depth - 1;
+                }
+                result = this.depth > 0;
+            }
+            return result;
+        }
+
+        @Override
+        public Node next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Node node;
+            if (this.depth < 0) {
+                node = this.path[0];
+                this.depth = 0;
+            } else {
+                final int top = this.depth - 1;
+                node = this.path[top].getChild(this.cursors[top]);
+                this.cursors[top] = this.cursors[top] + 1;
+            }
+            this.push(node);
+            return node;
+        }
+
+        /**
+         * Adds a node to the path.
+         * @param node The node
+         */
+        private void push(final Node node) {
+            if (this.depth == this.cursors.length) {
+                this.cursors = Arrays.copyOf(this.cursors, this.depth * 2);
+            }
+            if (this.depth == this.path.length) {
+                this.path = Arrays.copyOf(this.path, this.cursors.length);
+            }
+            this.path[this.depth] = node;
+            this.cursors[this.depth] = 0;
+            this.depth = this.depth + 1;
+        }
+    }
+}
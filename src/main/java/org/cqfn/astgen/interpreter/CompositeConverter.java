@@ -0,0 +1,210 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.cqfn.astgen.base.Captures;
+import org.cqfn.astgen.base.EmptyTree;
+import org.cqfn.astgen.base.Factory;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.base.Statistics;
+import org.cqfn.astgen.rules.Descriptor;
+import org.cqfn.astgen.rules.Statement;
+import org.cqfn.astgen.rules.Transformation;
+
+/**
+ * Converter that checks all rules described in DSL at once and converts a subtree
+ * using the first matching rule.
+ *
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.CloseResource")
+public final class CompositeConverter implements org.cqfn.astgen.base.Converter {
+    /**
+     * The discrimination tree built from left parts of rules.
+     */
+    private final DiscriminationTree tree;
+
+    /**
+     * The node creators, one for each rule.
+     */
+    private final Creator[] creators;
+
+    /**
+     * The capture frames, one for each thread, sized by the highest hole number of all rules.
+     */
+    private final ThreadLocal<Captures> frames;
+
+    /**
+     * The statistics of rules, the index of a rule is its position in the list of statements.
+     */
+    private final Statistics statistics;
+
+    /**
+     * Flag indicating that the statistics are collected.
+     */
+    private final boolean measured;
+
+    /**
+     * The indexes of rules arranged by the type of the pattern root.
+     */
+    private final Map<String, List<Integer>> roots;
+
+    /**
+     * Constructor.
+     * @param statements The list of transformation statements
+     */
+    public CompositeConverter(final List<Statement<Transformation>> statements) {
+        this(statements, Statistics.DISABLED);
+    }
+
+    /**
+     * Constructor that collects statistics of rules.
+     * @param statements The list of transformation statements
+     * @param statistics The statistics, one rule for each statement
+     */
+    public CompositeConverter(final List<Statement<Transformation>> statements,
+        final Statistics statistics) {
+        this.tree = new DiscriminationTree(CompositeConverter.getPatterns(statements));
+        this.creators = CompositeConverter.getCreators(statements);
+        this.frames = Converter.createFrames(CompositeConverter.getFrameSize(statements));
+        this.statistics = statistics;
+        this.measured = statistics.isEnabled();
+        this.roots = CompositeConverter.getRoots(statements);
+    }
+
+    @Override
+    public Node convert(final Node node, final Factory factory) {
+        Node result = EmptyTree.INSTANCE;
+        if (this.measured) {
+            result = this.convertMeasured(node, factory);
+        } else {
+            final Captures captures = this.frames.get();
+            final int rule = this.tree.match(node, captures);
+            if (rule >= 0) {
+                result = this.creators[rule].create(factory, captures);
+                captures.reset();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts a node and records the statistics. All rules whose pattern root has
+     * the type of the node count as tried. The time is recorded for the matched rule,
+     * if no rule matched, the time is divided between the tried rules.
+     * @param node The node
+     * @param factory The node factory
+     * @return A new subtree or an empty tree
+     */
+    private Node convertMeasured(final Node node, final Factory factory) {
+        final long start = System.nanoTime();
+        final List<Integer> tried =
+            this.roots.getOrDefault(node.getTypeName(), Collections.emptyList());
+        for (final Integer index : tried) {
+            this.statistics.addAttempt(index);
+        }
+        Node result = EmptyTree.INSTANCE;
+        final Captures captures = this.frames.get();
+        final int rule = this.tree.match(node, captures);
+        if (rule >= 0) {
+            this.statistics.addMatch(rule);
+            result = this.creators[rule].create(factory, captures);
+            captures.reset();
+            if (!(result instanceof EmptyTree)) {
+                this.statistics.addRewrite(rule);
+            }
+            this.statistics.addTime(rule, System.nanoTime() - start);
+        } else if (!tried.isEmpty()) {
+            final long time = (System.nanoTime() - start) / tried.size();
+            for (final Integer index : tried) {
+                this.statistics.addTime(index, time);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Collects left parts of rules.
+     * @param statements The list of transformation statements
+     * @return The list of patterns
+     */
+    private static List<Descriptor> getPatterns(
+        final List<Statement<Transformation>> statements) {
+        final List<Descriptor> patterns = new ArrayList<>(statements.size());
+        for (final Statement<Transformation> statement : statements) {
+            patterns.add(statement.getRule().getLeft());
+        }
+        return patterns;
+    }
+
+    /**
+     * Arranges rules by the type of the pattern root.
+     * @param statements The list of transformation statements
+     * @return The indexes of rules arranged by the type name
+     */
+    private static Map<String, List<Integer>> getRoots(
+        final List<Statement<Transformation>> statements) {
+        final Map<String, List<Integer>> roots = new HashMap<>();
+        int index = 0;
+        for (final Statement<Transformation> statement : statements) {
+            roots.computeIfAbsent(statement.getRule().getLeft().getType(), x -> new ArrayList<>(1))
+                .add(index);
+            index = index + 1;
+        }
+        return roots;
+    }
+
+    /**
+     * Creates node creators from right parts of rules.
+     * @param statements The list of transformation statements
+     * @return The array of creators
+     */
+    private static Creator[] getCreators(final List<Statement<Transformation>> statements) {
+        final Creator[] creators = new Creator[statements.size()];
+        int index = 0;
+        for (final Statement<Transformation> statement : statements) {
+            creators[index] = new Creator(statement.getRule().getRight());
+            index = index + 1;
+        }
+        return creators;
+    }
+
+    /**
+     * Calculates the size of the capture frame suitable for all rules.
+     * @param statements The list of transformation statements
+     * @return The highest hole number plus one
+     */
+    private static int getFrameSize(final List<Statement<Transformation>> statements) {
+        int highest = -1;
+        for (final Statement<Transformation> statement : statements) {
+            highest = Math.max(highest, statement.getRule().getHighestHole());
+        }
+        return highest + 1;
+    }
+}
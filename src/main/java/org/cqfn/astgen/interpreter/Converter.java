@@ -23,9 +23,7 @@
  */
 package org.cqfn.astgen.interpreter;
 
-import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
+import org.cqfn.astgen.base.Captures;
 import org.cqfn.astgen.base.EmptyTree;
 import org.cqfn.astgen.base.Factory;
 import org.cqfn.astgen.base.Node;
@@ -33,6 +31,8 @@ import org.cqfn.astgen.rules.Transformation;
 
 /**
  * Converter that checks one rule described in DSL and converts a subtree.
+ * Extracted children and data are kept in a capture frame that is reused by each thread,
+ * so an unsuccessful matching allocates nothing.
  *
  * @since 1.0
  */
@@ -47,6 +47,16 @@ public final class Converter implements org.cqfn.astgen.base.Converter {
      */
     private final Creator creator;
 
+    /**
+     * The type of the pattern root.
+     */
+    private final String root;
+
+    /**
+     * The capture frames, one for each thread.
+     */
+    private final ThreadLocal<Captures> frames;
+
     /**
      * Constructor.
      * @param rule The transformation rule
@@ -54,16 +64,32 @@ public final class Converter implements org.cqfn.astgen.base.Converter {
     public Converter(final Transformation rule) {
         this.matcher = new Matcher(rule.getLeft());
         this.creator = new Creator(rule.getRight());
+        this.root = rule.getLeft().getType();
+        this.frames = Converter.createFrames(rule.getHighestHole() + 1);
     }
 
     @Override
     public Node convert(final Node node, final Factory factory) {
         Node result = EmptyTree.INSTANCE;
-        final Map<Integer, List<Node>> children = new TreeMap<>();
-        final Map<Integer, String> data = new TreeMap<>();
-        if (this.matcher.match(node, children, data)) {
-            result = this.creator.create(factory, children, data);
+        final Captures captures = this.frames.get();
+        if (this.matcher.match(node, captures)) {
+            result = this.creator.create(factory, captures);
         }
+        captures.reset();
         return result;
     }
+
+    @Override
+    public String getRootType() {
+        return this.root;
+    }
+
+    /**
+     * Creates capture frames, one for each thread.
+     * @param size The size of each frame
+     * @return The thread-local frame
+     */
+    static ThreadLocal<Captures> createFrames(final int size) {
+        return ThreadLocal.withInitial(() -> new Captures(size));
+    }
 }
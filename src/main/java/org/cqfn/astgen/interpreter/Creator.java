@@ -24,8 +24,8 @@
 package org.cqfn.astgen.interpreter;
 
 import java.util.List;
-import java.util.Map;
 import org.cqfn.astgen.base.Builder;
+import org.cqfn.astgen.base.Captures;
 import org.cqfn.astgen.base.Factory;
 import org.cqfn.astgen.base.ListUtils;
 import org.cqfn.astgen.base.Node;
@@ -37,6 +37,8 @@ import org.cqfn.astgen.rules.StringData;
 
 /**
  * Creates a node as described in the descriptor.
+ * Nested creators are built at construction, after that the creator is immutable,
+ * so one instance can be used by any number of threads.
  *
  * @since 1.0
  */
@@ -47,7 +49,7 @@ public class Creator {
     private final Descriptor descriptor;
 
     /**
-     * The list of nested creators.
+     * The list of nested creators, one for each parameter that is a descriptor.
      */
     private final Creator[] subs;
 
@@ -57,56 +59,64 @@ public class Creator {
      */
     public Creator(final Descriptor descriptor) {
         this.descriptor = descriptor;
-        this.subs = new Creator[descriptor.getParameters().size()];
+        this.subs = Creator.compile(descriptor.getParameters());
     }
 
     /**
      * Creates a node as described in the descriptor.
      * @param factory The node factory
-     * @param children The collection contains extracted children
-     * @param data The collection contains extracted data
+     * @param captures The frame that contains extracted children and data
      * @return A node
      */
-    public Node create(final Factory factory, final Map<Integer, List<Node>> children,
-        final Map<Integer, String> data) {
+    public Node create(final Factory factory, final Captures captures) {
         final Builder builder = factory.createBuilder(this.descriptor.getType());
         final ListUtils<Node> list = new ListUtils<>();
         int index = 0;
         for (final Parameter parameter : this.descriptor.getParameters()) {
             if (parameter instanceof Hole) {
-                list.merge(children.get(((Hole) parameter).getValue()));
+                list.merge(captures.getChildren(((Hole) parameter).getValue()));
             } else if (parameter instanceof Descriptor) {
-                final Creator creator;
-                if (this.subs[index] == null) {
-                    creator = new Creator((Descriptor) parameter);
-                    this.subs[index] = creator;
-                } else {
-                    creator = this.subs[index];
-                }
-                final Node child = creator.create(factory, children, data);
-                list.add(child);
+                list.add(this.subs[index].create(factory, captures));
             }
             index = index + 1;
         }
         builder.setChildrenList(list.make());
-        this.setData(builder, data);
+        this.setData(builder, captures);
         return builder.createNode();
     }
 
     /**
      * Sets data to the node builder.
      * @param builder The node builder
-     * @param extracted Data, extracted from source syntax tree
+     * @param captures The frame that contains data extracted from source syntax tree
      */
-    private void setData(final Builder builder, final Map<Integer, String> extracted) {
+    private void setData(final Builder builder, final Captures captures) {
         final Data data = this.descriptor.getData();
         if (data instanceof Hole) {
             final int index = ((Hole) data).getValue();
-            if (extracted.containsKey(index)) {
-                builder.setData(extracted.get(index));
+            if (captures.hasData(index)) {
+                builder.setData(captures.getData(index));
             }
         } else if (data instanceof StringData) {
             builder.setData(((StringData) data).getValue());
         }
     }
+
+    /**
+     * Builds nested creators.
+     * @param parameters The parameters of the descriptor
+     * @return The array of creators, which contains a creator for each parameter
+     *  that is a descriptor
+     */
+    private static Creator[] compile(final List<Parameter> parameters) {
+        final Creator[] creators = new Creator[parameters.size()];
+        int index = 0;
+        for (final Parameter parameter : parameters) {
+            if (parameter instanceof Descriptor) {
+                creators[index] = new Creator((Descriptor) parameter);
+            }
+            index = index + 1;
+        }
+        return creators;
+    }
 }
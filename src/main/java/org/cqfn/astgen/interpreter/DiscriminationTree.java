@@ -0,0 +1,566 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.cqfn.astgen.base.Captures;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.base.TypeTable;
+import org.cqfn.astgen.rules.Data;
+import org.cqfn.astgen.rules.Descriptor;
+import org.cqfn.astgen.rules.Hole;
+import org.cqfn.astgen.rules.Parameter;
+import org.cqfn.astgen.rules.StringData;
+
+/**
+ * Discrimination tree that merges the left parts of all transformation rules,
+ * so that common prefixes of patterns are checked only once.
+ * Each pattern is flattened into a sequence of steps in the pre-order,
+ * where a hole is a step that skips the whole subtree.
+ * The matching context is reused by each thread, so matching allocates nothing.
+ *
+ * @since 1.0
+ */
+public final class DiscriminationTree {
+    /**
+     * The initial state.
+     */
+    private final State root;
+
+    /**
+     * The matching contexts, one for each thread.
+     */
+    private final ThreadLocal<Walk> walks;
+
+    /**
+     * Constructor.
+     * @param patterns The list of patterns (left parts of rules), in order of priority
+     */
+    public DiscriminationTree(final List<Descriptor> patterns) {
+        this.root = new State();
+        this.walks = DiscriminationTree.createWalks(DiscriminationTree.build(this.root, patterns));
+    }
+
+    /**
+     * Looks for the first pattern that matches the node, and extracts the data and children.
+     * The frame is changed only if a pattern matches.
+     * @param node The node
+     * @param captures The frame where to save children and data when matched
+     * @return The index of the matched pattern or -1 if no pattern matches
+     */
+    public int match(final Node node, final Captures captures) {
+        final Walk walk = this.walks.get();
+        walk.start(node);
+        walk.search(this.root, 1, 0);
+        int result = -1;
+        if (walk.bound < Integer.MAX_VALUE) {
+            result = walk.found.rule;
+            for (final Capture capture : walk.found.captures) {
+                final Node captured = walk.best[capture.step];
+                if (capture.data) {
+                    captures.putData(capture.hole, captured.getData());
+                } else {
+                    captures.putChild(capture.hole, captured);
+                }
+            }
+        }
+        walk.finish();
+        return result;
+    }
+
+    /**
+     * Creates matching contexts, one for each thread.
+     * @param steps The maximum number of steps in a pattern
+     * @return The thread-local context
+     */
+    private static ThreadLocal<Walk> createWalks(final int steps) {
+        return ThreadLocal.withInitial(() -> new Walk(steps));
+    }
+
+    /**
+     * Adds patterns to the tree.
+     * @param root The initial state
+     * @param patterns The list of patterns
+     * @return The maximum number of steps in a pattern
+     */
+    private static int build(final State root, final List<Descriptor> patterns) {
+        int max = 0;
+        int index = 0;
+        for (final Descriptor pattern : patterns) {
+            max = Math.max(max, new Insertion(root, index).insert(pattern));
+            index = index + 1;
+        }
+        return max;
+    }
+
+    /**
+     * State of the tree.
+     *
+     * @since 1.0
+     */
+    private static final class State {
+        /**
+         * Transitions by node type and number of children. Keys are names of shared
+         * types of draft nodes, so the lookup of a draft node type succeeds by identity.
+         */
+        private final Map<String, Map<Integer, Branch>> symbols;
+
+        /**
+         * Transition that skips a subtree (a hole).
+         */
+        private State wildcard;
+
+        /**
+         * The pattern that ends in this state.
+         */
+        private Accept accept;
+
+        /**
+         * The index of the best pattern reachable from this state.
+         */
+        private int best;
+
+        /**
+         * Constructor.
+         */
+        State() {
+            this.symbols = new HashMap<>();
+            this.best = Integer.MAX_VALUE;
+        }
+
+        /**
+         * Registers a pattern that passes through this state.
+         * @param rule The index of the pattern
+         */
+        void update(final int rule) {
+            this.best = Math.min(this.best, rule);
+        }
+
+        /**
+         * Returns the transition that skips a subtree, creates it if necessary.
+         * @return The next state
+         */
+        State getWildcard() {
+            if (this.wildcard == null) {
+                this.wildcard = new State();
+            }
+            return this.wildcard;
+        }
+
+        /**
+         * Returns transitions for the node type and number of children,
+         * creates them if necessary.
+         * @param type The node type
+         * @param count The number of children
+         * @return The transitions
+         */
+        Branch getBranch(final String type, final int count) {
+            return this.symbols
+                .computeIfAbsent(TypeTable.INSTANCE.getType(type).getName(), x -> new HashMap<>())
+                .computeIfAbsent(count, x -> new Branch());
+        }
+
+        /**
+         * Looks for transitions suitable for the node.
+         * @param node The node
+         * @return The transitions or {@code null} if there are none
+         */
+        Branch findBranch(final Node node) {
+            Branch result = null;
+            final Map<Integer, Branch> arities = this.symbols.get(node.getTypeName());
+            if (arities != null) {
+                result = arities.get(node.getChildCount());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Transitions by node data for a given node type and number of children.
+     *
+     * @since 1.0
+     */
+    private static final class Branch {
+        /**
+         * Transitions by exact data.
+         */
+        private final Map<String, State> exact;
+
+        /**
+         * Transition for nodes without data.
+         */
+        private State empty;
+
+        /**
+         * Transition that extracts data.
+         */
+        private State hole;
+
+        /**
+         * Constructor.
+         */
+        Branch() {
+            this.exact = new HashMap<>();
+        }
+
+        /**
+         * Returns the transition for nodes without data, creates it if necessary.
+         * @return The next state
+         */
+        State getEmpty() {
+            if (this.empty == null) {
+                this.empty = new State();
+            }
+            return this.empty;
+        }
+
+        /**
+         * Returns the transition that extracts data, creates it if necessary.
+         * @return The next state
+         */
+        State getHole() {
+            if (this.hole == null) {
+                this.hole = new State();
+            }
+            return this.hole;
+        }
+    }
+
+    /**
+     * Pattern accepted at the end of a path.
+     *
+     * @since 1.0
+     */
+    private static final class Accept {
+        /**
+         * The index of the pattern.
+         */
+        private final int rule;
+
+        /**
+         * The list of captures.
+         */
+        private final Capture[] captures;
+
+        /**
+         * Constructor.
+         * @param rule The index of the pattern
+         * @param captures The list of captures
+         */
+        Accept(final int rule, final List<Capture> captures) {
+            this.rule = rule;
+            this.captures = captures.toArray(new Capture[0]);
+        }
+    }
+
+    /**
+     * Hole that captures the node passed at some step.
+     *
+     * @since 1.0
+     */
+    private static final class Capture {
+        /**
+         * The step.
+         */
+        private final int step;
+
+        /**
+         * The hole number.
+         */
+        private final int hole;
+
+        /**
+         * Flag indicating that the node data is captured instead of the node.
+         */
+        private final boolean data;
+
+        /**
+         * Constructor.
+         * @param step The step
+         * @param hole The hole number
+         * @param data Flag indicating that the node data is captured
+         */
+        Capture(final int step, final int hole, final boolean data) {
+            this.step = step;
+            this.hole = hole;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Insertion of one pattern into the tree.
+     *
+     * @since 1.0
+     */
+    private static final class Insertion {
+        /**
+         * The index of the pattern.
+         */
+        private final int rule;
+
+        /**
+         * The list of captures.
+         */
+        private final List<Capture> captures;
+
+        /**
+         * The current state.
+         */
+        private State state;
+
+        /**
+         * The number of passed steps.
+         */
+        private int step;
+
+        /**
+         * Constructor.
+         * @param root The initial state
+         * @param rule The index of the pattern
+         */
+        Insertion(final State root, final int rule) {
+            this.rule = rule;
+            this.captures = new LinkedList<>();
+            this.state = root;
+        }
+
+        /**
+         * Adds the pattern to the tree.
+         * @param pattern The pattern
+         * @return The number of steps in the pattern
+         */
+        int insert(final Descriptor pattern) {
+            final LinkedList<Parameter> stack = new LinkedList<>();
+            stack.push(pattern);
+            this.state.update(this.rule);
+            while (!stack.isEmpty()) {
+                final Parameter parameter = stack.pop();
+                if (parameter instanceof Hole) {
+                    this.captures.add(
+                        new Capture(this.step, ((Hole) parameter).getValue(), false)
+                    );
+                    this.state = this.state.getWildcard();
+                } else {
+                    final Descriptor descriptor = (Descriptor) parameter;
+                    final List<Parameter> parameters = descriptor.getParameters();
+                    this.enter(descriptor);
+                    for (int index = parameters.size() - 1; index >= 0; index = index - 1) {
+                        stack.push(parameters.get(index));
+                    }
+                }
+                this.state.update(this.rule);
+                this.step = this.step + 1;
+            }
+            if (this.state.accept == null) {
+                this.state.accept = new Accept(this.rule, this.captures);
+            }
+            return this.step;
+        }
+
+        /**
+         * Passes a descriptor (its type, number of children and data).
+         * @param descriptor The descriptor
+         */
+        private void enter(final Descriptor descriptor) {
+            final Branch branch = this.state.getBranch(
+                descriptor.getType(), descriptor.getParameters().size()
+            );
+            final Data data = descriptor.getData();
+            if (data instanceof StringData) {
+                this.state = branch.exact.computeIfAbsent(
+                    ((StringData) data).getValue(), x -> new State()
+                );
+            } else if (data instanceof Hole) {
+                this.captures.add(new Capture(this.step, ((Hole) data).getValue(), true));
+                this.state = branch.getHole();
+            } else {
+                this.state = branch.getEmpty();
+            }
+        }
+    }
+
+    /**
+     * The context of matching, reused for each node.
+     *
+     * @since 1.0
+     */
+    private static final class Walk {
+        /**
+         * Nodes passed at each step.
+         */
+        private final Node[] path;
+
+        /**
+         * Nodes passed at each step to the best pattern.
+         */
+        private final Node[] best;
+
+        /**
+         * Nodes that are still to be checked, the next one is on top.
+         */
+        private Node[] pending;
+
+        /**
+         * Pending nodes replaced by children at each descent, restored after the descent,
+         *  since a deeper search may overwrite pending nodes of outer levels.
+         */
+        private Node[] saved;
+
+        /**
+         * The number of items of the saved array that are in use.
+         */
+        private int stacked;
+
+        /**
+         * The best pattern found.
+         */
+        private Accept found;
+
+        /**
+         * The index of the best pattern found, or {@code Integer.MAX_VALUE}
+         * if nothing is found.
+         */
+        private int bound;
+
+        /**
+         * The number of items of the pending array that were used.
+         */
+        private int used;
+
+        /**
+         * Constructor.
+         * @param steps The maximum number of steps
+         */
+        Walk(final int steps) {
+            this.path = new Node[steps];
+            this.best = new Node[steps];
+            this.pending = new Node[steps + 1];
+            this.saved = new Node[steps + 1];
+        }
+
+        /**
+         * Prepares the context for matching a node.
+         * @param node The node to be matched
+         */
+        void start(final Node node) {
+            this.pending[0] = node;
+            this.used = 1;
+            this.bound = Integer.MAX_VALUE;
+        }
+
+        /**
+         * Drops references to nodes, so that the context does not keep the tree in memory.
+         */
+        void finish() {
+            Arrays.fill(this.path, null);
+            Arrays.fill(this.best, null);
+            Arrays.fill(this.pending, 0, this.used, null);
+        }
+
+        /**
+         * Searches the tree (with backtracking) for the first pattern
+         * that matches pending nodes.
+         * @param state The current state
+         * @param size The number of pending nodes
+         * @param depth The number of passed steps
+         */
+        void search(final State state, final int size, final int depth) {
+            if (state.best < this.bound && size == 0) {
+                this.bound = state.accept.rule;
+                this.found = state.accept;
+                System.arraycopy(this.path, 0, this.best, 0, depth);
+            } else if (state.best < this.bound) {
+                final Node node = this.pending[size - 1];
+                this.path[depth] = node;
+                if (state.wildcard != null) {
+                    this.search(state.wildcard, size - 1, depth + 1);
+                }
+                final Branch branch = state.findBranch(node);
+                if (branch != null) {
+                    this.check(branch, size, depth);
+                }
+            }
+        }
+
+        /**
+         * Checks transitions by the data of the node on top of pending nodes.
+         * @param branch The transitions
+         * @param size The number of pending nodes
+         * @param depth The number of passed steps
+         */
+        private void check(final Branch branch, final int size, final int depth) {
+            final Node node = this.path[depth];
+            final String data = node.getData();
+            final State exact = branch.exact.get(data);
+            if (exact != null) {
+                this.descend(exact, size, depth);
+            }
+            if (branch.empty != null && data.isEmpty()) {
+                this.descend(branch.empty, size, depth);
+            }
+            if (branch.hole != null) {
+                this.descend(branch.hole, size, depth);
+            }
+        }
+
+        /**
+         * Replaces the node on top of pending nodes with its children and continues the search.
+         * The replaced pending nodes are restored after the search, so that other
+         *  transitions and outer levels see the same pending nodes.
+         * @param state The next state
+         * @param size The number of pending nodes
+         * @param depth The number of passed steps
+         */
+        private void descend(final State state, final int size, final int depth) {
+            if (state.best < this.bound) {
+                final Node node = this.path[depth];
+                final int count = node.getChildCount();
+                final int top = size - 1;
+                final int end = Math.max(top + count, size);
+                if (end > this.pending.length) {
+                    this.pending = Arrays.copyOf(this.pending, end);
+                }
+                final int base = this.stacked;
+                final int width = end - top;
+                if (base + width > this.saved.length) {
+                    this.saved = Arrays.copyOf(this.saved, (base + width) * 2);
+                }
+                System.arraycopy(this.pending, top, this.saved, base, width);
+                this.stacked = base + width;
+                this.used = Math.max(this.used, end);
+                for (int index = 0; index < count; index = index + 1) {
+                    this.pending[top + count - 1 - index] = node.getChild(index);
+                }
+                this.search(state, top + count, depth + 1);
+                System.arraycopy(this.saved, base, this.pending, top, width);
+                Arrays.fill(this.saved, base, this.stacked, null);
+                this.stacked = base;
+            }
+        }
+    }
+}
@@ -40,6 +40,6 @@ public final class Factory extends org.cqfn.astgen.base.Factory {
      * Constructor.
      */
     private Factory() {
-        super(Collections.emptyMap());
+        super(Collections.emptyList());
     }
 }
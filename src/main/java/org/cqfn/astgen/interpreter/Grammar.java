@@ -0,0 +1,551 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.cqfn.astgen.rules.Child;
+import org.cqfn.astgen.rules.Descriptor;
+import org.cqfn.astgen.rules.DescriptorAttribute;
+import org.cqfn.astgen.rules.Disjunction;
+import org.cqfn.astgen.rules.Literal;
+import org.cqfn.astgen.rules.Node;
+import org.cqfn.astgen.rules.Program;
+import org.cqfn.astgen.rules.Statement;
+import org.cqfn.astgen.rules.Vertex;
+
+/**
+ * Node types described with DSL, prepared for the synthesis of random trees.
+ * Each abstract type is replaced with the final types it includes, and each final
+ * type gets the minimum height of a tree whose root has this type, so that
+ * a generator knows which types fit in the remaining depth.
+ * Types that are used but not described are leaves without data.
+ *
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.CloseResource")
+final class Grammar {
+    /**
+     * The height of a type that has no finite trees.
+     */
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * The final types by names.
+     */
+    private final Map<String, Production> productions;
+
+    /**
+     * The alternatives of abstract types by names.
+     */
+    private final Map<String, List<String>> alternatives;
+
+    /**
+     * The final types included by used types.
+     */
+    private final Map<String, Choice> choices;
+
+    /**
+     * The names of described types in the order of description.
+     */
+    private final List<String> names;
+
+    /**
+     * Constructor.
+     */
+    private Grammar() {
+        this.productions = new LinkedHashMap<>();
+        this.alternatives = new HashMap<>();
+        this.choices = new HashMap<>();
+        this.names = new ArrayList<>(0);
+    }
+
+    /**
+     * Prepares the types described in a program. Rules that are common for all
+     * languages go first, a rule for a language is taken if there is no common rule
+     * for the type.
+     * @param program The program
+     * @return The prepared types
+     */
+    static Grammar build(final Program program) {
+        final Grammar grammar = new Grammar();
+        for (final Vertex vertex : Grammar.collect(program)) {
+            grammar.declare(vertex);
+        }
+        grammar.link();
+        grammar.measure();
+        for (final Choice choice : grammar.choices.values()) {
+            choice.sort();
+        }
+        return grammar;
+    }
+
+    /**
+     * Returns the final types a tree may start with.
+     * @param type The type name of the root, or an empty string to take the type
+     *  that is not a part of any other type and contains most types
+     * @return The final types, the list is empty if the type is not described
+     */
+    Choice getRoot(final String type) {
+        String name = type;
+        if (name.isEmpty()) {
+            name = this.findRoot();
+        }
+        final Choice choice;
+        if (this.names.contains(name)) {
+            choice = this.getChoice(name);
+            choice.sort();
+        } else {
+            choice = new Choice(name);
+        }
+        return choice;
+    }
+
+    /**
+     * Collects the vertices of a program, one for each type.
+     * @param program The program
+     * @return The vertices in the order of description
+     */
+    private static Collection<Vertex> collect(final Program program) {
+        final Map<String, Vertex> result = new LinkedHashMap<>();
+        for (final Statement<Vertex> statement : program.getVertices()) {
+            if (statement.getLanguage().isEmpty()) {
+                result.putIfAbsent(statement.getRule().getType(), statement.getRule());
+            }
+        }
+        for (final Statement<Vertex> statement : program.getVertices()) {
+            result.putIfAbsent(statement.getRule().getType(), statement.getRule());
+        }
+        return result.values();
+    }
+
+    /**
+     * Adds a described type.
+     * @param vertex The vertex that describes the type
+     */
+    private void declare(final Vertex vertex) {
+        final String type = vertex.getType();
+        this.names.add(type);
+        if (vertex instanceof Literal) {
+            this.productions.put(type, new Production(type, ((Literal) vertex).getKlass(), false));
+        } else if (vertex.isAbstract()) {
+            final Disjunction disjunction =
+                (Disjunction) ((Node) vertex).getComposition().get(0);
+            final List<String> list = new ArrayList<>(disjunction.getDescriptors().size());
+            for (final Descriptor descriptor : disjunction.getDescriptors()) {
+                list.add(descriptor.getType());
+            }
+            this.alternatives.put(type, list);
+        } else if (vertex.isFinal()) {
+            final Node node = (Node) vertex;
+            final Production production = new Production(type, "", node.isList());
+            if (!node.isEmpty()) {
+                for (final Child child : node.getComposition()) {
+                    final Descriptor descriptor = (Descriptor) child;
+                    production.addChild(
+                        descriptor.getType(),
+                        descriptor.getAttribute() == DescriptorAttribute.OPTIONAL
+                    );
+                }
+            }
+            this.productions.put(type, production);
+        }
+    }
+
+    /**
+     * Replaces the names of children types with the final types they include.
+     */
+    private void link() {
+        final List<Production> described = new ArrayList<>(this.productions.values());
+        for (final Production production : described) {
+            for (final String type : production.types) {
+                production.children.add(this.getChoice(type));
+            }
+        }
+    }
+
+    /**
+     * Calculates the minimum heights of final types, until none of them changes.
+     */
+    private void measure() {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (final Production production : this.productions.values()) {
+                changed = production.update() || changed;
+            }
+        }
+    }
+
+    /**
+     * Returns the final types included by a type, creates the list on first use.
+     * @param type The type name
+     * @return The final types
+     */
+    private Choice getChoice(final String type) {
+        Choice choice = this.choices.get(type);
+        if (choice == null) {
+            choice = new Choice(type);
+            this.choices.put(type, choice);
+            this.expand(type, choice, new HashSet<>());
+        }
+        return choice;
+    }
+
+    /**
+     * Adds the final types included by a type to the list.
+     * @param type The type name
+     * @param choice The list of final types
+     * @param visited The names of types that are already processed
+     */
+    private void expand(final String type, final Choice choice, final Set<String> visited) {
+        if (visited.add(type)) {
+            final List<String> list = this.alternatives.get(type);
+            if (list == null) {
+                choice.productions.add(
+                    this.productions.computeIfAbsent(type, name -> new Production(name, "", false))
+                );
+            } else {
+                for (final String alternative : list) {
+                    this.expand(alternative, choice, visited);
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks for the type that is not a part of any other type and contains most types.
+     * @return The type name, or an empty string if no type is described
+     */
+    private String findRoot() {
+        final Set<String> used = new HashSet<>();
+        for (final Production production : this.productions.values()) {
+            used.addAll(production.types);
+        }
+        for (final List<String> list : this.alternatives.values()) {
+            used.addAll(list);
+        }
+        String result = "";
+        int best = -1;
+        for (final String name : this.names) {
+            if (!used.contains(name)) {
+                final int reach = Grammar.reach(this.getChoice(name));
+                if (reach > best) {
+                    best = reach;
+                    result = name;
+                }
+            }
+        }
+        if (result.isEmpty() && !this.names.isEmpty()) {
+            result = this.names.get(0);
+        }
+        return result;
+    }
+
+    /**
+     * Counts the final types that may occur in a tree.
+     * @param root The final types of the root
+     * @return The number of final types
+     */
+    private static int reach(final Choice root) {
+        final Set<Production> visited = new HashSet<>();
+        final Deque<Production> queue = new ArrayDeque<>(root.productions);
+        while (!queue.isEmpty()) {
+            final Production production = queue.poll();
+            if (visited.add(production)) {
+                for (final Choice choice : production.children) {
+                    queue.addAll(choice.productions);
+                }
+            }
+        }
+        return visited.size();
+    }
+
+    /**
+     * A final type.
+     *
+     * @since 1.0
+     */
+    static final class Production {
+        /**
+         * The type name.
+         */
+        private final String name;
+
+        /**
+         * The name of the Java class that stores data of a literal,
+         *  an empty string for other types.
+         */
+        private final String klass;
+
+        /**
+         * Flag indicating that the type is a list of children of one type.
+         */
+        private final boolean list;
+
+        /**
+         * The names of children types.
+         */
+        private final List<String> types;
+
+        /**
+         * The positions of optional children.
+         */
+        private final BitSet optional;
+
+        /**
+         * The positions of required children.
+         */
+        private final BitSet required;
+
+        /**
+         * The final types of children.
+         */
+        private final List<Choice> children;
+
+        /**
+         * The minimum height of a tree whose root has this type.
+         */
+        private int height;
+
+        /**
+         * Constructor.
+         * @param name The type name
+         * @param klass The name of the Java class that stores data of a literal
+         * @param list Flag indicating that the type is a list
+         */
+        Production(final String name, final String klass, final boolean list) {
+            this.name = name;
+            this.klass = klass;
+            this.list = list;
+            this.types = new ArrayList<>(0);
+            this.optional = new BitSet();
+            this.required = new BitSet();
+            this.children = new ArrayList<>(0);
+            this.height = Grammar.UNREACHABLE;
+        }
+
+        /**
+         * Returns the type name.
+         * @return The type name
+         */
+        String getName() {
+            return this.name;
+        }
+
+        /**
+         * Checks whether the type is a literal.
+         * @return Checking result
+         */
+        boolean isLiteral() {
+            return !this.klass.isEmpty();
+        }
+
+        /**
+         * Returns the name of the Java class that stores data of the literal.
+         * @return The class name
+         */
+        String getKlass() {
+            return this.klass;
+        }
+
+        /**
+         * Checks whether the type is a list of children of one type.
+         * @return Checking result
+         */
+        boolean isList() {
+            return this.list;
+        }
+
+        /**
+         * Checks whether the type has optional children.
+         * @return Checking result
+         */
+        boolean hasOptional() {
+            return !this.optional.isEmpty();
+        }
+
+        /**
+         * Checks whether a child is optional.
+         * @param index The position of the child
+         * @return Checking result
+         */
+        boolean isOptional(final int index) {
+            return this.optional.get(index);
+        }
+
+        /**
+         * Returns the positions of required children, the set must not be changed.
+         * @return The positions
+         */
+        BitSet getRequired() {
+            return this.required;
+        }
+
+        /**
+         * Returns the final types of children, the only child of a list
+         *  describes all elements.
+         * @return The list of final types for each position
+         */
+        List<Choice> getChildren() {
+            return this.children;
+        }
+
+        /**
+         * Adds a child.
+         * @param type The type name of the child
+         * @param opt Flag indicating that the child is optional
+         */
+        private void addChild(final String type, final boolean opt) {
+            if (opt) {
+                this.optional.set(this.types.size());
+            } else {
+                this.required.set(this.types.size());
+            }
+            this.types.add(type);
+        }
+
+        /**
+         * Recalculates the minimum height from the heights of required children.
+         * A list may be empty, so its height is 1.
+         * @return Flag indicating that the height is decreased
+         */
+        private boolean update() {
+            int result = 1;
+            if (!this.list) {
+                for (int index = this.required.nextSetBit(0); index >= 0
+                    && result < Grammar.UNREACHABLE;
+                    index = this.required.nextSetBit(index + 1)) {
+                    final int minimum = this.children.get(index).getMinimum();
+                    if (minimum == Grammar.UNREACHABLE) {
+                        result = Grammar.UNREACHABLE;
+                    } else {
+                        result = Math.max(result, minimum + 1);
+                    }
+                }
+            }
+            final boolean changed = result < this.height;
+            if (changed) {
+                this.height = result;
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * The final types included by a type, sorted by the minimum height.
+     *
+     * @since 1.0
+     */
+    static final class Choice {
+        /**
+         * The type name.
+         */
+        private final String type;
+
+        /**
+         * The final types.
+         */
+        private final List<Production> productions;
+
+        /**
+         * The minimum heights of final types, filled in after sorting.
+         */
+        private int[] heights;
+
+        /**
+         * Constructor.
+         * @param type The type name
+         */
+        Choice(final String type) {
+            this.type = type;
+            this.productions = new ArrayList<>(1);
+            this.heights = new int[0];
+        }
+
+        /**
+         * Returns the type name.
+         * @return The type name
+         */
+        String getType() {
+            return this.type;
+        }
+
+        /**
+         * Counts final types whose trees fit in the height. They go first in the list.
+         * @param height The height
+         * @return The number of final types
+         */
+        int count(final int height) {
+            int result = 0;
+            while (result < this.heights.length && this.heights[result] <= height) {
+                result = result + 1;
+            }
+            return result;
+        }
+
+        /**
+         * Returns a final type.
+         * @param index The index of the type
+         * @return The final type
+         */
+        Production get(final int index) {
+            return this.productions.get(index);
+        }
+
+        /**
+         * Returns the least minimum height of the final types.
+         * @return The height
+         */
+        private int getMinimum() {
+            int result = Grammar.UNREACHABLE;
+            for (final Production production : this.productions) {
+                result = Math.min(result, production.height);
+            }
+            return result;
+        }
+
+        /**
+         * Removes final types that have no finite trees and sorts the rest by height.
+         */
+        private void sort() {
+            this.productions.removeIf(production -> production.height == Grammar.UNREACHABLE);
+            this.productions.sort(Comparator.comparingInt(production -> production.height));
+            this.heights = new int[this.productions.size()];
+            for (int index = 0; index < this.heights.length; index = index + 1) {
+                this.heights[index] = this.productions.get(index).height;
+            }
+        }
+    }
+}
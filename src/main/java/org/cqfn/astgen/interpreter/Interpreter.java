@@ -23,18 +23,27 @@
  */
 package org.cqfn.astgen.interpreter;
 
+import com.google.gson.JsonIOException;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import org.cqfn.astgen.base.EmptyTree;
 import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.base.Statistics;
 import org.cqfn.astgen.exceptions.DestinationNotSpecified;
+import org.cqfn.astgen.exceptions.InterpreterCouldNotReadFile;
 import org.cqfn.astgen.exceptions.InterpreterCouldNotWriteFile;
 import org.cqfn.astgen.exceptions.InterpreterException;
 import org.cqfn.astgen.exceptions.SourceNotSpecified;
 import org.cqfn.astgen.rules.Program;
-import org.cqfn.astgen.utils.FilesReader;
+import org.cqfn.astgen.utils.FilesWriter;
 
 /**
- * The interpreter that loads the syntax tree in Json format,
+ * The interpreter that loads the syntax tree in the JSON or binary format,
  * then applies DSL rules and saves the result to a file.
+ * The source file is read as a stream, without loading its whole content into memory.
  *
  * @since 1.0
  */
@@ -50,9 +59,44 @@ public class Interpreter {
     private final File destination;
 
     /**
-     * The DSL program.
+     * The adapter built on the rules of the DSL program.
      */
-    private final Program program;
+    private final Adapter adapter;
+
+    /**
+     * The maximum number of conversion passes.
+     */
+    private final int iterations;
+
+    /**
+     * Flag indicating that the resulting syntax tree is written in the compact form.
+     */
+    private final boolean compact;
+
+    /**
+     * Flag indicating that a source file in the binary format is mapped into memory.
+     */
+    private final boolean mapped;
+
+    /**
+     * The format of the source file.
+     */
+    private final TreeFormat srcformat;
+
+    /**
+     * The format of the destination file.
+     */
+    private final TreeFormat dstformat;
+
+    /**
+     * The statistics of conversion rules.
+     */
+    private final Statistics statistics;
+
+    /**
+     * The file for saving the statistics.
+     */
+    private final File report;
 
     /**
      * Constructor.
@@ -61,9 +105,46 @@ public class Interpreter {
      * @param program The program
      */
     public Interpreter(final File source, final File destination, final Program program) {
-        this.source = source;
-        this.destination = destination;
-        this.program = program;
+        this(program, new DefaultOptions(source, destination));
+    }
+
+    /**
+     * Constructor.
+     * @param program The program
+     * @param options The conversion options
+     */
+    public Interpreter(final Program program, final Options options) {
+        this(program, options, StatisticsReport.createStatistics(program, options));
+    }
+
+    /**
+     * Constructor.
+     * @param program The program
+     * @param options The conversion options
+     * @param statistics The statistics of conversion rules
+     */
+    private Interpreter(final Program program, final Options options,
+        final Statistics statistics) {
+        this(new Adapter(program.getTransformations(), statistics), options, statistics);
+    }
+
+    /**
+     * Constructor that shares the adapter, which is built once for many files.
+     * @param adapter The adapter
+     * @param options The conversion options
+     * @param statistics The statistics of conversion rules collected by the adapter
+     */
+    Interpreter(final Adapter adapter, final Options options, final Statistics statistics) {
+        this.source = options.getSource();
+        this.destination = options.getDestination();
+        this.adapter = adapter;
+        this.iterations = options.getIterations();
+        this.compact = options.isCompact();
+        this.srcformat = options.getSourceFormat();
+        this.mapped = options.isMapped();
+        this.dstformat = options.getDestinationFormat();
+        this.statistics = statistics;
+        this.report = options.getStatisticsFile();
     }
 
     /**
@@ -77,24 +158,131 @@ public class Interpreter {
         if (this.destination == null) {
             throw DestinationNotSpecified.INSTANCE;
         }
-        final Node unprocessed = new JsonDeserializer(
-            new FilesReader(this.source.getPath()).readAsString(
-                (FilesReader.CustomExceptionCreator<InterpreterException>) ()
-                    -> new InterpreterException() {
-                        @Override
-                        public String getErrorMessage() {
-                            return String.format(
-                                "Could not read the file that contains source syntax tree: %s",
-                                Interpreter.this.source.getPath()
-                            );
-                        }
-                    }
-            )
-        ).convert();
-        final Adapter adapter = new Adapter(this.program.getTransformations());
-        final Node processed = adapter.convert(unprocessed);
-        if (!new JsonSerializer(processed).serializeToFile(this.destination.getPath())) {
+        final Node unprocessed = this.readSource();
+        final long start = System.nanoTime();
+        final Node processed = this.adapter.convert(unprocessed, this.iterations);
+        if (this.statistics.isEnabled()) {
+            this.statistics.addTree(System.nanoTime() - start);
+        }
+        this.writeDestination(processed);
+        if (this.report != null) {
+            new StatisticsReport(this.statistics).save(this.report);
+        }
+    }
+
+    /**
+     * Reads the source syntax tree as a stream, or maps it into memory.
+     * @return The root node of the source tree
+     * @throws InterpreterException If the file could not be read
+     */
+    private Node readSource() throws InterpreterException {
+        Node tree = EmptyTree.INSTANCE;
+        boolean read;
+        try {
+            tree = this.read();
+            read = true;
+        } catch (final IOException | JsonIOException | IllegalStateException ignored) {
+            read = false;
+        }
+        if (!read) {
+            throw new InterpreterCouldNotReadFile(this.source.getPath());
+        }
+        return tree;
+    }
+
+    /**
+     * Reads the source syntax tree. A tree in the binary format is mapped
+     * into memory if the option is set, unless the destination file is the same
+     * as the source file: mapped nodes are decoded on demand, so the file
+     * can't be overwritten while the tree is in use.
+     * @return The root node of the source tree
+     * @throws IOException If the file could not be read
+     */
+    private Node read() throws IOException {
+        final Node tree;
+        if (this.mapped && TreeFormat.BINARY.equals(this.srcformat)
+            && !this.isSourceOverwritten()) {
+            tree = new MappedDeserializer(this.source.toPath()).convert();
+        } else {
+            try (InputStream stream = Files.newInputStream(this.source.toPath())) {
+                tree = this.srcformat.read(stream);
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Checks whether the destination file is the same as the source file.
+     * @return Checking result
+     * @throws IOException If the files could not be checked
+     */
+    private boolean isSourceOverwritten() throws IOException {
+        return this.destination.exists()
+            && Files.isSameFile(this.source.toPath(), this.destination.toPath());
+    }
+
+    /**
+     * Writes the resulting syntax tree through a buffer.
+     * @param tree The root node of the resulting tree
+     * @throws InterpreterException If the file could not be written
+     */
+    private void writeDestination(final Node tree) throws InterpreterException {
+        boolean written;
+        try (OutputStream stream = new FilesWriter(this.destination.getPath()).openStream()) {
+            this.dstformat.write(tree, stream, !this.compact);
+            written = true;
+        } catch (final IOException ignored) {
+            written = false;
+        }
+        if (!written) {
             throw new InterpreterCouldNotWriteFile(this.destination.getPath());
         }
     }
+
+    /**
+     * Default conversion options.
+     *
+     * @since 1.0
+     */
+    private static final class DefaultOptions implements Options {
+        /**
+         * The source file.
+         */
+        private final File source;
+
+        /**
+         * The destination file.
+         */
+        private final File destination;
+
+        /**
+         * Constructor.
+         * @param source The source file
+         * @param destination The destination file
+         */
+        DefaultOptions(final File source, final File destination) {
+            this.source = source;
+            this.destination = destination;
+        }
+
+        @Override
+        public File getSource() {
+            return this.source;
+        }
+
+        @Override
+        public File getDestination() {
+            return this.destination;
+        }
+
+        @Override
+        public int getIterations() {
+            return 1;
+        }
+
+        @Override
+        public boolean isCompact() {
+            return false;
+        }
+    }
 }
@@ -23,18 +23,33 @@
  */
 package org.cqfn.astgen.interpreter;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import java.util.LinkedList;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-import org.cqfn.astgen.base.Builder;
 import org.cqfn.astgen.base.DraftNode;
 import org.cqfn.astgen.base.EmptyTree;
 import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.base.SymbolTable;
 
 /**
- * Converts a string contains JSON object to a syntax tree.
+ * Converts a string or a stream contains JSON object to a syntax tree.
+ * The JSON is read as a stream of tokens and nodes are built in one pass, so the source
+ * is never held in memory as a whole. An explicit stack is used instead of recursion,
+ * so the depth of the tree is limited only by the heap size. Nodes share types and
+ * equal data strings through a symbol table.
  *
  * @since 1.0
  */
@@ -60,85 +75,228 @@ public class JsonDeserializer {
     private static final String STR_CHILDREN = "children";
 
     /**
-     * String contains JSON object.
+     * Reader of the JSON object.
      */
-    private final String source;
+    private final Reader source;
 
     /**
      * Constructor.
      * @param source String contains JSON object.
      */
     public JsonDeserializer(final String source) {
+        this(new StringReader(source));
+    }
+
+    /**
+     * Constructor.
+     * The reader is not closed by the deserializer, and can be converted only once.
+     * @param source Reader of the JSON object
+     */
+    public JsonDeserializer(final Reader source) {
         this.source = source;
     }
 
     /**
-     * Converts the source string contains JSON object to a syntax tree.
+     * Constructor.
+     * The stream is not closed by the deserializer, and can be converted only once.
+     * @param source Stream contains JSON object in the UTF-8 encoding
+     */
+    public JsonDeserializer(final InputStream source) {
+        this(new InputStreamReader(source, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Converts the source contains JSON object to a syntax tree.
      * @return Root node
+     * @throws JsonSyntaxException If the JSON is malformed
+     * @throws JsonIOException If the source could not be read
      */
     public Node convert() {
         Node result = EmptyTree.INSTANCE;
-        final JsonElement element = new Gson().fromJson(this.source, JsonElement.class);
-        if (element.isJsonObject()) {
-            final JsonObject obj = element.getAsJsonObject();
-            if (obj.has(JsonDeserializer.STR_ROOT)) {
-                result = this.convertElement(obj.get(JsonDeserializer.STR_ROOT));
+        final JsonReader reader = new JsonReader(this.source);
+        reader.setLenient(true);
+        try {
+            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (JsonDeserializer.STR_ROOT.equals(reader.nextName())) {
+                        result = new Reading(reader).readNode();
+                    } else {
+                        reader.skipValue();
+                    }
+                }
             }
+        } catch (final MalformedJsonException | EOFException | IllegalStateException exception) {
+            throw new JsonSyntaxException(exception);
+        } catch (final IOException exception) {
+            throw new JsonIOException(exception);
         }
         return result;
     }
 
     /**
-     * Converts JSON element to node.
-     * @param element JSON element
-     * @return A node
+     * Reading of one tree.
+     *
+     * @since 1.0
      */
-    private Node convertElement(final JsonElement element) {
-        Node result = EmptyTree.INSTANCE;
-        if (element.isJsonObject()) {
-            final JsonObject obj = element.getAsJsonObject();
-            result = this.convertObject(obj);
+    private static final class Reading {
+        /**
+         * The JSON reader.
+         */
+        private final JsonReader reader;
+
+        /**
+         * The stack of JSON objects being read.
+         */
+        private final Deque<Frame> stack;
+
+        /**
+         * The symbol table.
+         */
+        private final SymbolTable symbols;
+
+        /**
+         * Constructor.
+         * @param reader The JSON reader
+         */
+        Reading(final JsonReader reader) {
+            this.reader = reader;
+            this.stack = new ArrayDeque<>();
+            this.symbols = new SymbolTable();
         }
-        return result;
-    }
 
-    /**
-     * Converts JSON object to node.
-     * @param obj JSON element
-     * @return A node
-     */
-    private Node convertObject(final JsonObject obj) {
-        Node result = EmptyTree.INSTANCE;
-        if (obj.has(JsonDeserializer.STR_TYPE)) {
-            final String type = obj.get(JsonDeserializer.STR_TYPE).getAsString();
-            final DraftNode.Constructor builder = new DraftNode.Constructor();
-            builder.setName(type);
-            this.fillNodeBuilder(obj, builder);
-            if (builder.isValid()) {
-                result = builder.createNode();
+        /**
+         * Reads a JSON element and converts it to a node.
+         * @return A node
+         * @throws IOException If the JSON is malformed
+         */
+        Node readNode() throws IOException {
+            final List<Node> result = new ArrayList<>(1);
+            this.readElement(result);
+            while (!this.stack.isEmpty()) {
+                final Frame frame = this.stack.peek();
+                if (frame.array) {
+                    this.readChild(frame);
+                } else if (this.reader.hasNext()) {
+                    this.readProperty(frame);
+                } else {
+                    this.reader.endObject();
+                    this.stack.pop();
+                    final Node node = frame.createNode();
+                    if (this.stack.isEmpty()) {
+                        result.add(node);
+                    } else {
+                        this.stack.peek().children.add(node);
+                    }
+                }
+            }
+            return result.get(0);
+        }
+
+        /**
+         * Reads the next element of the children array, or the end of the array.
+         * @param frame The JSON object that contains the array
+         * @throws IOException If the JSON is malformed
+         */
+        private void readChild(final Frame frame) throws IOException {
+            if (this.reader.hasNext()) {
+                this.readElement(frame.children);
+            } else {
+                this.reader.endArray();
+                frame.array = false;
+            }
+        }
+
+        /**
+         * Starts reading a JSON element. If the element is an object, pushes it
+         * onto the stack, otherwise skips the element and adds an empty tree to the list.
+         * @param list The list of nodes
+         * @throws IOException If the JSON is malformed
+         */
+        private void readElement(final List<Node> list) throws IOException {
+            if (this.reader.peek() == JsonToken.BEGIN_OBJECT) {
+                this.reader.beginObject();
+                this.stack.push(new Frame());
+            } else {
+                this.reader.skipValue();
+                list.add(EmptyTree.INSTANCE);
+            }
+        }
+
+        /**
+         * Reads a property of a JSON object that describes a node.
+         * Type names and data are taken from the symbol table.
+         * @param frame The JSON object
+         * @throws IOException If the JSON is malformed
+         */
+        private void readProperty(final Frame frame) throws IOException {
+            final String name = this.reader.nextName();
+            if (JsonDeserializer.STR_TYPE.equals(name)) {
+                frame.type = this.symbols.getTypeName(this.reader.nextString());
+            } else if (JsonDeserializer.STR_DATA.equals(name)) {
+                frame.data = this.symbols.intern(this.reader.nextString());
+            } else if (JsonDeserializer.STR_CHILDREN.equals(name)
+                && this.reader.peek() == JsonToken.BEGIN_ARRAY) {
+                this.reader.beginArray();
+                frame.children.clear();
+                frame.array = true;
+            } else {
+                this.reader.skipValue();
             }
         }
-        return result;
     }
 
     /**
-     * Fills the node builder.
-     * @param obj JSON element
-     * @param builder The node builder
+     * JSON object being read.
+     *
+     * @since 1.0
      */
-    private void fillNodeBuilder(final JsonObject obj, final Builder builder) {
-        if (obj.has(JsonDeserializer.STR_DATA)) {
-            builder.setData(obj.get(JsonDeserializer.STR_DATA).getAsString());
+    private static final class Frame {
+        /**
+         * The list of children.
+         */
+        private final List<Node> children;
+
+        /**
+         * The node type.
+         */
+        private String type;
+
+        /**
+         * The node data.
+         */
+        private String data;
+
+        /**
+         * Flag indicating that the children array is being read.
+         */
+        private boolean array;
+
+        /**
+         * Constructor.
+         */
+        Frame() {
+            this.children = new ArrayList<>(0);
         }
-        if (obj.has(JsonDeserializer.STR_CHILDREN)) {
-            final JsonElement children = obj.get(JsonDeserializer.STR_CHILDREN);
-            if (children.isJsonArray()) {
-                final List<Node> list = new LinkedList<>();
-                for (final JsonElement child : children.getAsJsonArray()) {
-                    list.add(this.convertElement(child));
+
+        /**
+         * Creates a node from the properties read.
+         * @return A node or empty tree if the object does not describe a node
+         */
+        Node createNode() {
+            Node result = EmptyTree.INSTANCE;
+            if (this.type != null) {
+                final DraftNode.Constructor builder = new DraftNode.Constructor();
+                builder.setName(this.type);
+                if (this.data != null) {
+                    builder.setData(this.data);
+                }
+                builder.setChildrenList(this.children);
+                if (builder.isValid()) {
+                    result = builder.createNode();
                 }
-                builder.setChildrenList(list);
             }
+            return result;
         }
     }
 }
@@ -23,17 +23,19 @@
  */
 package org.cqfn.astgen.interpreter;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import org.cqfn.astgen.base.Node;
-import org.cqfn.astgen.base.Type;
 import org.cqfn.astgen.utils.FilesWriter;
 
 /**
  * Converts a syntax tree to a string contains JSON object.
+ * The JSON is written as a stream of tokens, and an explicit stack is used instead
+ * of recursion, so the depth of the tree is limited only by the heap size.
  *
  * @since 1.0
  */
@@ -58,6 +60,11 @@ public final class JsonSerializer {
      */
     private static final String STR_CHILDREN = "children";
 
+    /**
+     * The indent used for pretty printing.
+     */
+    private static final String INDENT = "  ";
+
     /**
      * The root node.
      */
@@ -76,23 +83,71 @@ public final class JsonSerializer {
      * @return The syntax tree represents as a string
      */
     public String serialize() {
-        final JsonObject obj = new JsonObject();
-        obj.add(JsonSerializer.STR_ROOT, this.convertNode(this.root));
-        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        return gson.toJson(obj);
+        final StringWriter output = new StringWriter();
+        try {
+            this.serialize(output, true);
+        } catch (final IOException ignored) {
+            output.getBuffer().setLength(0);
+        }
+        return output.toString();
     }
 
     /**
-     * Converts the syntax tree to a string contains JSON object and
-     * writes the result to file.
+     * Writes the syntax tree as a JSON object.
+     * @param output Where to write
+     * @param pretty Flag indicating that the JSON is pretty printed,
+     *  otherwise it is written in the compact form
+     * @throws IOException If the JSON could not be written
+     */
+    public void serialize(final Writer output, final boolean pretty) throws IOException {
+        final JsonWriter writer = new JsonWriter(output);
+        writer.setHtmlSafe(true);
+        if (pretty) {
+            writer.setIndent(JsonSerializer.INDENT);
+        }
+        writer.beginObject();
+        writer.name(JsonSerializer.STR_ROOT);
+        final Deque<Cursor> stack = new ArrayDeque<>();
+        stack.push(JsonSerializer.beginNode(writer, this.root));
+        while (!stack.isEmpty()) {
+            final Cursor cursor = stack.peek();
+            if (cursor.index < cursor.count) {
+                final Node child = cursor.node.getChild(cursor.index);
+                cursor.index = cursor.index + 1;
+                stack.push(JsonSerializer.beginNode(writer, child));
+            } else {
+                if (cursor.count > 0) {
+                    writer.endArray();
+                }
+                writer.endObject();
+                stack.pop();
+            }
+        }
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * Writes the syntax tree as a pretty printed JSON object to file.
      * @param filename The file name
      * @return The result, {@code true} if the file was successful written
      */
     public boolean serializeToFile(final String filename) {
-        final String json = this.serialize();
+        return this.serializeToFile(filename, true);
+    }
+
+    /**
+     * Writes the syntax tree as a JSON object to file.
+     * The JSON is written through a buffer, so it is never held in memory as a whole.
+     * @param filename The file name
+     * @param pretty Flag indicating that the JSON is pretty printed,
+     *  otherwise it is written in the compact form
+     * @return The result, {@code true} if the file was successful written
+     */
+    public boolean serializeToFile(final String filename, final boolean pretty) {
         boolean success = true;
-        try {
-            new FilesWriter(filename).writeString(json);
+        try (Writer output = new FilesWriter(filename).openWriter()) {
+            this.serialize(output, pretty);
         } catch (final IOException ignored) {
             success = false;
         }
@@ -100,26 +155,57 @@ public final class JsonSerializer {
     }
 
     /**
-     * Converts node to JSON object.
-     * @param node Node
-     * @return JSON object
+     * Writes the beginning of a JSON object that describes a node: the type, the data
+     * and the beginning of the children array.
+     * @param writer The JSON writer
+     * @param node The node
+     * @return The position in the list of children of the node
+     * @throws IOException If the JSON could not be written
      */
-    private JsonObject convertNode(final Node node) {
-        final JsonObject result = new JsonObject();
-        final Type type = node.getType();
-        result.addProperty(JsonSerializer.STR_TYPE, type.getName());
+    private static Cursor beginNode(final JsonWriter writer, final Node node)
+        throws IOException {
+        writer.beginObject();
+        writer.name(JsonSerializer.STR_TYPE).value(node.getType().getName());
         final String data = node.getData();
         if (!data.isEmpty()) {
-            result.addProperty(JsonSerializer.STR_DATA, data);
+            writer.name(JsonSerializer.STR_DATA).value(data);
         }
-        final int count = node.getChildCount();
-        if (count > 0) {
-            final JsonArray children = new JsonArray();
-            result.add(JsonSerializer.STR_CHILDREN, children);
-            for (int index = 0; index < count; index = index + 1) {
-                children.add(this.convertNode(node.getChild(index)));
-            }
+        final Cursor cursor = new Cursor(node);
+        if (cursor.count > 0) {
+            writer.name(JsonSerializer.STR_CHILDREN);
+            writer.beginArray();
+        }
+        return cursor;
+    }
+
+    /**
+     * Position in the list of children of a node.
+     *
+     * @since 1.0
+     */
+    private static final class Cursor {
+        /**
+         * The node.
+         */
+        private final Node node;
+
+        /**
+         * The number of children.
+         */
+        private final int count;
+
+        /**
+         * The index of the next child.
+         */
+        private int index;
+
+        /**
+         * Constructor.
+         * @param node The node
+         */
+        Cursor(final Node node) {
+            this.node = node;
+            this.count = node.getChildCount();
         }
-        return result;
     }
 }
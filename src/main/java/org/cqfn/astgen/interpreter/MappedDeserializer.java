@@ -0,0 +1,560 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.cqfn.astgen.base.EmptyFragment;
+import org.cqfn.astgen.base.EmptyTree;
+import org.cqfn.astgen.base.Fragment;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.base.Type;
+import org.cqfn.astgen.base.TypeTable;
+
+/**
+ * Maps a file in the binary format, which is written by {@link BinarySerializer},
+ * into memory and exposes its nodes as views that decode node records on demand.
+ * Only the table of strings is read when the file is opened, so the tree is not
+ * materialized on the heap and may be larger than the heap. A view keeps the position
+ * of the last child it returned, so children are found in constant time when they are
+ * visited in the forward order; the first backward access builds an index of positions
+ * of all children of the node. Errors in node records are detected only when the records
+ * are decoded, and are reported as runtime exceptions. Views are safe for use
+ * by many threads.
+ *
+ * @since 1.0
+ */
+public final class MappedDeserializer {
+    /**
+     * The number of bits of the offset in a mapped segment.
+     */
+    private static final int SEGMENT_BITS = 30;
+
+    /**
+     * The file.
+     */
+    private final Path file;
+
+    /**
+     * Constructor.
+     * @param file The file contains a syntax tree in the binary format
+     */
+    public MappedDeserializer(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Maps the file and returns the view of the root node.
+     * The file can be modified or removed only when all views are unreachable.
+     * @return Root node
+     * @throws IOException If the file could not be mapped or has a wrong format
+     */
+    public Node convert() throws IOException {
+        final MappedByteBuffer[] segments;
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long length = 1L << MappedDeserializer.SEGMENT_BITS;
+            segments = new MappedByteBuffer[(int) ((size + length - 1) / length)];
+            for (int index = 0; index < segments.length; index = index + 1) {
+                final long start = index * length;
+                segments[index] = channel.map(
+                    FileChannel.MapMode.READ_ONLY, start, Math.min(length, size - start)
+                );
+            }
+        }
+        final Cursor cursor = new Cursor(new Tree(Arrays.asList(segments)), 0);
+        for (final byte expected : BinarySerializer.MAGIC) {
+            if (cursor.readByte() != expected) {
+                throw new IOException("Not a syntax tree in the binary format");
+            }
+        }
+        cursor.readStrings();
+        return Tree.getNode(new View(cursor));
+    }
+
+    /**
+     * The mapped file and the table of strings.
+     *
+     * @since 1.0
+     */
+    private static final class Tree {
+        /**
+         * The mask of the offset in a mapped segment.
+         */
+        private static final long MASK = (1L << MappedDeserializer.SEGMENT_BITS) - 1;
+
+        /**
+         * The mapped segments of the file.
+         */
+        private final List<MappedByteBuffer> segments;
+
+        /**
+         * The total size of segments.
+         */
+        private final long size;
+
+        /**
+         * The table of strings.
+         */
+        private List<String> strings;
+
+        /**
+         * The types arranged by indexes of their names in the table of strings,
+         * filled on demand.
+         */
+        private Type[] types;
+
+        /**
+         * Constructor.
+         * @param segments The mapped segments of the file
+         */
+        Tree(final List<MappedByteBuffer> segments) {
+            this.segments = segments;
+            this.size = segments.stream().mapToLong(MappedByteBuffer::capacity).sum();
+            this.strings = Collections.emptyList();
+            this.types = new Type[0];
+        }
+
+        /**
+         * Reads a byte.
+         * @param position The position in the file
+         * @return The byte
+         */
+        byte getByte(final long position) {
+            if (position >= this.size) {
+                throw new IllegalStateException("Unexpected end of the syntax tree");
+            }
+            return this.segments.get((int) (position >>> MappedDeserializer.SEGMENT_BITS))
+                .get((int) (position & Tree.MASK));
+        }
+
+        /**
+         * Sets the table of strings.
+         * @param table The strings
+         */
+        void setStrings(final List<String> table) {
+            this.strings = table;
+            this.types = new Type[table.size()];
+        }
+
+        /**
+         * Returns a string from the table.
+         * @param index The index of the string
+         * @return The string
+         */
+        String getString(final int index) {
+            if (index >= this.strings.size()) {
+                throw new IllegalStateException("Malformed string index");
+            }
+            return this.strings.get(index);
+        }
+
+        /**
+         * Returns the type of a node.
+         * @param kind The kind of the node, i.e. the index of its type name plus one,
+         *  or zero for an empty tree
+         * @return The type
+         */
+        Type getType(final int kind) {
+            Type type = EmptyTree.TYPE;
+            if (kind > 0) {
+                type = this.types[kind - 1];
+                if (type == null) {
+                    type = TypeTable.INSTANCE.getType(this.getString(kind - 1));
+                    this.types[kind - 1] = type;
+                }
+            }
+            return type;
+        }
+
+        /**
+         * Returns a node that the view represents.
+         * @param view The view
+         * @return The view itself, or the empty tree if the view represents an empty tree
+         */
+        static Node getNode(final View view) {
+            Node node = view;
+            if (view.kind == 0) {
+                node = EmptyTree.INSTANCE;
+            }
+            return node;
+        }
+    }
+
+    /**
+     * Position in the mapped file, which moves as numbers are read.
+     *
+     * @since 1.0
+     */
+    private static final class Cursor {
+        /**
+         * The maximum number of bytes of a variable-length integer.
+         */
+        private static final int MAX_BYTES = 10;
+
+        /**
+         * The message about a malformed number.
+         */
+        private static final String MALFORMED = "Malformed number";
+
+        /**
+         * The mapped file.
+         */
+        private final Tree tree;
+
+        /**
+         * The position.
+         */
+        private long position;
+
+        /**
+         * Constructor.
+         * @param tree The mapped file
+         * @param position The position
+         */
+        Cursor(final Tree tree, final long position) {
+            this.tree = tree;
+            this.position = position;
+        }
+
+        /**
+         * Returns the mapped file.
+         * @return The mapped file
+         */
+        Tree getTree() {
+            return this.tree;
+        }
+
+        /**
+         * Returns the position.
+         * @return The position
+         */
+        long getPosition() {
+            return this.position;
+        }
+
+        /**
+         * Reads a byte.
+         * @return The byte
+         */
+        byte readByte() {
+            final byte value = this.tree.getByte(this.position);
+            this.position = this.position + 1;
+            return value;
+        }
+
+        /**
+         * Reads an unsigned variable-length integer.
+         * @return The number
+         */
+        long readNumber() {
+            long result = 0;
+            int shift = 0;
+            int value = BinarySerializer.NEXT_BIT;
+            while ((value & BinarySerializer.NEXT_BIT) != 0) {
+                if (shift == BinarySerializer.SHIFT * Cursor.MAX_BYTES) {
+                    throw new IllegalStateException(Cursor.MALFORMED);
+                }
+                value = this.readByte();
+                result = result | (long) (value & BinarySerializer.LOW_BITS) << shift;
+                shift = shift + BinarySerializer.SHIFT;
+            }
+            return result;
+        }
+
+        /**
+         * Reads an unsigned variable-length integer that fits into an integer.
+         * @return The number
+         */
+        int readInteger() {
+            final long value = this.readNumber();
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalStateException(Cursor.MALFORMED);
+            }
+            return (int) value;
+        }
+
+        /**
+         * Reads the data of a node.
+         * @param kind The kind of the node
+         * @return The data
+         */
+        String readData(final int kind) {
+            String data = "";
+            if (kind > 0) {
+                data = this.tree.getString(this.readInteger());
+            }
+            return data;
+        }
+
+        /**
+         * Reads the number of children of a node.
+         * @param kind The kind of the node
+         * @return The number of children
+         */
+        int readCount(final int kind) {
+            int count = 0;
+            if (kind > 0) {
+                count = this.readInteger();
+            }
+            return count;
+        }
+
+        /**
+         * Reads the number of bytes of descendants of a node.
+         * @param count The number of children of the node
+         * @return The number of bytes
+         */
+        long readSize(final int count) {
+            long size = 0;
+            if (count > 0) {
+                size = this.readNumber();
+            }
+            return size;
+        }
+
+        /**
+         * Reads the table of strings and stores it in the mapped file.
+         */
+        void readStrings() {
+            final String[] table = new String[this.readInteger()];
+            for (int index = 0; index < table.length; index = index + 1) {
+                final byte[] bytes = new byte[this.readInteger()];
+                for (int item = 0; item < bytes.length; item = item + 1) {
+                    bytes[item] = this.readByte();
+                }
+                table[index] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            this.tree.setStrings(Arrays.asList(table));
+        }
+    }
+
+    /**
+     * View of a node record.
+     *
+     * @since 1.0
+     */
+    private static final class View implements Node {
+        /**
+         * The mapped file.
+         */
+        private final Tree tree;
+
+        /**
+         * The kind of the node.
+         */
+        private final int kind;
+
+        /**
+         * The data.
+         */
+        private final String data;
+
+        /**
+         * The number of children.
+         */
+        private final int count;
+
+        /**
+         * The number of bytes of descendants.
+         */
+        private final long size;
+
+        /**
+         * The position of the first child, which is also the end of the record.
+         */
+        private final long first;
+
+        /**
+         * The position of the child next to the last child found by the forward search.
+         * It does not refer to views of children, so visited subtrees are not retained.
+         * It is {@code null} until a child is found.
+         */
+        private volatile Mark mark;
+
+        /**
+         * The positions of all children, {@code null} until a child before the last
+         * child found is accessed. Accessing the last child found again, or the first
+         * child, which starts a new pass over the children, does not need the positions.
+         */
+        private volatile long[] positions;
+
+        /**
+         * Constructor, decodes a node record.
+         * @param cursor The position of the record, which is moved to the end of the record
+         */
+        View(final Cursor cursor) {
+            this.tree = cursor.getTree();
+            this.kind = cursor.readInteger();
+            this.data = cursor.readData(this.kind);
+            this.count = cursor.readCount(this.kind);
+            this.size = cursor.readSize(this.count);
+            this.first = cursor.getPosition();
+        }
+
+        @Override
+        public Fragment getFragment() {
+            return EmptyFragment.INSTANCE;
+        }
+
+        @Override
+        public Type getType() {
+            return this.tree.getType(this.kind);
+        }
+
+        @Override
+        public String getData() {
+            return this.data;
+        }
+
+        @Override
+        public int getChildCount() {
+            return this.count;
+        }
+
+        @Override
+        public Node getChild(final int position) {
+            if (position < 0 || position >= this.count) {
+                throw new IndexOutOfBoundsException();
+            }
+            long[] array = this.positions;
+            final Mark start = this.mark;
+            final View child;
+            if (array == null && start != null && start.index - 1 == position) {
+                child = new View(new Cursor(this.tree, start.previous));
+            } else if (array == null && (start == null || position == 0)) {
+                child = this.findForward(null, position);
+            } else if (array == null && start.index <= position) {
+                child = this.findForward(start, position);
+            } else {
+                if (array == null) {
+                    array = this.buildIndex();
+                    this.positions = array;
+                }
+                child = new View(new Cursor(this.tree, array[position]));
+            }
+            return Tree.getNode(child);
+        }
+
+        @Override
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        public boolean equals(final Object obj) {
+            return obj instanceof View && ((View) obj).tree == this.tree
+                && ((View) obj).first == this.first;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(this.first);
+        }
+
+        /**
+         * Finds a child starting from the marked child, or from the first child.
+         * @param start The marked child, or {@code null}
+         * @param position The index of the child, which is not before the marked child
+         * @return The view of the child
+         */
+        private View findForward(final Mark start, final int position) {
+            int item = 0;
+            long next = this.first;
+            if (start != null) {
+                item = start.index;
+                next = start.position;
+            }
+            long current = next;
+            View child = new View(new Cursor(this.tree, current));
+            while (item < position) {
+                current = child.getEnd();
+                child = new View(new Cursor(this.tree, current));
+                item = item + 1;
+            }
+            this.mark = new Mark(position + 1, child.getEnd(), current);
+            return child;
+        }
+
+        /**
+         * Finds positions of all children.
+         * @return The positions
+         */
+        private long[] buildIndex() {
+            final long[] array = new long[this.count];
+            long position = this.first;
+            for (int item = 0; item < this.count; item = item + 1) {
+                array[item] = position;
+                position = new View(new Cursor(this.tree, position)).getEnd();
+            }
+            return array;
+        }
+
+        /**
+         * Returns the position after the records of the node and its descendants.
+         * @return The position
+         */
+        private long getEnd() {
+            return this.first + this.size;
+        }
+    }
+
+    /**
+     * Index and position of a child.
+     *
+     * @since 1.0
+     */
+    private static final class Mark {
+        /**
+         * The index of the child.
+         */
+        private final int index;
+
+        /**
+         * The position of the child record.
+         */
+        private final long position;
+
+        /**
+         * The position of the record of the previous child, so that the child
+         * found last can be accessed again without the index of all children.
+         */
+        private final long previous;
+
+        /**
+         * Constructor.
+         * @param index The index of the child
+         * @param position The position of the child record
+         * @param previous The position of the record of the previous child
+         */
+        Mark(final int index, final long position, final long previous) {
+            this.index = index;
+            this.position = position;
+            this.previous = previous;
+        }
+    }
+}
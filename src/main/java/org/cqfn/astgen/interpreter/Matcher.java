@@ -23,10 +23,12 @@
  */
 package org.cqfn.astgen.interpreter;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import org.cqfn.astgen.base.Captures;
 import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.base.Type;
+import org.cqfn.astgen.base.TypeTable;
 import org.cqfn.astgen.rules.Data;
 import org.cqfn.astgen.rules.Descriptor;
 import org.cqfn.astgen.rules.Hole;
@@ -35,6 +37,8 @@ import org.cqfn.astgen.rules.StringData;
 
 /**
  * Matcher that works with the raw descriptor.
+ * Nested matchers are built at construction, after that the matcher is immutable,
+ * so one instance can be used by any number of threads.
  *
  * @since 1.0
  */
@@ -45,34 +49,69 @@ public final class Matcher implements org.cqfn.astgen.base.Matcher {
     private final Descriptor descriptor;
 
     /**
-     * The list of nested matchers.
+     * The expected type, shared by all draft nodes with the same type name.
+     */
+    private final Type type;
+
+    /**
+     * The list of nested matchers, one for each parameter that is a descriptor.
      */
     private final Matcher[] subs;
 
+    /**
+     * The parameters of the descriptor, cached so that matching does not
+     * request a fresh list view on each call.
+     */
+    private final Parameter[] parameters;
+
     /**
      * Constructor.
      * @param descriptor The descriptor
      */
     public Matcher(final Descriptor descriptor) {
         this.descriptor = descriptor;
-        this.subs = new Matcher[this.descriptor.getParameters().size()];
+        this.type = TypeTable.INSTANCE.getType(descriptor.getType());
+        this.subs = Matcher.compile(descriptor.getParameters());
+        this.parameters = descriptor.getParameters().toArray(new Parameter[0]);
+    }
+
+    @Override
+    public boolean match(final Node node, final Captures captures) {
+        final boolean result = this.checkType(node) && this.checkChildCount(node)
+            && this.checkData(node) && this.checkChildren(node, captures);
+        if (result) {
+            this.extract(node, captures);
+        }
+        return result;
     }
 
     @Override
     public boolean match(final Node node, final Map<Integer, List<Node>> children,
         final Map<Integer, String> data) {
-        return this.checkType(node) && this.checkChildCount(node)
-            && this.checkAndExtractData(node, data)
-            && this.checkAndExtractChildren(node, children, data);
+        return Captures.match(this, node, children, data);
     }
 
     /**
      * Checks the type matches.
+     * Types of draft nodes are shared, so they are compared by identity,
+     * other types, including types taken before the table was cleared,
+     * are compared by name.
      * @param node The node
      * @return Checking result, {@code true} if the type matches
      */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
     private boolean checkType(final Node node) {
-        return node.getType().getName().equals(this.descriptor.getType());
+        final Type actual = node.getType();
+        final boolean result;
+        if (actual == this.type) {
+            result = true;
+        } else if (TypeTable.INSTANCE.contains(actual)
+            && TypeTable.INSTANCE.contains(this.type)) {
+            result = false;
+        } else {
+            result = actual.getName().equals(this.descriptor.getType());
+        }
+        return result;
     }
 
     /**
@@ -81,61 +120,79 @@ public final class Matcher implements org.cqfn.astgen.base.Matcher {
      * @return Checking result, {@code true} if the number of child nodes matches
      */
     private boolean checkChildCount(final Node node) {
-        return node.getChildCount() == this.descriptor.getParameters().size();
+        return node.getChildCount() == this.parameters.length;
     }
 
     /**
-     * Checks the data matches, extracts the data.
+     * Checks the data matches.
      * @param node The node
-     * @param extracted The collection for saving extracted data
      * @return Checking result, {@code true} if the data matches
      */
-    private boolean checkAndExtractData(final Node node, final Map<Integer, String> extracted) {
+    private boolean checkData(final Node node) {
         final Data data = this.descriptor.getData();
         final boolean result;
         if (data instanceof StringData) {
             result = node.getData().equals(((StringData) data).getValue());
-        } else if (data instanceof Hole) {
-            extracted.put(((Hole) data).getValue(), node.getData());
-            result = true;
         } else {
-            result = node.getData().isEmpty();
+            result = data instanceof Hole || node.getData().isEmpty();
         }
         return result;
     }
 
     /**
-     * Checks the child nodes matches, extracts the children.
+     * Checks the child nodes matches. Nested matchers extract children and data
+     * of their nodes.
      * @param node The node
-     * @param children The collection for saving extracted children
-     * @param data The collection for saving extracted data
-     * @return Checking result, {@code true} if the data matches
+     * @param captures The frame for saving children and data extracted by nested matchers
+     * @return Checking result, {@code true} if the child nodes match
      */
-    private boolean checkAndExtractChildren(final Node node, final Map<Integer,
-        List<Node>> children, final Map<Integer, String> data) {
+    private boolean checkChildren(final Node node, final Captures captures) {
         boolean result = true;
-        final List<Parameter> parameters = this.descriptor.getParameters();
-        assert node.getChildCount() == parameters.size();
-        int index = 0;
-        for (final Parameter parameter : parameters) {
-            final Node child = node.getChild(index);
-            if (parameter instanceof Hole) {
-                children.put(((Hole) parameter).getValue(), Collections.singletonList(child));
-            } else if (parameter instanceof Descriptor) {
-                final Matcher mather;
-                if (this.subs[index] == null) {
-                    mather = new Matcher((Descriptor) parameter);
-                    this.subs[index] = mather;
-                } else {
-                    mather = this.subs[index];
-                }
-                result = mather.match(child, children, data);
+        assert node.getChildCount() == this.parameters.length;
+        for (int index = 0; index < this.parameters.length; index = index + 1) {
+            if (this.subs[index] != null) {
+                result = this.subs[index].match(node.getChild(index), captures);
                 if (!result) {
                     break;
                 }
             }
-            index = index + 1;
         }
         return result;
     }
+
+    /**
+     * Extracts the data and the children of the node that matched.
+     * @param node The node
+     * @param captures The frame for saving extracted children and data
+     */
+    private void extract(final Node node, final Captures captures) {
+        final Data data = this.descriptor.getData();
+        if (data instanceof Hole) {
+            captures.putData(((Hole) data).getValue(), node.getData());
+        }
+        for (int index = 0; index < this.parameters.length; index = index + 1) {
+            final Parameter parameter = this.parameters[index];
+            if (parameter instanceof Hole) {
+                captures.putChild(((Hole) parameter).getValue(), node.getChild(index));
+            }
+        }
+    }
+
+    /**
+     * Builds nested matchers.
+     * @param parameters The parameters of the descriptor
+     * @return The array of matchers, which contains a matcher for each parameter
+     *  that is a descriptor
+     */
+    private static Matcher[] compile(final List<Parameter> parameters) {
+        final Matcher[] matchers = new Matcher[parameters.size()];
+        int index = 0;
+        for (final Parameter parameter : parameters) {
+            if (parameter instanceof Descriptor) {
+                matchers[index] = new Matcher((Descriptor) parameter);
+            }
+            index = index + 1;
+        }
+        return matchers;
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.File;
+
+/**
+ * Options required for conversion.
+ *
+ * @since 1.0
+ */
+public interface Options {
+    /**
+     * Returns the file that contains the source syntax tree.
+     * @return The source file
+     */
+    File getSource();
+
+    /**
+     * Returns the file for saving the resulting syntax tree.
+     * @return The destination file
+     */
+    File getDestination();
+
+    /**
+     * Returns the maximum number of conversion passes.
+     * If the number is greater than one, the conversion is repeated
+     * until the tree stops changing or the limit is reached.
+     * @return The number of passes
+     */
+    int getIterations();
+
+    /**
+     * Returns the flag indicating that the resulting syntax tree is written
+     * in the compact JSON form, without indents and line breaks.
+     * @return The flag
+     */
+    boolean isCompact();
+
+    /**
+     * Returns the format of the source file.
+     * @return The format
+     */
+    default TreeFormat getSourceFormat() {
+        return TreeFormat.JSON;
+    }
+
+    /**
+     * Returns the flag indicating that a source file in the binary format is mapped
+     * into memory and its nodes are decoded on demand, instead of being read.
+     * @return The flag
+     */
+    default boolean isMapped() {
+        return false;
+    }
+
+    /**
+     * Returns the format of the destination file.
+     * @return The format
+     */
+    default TreeFormat getDestinationFormat() {
+        return TreeFormat.JSON;
+    }
+
+    /**
+     * Returns the file for saving the statistics of conversion rules,
+     * the report is in the JSON format if the file has the '.json' extension
+     * and in the text format otherwise.
+     * @return The file or {@code null} if the statistics are not collected
+     */
+    default File getStatisticsFile() {
+        return null;
+    }
+}
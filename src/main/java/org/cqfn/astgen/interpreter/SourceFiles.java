@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.cqfn.astgen.exceptions.InterpreterCouldNotReadFile;
+import org.cqfn.astgen.exceptions.InterpreterException;
+
+/**
+ * The set of files that contain source syntax trees, converted in the batch mode.
+ * It is described either by a directory, then all files in the JSON and binary formats
+ * in the directory and its subdirectories are included, or by a glob pattern,
+ * for example, 'trees/*.json'.
+ * The part of the pattern before the first wildcard is the base directory.
+ *
+ * @since 1.0
+ */
+final class SourceFiles {
+    /**
+     * The characters that have a special meaning in glob patterns.
+     */
+    private static final String WILDCARDS = "*?[{";
+
+    /**
+     * The pattern that matches all files in the JSON and binary formats.
+     */
+    private static final String ALL = "**.{json,ast}";
+
+    /**
+     * The base directory.
+     */
+    private final Path base;
+
+    /**
+     * The glob pattern, relative to the base directory.
+     */
+    private final String glob;
+
+    /**
+     * Constructor.
+     * @param pattern The directory or the glob pattern
+     */
+    SourceFiles(final String pattern) {
+        this.base = SourceFiles.getBase(pattern);
+        this.glob = SourceFiles.getGlob(pattern);
+    }
+
+    /**
+     * Finds all files matching the pattern.
+     * @return The sorted list of files
+     * @throws InterpreterException If the base directory could not be read
+     */
+    List<Path> find() throws InterpreterException {
+        final PathMatcher matcher =
+            FileSystems.getDefault().getPathMatcher("glob:".concat(this.glob));
+        List<Path> result;
+        boolean success;
+        try (Stream<Path> stream = Files.walk(this.base)) {
+            result = stream
+                .filter(Files::isRegularFile)
+                .filter(path -> matcher.matches(this.base.relativize(path)))
+                .sorted()
+                .collect(Collectors.toList());
+            success = true;
+        } catch (final IOException ignored) {
+            result = Collections.emptyList();
+            success = false;
+        }
+        if (!success) {
+            throw new InterpreterCouldNotReadFile(this.base.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the path of the file relative to the base directory.
+     * @param file The file
+     * @return The relative path
+     */
+    Path relativize(final Path file) {
+        return this.base.relativize(file);
+    }
+
+    /**
+     * Returns the base directory of the pattern.
+     * @param pattern The directory or the glob pattern
+     * @return The base directory
+     */
+    private static Path getBase(final String pattern) {
+        final int wildcard = SourceFiles.findWildcard(pattern);
+        final int cut = SourceFiles.findSeparator(pattern, wildcard);
+        final Path base;
+        if (wildcard < 0) {
+            base = Paths.get(pattern);
+        } else if (cut < 0) {
+            base = Paths.get(".");
+        } else {
+            base = Paths.get(pattern.substring(0, Math.max(cut, 1)));
+        }
+        return base;
+    }
+
+    /**
+     * Returns the glob pattern relative to the base directory.
+     * @param pattern The directory or the glob pattern
+     * @return The relative glob pattern
+     */
+    private static String getGlob(final String pattern) {
+        final int wildcard = SourceFiles.findWildcard(pattern);
+        final String glob;
+        if (wildcard < 0) {
+            glob = SourceFiles.ALL;
+        } else {
+            glob = pattern.substring(SourceFiles.findSeparator(pattern, wildcard) + 1);
+        }
+        return glob;
+    }
+
+    /**
+     * Finds the first wildcard in the pattern.
+     * @param pattern The directory or the glob pattern
+     * @return The index of the wildcard, or {@code -1} if the pattern is a plain directory
+     */
+    private static int findWildcard(final String pattern) {
+        int wildcard = -1;
+        for (int index = 0; index < pattern.length() && wildcard < 0; index = index + 1) {
+            if (SourceFiles.WILDCARDS.indexOf(pattern.charAt(index)) >= 0) {
+                wildcard = index;
+            }
+        }
+        return wildcard;
+    }
+
+    /**
+     * Finds the last path separator before the wildcard, which separates
+     * the base directory from the glob pattern.
+     * @param pattern The glob pattern
+     * @param wildcard The index of the first wildcard
+     * @return The index of the separator, or {@code -1} if there is no separator
+     */
+    private static int findSeparator(final String pattern, final int wildcard) {
+        int cut = -1;
+        if (wildcard >= 0) {
+            cut = Math.max(
+                pattern.lastIndexOf('/', wildcard),
+                pattern.lastIndexOf(File.separatorChar, wildcard)
+            );
+        }
+        return cut;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.cqfn.astgen.base.Statistics;
+import org.cqfn.astgen.exceptions.InterpreterCouldNotWriteFile;
+import org.cqfn.astgen.rules.Program;
+import org.cqfn.astgen.rules.Statement;
+import org.cqfn.astgen.rules.Transformation;
+import org.cqfn.astgen.utils.FilesWriter;
+
+/**
+ * Report on the statistics of conversion rules.
+ * The JSON report lists rules in the order of the DSL, the text report
+ * lists them by the time spent, the slowest rule first.
+ *
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.CloseResource")
+final class StatisticsReport {
+    /**
+     * The extension of JSON reports.
+     */
+    private static final String JSON = ".json";
+
+    /**
+     * The name of the property that contains the time, in nanoseconds.
+     */
+    private static final String TIME = "time";
+
+    /**
+     * The format of a line of the text report.
+     */
+    private static final String LINE = "%5d %12d %12d %12d %12.3f  %s%n";
+
+    /**
+     * The statistics.
+     */
+    private final Statistics statistics;
+
+    /**
+     * Constructor.
+     * @param statistics The statistics
+     */
+    StatisticsReport(final Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Saves the report to a file.
+     * @param file The file, the report is written in the JSON format if its name
+     *  ends with '.json' and in the text format otherwise
+     * @throws InterpreterCouldNotWriteFile If the file could not be written
+     */
+    public void save(final File file) throws InterpreterCouldNotWriteFile {
+        boolean written;
+        try (Writer output = new FilesWriter(file.getPath()).openWriter()) {
+            if (file.getName().toLowerCase(Locale.ENGLISH).endsWith(StatisticsReport.JSON)) {
+                this.writeJson(output);
+            } else {
+                this.writeText(output);
+            }
+            written = true;
+        } catch (final IOException ignored) {
+            written = false;
+        }
+        if (!written) {
+            throw new InterpreterCouldNotWriteFile(file.getPath());
+        }
+    }
+
+    /**
+     * Creates statistics for the transformation rules of a program,
+     * if the options request a report.
+     * @param program The program
+     * @param options The conversion options
+     * @return The statistics, disabled if the report is not requested
+     */
+    static Statistics createStatistics(final Program program, final Options options) {
+        Statistics result = Statistics.DISABLED;
+        if (options.getStatisticsFile() != null) {
+            final List<Statement<Transformation>> statements = program.getTransformations();
+            final List<String> names = new ArrayList<>(statements.size());
+            for (final Statement<Transformation> statement : statements) {
+                names.add(statement.toString());
+            }
+            result = new Statistics(names);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the report in the JSON format.
+     * @param output The writer
+     * @throws IOException If the report could not be written
+     */
+    private void writeJson(final Writer output) throws IOException {
+        final JsonWriter writer = new JsonWriter(output);
+        writer.setIndent("  ");
+        writer.beginObject();
+        writer.name("trees").value(this.statistics.getTrees());
+        writer.name(StatisticsReport.TIME).value(this.statistics.getTotalTime());
+        writer.name("rules").beginArray();
+        for (int rule = 0; rule < this.statistics.size(); rule = rule + 1) {
+            writer.beginObject();
+            writer.name("index").value(rule);
+            writer.name("rule").value(this.statistics.getName(rule));
+            writer.name("attempts").value(this.statistics.getAttempts(rule));
+            writer.name("matches").value(this.statistics.getMatches(rule));
+            writer.name("rewrites").value(this.statistics.getRewrites(rule));
+            writer.name(StatisticsReport.TIME).value(this.statistics.getTime(rule));
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * Writes the report in the text format.
+     * @param output The writer
+     */
+    private void writeText(final Writer output) {
+        final PrintWriter writer = new PrintWriter(output);
+        writer.printf(
+            "Trees: %d, time: %.3f ms%n",
+            this.statistics.getTrees(),
+            StatisticsReport.toMillis(this.statistics.getTotalTime())
+        );
+        writer.printf(
+            "%5s %12s %12s %12s %12s  %s%n",
+            "Index", "Attempts", "Matches", "Rewrites", "Time, ms", "Rule"
+        );
+        final List<Integer> rules = new ArrayList<>(this.statistics.size());
+        for (int rule = 0; rule < this.statistics.size(); rule = rule + 1) {
+            rules.add(rule);
+        }
+        rules.sort(
+            Comparator.comparingLong((Integer rule) -> this.statistics.getTime(rule)).reversed()
+        );
+        for (final int rule : rules) {
+            writer.printf(
+                StatisticsReport.LINE,
+                rule,
+                this.statistics.getAttempts(rule),
+                this.statistics.getMatches(rule),
+                this.statistics.getRewrites(rule),
+                StatisticsReport.toMillis(this.statistics.getTime(rule)),
+                this.statistics.getName(rule)
+            );
+        }
+        writer.flush();
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds.
+     * @param nanos The nanoseconds
+     * @return The milliseconds
+     */
+    private static double toMillis(final long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
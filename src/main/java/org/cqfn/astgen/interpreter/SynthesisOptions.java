@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.File;
+
+/**
+ * Options required for the synthesis of random syntax trees.
+ *
+ * @since 1.0
+ */
+public interface SynthesisOptions {
+    /**
+     * Returns the file for saving the synthesized syntax tree.
+     * @return The destination file
+     */
+    File getDestination();
+
+    /**
+     * Checks whether the tree is written in the compact JSON form, without indents.
+     * @return Checking result
+     */
+    boolean isCompact();
+
+    /**
+     * Returns the number of nodes the tree grows to. The tree stops growing
+     * when it has this number of nodes, the nodes that are required by rules
+     * are added afterwards, so the tree can be a bit larger.
+     * @return The number of nodes
+     */
+    int getSize();
+
+    /**
+     * Returns the maximum depth of the tree, the root node has the depth 1.
+     * @return The maximum depth
+     */
+    int getDepth();
+
+    /**
+     * Returns the maximum number of children of a list node.
+     * The root node, if it is a list, has as many children as the size needs.
+     * @return The maximum number of children
+     */
+    int getFanout();
+
+    /**
+     * Returns the seed of the random number generator, the same seed and rules
+     * give the same tree.
+     * @return The seed
+     */
+    long getSeed();
+
+    /**
+     * Returns the type of the root node. If it is empty, the type that is not
+     * a part of any other type and contains most types is taken.
+     * @return The type name
+     */
+    String getRoot();
+}
@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import org.cqfn.astgen.base.Node;
+
+/**
+ * The format of files that contain syntax trees.
+ *
+ * @since 1.0
+ */
+public enum TreeFormat {
+    /**
+     * The JSON object with the 'root' property.
+     */
+    JSON(".json") {
+        @Override
+        public Node read(final InputStream stream) {
+            return new JsonDeserializer(stream).convert();
+        }
+
+        @Override
+        public void write(final Node root, final OutputStream stream, final boolean pretty)
+            throws IOException {
+            final Writer writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+            new JsonSerializer(root).serialize(writer, pretty);
+            writer.flush();
+        }
+    },
+
+    /**
+     * The compact binary format, see {@link BinarySerializer}.
+     */
+    BINARY(".ast") {
+        @Override
+        public Node read(final InputStream stream) throws IOException {
+            return new BinaryDeserializer(stream).convert();
+        }
+
+        @Override
+        public void write(final Node root, final OutputStream stream, final boolean pretty)
+            throws IOException {
+            new BinarySerializer(root).serialize(stream);
+        }
+    };
+
+    /**
+     * The file extension.
+     */
+    private final String extension;
+
+    /**
+     * Constructor.
+     * @param extension The file extension
+     */
+    TreeFormat(final String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Returns the file extension of the format, with the dot.
+     * @return The extension
+     */
+    public String getExtension() {
+        return this.extension;
+    }
+
+    /**
+     * Chooses the format of a file by its extension, files with the '.ast'
+     * extension are in the binary format, other files are in the JSON format.
+     * @param file The file
+     * @return The format
+     */
+    public static TreeFormat byFile(final File file) {
+        TreeFormat result = TreeFormat.JSON;
+        if (file.getName().endsWith(TreeFormat.BINARY.extension)) {
+            result = TreeFormat.BINARY;
+        }
+        return result;
+    }
+
+    /**
+     * Reads a syntax tree from the stream. The stream is not closed.
+     * @param stream The stream
+     * @return The root node
+     * @throws IOException If the stream could not be read or has a wrong format
+     */
+    public abstract Node read(InputStream stream) throws IOException;
+
+    /**
+     * Writes a syntax tree to the stream. The stream is not closed.
+     * @param root The root node
+     * @param stream The stream
+     * @param pretty Flag indicating that the tree is pretty printed,
+     *  the binary format ignores it
+     * @throws IOException If the stream could not be written
+     */
+    public abstract void write(Node root, OutputStream stream, boolean pretty)
+        throws IOException;
+}
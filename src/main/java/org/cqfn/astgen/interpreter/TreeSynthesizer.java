@@ -0,0 +1,459 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import org.cqfn.astgen.exceptions.DestinationNotSpecified;
+import org.cqfn.astgen.exceptions.InterpreterCouldNotSynthesizeTree;
+import org.cqfn.astgen.exceptions.InterpreterCouldNotWriteFile;
+import org.cqfn.astgen.exceptions.InterpreterException;
+import org.cqfn.astgen.rules.Program;
+import org.cqfn.astgen.utils.FilesWriter;
+
+/**
+ * Synthesizes a random syntax tree that satisfies the node descriptions of a DSL
+ * program and writes it in the JSON format. Nodes are written as soon as they are
+ * created, so the tree is never held in memory and may have any size.
+ * Each abstract type is replaced with one of the final types it includes,
+ * optional children are added with the probability 1/2, and lists get from zero
+ * to the fan-out elements. Once the tree has the requested number of nodes,
+ * it stops growing: only required children are added, and types with the least
+ * trees are chosen.
+ *
+ * @since 1.0
+ */
+public final class TreeSynthesizer {
+    /**
+     * The 'root' string.
+     */
+    private static final String STR_ROOT = "root";
+
+    /**
+     * The 'type' string.
+     */
+    private static final String STR_TYPE = "type";
+
+    /**
+     * The 'data' string.
+     */
+    private static final String STR_DATA = "data";
+
+    /**
+     * The 'children' string.
+     */
+    private static final String STR_CHILDREN = "children";
+
+    /**
+     * The indent of the pretty printed JSON.
+     */
+    private static final String INDENT = "  ";
+
+    /**
+     * The number of distinct values of literals of each type.
+     */
+    private static final int VOCABULARY = 100;
+
+    /**
+     * The number of letters in the alphabet.
+     */
+    private static final int LETTERS = 26;
+
+    /**
+     * The divisor that turns an integer into a fractional number.
+     */
+    private static final double HALF = 2.0;
+
+    /**
+     * The classes of integer literals.
+     */
+    private static final List<String> INTEGERS = Arrays.asList(
+        "int", "Integer", "long", "Long", "short", "Short", "byte", "Byte"
+    );
+
+    /**
+     * The classes of fractional literals.
+     */
+    private static final List<String> FRACTIONS = Arrays.asList(
+        "double", "Double", "float", "Float"
+    );
+
+    /**
+     * The classes of boolean literals.
+     */
+    private static final List<String> BOOLEANS = Arrays.asList("boolean", "Boolean");
+
+    /**
+     * The classes of character literals.
+     */
+    private static final List<String> CHARACTERS = Arrays.asList("char", "Character");
+
+    /**
+     * The node types.
+     */
+    private final Grammar grammar;
+
+    /**
+     * The options.
+     */
+    private final SynthesisOptions options;
+
+    /**
+     * Constructor.
+     * @param program The program that describes node types
+     * @param options The options
+     */
+    public TreeSynthesizer(final Program program, final SynthesisOptions options) {
+        this.grammar = Grammar.build(program);
+        this.options = options;
+    }
+
+    /**
+     * Synthesizes a tree and writes it to the destination file.
+     * @throws InterpreterException If the tree could not be synthesized or written
+     */
+    public void run() throws InterpreterException {
+        final File destination = this.options.getDestination();
+        if (destination == null) {
+            throw DestinationNotSpecified.INSTANCE;
+        }
+        this.getRoot();
+        boolean written;
+        try (Writer output = new FilesWriter(destination.getPath()).openWriter()) {
+            this.synthesize(output, !this.options.isCompact());
+            written = true;
+        } catch (final IOException ignored) {
+            written = false;
+        }
+        if (!written) {
+            throw new InterpreterCouldNotWriteFile(destination.getPath());
+        }
+    }
+
+    /**
+     * Synthesizes a tree and writes it.
+     * @param output The writer
+     * @param pretty Flag indicating that the JSON is pretty printed,
+     *  otherwise it is written in the compact form
+     * @return The number of nodes in the tree
+     * @throws IOException If the JSON could not be written
+     * @throws InterpreterException If the tree could not be synthesized
+     */
+    public long synthesize(final Writer output, final boolean pretty)
+        throws IOException, InterpreterException {
+        final Grammar.Choice root = this.getRoot();
+        final JsonWriter writer = new JsonWriter(output);
+        writer.setHtmlSafe(true);
+        if (pretty) {
+            writer.setIndent(TreeSynthesizer.INDENT);
+        }
+        final Generation generation = new Generation(writer, this.options);
+        generation.run(root);
+        writer.flush();
+        return generation.count;
+    }
+
+    /**
+     * Returns the final types of the root node.
+     * @return The final types
+     * @throws InterpreterCouldNotSynthesizeTree If no tree fits in the depth
+     */
+    private Grammar.Choice getRoot() throws InterpreterCouldNotSynthesizeTree {
+        final Grammar.Choice root = this.grammar.getRoot(this.options.getRoot());
+        final int depth = this.options.getDepth();
+        if (root.count(depth) == 0) {
+            throw new InterpreterCouldNotSynthesizeTree(root.getType(), depth);
+        }
+        return root;
+    }
+
+    /**
+     * The state of the synthesis of one tree.
+     *
+     * @since 1.0
+     */
+    private static final class Generation {
+        /**
+         * The JSON writer.
+         */
+        private final JsonWriter writer;
+
+        /**
+         * The random number generator.
+         */
+        private final Random random;
+
+        /**
+         * The number of nodes the tree grows to.
+         */
+        private final long size;
+
+        /**
+         * The maximum depth.
+         */
+        private final int depth;
+
+        /**
+         * The maximum number of elements of a list.
+         */
+        private final int fanout;
+
+        /**
+         * The nodes whose children are being written.
+         */
+        private final Deque<Frame> stack;
+
+        /**
+         * The number of written nodes.
+         */
+        private long count;
+
+        /**
+         * Constructor.
+         * @param writer The JSON writer
+         * @param options The options
+         */
+        Generation(final JsonWriter writer, final SynthesisOptions options) {
+            this.writer = writer;
+            this.random = new Random(options.getSeed());
+            this.size = options.getSize();
+            this.depth = options.getDepth();
+            this.fanout = options.getFanout();
+            this.stack = new ArrayDeque<>();
+        }
+
+        /**
+         * Writes the tree.
+         * @param root The final types of the root node
+         * @throws IOException If the JSON could not be written
+         */
+        void run(final Grammar.Choice root) throws IOException {
+            this.writer.beginObject();
+            this.writer.name(TreeSynthesizer.STR_ROOT);
+            this.begin(root, 1);
+            while (!this.stack.isEmpty()) {
+                final Frame frame = this.stack.peek();
+                if (frame.hasNext(this.count < this.size)) {
+                    this.begin(frame.next(), frame.level + 1);
+                } else {
+                    this.writer.endArray();
+                    this.writer.endObject();
+                    this.stack.pop();
+                }
+            }
+            this.writer.endObject();
+        }
+
+        /**
+         * Writes the beginning of a node: the type, the data and the beginning
+         * of the children array. A node without children is written completely.
+         * @param choice The final types of the node
+         * @param level The depth of the node
+         * @throws IOException If the JSON could not be written
+         */
+        private void begin(final Grammar.Choice choice, final int level) throws IOException {
+            final Grammar.Production production;
+            if (this.count < this.size) {
+                production = choice.get(
+                    this.random.nextInt(choice.count(this.depth - level + 1))
+                );
+            } else {
+                production = choice.get(0);
+            }
+            this.count = this.count + 1;
+            this.writer.beginObject();
+            this.writer.name(TreeSynthesizer.STR_TYPE).value(production.getName());
+            if (production.isLiteral()) {
+                this.writer.name(TreeSynthesizer.STR_DATA)
+                    .value(this.createData(production.getKlass()));
+            }
+            final Frame frame = this.plan(production, level);
+            if (frame.limit > 0) {
+                this.writer.name(TreeSynthesizer.STR_CHILDREN);
+                this.writer.beginArray();
+                this.stack.push(frame);
+            } else {
+                this.writer.endObject();
+            }
+        }
+
+        /**
+         * Decides which children a node has.
+         * @param production The final type of the node
+         * @param level The depth of the node
+         * @return The position in the list of children of the node
+         */
+        private Frame plan(final Grammar.Production production, final int level) {
+            final Frame frame;
+            if (production.isList()) {
+                frame = new Frame(production, level, production.getRequired());
+                frame.limit = this.countElements(production.getChildren().get(0), level);
+            } else if (this.count < this.size && production.hasOptional()) {
+                final List<Grammar.Choice> children = production.getChildren();
+                final BitSet included = (BitSet) production.getRequired().clone();
+                for (int index = 0; index < children.size(); index = index + 1) {
+                    if (production.isOptional(index) && this.random.nextBoolean()
+                        && children.get(index).count(this.depth - level) > 0) {
+                        included.set(index);
+                    }
+                }
+                frame = new Frame(production, level, included);
+                frame.limit = included.cardinality();
+            } else {
+                frame = new Frame(production, level, production.getRequired());
+                frame.limit = frame.included.cardinality();
+            }
+            return frame;
+        }
+
+        /**
+         * Decides how many elements a list has. The root list grows until
+         * the tree has the requested size.
+         * @param element The final types of elements
+         * @param level The depth of the list
+         * @return The number of elements
+         */
+        private int countElements(final Grammar.Choice element, final int level) {
+            int result = 0;
+            if (this.count < this.size && element.count(this.depth - level) > 0) {
+                if (level == 1) {
+                    result = Integer.MAX_VALUE;
+                } else {
+                    result = this.random.nextInt(this.fanout + 1);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Creates random data of a literal.
+         * @param klass The name of the Java class that stores data
+         * @return The data
+         */
+        private String createData(final String klass) {
+            final String result;
+            if (TreeSynthesizer.INTEGERS.contains(klass)) {
+                result = String.valueOf(this.random.nextInt(TreeSynthesizer.VOCABULARY));
+            } else if (TreeSynthesizer.FRACTIONS.contains(klass)) {
+                result = String.valueOf(
+                    this.random.nextInt(TreeSynthesizer.VOCABULARY) / TreeSynthesizer.HALF
+                );
+            } else if (TreeSynthesizer.BOOLEANS.contains(klass)) {
+                result = String.valueOf(this.random.nextBoolean());
+            } else if (TreeSynthesizer.CHARACTERS.contains(klass)) {
+                final int letter = 'a' + this.random.nextInt(TreeSynthesizer.LETTERS);
+                result = String.valueOf((char) letter);
+            } else {
+                result = "v".concat(
+                    String.valueOf(this.random.nextInt(TreeSynthesizer.VOCABULARY))
+                );
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Position in the list of children of a node.
+     *
+     * @since 1.0
+     */
+    private static final class Frame {
+        /**
+         * The final type of the node.
+         */
+        private final Grammar.Production production;
+
+        /**
+         * The depth of the node.
+         */
+        private final int level;
+
+        /**
+         * The positions of children that are written, not used for lists.
+         */
+        private final BitSet included;
+
+        /**
+         * The number of children to be written.
+         */
+        private int limit;
+
+        /**
+         * The number of written children.
+         */
+        private int done;
+
+        /**
+         * The position of the next child.
+         */
+        private int index;
+
+        /**
+         * Constructor.
+         * @param production The final type of the node
+         * @param level The depth of the node
+         * @param included The positions of children that are written
+         */
+        Frame(final Grammar.Production production, final int level, final BitSet included) {
+            this.production = production;
+            this.level = level;
+            this.included = included;
+        }
+
+        /**
+         * Checks whether the node has one more child.
+         * @param growing Flag indicating that the tree may grow, otherwise
+         *  lists are closed
+         * @return Checking result
+         */
+        boolean hasNext(final boolean growing) {
+            return this.done < this.limit && (growing || !this.production.isList());
+        }
+
+        /**
+         * Returns the final types of the next child.
+         * @return The final types
+         */
+        Grammar.Choice next() {
+            final Grammar.Choice result;
+            if (this.production.isList()) {
+                result = this.production.getChildren().get(0);
+            } else {
+                this.index = this.included.nextSetBit(this.index);
+                result = this.production.getChildren().get(this.index);
+                this.index = this.index + 1;
+            }
+            this.done = this.done + 1;
+            return result;
+        }
+    }
+}
@@ -134,6 +134,26 @@ public abstract class Descriptor implements Child, Parameter {
         return result;
     }
 
+    /**
+     * Returns the highest number of a hole in the descriptor and nested descriptors.
+     * @return The hole number, or {@code -1} if there are no holes
+     */
+    public int getHighestHole() {
+        int result = -1;
+        final Data data = this.getData();
+        if (data instanceof Hole) {
+            result = ((Hole) data).getValue();
+        }
+        for (final Parameter parameter : this.getParameters()) {
+            if (parameter instanceof Hole) {
+                result = Math.max(result, ((Hole) parameter).getValue());
+            } else if (parameter instanceof Descriptor) {
+                result = Math.max(result, ((Descriptor) parameter).getHighestHole());
+            }
+        }
+        return result;
+    }
+
     /**
      * Checks whether the descriptor has a hole with ellipsis.
      * @return Checking result, {@code true} if the descriptor has a hole with ellipsis
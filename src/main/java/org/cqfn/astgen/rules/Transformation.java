@@ -65,6 +65,14 @@ public final class Transformation implements Rule {
         return this.right;
     }
 
+    /**
+     * Returns the highest number of a hole in both parts of the rule.
+     * @return The hole number, or {@code -1} if there are no holes
+     */
+    public int getHighestHole() {
+        return Math.max(this.left.getHighestHole(), this.right.getHighestHole());
+    }
+
     @Override
     public String toString() {
         return String.format("%s -> %s", this.left.toString(), this.right.toString());
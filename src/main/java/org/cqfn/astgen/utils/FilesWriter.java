@@ -23,8 +23,10 @@
  */
 package org.cqfn.astgen.utils;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -64,6 +66,35 @@ public class FilesWriter {
         stream.close();
     }
 
+    /**
+     * Opens the file for writing text in the UTF-8 encoding, creates the parent
+     * directories if needed. The writer is buffered, so the text can be written
+     * in small pieces without keeping the whole of it in memory.
+     * @return The writer, which must be closed by the caller
+     * @throws IOException If the file can't be opened
+     */
+    public Writer openWriter() throws IOException {
+        final Path dir = this.path.getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        return Files.newBufferedWriter(this.path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Opens the file for writing bytes, creates the parent directories if needed.
+     * The stream is buffered, so the bytes can be written one by one.
+     * @return The stream, which must be closed by the caller
+     * @throws IOException If the file can't be opened
+     */
+    public OutputStream openStream() throws IOException {
+        final Path dir = this.path.getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        return new BufferedOutputStream(Files.newOutputStream(this.path));
+    }
+
     /**
      * Writes the string to the file (without exception).
      * @param str The string
@@ -61,6 +61,9 @@ public class ActionConverter implements IStringConverter<Action> {
             case "convert":
                 result = Action.CONVERT;
                 break;
+            case "synthesize":
+                result = Action.SYNTHESIZE;
+                break;
             default:
                 throw new ParameterException(
                     String.format(
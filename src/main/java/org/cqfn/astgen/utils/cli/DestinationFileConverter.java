@@ -23,7 +23,7 @@
  */
 package org.cqfn.astgen.utils.cli;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -35,7 +35,7 @@ public final class DestinationFileConverter extends BaseFileConverter {
     /**
      * The list of valid file extensions.
      */
-    private static final List<String> VALID_EXT = Collections.singletonList("json");
+    private static final List<String> VALID_EXT = Arrays.asList("json", "ast");
 
     /**
      * Constructor.
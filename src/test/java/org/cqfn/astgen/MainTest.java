@@ -180,6 +180,36 @@ public class MainTest {
         Assertions.assertEquals("Expected a value after parameter --rules", message);
     }
 
+    /**
+     * Test passing the {@code --threads} option with a number that is not positive.
+     * @param source A temporary directory
+     */
+    @Test
+    public void testThreadsNotPositive(@TempDir final Path source) throws IOException {
+        final Path file = this.createTempTxtFile(source);
+        final String[] example = {
+            MainTest.ACTION,
+            MainTest.CONVERT,
+            MainTest.RULES,
+            file.toString(),
+            "--threads",
+            "0",
+        };
+        boolean caught = false;
+        String message = "";
+        try {
+            Main.main(example);
+        } catch (final ParameterException | BaseException exc) {
+            caught = true;
+            message = exc.getMessage();
+        }
+        Assertions.assertTrue(caught);
+        Assertions.assertEquals(
+            "The option [--threads] should be a positive integer, found: 0",
+            message
+        );
+    }
+
     /**
      * Test passing the {@code --action} option with {@code convert} parameter
      * and without {@code --source} option.
@@ -0,0 +1,202 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test that covers {@link Adapter} class.
+ *
+ * @since 1.0
+ */
+public class AdapterTest {
+    /**
+     * The 'Identifier' type name.
+     */
+    private static final String IDENTIFIER = "Identifier";
+
+    /**
+     * The 'Addition' type name.
+     */
+    private static final String ADDITION = "Addition";
+
+    /**
+     * The 'Variable' type name.
+     */
+    private static final String VARIABLE = "Variable";
+
+    /**
+     * The name of a variable that is converted.
+     */
+    private static final String NAME = "x";
+
+    /**
+     * Test that converts a tree by an adapter that selects groups of converters
+     * by the type of the node, as generated adapters do, and checks that
+     * the statistics are recorded for converters of the groups.
+     */
+    @Test
+    public void testStatisticsOfGroups() {
+        final Factory factory = new Factory(Collections.emptyList());
+        final Statistics statistics = new Statistics(
+            Arrays.asList("Rule0", "Rule1", "Rule2")
+        );
+        final Adapter adapter = new GroupAdapter(factory, statistics);
+        final Node tree = AdapterTest.createNode(
+            factory,
+            AdapterTest.ADDITION,
+            "",
+            AdapterTest.createNode(factory, AdapterTest.IDENTIFIER, AdapterTest.NAME),
+            AdapterTest.createNode(factory, AdapterTest.IDENTIFIER, "y")
+        );
+        final Node result = adapter.convert(tree);
+        Assertions.assertEquals("Sum", result.getTypeName());
+        Assertions.assertEquals(AdapterTest.VARIABLE, result.getChild(0).getTypeName());
+        Assertions.assertEquals(AdapterTest.IDENTIFIER, result.getChild(1).getTypeName());
+        final int identifiers = 2;
+        Assertions.assertEquals(identifiers, statistics.getAttempts(0));
+        Assertions.assertEquals(1, statistics.getMatches(0));
+        Assertions.assertEquals(1, statistics.getRewrites(0));
+        Assertions.assertEquals(1, statistics.getAttempts(1));
+        Assertions.assertEquals(1, statistics.getMatches(1));
+        Assertions.assertEquals(0, statistics.getAttempts(2));
+    }
+
+    /**
+     * Creates a node.
+     * @param factory The factory
+     * @param type The type name
+     * @param data The data
+     * @param children The children
+     * @return The node
+     */
+    private static Node createNode(final Factory factory, final String type,
+        final String data, final Node... children) {
+        final Builder builder = factory.createBuilder(type);
+        builder.setData(data);
+        builder.setChildrenList(Arrays.asList(children));
+        return builder.createNode();
+    }
+
+    /**
+     * Converter that replaces a node of the specified type and data with a node
+     * of another type.
+     *
+     * @since 1.0
+     */
+    private static final class Renamer implements Converter {
+        /**
+         * The type of the node that is converted.
+         */
+        private final String source;
+
+        /**
+         * The data of the node that is converted, or an empty string if any.
+         */
+        private final String data;
+
+        /**
+         * The type of the new node.
+         */
+        private final String target;
+
+        /**
+         * Constructor.
+         * @param source The type of the node that is converted
+         * @param data The data of the node that is converted, or an empty string if any
+         * @param target The type of the new node
+         */
+        Renamer(final String source, final String data, final String target) {
+            this.source = source;
+            this.data = data;
+            this.target = target;
+        }
+
+        @Override
+        public Node convert(final Node node, final Factory factory) {
+            Node result = EmptyTree.INSTANCE;
+            if (node.getTypeName().equals(this.source)
+                && (this.data.isEmpty() || node.getData().equals(this.data))) {
+                final Builder builder = factory.createBuilder(this.target);
+                builder.setData(node.getData());
+                builder.setChildrenList(node.getChildrenList());
+                result = builder.createNode();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Adapter that selects groups of converters in the same way as generated adapters.
+     *
+     * @since 1.0
+     */
+    private static final class GroupAdapter extends Adapter {
+        /**
+         * Constructor.
+         * @param factory The node factory
+         * @param statistics The statistics
+         */
+        GroupAdapter(final Factory factory, final Statistics statistics) {
+            super(
+                Arrays.asList(
+                    new Renamer(AdapterTest.IDENTIFIER, AdapterTest.NAME, AdapterTest.VARIABLE),
+                    new Renamer(AdapterTest.ADDITION, "", "Sum"),
+                    new Renamer("Literal", "", "Constant")
+                ),
+                factory,
+                statistics,
+                Arrays.asList(
+                    Collections.singletonList(0),
+                    Collections.singletonList(1),
+                    Collections.singletonList(2)
+                )
+            );
+        }
+
+        @Override
+        protected List<Converter> getCandidates(final Node node) {
+            final List<Converter> result;
+            switch (node.getTypeName()) {
+                case AdapterTest.IDENTIFIER:
+                    result = this.getGroup(0);
+                    break;
+                case AdapterTest.ADDITION:
+                    result = this.getGroup(1);
+                    break;
+                case "Literal":
+                    result = this.getGroup(2);
+                    break;
+                default:
+                    result = super.getCandidates(node);
+                    break;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test that covers {@link ChildrenMapper} class.
+ *
+ * @since 1.0
+ */
+public class ChildrenMapperTest {
+    /**
+     * The 'Expression' type name.
+     */
+    private static final String EXPRESSION = "Expression";
+
+    /**
+     * The 'Name' type name.
+     */
+    private static final String NAME = "Name";
+
+    /**
+     * The 'Modifier' type name.
+     */
+    private static final String MODIFIER = "Modifier";
+
+    /**
+     * The number of positions of a node with a name, a value and a modifier.
+     */
+    private static final int DECLARATION = 3;
+
+    /**
+     * Test that maps nodes that follow the descriptors one by one.
+     */
+    @Test
+    public void testPositionalMapping() {
+        final ChildrenMapper mapper = new ChildrenMapper(
+            Arrays.asList(
+                new ChildDescriptor(ChildrenMapperTest.EXPRESSION),
+                new ChildDescriptor(ChildrenMapperTest.EXPRESSION)
+            )
+        );
+        final Node left = ChildrenMapperTest.createNode("Addition");
+        final Node right = ChildrenMapperTest.createNode(ChildrenMapperTest.EXPRESSION);
+        final Node[] mapping = new Node[2];
+        Assertions.assertTrue(mapper.map(mapping, Arrays.asList(left, right)));
+        Assertions.assertSame(left, mapping[0]);
+        Assertions.assertSame(right, mapping[1]);
+    }
+
+    /**
+     * Test that maps nodes that come in a different order than the descriptors.
+     */
+    @Test
+    public void testReorderedMapping() {
+        final ChildrenMapper mapper = new ChildrenMapper(
+            Arrays.asList(
+                new ChildDescriptor(ChildrenMapperTest.MODIFIER, true),
+                new ChildDescriptor(ChildrenMapperTest.NAME),
+                new ChildDescriptor(ChildrenMapperTest.EXPRESSION)
+            )
+        );
+        final Node name = ChildrenMapperTest.createNode(ChildrenMapperTest.NAME);
+        final Node value = ChildrenMapperTest.createNode("IntegerLiteral");
+        final Node[] mapping = new Node[ChildrenMapperTest.DECLARATION];
+        Assertions.assertTrue(mapper.map(mapping, Arrays.asList(value, name)));
+        Assertions.assertNull(mapping[0]);
+        Assertions.assertSame(name, mapping[1]);
+        Assertions.assertSame(value, mapping[2]);
+        Assertions.assertFalse(
+            mapper.map(new Node[ChildrenMapperTest.DECLARATION], Collections.singletonList(name))
+        );
+    }
+
+    /**
+     * Test that does not map nodes to optional positions of the same type,
+     * since the positions can't be distinguished.
+     */
+    @Test
+    public void testAmbiguousMapping() {
+        final ChildrenMapper mapper = new ChildrenMapper(
+            Arrays.asList(
+                new ChildDescriptor(ChildrenMapperTest.MODIFIER, true),
+                new ChildDescriptor(ChildrenMapperTest.MODIFIER, true)
+            )
+        );
+        final Node modifier = ChildrenMapperTest.createNode(ChildrenMapperTest.MODIFIER);
+        Assertions.assertFalse(
+            mapper.map(new Node[2], Arrays.asList(modifier, modifier))
+        );
+        Assertions.assertFalse(
+            mapper.map(new Node[2], Collections.singletonList(modifier))
+        );
+        Assertions.assertTrue(mapper.map(new Node[2], Collections.emptyList()));
+    }
+
+    /**
+     * Test that packs mapped nodes into a right-sized array.
+     */
+    @Test
+    public void testPacking() {
+        final ChildrenMapper mapper = new ChildrenMapper(
+            Arrays.asList(
+                new ChildDescriptor(ChildrenMapperTest.MODIFIER, true),
+                new ChildDescriptor(ChildrenMapperTest.NAME),
+                new ChildDescriptor(ChildrenMapperTest.EXPRESSION)
+            )
+        );
+        final Node modifier = ChildrenMapperTest.createNode(ChildrenMapperTest.MODIFIER);
+        final Node name = ChildrenMapperTest.createNode(ChildrenMapperTest.NAME);
+        final Node value = ChildrenMapperTest.createNode(ChildrenMapperTest.EXPRESSION);
+        final Node[] full = {modifier, name, value};
+        Assertions.assertSame(full, mapper.pack(full));
+        Assertions.assertArrayEquals(
+            new Node[] {name, value},
+            mapper.pack(null, name, value)
+        );
+    }
+
+    /**
+     * Test that maps and packs nodes without optional children, as the builder of
+     * a generated node with optional children does, so that the node stores only
+     * the children that are present.
+     */
+    @Test
+    public void testAbsentOptionalChildren() {
+        final ChildrenMapper mapper = new ChildrenMapper(
+            Arrays.asList(
+                new ChildDescriptor(ChildrenMapperTest.MODIFIER, true),
+                new ChildDescriptor(ChildrenMapperTest.NAME, false),
+                new ChildDescriptor(ChildrenMapperTest.EXPRESSION, true)
+            )
+        );
+        final Node name = ChildrenMapperTest.createNode(ChildrenMapperTest.NAME);
+        final Node value = ChildrenMapperTest.createNode(ChildrenMapperTest.EXPRESSION);
+        final Node[] mapping = new Node[ChildrenMapperTest.DECLARATION];
+        Assertions.assertTrue(mapper.map(mapping, Collections.singletonList(name)));
+        final Node[] children = mapper.pack(mapping);
+        Assertions.assertEquals(1, children.length);
+        Assertions.assertSame(name, children[0]);
+        Assertions.assertTrue(mapper.map(mapping, Arrays.asList(value, name)));
+        final Node[] pair = mapper.pack(mapping);
+        Assertions.assertEquals(2, pair.length);
+        Assertions.assertSame(name, pair[0]);
+        Assertions.assertSame(value, pair[1]);
+        Assertions.assertFalse(
+            mapper.map(
+                new Node[ChildrenMapperTest.DECLARATION],
+                Collections.singletonList(value)
+            )
+        );
+    }
+
+    /**
+     * Test that finds nodes by positions among packed nodes, as tagged getters
+     * of a generated node with optional children do.
+     */
+    @Test
+    public void testLocating() {
+        final ChildrenMapper mapper = new ChildrenMapper(
+            Arrays.asList(
+                new ChildDescriptor(ChildrenMapperTest.MODIFIER, true),
+                new ChildDescriptor(ChildrenMapperTest.NAME, false),
+                new ChildDescriptor(ChildrenMapperTest.EXPRESSION, true)
+            )
+        );
+        final Node modifier = ChildrenMapperTest.createNode(ChildrenMapperTest.MODIFIER);
+        final Node name = ChildrenMapperTest.createNode(ChildrenMapperTest.NAME);
+        final Node value = ChildrenMapperTest.createNode(ChildrenMapperTest.EXPRESSION);
+        final Node[][] cases = {
+            {null, name, null},
+            {modifier, name, null},
+            {null, name, value},
+            {modifier, name, value},
+        };
+        for (final Node[] nodes : cases) {
+            final Node[] children = mapper.pack(nodes.clone());
+            final int absent = mapper.absent(nodes);
+            for (int position = 0; position < nodes.length; position = position + 1) {
+                Assertions.assertSame(nodes[position], mapper.locate(children, absent, position));
+            }
+        }
+        Assertions.assertEquals(0, mapper.absent(modifier, name, value));
+    }
+
+    /**
+     * Creates a node without children, a node of any type except names
+     * belongs to the 'Expression' group.
+     * @param name The type name
+     * @return The node
+     */
+    private static Node createNode(final String name) {
+        final List<String> hierarchy;
+        if (name.equals(ChildrenMapperTest.EXPRESSION)
+            || name.equals(ChildrenMapperTest.NAME)
+            || name.equals(ChildrenMapperTest.MODIFIER)) {
+            hierarchy = Collections.singletonList(name);
+        } else {
+            hierarchy = Arrays.asList(name, ChildrenMapperTest.EXPRESSION);
+        }
+        return new Leaf(new LeafType(name, hierarchy));
+    }
+
+    /**
+     * The type of a node without children.
+     *
+     * @since 1.0
+     */
+    private static final class LeafType implements Type {
+        /**
+         * The type name.
+         */
+        private final String name;
+
+        /**
+         * The hierarchy.
+         */
+        private final List<String> hierarchy;
+
+        /**
+         * Constructor.
+         * @param name The type name
+         * @param hierarchy The hierarchy
+         */
+        LeafType(final String name, final List<String> hierarchy) {
+            this.name = name;
+            this.hierarchy = hierarchy;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public List<ChildDescriptor> getChildTypes() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<String> getHierarchy() {
+            return this.hierarchy;
+        }
+
+        @Override
+        public String getProperty(final String property) {
+            return "";
+        }
+
+        @Override
+        public Builder createBuilder() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * A node without children.
+     *
+     * @since 1.0
+     */
+    private static final class Leaf implements Node {
+        /**
+         * The type.
+         */
+        private final Type type;
+
+        /**
+         * Constructor.
+         * @param type The type
+         */
+        Leaf(final Type type) {
+            this.type = type;
+        }
+
+        @Override
+        public Fragment getFragment() {
+            return EmptyFragment.INSTANCE;
+        }
+
+        @Override
+        public Type getType() {
+            return this.type;
+        }
+
+        @Override
+        public String getData() {
+            return "";
+        }
+
+        @Override
+        public int getChildCount() {
+            return 0;
+        }
+
+        @Override
+        public Node getChild(final int index) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+}
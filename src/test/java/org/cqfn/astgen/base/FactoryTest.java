@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test that covers {@link Factory} class.
+ *
+ * @since 1.0
+ */
+public class FactoryTest {
+    /**
+     * The 'Identifier' type name.
+     */
+    private static final String IDENTIFIER = "Identifier";
+
+    /**
+     * The 'Addition' type name.
+     */
+    private static final String ADDITION = "Addition";
+
+    /**
+     * The data that nodes of known types get from their builders.
+     */
+    private static final String KNOWN = "known";
+
+    /**
+     * The identifier of the 'Addition' type in the language factory.
+     */
+    private static final int ADDITION_ID = 1;
+
+    /**
+     * Test that creates builders by identifiers of the factory itself.
+     */
+    @Test
+    public void testOwnIdentifiers() {
+        final Factory factory = new Factory(
+            Arrays.asList(
+                new KnownType(FactoryTest.IDENTIFIER),
+                new KnownType(FactoryTest.ADDITION)
+            )
+        );
+        final Node node = factory.createBuilder(FactoryTest.ADDITION_ID).createNode();
+        Assertions.assertEquals(FactoryTest.ADDITION, node.getType().getName());
+        Assertions.assertEquals(
+            node.getType().getName(),
+            factory.createBuilder(FactoryTest.ADDITION_ID, FactoryTest.ADDITION)
+                .createNode().getType().getName()
+        );
+    }
+
+    /**
+     * Test that creates builders by identifiers of another factory, as a generated
+     * converter does when it is given a factory of another language.
+     */
+    @Test
+    public void testForeignFactory() {
+        final Factory reordered = new Factory(
+            Arrays.asList(
+                new KnownType(FactoryTest.ADDITION),
+                new KnownType(FactoryTest.IDENTIFIER)
+            )
+        );
+        final Node node = reordered.createBuilder(
+            FactoryTest.ADDITION_ID, FactoryTest.ADDITION
+        ).createNode();
+        Assertions.assertEquals(FactoryTest.ADDITION, node.getType().getName());
+        Assertions.assertEquals(FactoryTest.KNOWN, node.getData());
+        final Factory smaller = new Factory(
+            Collections.singletonList(new KnownType(FactoryTest.IDENTIFIER))
+        );
+        final Node draft = smaller.createBuilder(
+            FactoryTest.ADDITION_ID, FactoryTest.ADDITION
+        ).createNode();
+        Assertions.assertEquals(FactoryTest.ADDITION, draft.getType().getName());
+        Assertions.assertEquals("", draft.getData());
+    }
+
+    /**
+     * The type whose builder creates draft nodes with data.
+     *
+     * @since 1.0
+     */
+    private static final class KnownType implements Type {
+        /**
+         * The type name.
+         */
+        private final String name;
+
+        /**
+         * Constructor.
+         * @param name The type name
+         */
+        KnownType(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public List<ChildDescriptor> getChildTypes() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<String> getHierarchy() {
+            return Collections.singletonList(this.name);
+        }
+
+        @Override
+        public String getProperty(final String property) {
+            return "";
+        }
+
+        @Override
+        public Builder createBuilder() {
+            final DraftNode.Constructor builder = new DraftNode.Constructor();
+            builder.setName(this.name);
+            builder.setData(FactoryTest.KNOWN);
+            return builder;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test that covers {@link Interner} class.
+ *
+ * @since 1.0
+ */
+public class InternerTest {
+    /**
+     * The 'Identifier' type name.
+     */
+    private static final String IDENTIFIER = "Identifier";
+
+    /**
+     * The 'Addition' type name.
+     */
+    private static final String ADDITION = "Addition";
+
+    /**
+     * The name of a variable.
+     */
+    private static final String NAME = "x";
+
+    /**
+     * Test that builds two identical trees and checks that they are one instance.
+     */
+    @Test
+    public void testSharing() {
+        final Interner interner = new Interner();
+        final Factory factory = new Factory(Collections.emptyList()).intern(interner);
+        final Node first = InternerTest.createAddition(factory, InternerTest.NAME);
+        final Node second = InternerTest.createAddition(factory, InternerTest.NAME);
+        Assertions.assertSame(first, second);
+        Assertions.assertSame(first.getChild(0), first.getChild(1));
+        final Node third = InternerTest.createAddition(factory, "y");
+        Assertions.assertNotSame(first, third);
+        final int lookups = 9;
+        Assertions.assertEquals(lookups, interner.getLookups());
+        final int hits = 5;
+        Assertions.assertEquals(hits, interner.getHits());
+        Assertions.assertEquals((double) hits / lookups, interner.getHitRate());
+        Assertions.assertTrue(interner.size() <= lookups - hits);
+    }
+
+    /**
+     * Test that checks that nodes are not shared if their fragments differ
+     * and that the factory without an interner does not share anything.
+     */
+    @Test
+    public void testNoSharing() {
+        final Interner interner = new Interner();
+        final Factory factory = new Factory(Collections.emptyList()).intern(interner);
+        final Builder builder = factory.createBuilder(InternerTest.IDENTIFIER);
+        builder.setData(InternerTest.NAME);
+        final Fragment fragment = new Fragment() {
+            @Override
+            public Source getSource() {
+                return EmptyFragment.INSTANCE.getSource();
+            }
+
+            @Override
+            public Position getBegin() {
+                return EmptyFragment.INSTANCE.getBegin();
+            }
+
+            @Override
+            public Position getEnd() {
+                return EmptyFragment.INSTANCE.getEnd();
+            }
+        };
+        builder.setFragment(fragment);
+        Assertions.assertNotSame(
+            builder.createNode(),
+            InternerTest.createIdentifier(factory, InternerTest.NAME)
+        );
+        Assertions.assertEquals(0, interner.getHits());
+        final Factory plain = new Factory(Collections.emptyList());
+        Assertions.assertNotSame(
+            InternerTest.createIdentifier(plain, InternerTest.NAME),
+            InternerTest.createIdentifier(plain, InternerTest.NAME)
+        );
+        Assertions.assertFalse(Interner.DISABLED.isEnabled());
+    }
+
+    /**
+     * Creates the 'Identifier' node.
+     * @param factory The factory
+     * @param name The name
+     * @return The node
+     */
+    private static Node createIdentifier(final Factory factory, final String name) {
+        final Builder builder = factory.createBuilder(InternerTest.IDENTIFIER);
+        builder.setData(name);
+        return builder.createNode();
+    }
+
+    /**
+     * Creates the 'Addition' node that adds a variable to itself.
+     * @param factory The factory
+     * @param name The name of the variable
+     * @return The node
+     */
+    private static Node createAddition(final Factory factory, final String name) {
+        final List<Node> children = Arrays.asList(
+            InternerTest.createIdentifier(factory, name),
+            InternerTest.createIdentifier(factory, name)
+        );
+        final Builder builder = factory.createBuilder(InternerTest.ADDITION);
+        builder.setChildrenList(children);
+        return builder.createNode();
+    }
+}
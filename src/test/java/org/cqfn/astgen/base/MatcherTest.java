@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test that covers {@link Matcher} interface.
+ *
+ * @since 1.0
+ */
+public class MatcherTest {
+    /**
+     * Test that a matcher implementing only the map-based method
+     * saves extracted values to the frame.
+     */
+    @Test
+    public void testMapBasedMatcher() {
+        final Matcher matcher = new Matcher() {
+            @Override
+            public boolean match(final Node node, final Map<Integer, List<Node>> children,
+                final Map<Integer, String> data) {
+                children.put(1, Collections.singletonList(node));
+                data.put(2, node.getData());
+                return true;
+            }
+        };
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName("Identifier");
+        ctor.setData("x");
+        final Node node = ctor.createNode();
+        final Captures captures = new Captures(0);
+        Assertions.assertTrue(matcher.match(node, captures));
+        Assertions.assertSame(node, captures.getChildren(1).get(0));
+        Assertions.assertEquals("x", captures.getData(2));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the {@link TreeStore} class.
+ *
+ * @since 1.0
+ */
+public class TreeStoreTest {
+    /**
+     * The type of chain nodes.
+     */
+    private static final String CHAIN = "Chain";
+
+    /**
+     * The type of the last node of the chain.
+     */
+    private static final String LEAF = "Leaf";
+
+    /**
+     * The depth of the chain.
+     */
+    private static final int DEPTH = 100_000;
+
+    /**
+     * Testing appending nodes in the post-order.
+     */
+    @Test
+    public void testAppending() {
+        final TreeStore.Appender appender = new TreeStore.Appender();
+        final Node name = TreeStoreTest.create("Name");
+        appender.append(name.getType(), "x", 0);
+        appender.append(EmptyTree.INSTANCE.getType(), "", 0);
+        appender.append(name.getType(), "y", 0);
+        appender.append(name.getType(), "call", 2);
+        Assertions.assertThrows(IllegalStateException.class, appender::build);
+        appender.append(name.getType(), "", 2);
+        final Node root = appender.build().getRoot();
+        Assertions.assertEquals(2, root.getChildCount());
+        Assertions.assertEquals("x", root.getChild(0).getData());
+        Assertions.assertSame(EmptyTree.INSTANCE, root.getChild(1).getChild(0));
+        Assertions.assertSame(name.getType(), root.getChild(1).getType());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> root.getChild(2));
+    }
+
+    /**
+     * Testing copying a deep chain.
+     */
+    @Test
+    public void testDeepChain() {
+        final TreeStore.Appender appender = new TreeStore.Appender();
+        Node tree = TreeStoreTest.create(TreeStoreTest.LEAF);
+        for (int index = 0; index < TreeStoreTest.DEPTH; index = index + 1) {
+            tree = TreeStoreTest.create(TreeStoreTest.CHAIN, tree);
+        }
+        appender.append(tree);
+        final TreeStore store = appender.build();
+        Assertions.assertEquals(TreeStoreTest.DEPTH + 1, store.size());
+        Node node = store.getRoot();
+        for (int index = 0; index < TreeStoreTest.DEPTH; index = index + 1) {
+            Assertions.assertEquals(TreeStoreTest.CHAIN, node.getTypeName());
+            node = node.getChild(0);
+        }
+        Assertions.assertEquals(TreeStoreTest.LEAF, node.getTypeName());
+    }
+
+    /**
+     * Creates a draft node.
+     * @param type The node type
+     * @param children The children
+     * @return The node
+     */
+    private static Node create(final String type, final Node... children) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName(type);
+        ctor.setChildrenList(Arrays.asList(children));
+        return ctor.createNode();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.base;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the {@link TypeTable} class.
+ *
+ * @since 1.0
+ */
+public class TypeTableTest {
+    /**
+     * The type name.
+     */
+    private static final String NAME = "Identifier";
+
+    /**
+     * Testing that types are shared until the table is cleared.
+     */
+    @Test
+    public void testClear() {
+        final TypeTable table = TypeTable.INSTANCE;
+        final Type first = table.getType(TypeTableTest.NAME);
+        Assertions.assertSame(first, table.getType(TypeTableTest.NAME));
+        Assertions.assertTrue(table.contains(first));
+        table.clear();
+        Assertions.assertFalse(table.contains(first));
+        final Type second = table.getType(TypeTableTest.NAME);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertTrue(table.contains(second));
+        Assertions.assertEquals(first.getName(), second.getName());
+    }
+}
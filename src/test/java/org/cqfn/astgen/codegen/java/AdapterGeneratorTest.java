@@ -25,6 +25,9 @@
 package org.cqfn.astgen.codegen.java;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.cqfn.astgen.utils.FilesReader;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -40,18 +43,51 @@ public class AdapterGeneratorTest {
      */
     private static final String TESTS_PATH = "src/test/resources/codegen/java/";
 
+    /**
+     * The name of the language.
+     */
+    private static final String JS = "js";
+
     /**
      * Testing source code generation for rules that describe nodes.
      */
     @Test
     public void testNodeGeneration() {
         final Environment env = new TestEnvironment();
-        final AdapterGenerator generator = new AdapterGenerator(env, "js", 10);
+        final List<String> roots = Arrays.asList(
+            "Addition,Identifier,Subtraction,Addition,Literal,Subtraction,Identifier"
+                .concat(",Addition,Literal,Multiplication")
+                .split(",")
+        );
+        final AdapterGenerator generator =
+            new AdapterGenerator(env, AdapterGeneratorTest.JS, roots);
         final String actual = generator.generate().generate();
         final String expected = this.readTest("adapter_generator.txt");
         Assertions.assertEquals(expected, actual);
     }
 
+    /**
+     * Testing that large 'switch' statements are split into several methods.
+     */
+    @Test
+    public void testLargeDispatcher() {
+        final Environment env = new TestEnvironment();
+        final int count = 300;
+        final List<String> roots = new ArrayList<>(count);
+        for (int index = 0; index < count; index = index + 1) {
+            roots.add(String.format("Type%d", index));
+        }
+        final AdapterGenerator generator =
+            new AdapterGenerator(env, AdapterGeneratorTest.JS, roots);
+        final String actual = generator.generate().generate();
+        Assertions.assertTrue(actual.contains("switch (node.getTypeName().hashCode() & 3) {"));
+        Assertions.assertTrue(
+            actual.contains("private List<Converter> getCandidates3(final Node node)")
+        );
+        Assertions.assertFalse(actual.contains("getCandidates4"));
+        Assertions.assertTrue(actual.contains("case \"Type299\":"));
+    }
+
     /**
      * Reads test source from the file.
      * @param name The file name
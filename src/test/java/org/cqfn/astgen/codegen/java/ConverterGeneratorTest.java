@@ -27,15 +27,13 @@ package org.cqfn.astgen.codegen.java;
 import java.io.File;
 import java.io.IOException;
 import java.util.Map;
+import org.cqfn.astgen.exceptions.BaseException;
 import org.cqfn.astgen.exceptions.ParserException;
-import org.cqfn.astgen.parser.BracketsParser;
-import org.cqfn.astgen.parser.DescriptorParser;
-import org.cqfn.astgen.parser.Tokenizer;
-import org.cqfn.astgen.rules.Descriptor;
-import org.cqfn.astgen.rules.DescriptorAttribute;
-import org.cqfn.astgen.scanner.TokenList;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.cqfn.astgen.parser.TransformationParser;
+import org.cqfn.astgen.rules.Program;
+import org.cqfn.astgen.rules.Transformation;
 import org.cqfn.astgen.utils.FilesReader;
-import org.cqfn.astgen.utils.LabelFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -50,6 +48,16 @@ public class ConverterGeneratorTest {
      */
     private static final String TESTS_PATH = "src/test/resources/codegen/java/";
 
+    /**
+     * The name of the matcher class.
+     */
+    private static final String MATCHER = "Matcher0";
+
+    /**
+     * The name of the generated unit.
+     */
+    private static final String UNIT = String.format("rules%sRule0", File.separator);
+
     /**
      * Testing simple case.
      */
@@ -107,6 +115,56 @@ public class ConverterGeneratorTest {
         Assertions.assertEquals(1, result);
     }
 
+    /**
+     * Generate converter that creates nodes by type identifiers of the factory,
+     * and by type names if the factory does not create nodes of the type.
+     * @throws BaseException If the program could not be parsed
+     */
+    @Test
+    public void testConverterUsesFactoryIdentifiers() throws BaseException {
+        final Program program = new ProgramParser(
+            this.readTest("factory_generator_source.txt")
+        ).parse();
+        final ConverterGenerator generator = new ConverterGenerator(
+            new TestEnvironment(),
+            "org.uast.example.c.rules",
+            new FactoryTypes(program, "c")
+        );
+        generator.generate(
+            this.parseCode("AddressOf(Expression)"),
+            ConverterGeneratorTest.MATCHER
+        );
+        final String actual = generator.getUnits().get(ConverterGeneratorTest.UNIT).generate();
+        Assertions.assertTrue(actual.contains("import org.uast.example.c.CFactory;"));
+        Assertions.assertTrue(
+            actual.contains(
+                "factory.createBuilder(CFactory.ADDRESS_OF_ID, Rule0.ADDRESS_OF);"
+            )
+        );
+        Assertions.assertTrue(actual.contains("factory.createBuilder(Rule0.EXPRESSION);"));
+    }
+
+    /**
+     * Generate converter that declares the type of the pattern root,
+     * which differs from the type of the created node.
+     * @throws ParserException If the rule could not be parsed
+     */
+    @Test
+    public void testConverterDeclaresRootType() throws ParserException {
+        final ConverterGenerator generator = new ConverterGenerator(
+            new TestEnvironment(),
+            "org.uast"
+        );
+        generator.generate(
+            new TransformationParser("Identifier<#1> -> Variable<#1>").parse(),
+            ConverterGeneratorTest.MATCHER
+        );
+        final String actual = generator.getUnits().get(ConverterGeneratorTest.UNIT).generate();
+        Assertions.assertTrue(actual.contains("public String getRootType() {"));
+        Assertions.assertTrue(actual.contains("return Rule0.IDENTIFIER;"));
+        Assertions.assertTrue(actual.contains("factory.createBuilder(Rule0.VARIABLE);"));
+    }
+
     /**
      * Performs a test.
      * @param code Source code of descriptor
@@ -115,31 +173,28 @@ public class ConverterGeneratorTest {
      */
     private int testing(final String code, final String filename) {
         final Environment env = new TestEnvironment();
-        final Descriptor descriptor = this.parseCode(code);
+        final Transformation rule = this.parseCode(code);
         final ConverterGenerator generator = new ConverterGenerator(env, "org.uast");
-        generator.generate(descriptor, "Matcher0");
+        generator.generate(rule, ConverterGeneratorTest.MATCHER);
         final Map<String, CompilationUnit> units = generator.getUnits();
-        final String rule = String.format("rules%sRule0", File.separator);
-        Assertions.assertTrue(units.containsKey(rule));
+        final String name = ConverterGeneratorTest.UNIT;
+        Assertions.assertTrue(units.containsKey(name));
         final String expected = this.readTest(filename);
-        final String actual = units.get(rule).generate();
+        final String actual = units.get(name).generate();
         Assertions.assertEquals(expected, actual);
         return units.size();
     }
 
     /**
-     * Parses a descriptor from source code.
-     * @param code DSL code
-     * @return A descriptor
+     * Parses a rule that converts the descriptor into itself.
+     * @param code DSL code of the descriptor
+     * @return A transformation rule
      */
-    private Descriptor parseCode(final String code) {
-        Descriptor result = null;
+    private Transformation parseCode(final String code) {
+        Transformation result = null;
         boolean oops = false;
         try {
-            TokenList tokens = new Tokenizer(code).getTokens();
-            tokens = new BracketsParser(tokens).parse();
-            result = new DescriptorParser(tokens, new LabelFactory())
-                .parse(DescriptorAttribute.NONE);
+            result = new TransformationParser(String.format("%s -> %s", code, code)).parse();
         } catch (final ParserException ignored) {
             oops = true;
         }
@@ -65,6 +65,31 @@ public class FactoryGeneratorTest {
         Assertions.assertFalse(oops);
     }
 
+    /**
+     * Testing that names of constants that hold identifiers of types do not clash
+     * with each other and with other fields of the factory.
+     * @throws BaseException If the program could not be parsed
+     */
+    @Test
+    public void testConstantNames() throws BaseException {
+        final Program program = new ProgramParser(
+            String.join(
+                "\n",
+                "Instance <- Id, ID;",
+                "XMLNode <- Instance;",
+                "Id <- $String$, $#$, $#$;",
+                "ID <- $String$, $#$, $#$;"
+            )
+        ).parse();
+        final String actual = new FactoryGenerator(new TestEnvironment(), program, "")
+            .generate().generate();
+        Assertions.assertTrue(actual.contains("public static final int ID_ID = 0;"));
+        Assertions.assertTrue(actual.contains("public static final int ID_1_ID = 1;"));
+        Assertions.assertTrue(actual.contains("public static final int INSTANCE_ID = 2;"));
+        Assertions.assertTrue(actual.contains("public static final int XML_NODE_ID = 3;"));
+        Assertions.assertTrue(actual.contains("public static final Factory INSTANCE ="));
+    }
+
     /**
      * Reads test source from the file.
      * @param name The file name
@@ -121,6 +121,20 @@ public class MethodTest {
         Assertions.assertEquals(expected, actual);
     }
 
+    /**
+     * Testing code generation with overridden protected method.
+     */
+    @Test
+    public void overriddenProtectedMethod() {
+        final Method method = new Method("isEmpty");
+        method.setReturnType("boolean");
+        method.setCode("return true;");
+        method.makeProtected();
+        final String expected = this.readTest("overridden_protected_method.txt");
+        final String actual = method.generate(0);
+        Assertions.assertEquals(expected, actual);
+    }
+
     /**
      * Testing code generation with abstract method.
      */
@@ -53,7 +53,10 @@ public class OrdinaryNodeGeneratorTest {
     @Test
     @SuppressWarnings("PMD.CloseResource")
     public void testNodeGeneration() {
-        final Statement<Node> statement = this.createStatement();
+        final Statement<Node> statement = this.createStatement(
+            "Addition <- left@Expression, right@Expression;\nExpression <- Addition | Subtraction",
+            "Addition"
+        );
         final Environment env =
             new TestEnvironment(Collections.singletonList(statement.getRule()));
         final OrdinaryNodeGenerator generator = new OrdinaryNodeGenerator(env, statement);
@@ -62,20 +65,38 @@ public class OrdinaryNodeGeneratorTest {
         Assertions.assertEquals(expected, actual);
     }
 
+    /**
+     * Testing source code generation for rules that describe nodes with optional children.
+     */
+    @Test
+    @SuppressWarnings("PMD.CloseResource")
+    public void testNodeWithOptionalChildrenGeneration() {
+        final Statement<Node> statement = this.createStatement(
+            "Declaration <- [Modifier], name@Identifier, [value@Expression]",
+            "Declaration"
+        );
+        final Environment env =
+            new TestEnvironment(Collections.singletonList(statement.getRule()));
+        final OrdinaryNodeGenerator generator = new OrdinaryNodeGenerator(env, statement);
+        final String actual = generator.generate().generate();
+        final String expected = this.readTest("node_with_optional_children.txt");
+        Assertions.assertEquals(expected, actual);
+    }
+
     /**
      * Creates DSL statement.
+     * @param source The DSL source
+     * @param type The type of the node described by the statement
      * @return DSL statement
      */
-    private Statement<Node> createStatement() {
+    private Statement<Node> createStatement(final String source, final String type) {
         boolean oops = false;
-        final String source =
-            "Addition <- left@Expression, right@Expression;\nExpression <- Addition | Subtraction";
         final ProgramParser parser = new ProgramParser(source);
         try {
             final Program program = parser.parse();
             final List<Statement<Node>> list = program.getNodes();
             for (final Statement<Node> statement : list) {
-                if (statement.getRule().getType().equals("Addition")) {
+                if (statement.getRule().getType().equals(type)) {
                     return statement;
                 }
             }
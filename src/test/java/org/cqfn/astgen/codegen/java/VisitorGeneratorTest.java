@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.codegen.java;
+
+import java.io.IOException;
+import java.util.Map;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.cqfn.astgen.rules.Program;
+import org.cqfn.astgen.utils.FilesReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link VisitorGenerator} class.
+ *
+ * @since 1.0
+ */
+public class VisitorGeneratorTest {
+    /**
+     * The folder with test resources.
+     */
+    private static final String TESTS_PATH = "src/test/resources/codegen/java/";
+
+    /**
+     * Testing source code generation of the visitor for common nodes.
+     */
+    @Test
+    public void testGreenVisitorGeneration() {
+        final Map<String, CompilationUnit> units = this.generate("");
+        Assertions.assertTrue(units.containsKey("GreenWalker"));
+        Assertions.assertEquals(
+            this.readTest("green_visitor_generator.txt"),
+            units.get("GreenVisitor").generate()
+        );
+    }
+
+    /**
+     * Testing source code generation of the visitor and the walker for
+     * nodes of some language.
+     */
+    @Test
+    public void testLanguageVisitorGeneration() {
+        final Map<String, CompilationUnit> units = this.generate("c");
+        Assertions.assertEquals(
+            this.readTest("visitor_generator.txt"),
+            units.get("CVisitor").generate()
+        );
+        Assertions.assertEquals(
+            this.readTest("walker_generator.txt"),
+            units.get("CWalker").generate()
+        );
+    }
+
+    /**
+     * Generates source code of visitors for the test program.
+     * @param language The language
+     * @return Generated units
+     */
+    private Map<String, CompilationUnit> generate(final String language) {
+        Map<String, CompilationUnit> units = null;
+        boolean oops = false;
+        try {
+            final ProgramParser parser = new ProgramParser(
+                this.readTest("factory_generator_source.txt")
+            );
+            final Program program = parser.parse();
+            final VisitorGenerator generator =
+                new VisitorGenerator(new TestEnvironment(), program, language);
+            generator.generate();
+            units = generator.getUnits();
+        } catch (final BaseException ignored) {
+            oops = true;
+        }
+        Assertions.assertFalse(oops);
+        return units;
+    }
+
+    /**
+     * Reads test source from the file.
+     * @param name The file name
+     * @return Test source
+     */
+    private String readTest(final String name) {
+        String result = "";
+        boolean oops = false;
+        try {
+            result = new FilesReader(VisitorGeneratorTest.TESTS_PATH.concat(name))
+                .readAsString();
+        } catch (final IOException ignored) {
+            oops = true;
+        }
+        Assertions.assertFalse(oops);
+        return result;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.cqfn.astgen.base.DraftNode;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.cqfn.astgen.rules.Program;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Stress test that converts many trees in parallel with one {@link Adapter}.
+ *
+ * @since 1.0
+ */
+public class AdapterConcurrencyTest {
+    /**
+     * The number of threads.
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * The number of trees.
+     */
+    private static final int TREES = 512;
+
+    /**
+     * The number of statements in each tree.
+     */
+    private static final int STATEMENTS = 64;
+
+    /**
+     * The rules with nested patterns and templates.
+     */
+    private static final String RULES = String.join(
+        "\n",
+        "Addition(Literal<#1>, Literal<#2>) -> Sum(IntegerLiteral<#1>, IntegerLiteral<#2>);",
+        "Statement(Sum(#1, #2)) -> Expression(Sum(#2, #1));",
+        "Statement(Literal<#1>) -> Expression(Negation(IntegerLiteral<#1>));"
+    );
+
+    /**
+     * Converts the trees on many threads at once with a shared adapter,
+     * the results must be the same as results of sequential conversion
+     * by separate adapters.
+     * @throws BaseException If the rules could not be parsed
+     * @throws InterruptedException If the test is interrupted
+     * @throws ExecutionException If a conversion fails
+     */
+    @Test
+    public void testSharedAdapter() throws BaseException, InterruptedException,
+        ExecutionException {
+        final Program program = new ProgramParser(AdapterConcurrencyTest.RULES).parse();
+        final List<Node> trees = new ArrayList<>(AdapterConcurrencyTest.TREES);
+        final String[] expected = new String[AdapterConcurrencyTest.TREES];
+        for (int index = 0; index < AdapterConcurrencyTest.TREES; index = index + 1) {
+            final Node tree = AdapterConcurrencyTest.createTree(index);
+            trees.add(tree);
+            expected[index] = new JsonSerializer(
+                new Adapter(program.getTransformations()).convert(tree)
+            ).serialize();
+        }
+        final String[] actual = AdapterConcurrencyTest.convertInParallel(
+            new Adapter(program.getTransformations()), trees
+        );
+        Assertions.assertTrue(expected[0].contains("Negation"));
+        Assertions.assertArrayEquals(expected, actual);
+    }
+
+    /**
+     * Converts the trees on many threads at once with one adapter.
+     * @param adapter The adapter
+     * @param trees The trees
+     * @return The converted trees in the JSON format
+     * @throws InterruptedException If the test is interrupted
+     * @throws ExecutionException If a conversion fails
+     */
+    private static String[] convertInParallel(final Adapter adapter, final List<Node> trees)
+        throws InterruptedException, ExecutionException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Callable<String>> tasks = new ArrayList<>(AdapterConcurrencyTest.TREES);
+        for (final Node tree : trees) {
+            tasks.add(
+                () -> {
+                    start.await();
+                    return new JsonSerializer(adapter.convert(tree)).serialize();
+                }
+            );
+        }
+        final ExecutorService executor =
+            Executors.newFixedThreadPool(AdapterConcurrencyTest.THREADS);
+        final String[] actual = new String[trees.size()];
+        try {
+            final List<Future<String>> futures = new ArrayList<>(tasks.size());
+            for (final Callable<String> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (int index = 0; index < actual.length; index = index + 1) {
+                actual[index] = futures.get(index).get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return actual;
+    }
+
+    /**
+     * Creates a tree, a program with a list of statements.
+     * @param seed The number that makes the tree different from other trees
+     * @return The root node
+     */
+    private static Node createTree(final int seed) {
+        final List<Node> statements = new ArrayList<>(AdapterConcurrencyTest.STATEMENTS);
+        for (int index = 0; index < AdapterConcurrencyTest.STATEMENTS; index = index + 1) {
+            final int value = seed * AdapterConcurrencyTest.STATEMENTS + index;
+            final Node expression;
+            if (index % 2 == 0) {
+                expression = AdapterConcurrencyTest.create(
+                    "Addition",
+                    "",
+                    AdapterConcurrencyTest.createLiteral(value),
+                    AdapterConcurrencyTest.createLiteral(-value)
+                );
+            } else {
+                expression = AdapterConcurrencyTest.createLiteral(value);
+            }
+            statements.add(AdapterConcurrencyTest.create("Statement", "", expression));
+        }
+        return AdapterConcurrencyTest.create(
+            "Program", "", statements.toArray(new Node[0])
+        );
+    }
+
+    /**
+     * Creates a literal.
+     * @param value The value of the literal
+     * @return The node
+     */
+    private static Node createLiteral(final int value) {
+        return AdapterConcurrencyTest.create("Literal", String.valueOf(value));
+    }
+
+    /**
+     * Creates a node.
+     * @param name The type name
+     * @param data The data
+     * @param children The children
+     * @return The node
+     */
+    private static Node create(final String name, final String data, final Node... children) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName(name);
+        ctor.setData(data);
+        ctor.setChildrenList(Arrays.asList(children));
+        return ctor.createNode();
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.util.Arrays;
+import org.cqfn.astgen.base.DraftNode;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.base.TreeStore;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.cqfn.astgen.rules.Program;
+import org.cqfn.astgen.utils.FilesReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the {@link Adapter} class.
+ *
+ * @since 1.0
+ */
+public class AdapterTest {
+    /**
+     * The path to test resources.
+     */
+    private static final String PATH = "src/test/resources/interpreter/";
+
+    /**
+     * The 'Modifier' string.
+     */
+    private static final String MODIFIER = "Modifier";
+
+    /**
+     * The 'Alpha' string.
+     */
+    private static final String ALPHA = "Alpha";
+
+    /**
+     * The 'Beta' string.
+     */
+    private static final String BETA = "Beta";
+
+    /**
+     * The 'Statement' string.
+     */
+    private static final String STATEMENT = "Statement";
+
+    /**
+     * The 'public' string.
+     */
+    private static final String PUBLIC = "public";
+
+    /**
+     * Testing that only rules with a suitable root are applied to each node.
+     */
+    @Test
+    public void testTypeIndexedDispatch() {
+        final Adapter adapter = AdapterTest.createAdapter(
+            "Modifier<\"public\"> -> ModifierPublic;\nReturn(#1) -> ReturnStatement(#1);"
+        );
+        final Node tree = AdapterTest.createNode(
+            "Return",
+            "",
+            AdapterTest.createNode(AdapterTest.MODIFIER, AdapterTest.PUBLIC)
+        );
+        final Node result = adapter.convert(tree);
+        Assertions.assertEquals("ReturnStatement", result.getTypeName());
+        Assertions.assertEquals("ModifierPublic", result.getChild(0).getTypeName());
+    }
+
+    /**
+     * Testing that rules with the same root are tried in the order they are declared.
+     */
+    @Test
+    public void testRuleOrder() {
+        final Adapter adapter = AdapterTest.createAdapter(
+            "Modifier<#1> -> Keyword<#1>;\nModifier<\"public\"> -> ModifierPublic;"
+        );
+        final Node result = adapter.convert(
+            AdapterTest.createNode(AdapterTest.MODIFIER, AdapterTest.PUBLIC)
+        );
+        Assertions.assertEquals("Keyword", result.getTypeName());
+        Assertions.assertEquals(AdapterTest.PUBLIC, result.getData());
+    }
+
+    /**
+     * Testing the fixed-point mode: nodes created by a pass and their ancestors
+     * are matched again by the next pass.
+     */
+    @Test
+    public void testFixedPoint() {
+        final Adapter adapter = AdapterTest.createAdapter(
+            "Alpha -> Beta;\nBeta -> Gamma;\nWrapper(Gamma) -> Done;"
+        );
+        final Node tree = AdapterTest.createNode(
+            AdapterTest.STATEMENT,
+            "",
+            AdapterTest.createNode("Wrapper", "", AdapterTest.createNode(AdapterTest.ALPHA, ""))
+        );
+        final Node single = adapter.convert(tree);
+        Assertions.assertEquals(AdapterTest.BETA, single.getChild(0).getChild(0).getTypeName());
+        final Node result = adapter.convert(tree, Integer.MAX_VALUE);
+        Assertions.assertEquals(tree.getTypeName(), result.getTypeName());
+        Assertions.assertEquals("Done", result.getChild(0).getTypeName());
+    }
+
+    /**
+     * Testing that the number of passes is limited.
+     */
+    @Test
+    public void testIterationCap() {
+        final Adapter adapter = AdapterTest.createAdapter("Alpha -> Beta;\nBeta -> Alpha;");
+        final Node tree = AdapterTest.createNode(AdapterTest.ALPHA, "");
+        int iterations = 1;
+        Assertions.assertEquals(
+            AdapterTest.BETA, adapter.convert(tree, iterations).getTypeName()
+        );
+        iterations = iterations + 1;
+        Assertions.assertEquals(
+            AdapterTest.ALPHA, adapter.convert(tree, iterations).getTypeName()
+        );
+    }
+
+    /**
+     * Testing that unchanged subtrees are not copied, and that a node with
+     * many children is converted correctly.
+     */
+    @Test
+    public void testUnchangedSubtreesAreShared() {
+        final Adapter adapter = AdapterTest.createAdapter("Alpha -> Beta;");
+        final int count = 100_000;
+        final Node[] children = new Node[count];
+        for (int index = 0; index < count; index = index + 1) {
+            children[index] = AdapterTest.createNode(
+                AdapterTest.STATEMENT,
+                "",
+                AdapterTest.createNode("Other", String.valueOf(index))
+            );
+        }
+        children[count - 1] = AdapterTest.createNode(
+            AdapterTest.STATEMENT, "", AdapterTest.createNode(AdapterTest.ALPHA, "")
+        );
+        final Node result = adapter.convert(AdapterTest.createNode("Block", "", children));
+        Assertions.assertEquals(count, result.getChildCount());
+        Assertions.assertSame(children[0], result.getChild(0));
+        Assertions.assertEquals(
+            AdapterTest.BETA, result.getChild(count - 1).getChild(0).getTypeName()
+        );
+    }
+
+    /**
+     * Testing that a tree copied to the tree store is serialized and converted
+     * the same way as the tree of draft nodes.
+     * @throws Exception If the test resources could not be read
+     */
+    @Test
+    public void testStoredTree() throws Exception {
+        final Node draft = new JsonDeserializer(
+            new FilesReader(AdapterTest.PATH.concat("test_0_source_tree.json"))
+                .readAsString()
+        ).convert();
+        final TreeStore.Appender appender = new TreeStore.Appender();
+        appender.append(draft);
+        final TreeStore store = appender.build();
+        final Node root = store.getRoot();
+        Assertions.assertEquals(
+            new JsonSerializer(draft).serialize(),
+            new JsonSerializer(root).serialize()
+        );
+        final Adapter adapter = new Adapter(
+            new ProgramParser(
+                new FilesReader(AdapterTest.PATH.concat("test_0_rules.dsl")).readAsString()
+            ).parse().getTransformations()
+        );
+        Assertions.assertEquals(
+            new JsonSerializer(adapter.convert(draft)).serialize(),
+            new JsonSerializer(adapter.convert(root)).serialize()
+        );
+        Assertions.assertEquals(root, store.getRoot());
+    }
+
+    /**
+     * Creates an adapter from the DSL source.
+     * @param source The DSL source
+     * @return The adapter
+     */
+    private static Adapter createAdapter(final String source) {
+        Program program = null;
+        boolean oops = false;
+        try {
+            program = new ProgramParser(source).parse();
+        } catch (final BaseException ignored) {
+            oops = true;
+        }
+        Assertions.assertFalse(oops);
+        return new Adapter(program.getTransformations());
+    }
+
+    /**
+     * Creates a draft node.
+     * @param type The type name
+     * @param data The data
+     * @param children The children
+     * @return The node
+     */
+    private static Node createNode(final String type, final String data,
+        final Node... children) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName(type);
+        ctor.setData(data);
+        ctor.setChildrenList(Arrays.asList(children));
+        return ctor.createNode();
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import org.cqfn.astgen.Main;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.exceptions.BatchConversionFailed;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test that covers {@link BatchInterpreter} class.
+ *
+ * @since 1.0
+ */
+public class BatchInterpreterTest {
+    /**
+     * The path to test resources.
+     */
+    private static final String PATH = "src/test/resources/interpreter/test_0";
+
+    /**
+     * The name of the directory that contains source trees.
+     */
+    private static final String SOURCES = "sources";
+
+    /**
+     * The name of the output directory.
+     */
+    private static final String OUTPUT = "output";
+
+    /**
+     * The name of the first source file.
+     */
+    private static final String FIRST = "first.json";
+
+    /**
+     * The name of the subdirectory.
+     */
+    private static final String NESTED = "nested";
+
+    /**
+     * The name of the second source file.
+     */
+    private static final String SECOND = "second.json";
+
+    /**
+     * Test that converts all files of a directory, including subdirectories.
+     * @param temp A temporary directory
+     * @throws IOException If the files could not be read or written
+     * @throws BaseException If the conversion fails
+     */
+    @Test
+    public void testDirectory(@TempDir final Path temp) throws IOException, BaseException {
+        final Path sources = BatchInterpreterTest.prepare(temp);
+        final Path output = temp.resolve(BatchInterpreterTest.OUTPUT);
+        Main.main(BatchInterpreterTest.arguments(sources.toString(), output));
+        final String expected = BatchInterpreterTest.read(
+            Paths.get(BatchInterpreterTest.PATH.concat("_result.json"))
+        );
+        Assertions.assertEquals(
+            expected,
+            BatchInterpreterTest.read(output.resolve(BatchInterpreterTest.FIRST))
+        );
+        Assertions.assertEquals(
+            expected,
+            BatchInterpreterTest.read(
+                output.resolve(BatchInterpreterTest.NESTED).resolve(BatchInterpreterTest.SECOND)
+            )
+        );
+    }
+
+    /**
+     * Test that converts a directory with files in the JSON and binary formats
+     * into the binary format, the extensions of the resulting files follow the format.
+     * @param temp A temporary directory
+     * @throws IOException If the files could not be read or written
+     * @throws BaseException If the conversion fails
+     */
+    @Test
+    public void testDirectoryWithFormats(@TempDir final Path temp)
+        throws IOException, BaseException {
+        final Path sources = BatchInterpreterTest.prepare(temp);
+        final Path nested = sources.resolve(BatchInterpreterTest.NESTED);
+        Files.delete(nested.resolve(BatchInterpreterTest.SECOND));
+        Files.write(nested.resolve("second.ast"), BatchInterpreterTest.binary());
+        final Path output = temp.resolve(BatchInterpreterTest.OUTPUT);
+        final String[] arguments = BatchInterpreterTest.arguments(sources.toString(), output);
+        final String[] binary = Arrays.copyOf(arguments, arguments.length + 2);
+        binary[arguments.length] = "--format";
+        binary[arguments.length + 1] = "binary";
+        Main.main(binary);
+        final String expected = BatchInterpreterTest.read(
+            Paths.get(BatchInterpreterTest.PATH.concat("_result.json"))
+        );
+        for (final Path file : Arrays.asList(
+            output.resolve("first.ast"),
+            output.resolve(BatchInterpreterTest.NESTED).resolve("second.ast")
+        )) {
+            try (InputStream stream = Files.newInputStream(file)) {
+                Assertions.assertEquals(
+                    expected,
+                    new JsonSerializer(TreeFormat.BINARY.read(stream)).serialize()
+                );
+            }
+        }
+        Assertions.assertFalse(Files.exists(output.resolve(BatchInterpreterTest.FIRST)));
+    }
+
+    /**
+     * Test that converts files matching a glob pattern, a broken file does not
+     * stop the batch.
+     * @param temp A temporary directory
+     * @throws IOException If the files could not be read or written
+     */
+    @Test
+    public void testPatternWithFailure(@TempDir final Path temp) throws IOException {
+        final Path sources = BatchInterpreterTest.prepare(temp);
+        Files.write(
+            sources.resolve("broken.json"),
+            "{\"root\": ".getBytes(StandardCharsets.UTF_8)
+        );
+        final Path output = temp.resolve(BatchInterpreterTest.OUTPUT);
+        final String pattern = sources.toString().concat("/*.json");
+        final BatchConversionFailed failure = Assertions.assertThrows(
+            BatchConversionFailed.class,
+            () -> Main.main(BatchInterpreterTest.arguments(pattern, output))
+        );
+        Assertions.assertEquals(
+            "1 of 2 files could not be converted",
+            failure.getErrorMessage()
+        );
+        Assertions.assertTrue(Files.exists(output.resolve(BatchInterpreterTest.FIRST)));
+        Assertions.assertFalse(Files.exists(output.resolve(BatchInterpreterTest.NESTED)));
+    }
+
+    /**
+     * Test that converts mapped binary files, a truncated file is reported
+     * and does not stop the batch.
+     * @param temp A temporary directory
+     * @throws IOException If the files could not be read or written
+     */
+    @Test
+    public void testMappedTruncatedFile(@TempDir final Path temp) throws IOException {
+        final Path sources = temp.resolve(BatchInterpreterTest.SOURCES);
+        Files.createDirectories(sources);
+        final byte[] tree = BatchInterpreterTest.binary();
+        Files.write(sources.resolve("first.ast"), tree);
+        Files.write(sources.resolve("truncated.ast"), Arrays.copyOf(tree, tree.length / 2));
+        final Path output = temp.resolve(BatchInterpreterTest.OUTPUT);
+        final String[] arguments = BatchInterpreterTest.arguments(
+            sources.toString().concat("/*.ast"), output
+        );
+        final String[] mapped = Arrays.copyOf(arguments, arguments.length + 3);
+        mapped[arguments.length] = "--mmap";
+        mapped[arguments.length + 1] = "--source-format";
+        mapped[arguments.length + 2] = "binary";
+        final BatchConversionFailed failure = Assertions.assertThrows(
+            BatchConversionFailed.class,
+            () -> Main.main(mapped)
+        );
+        Assertions.assertEquals(
+            "1 of 2 files could not be converted",
+            failure.getErrorMessage()
+        );
+    }
+
+    /**
+     * Creates the directory with source trees: one file in the directory itself
+     * and one file in a subdirectory.
+     * @param temp A temporary directory
+     * @return The directory with source trees
+     * @throws IOException If the files could not be written
+     */
+    private static Path prepare(final Path temp) throws IOException {
+        final Path sources = temp.resolve(BatchInterpreterTest.SOURCES);
+        final Path nested = sources.resolve(BatchInterpreterTest.NESTED);
+        Files.createDirectories(nested);
+        final Path tree = Paths.get(BatchInterpreterTest.PATH.concat("_source_tree.json"));
+        Files.copy(tree, sources.resolve(BatchInterpreterTest.FIRST));
+        Files.copy(tree, nested.resolve(BatchInterpreterTest.SECOND));
+        return sources;
+    }
+
+    /**
+     * Converts the source tree of the test into the binary format.
+     * @return The content of a binary file
+     * @throws IOException If the tree could not be read or written
+     */
+    private static byte[] binary() throws IOException {
+        final Path source = Paths.get(BatchInterpreterTest.PATH.concat("_source_tree.json"));
+        final Node tree = new JsonDeserializer(BatchInterpreterTest.read(source)).convert();
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        TreeFormat.BINARY.write(tree, stream, false);
+        return stream.toByteArray();
+    }
+
+    /**
+     * Builds command-line arguments for the batch conversion.
+     * @param batch The directory or the glob pattern
+     * @param output The output directory
+     * @return The arguments
+     */
+    private static String[] arguments(final String batch, final Path output) {
+        return new String[] {
+            "--action",
+            "convert",
+            "--rules",
+            BatchInterpreterTest.PATH.concat("_rules.dsl"),
+            "--batch",
+            batch,
+            "--batch-output",
+            output.toString(),
+            "--threads",
+            "2",
+        };
+    }
+
+    /**
+     * Reads a file.
+     * @param file The file
+     * @return The content of the file
+     * @throws IOException If the file could not be read
+     */
+    private static String read(final Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.cqfn.astgen.base.DraftNode;
+import org.cqfn.astgen.base.EmptyTree;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.utils.FilesReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the {@link BinarySerializer} and {@link BinaryDeserializer} classes.
+ *
+ * @since 1.0
+ */
+public class BinaryFormatTest {
+    /**
+     * The source tree.
+     */
+    private static final String SOURCE = "src/test/resources/interpreter/test_0_source_tree.json";
+
+    /**
+     * The type of name nodes.
+     */
+    private static final String NAME = "Name";
+
+    /**
+     * The data of name nodes.
+     */
+    private static final String DATA = "été";
+
+    /**
+     * The type of the root node.
+     */
+    private static final String CALL = "Call";
+
+    /**
+     * The type of chain nodes.
+     */
+    private static final String CHAIN = "Chain";
+
+    /**
+     * The depth of the chain.
+     */
+    private static final int DEPTH = 100_000;
+
+    /**
+     * Testing that a tree converted from JSON to the binary format and back
+     * is the same, and the binary form is smaller.
+     * @throws IOException If the files could not be read
+     */
+    @Test
+    public void testLosslessConversion() throws IOException {
+        final String json = new FilesReader(BinaryFormatTest.SOURCE).readAsString();
+        final Node tree = new JsonDeserializer(json).convert();
+        final byte[] binary = BinaryFormatTest.write(tree);
+        final Node copy = BinaryFormatTest.read(binary);
+        Assertions.assertEquals(
+            new JsonSerializer(tree).serialize(),
+            new JsonSerializer(copy).serialize()
+        );
+        Assertions.assertArrayEquals(binary, BinaryFormatTest.write(copy));
+        Assertions.assertTrue(binary.length < json.length() / 2);
+    }
+
+    /**
+     * Testing empty trees, non-ASCII data and shared strings.
+     * @throws IOException If the tree could not be read
+     */
+    @Test
+    public void testSpecialNodes() throws IOException {
+        final Node tree = BinaryFormatTest.create(
+            BinaryFormatTest.CALL,
+            "",
+            BinaryFormatTest.create(BinaryFormatTest.NAME, BinaryFormatTest.DATA),
+            EmptyTree.INSTANCE,
+            BinaryFormatTest.create(BinaryFormatTest.NAME, BinaryFormatTest.DATA)
+        );
+        final Node copy = BinaryFormatTest.read(BinaryFormatTest.write(tree));
+        Assertions.assertEquals(BinaryFormatTest.CALL, copy.getTypeName());
+        Assertions.assertEquals(tree.getChildCount(), copy.getChildCount());
+        Assertions.assertEquals(BinaryFormatTest.DATA, copy.getChild(0).getData());
+        Assertions.assertSame(EmptyTree.INSTANCE, copy.getChild(1));
+        Assertions.assertSame(copy.getChild(0).getType(), copy.getChild(2).getType());
+        Assertions.assertSame(copy.getChild(0).getData(), copy.getChild(2).getData());
+    }
+
+    /**
+     * Testing a deep chain.
+     * @throws IOException If the tree could not be read
+     */
+    @Test
+    public void testDeepChain() throws IOException {
+        Node tree = BinaryFormatTest.create("Leaf", "0");
+        for (int index = 0; index < BinaryFormatTest.DEPTH; index = index + 1) {
+            tree = BinaryFormatTest.create(BinaryFormatTest.CHAIN, "", tree);
+        }
+        Node node = BinaryFormatTest.read(BinaryFormatTest.write(tree));
+        for (int index = 0; index < BinaryFormatTest.DEPTH; index = index + 1) {
+            Assertions.assertEquals(BinaryFormatTest.CHAIN, node.getTypeName());
+            node = node.getChild(0);
+        }
+        Assertions.assertEquals("0", node.getData());
+    }
+
+    /**
+     * Testing that malformed streams are reported.
+     * @throws IOException If the tree could not be written
+     */
+    @Test
+    public void testMalformedStream() throws IOException {
+        Assertions.assertThrows(
+            IOException.class,
+            () -> BinaryFormatTest.read("{\"root\": {}}".getBytes(StandardCharsets.UTF_8))
+        );
+        final byte[] binary = BinaryFormatTest.write(
+            BinaryFormatTest.create(BinaryFormatTest.NAME, "x")
+        );
+        Assertions.assertThrows(
+            EOFException.class,
+            () -> BinaryFormatTest.read(Arrays.copyOf(binary, binary.length - 1))
+        );
+    }
+
+    /**
+     * Writes a tree in the binary format.
+     * @param tree The tree
+     * @return The bytes
+     * @throws IOException If the tree could not be written
+     */
+    private static byte[] write(final Node tree) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        TreeFormat.BINARY.write(tree, output, false);
+        return output.toByteArray();
+    }
+
+    /**
+     * Reads a tree in the binary format.
+     * @param binary The bytes
+     * @return The tree
+     * @throws IOException If the tree could not be read
+     */
+    private static Node read(final byte[] binary) throws IOException {
+        return TreeFormat.BINARY.read(new ByteArrayInputStream(binary));
+    }
+
+    /**
+     * Creates a draft node.
+     * @param type The node type
+     * @param data The node data
+     * @param children The children
+     * @return The node
+     */
+    private static Node create(final String type, final String data,
+        final Node... children) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName(type);
+        ctor.setData(data);
+        ctor.setChildrenList(Arrays.asList(children));
+        return ctor.createNode();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.cqfn.astgen.rules.Program;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test checking that very deep trees are processed without stack overflow.
+ *
+ * @since 1.0
+ */
+public class DeepTreeTest {
+    /**
+     * The depth of the tree.
+     */
+    private static final int DEPTH = 1_000_000;
+
+    /**
+     * Testing deserialization, conversion and serialization of a chain
+     * of one million nodes.
+     * @throws IOException If the JSON could not be written
+     */
+    @Test
+    public void testMillionDeepChain() throws IOException {
+        final Node tree = new JsonDeserializer(
+            DeepTreeTest.createChain("Chain", "Leaf")
+        ).convert();
+        Assertions.assertEquals(DeepTreeTest.DEPTH + 1, DeepTreeTest.getDepth(tree));
+        final Node result = DeepTreeTest.createAdapter(
+            "Leaf -> Item;\nChain(#1) -> Link(#1);"
+        ).convert(tree);
+        Assertions.assertEquals(DeepTreeTest.DEPTH + 1, DeepTreeTest.getDepth(result));
+        final StringWriter output = new StringWriter();
+        new JsonSerializer(result).serialize(output, false);
+        Assertions.assertEquals(DeepTreeTest.createChain("Link", "Item"), output.toString());
+    }
+
+    /**
+     * Creates a JSON that describes a chain of nodes.
+     * @param type The type of chain nodes
+     * @param leaf The type of the last node
+     * @return The JSON
+     */
+    private static String createChain(final String type, final String leaf) {
+        final String prefix = String.format("{\"type\":\"%s\",\"children\":[", type);
+        return String.join(
+            "",
+            "{\"root\":",
+            String.join("", Collections.nCopies(DeepTreeTest.DEPTH, prefix)),
+            String.format("{\"type\":\"%s\"}", leaf),
+            String.join("", Collections.nCopies(DeepTreeTest.DEPTH, "]}")),
+            "}"
+        );
+    }
+
+    /**
+     * Calculates the depth of a chain of nodes.
+     * @param root The root of the chain
+     * @return The number of nodes in the chain
+     */
+    private static int getDepth(final Node root) {
+        int depth = 1;
+        Node node = root;
+        while (node.getChildCount() > 0) {
+            node = node.getChild(0);
+            depth = depth + 1;
+        }
+        return depth;
+    }
+
+    /**
+     * Creates an adapter from the DSL source.
+     * @param source The DSL source
+     * @return The adapter
+     */
+    private static Adapter createAdapter(final String source) {
+        Program program = null;
+        boolean oops = false;
+        try {
+            program = new ProgramParser(source).parse();
+        } catch (final BaseException ignored) {
+            oops = true;
+        }
+        Assertions.assertFalse(oops);
+        return new Adapter(program.getTransformations());
+    }
+}
@@ -0,0 +1,420 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.cqfn.astgen.base.Captures;
+import org.cqfn.astgen.base.DraftNode;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.rules.Descriptor;
+import org.cqfn.astgen.rules.DescriptorFactory;
+import org.cqfn.astgen.rules.Hole;
+import org.cqfn.astgen.rules.HoleAttribute;
+import org.cqfn.astgen.rules.StringData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the {@link DiscriminationTree} class.
+ *
+ * @since 1.0
+ */
+public class DiscriminationTreeTest {
+    /**
+     * The 'singleExpression' string.
+     */
+    private static final String EXPRESSION = "singleExpression";
+
+    /**
+     * The 'literal' string.
+     */
+    private static final String LITERAL = "literal";
+
+    /**
+     * The set of type names for random trees.
+     */
+    private static final String[] TYPES = {
+        DiscriminationTreeTest.EXPRESSION,
+        DiscriminationTreeTest.LITERAL,
+        "identifier",
+    };
+
+    /**
+     * The set of data for random trees.
+     */
+    private static final String[] DATA = {"", "+", "1"};
+
+    /**
+     * The name of the language in descriptors.
+     */
+    private static final String LANGUAGE = "first";
+
+    /**
+     * The number of sets of random patterns.
+     */
+    private static final int ROUNDS = 20;
+
+    /**
+     * The number of random patterns in a set.
+     */
+    private static final int PATTERNS = 100;
+
+    /**
+     * The number of random nodes.
+     */
+    private static final int NODES = 2000;
+
+    /**
+     * The maximum depth of random patterns.
+     */
+    private static final int DEPTH = 3;
+
+    /**
+     * The number of variants of random choice (type of data, child or hole).
+     */
+    private static final int VARIANTS = 3;
+
+    /**
+     * The maximum number of children of random patterns and nodes, plus one.
+     */
+    private static final int FANOUT = 4;
+
+    /**
+     * Testing that the first of several matching patterns is reported.
+     */
+    @Test
+    public void testFirstMatchingPattern() {
+        final Descriptor first = DiscriminationTreeTest.descriptor(
+            DiscriminationTreeTest.EXPRESSION,
+            null,
+            DiscriminationTreeTest.descriptor(DiscriminationTreeTest.LITERAL, new StringData("1")),
+            new Hole(1, HoleAttribute.NONE)
+        );
+        final Descriptor second = DiscriminationTreeTest.descriptor(
+            DiscriminationTreeTest.EXPRESSION,
+            null,
+            new Hole(1, HoleAttribute.NONE),
+            DiscriminationTreeTest.descriptor(
+                DiscriminationTreeTest.LITERAL,
+                new Hole(2, HoleAttribute.NONE)
+            )
+        );
+        final DiscriminationTree tree = new DiscriminationTree(Arrays.asList(first, second));
+        final Node node = DiscriminationTreeTest.node(
+            DiscriminationTreeTest.EXPRESSION,
+            "",
+            DiscriminationTreeTest.node(DiscriminationTreeTest.LITERAL, "2"),
+            DiscriminationTreeTest.node(DiscriminationTreeTest.LITERAL, "3")
+        );
+        final Captures captures = new Captures(0);
+        Assertions.assertEquals(1, tree.match(node, captures));
+        Assertions.assertEquals("2", captures.getChildren(1).get(0).getData());
+        Assertions.assertEquals("3", captures.getData(2));
+        final Node other = DiscriminationTreeTest.node(
+            DiscriminationTreeTest.EXPRESSION,
+            "",
+            DiscriminationTreeTest.node(DiscriminationTreeTest.LITERAL, "1"),
+            DiscriminationTreeTest.node(DiscriminationTreeTest.LITERAL, "3")
+        );
+        Assertions.assertEquals(
+            0,
+            tree.match(other, new Captures(0))
+        );
+    }
+
+    /**
+     * Testing that a pattern is found after another pattern that skips the first children
+     *  by holes failed on a deeper child.
+     */
+    @Test
+    public void testSiblingsAfterBacktracking() {
+        final String root = "R";
+        final String inner = "Y";
+        final Descriptor first = DiscriminationTreeTest.descriptor(
+            root,
+            null,
+            new Hole(1, HoleAttribute.NONE),
+            new Hole(2, HoleAttribute.NONE),
+            DiscriminationTreeTest.descriptor(
+                inner,
+                null,
+                DiscriminationTreeTest.descriptor("Q", null),
+                DiscriminationTreeTest.descriptor("Q", null)
+            )
+        );
+        final Descriptor second = DiscriminationTreeTest.descriptor(
+            root,
+            null,
+            DiscriminationTreeTest.descriptor("W", null),
+            DiscriminationTreeTest.descriptor("X", null),
+            new Hole(3, HoleAttribute.NONE)
+        );
+        final DiscriminationTree tree = new DiscriminationTree(Arrays.asList(first, second));
+        final Node node = DiscriminationTreeTest.node(
+            root,
+            "",
+            DiscriminationTreeTest.node("W", ""),
+            DiscriminationTreeTest.node("X", ""),
+            DiscriminationTreeTest.node(
+                inner,
+                "",
+                DiscriminationTreeTest.node("C", ""),
+                DiscriminationTreeTest.node("D", "")
+            )
+        );
+        final Captures captures = new Captures(0);
+        Assertions.assertEquals(1, tree.match(node, captures));
+        Assertions.assertEquals(inner, captures.getChildren(3).get(0).getTypeName());
+    }
+
+    /**
+     * Testing that the tree gives the same results as separate matchers on random input.
+     */
+    @Test
+    public void testEquivalenceWithMatcher() {
+        for (int round = 0; round < DiscriminationTreeTest.ROUNDS; round = round + 1) {
+            final Generator generator = new Generator(round);
+            final List<Descriptor> patterns = new ArrayList<>(0);
+            for (int index = 0; index < DiscriminationTreeTest.PATTERNS; index = index + 1) {
+                patterns.add(generator.pattern(DiscriminationTreeTest.DEPTH, new int[] {0}));
+            }
+            final DiscriminationTree tree = new DiscriminationTree(patterns);
+            for (int index = 0; index < DiscriminationTreeTest.NODES; index = index + 1) {
+                final Node node;
+                if (index % 2 == 0) {
+                    node = generator.node(DiscriminationTreeTest.DEPTH + 1);
+                } else {
+                    node = generator.instance(patterns.get(index % patterns.size()));
+                }
+                final Captures reference = new Captures(0);
+                final int expected = Reference.match(patterns, node, reference);
+                final Captures captures = new Captures(0);
+                Assertions.assertEquals(expected, tree.match(node, captures));
+                if (expected >= 0) {
+                    Assertions.assertEquals(
+                        DiscriminationTreeTest.dump(reference),
+                        DiscriminationTreeTest.dump(captures)
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Dumps the content of a capture frame into a string.
+     * @param captures The capture frame
+     * @return The string representation of captured children and data
+     */
+    private static String dump(final Captures captures) {
+        final Map<Integer, List<Node>> children = new TreeMap<>();
+        final Map<Integer, String> data = new TreeMap<>();
+        captures.copyTo(children, data);
+        return String.format("%s %s", children, data);
+    }
+
+    /**
+     * Creates a descriptor.
+     * @param type The type name
+     * @param data The data or {@code null}
+     * @param parameters The parameters
+     * @return A descriptor
+     */
+    private static Descriptor descriptor(final String type,
+        final org.cqfn.astgen.rules.Data data,
+        final org.cqfn.astgen.rules.Parameter... parameters) {
+        final DescriptorFactory factory =
+            new DescriptorFactory(DiscriminationTreeTest.LANGUAGE, type);
+        if (data != null) {
+            factory.setData(data);
+        }
+        for (final org.cqfn.astgen.rules.Parameter parameter : parameters) {
+            factory.addParameter(parameter);
+        }
+        return factory.createDescriptor();
+    }
+
+    /**
+     * Creates a draft node.
+     * @param type The type name
+     * @param data The data
+     * @param children The children
+     * @return The node
+     */
+    private static Node node(final String type, final String data, final Node... children) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName(type);
+        ctor.setData(data);
+        ctor.setChildrenList(Arrays.asList(children));
+        return ctor.createNode();
+    }
+
+    /**
+     * Reference matching that tries separate matchers one by one.
+     *
+     * @since 1.0
+     */
+    @SuppressWarnings("PMD.UseUtilityClass")
+    private static final class Reference {
+        /**
+         * Finds the first pattern that matches the node.
+         * @param patterns The patterns
+         * @param node The node
+         * @param captures Where to save extracted children and data
+         * @return The index of the matched pattern or {@code -1}
+         */
+        static int match(final List<Descriptor> patterns, final Node node,
+            final Captures captures) {
+            int result = -1;
+            for (int rule = 0; rule < patterns.size(); rule = rule + 1) {
+                captures.reset();
+                if (new Matcher(patterns.get(rule)).match(node, captures)) {
+                    result = rule;
+                    break;
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Generator of random patterns and nodes.
+     *
+     * @since 1.0
+     */
+    private static final class Generator {
+        /**
+         * The random generator.
+         */
+        private final Random random;
+
+        /**
+         * Constructor.
+         * @param seed The seed of the random generator
+         */
+        Generator(final long seed) {
+            this.random = new Random(seed);
+        }
+
+        /**
+         * Creates a random pattern.
+         * @param depth The maximum depth
+         * @param holes The counter of holes
+         * @return A descriptor
+         */
+        Descriptor pattern(final int depth, final int... holes) {
+            final DescriptorFactory factory = new DescriptorFactory(
+                DiscriminationTreeTest.LANGUAGE,
+                this.pick(DiscriminationTreeTest.TYPES)
+            );
+            final int kind = this.random.nextInt(DiscriminationTreeTest.VARIANTS);
+            if (kind == 1) {
+                factory.setData(
+                    new StringData(
+                        DiscriminationTreeTest.DATA[
+                            1 + this.random.nextInt(DiscriminationTreeTest.DATA.length - 1)
+                        ]
+                    )
+                );
+            } else if (kind == 2) {
+                holes[0] = holes[0] + 1;
+                factory.setData(new Hole(holes[0], HoleAttribute.NONE));
+            }
+            if (depth > 0) {
+                final int count = this.random.nextInt(DiscriminationTreeTest.FANOUT);
+                for (int index = 0; index < count; index = index + 1) {
+                    if (this.random.nextInt(DiscriminationTreeTest.VARIANTS) == 0) {
+                        holes[0] = holes[0] + 1;
+                        factory.addParameter(new Hole(holes[0], HoleAttribute.NONE));
+                    } else {
+                        factory.addParameter(this.pattern(depth - 1, holes));
+                    }
+                }
+            }
+            return factory.createDescriptor();
+        }
+
+        /**
+         * Creates a random node.
+         * @param depth The maximum depth
+         * @return A node
+         */
+        Node node(final int depth) {
+            final int count;
+            if (depth > 0) {
+                count = this.random.nextInt(DiscriminationTreeTest.FANOUT);
+            } else {
+                count = 0;
+            }
+            final Node[] children = new Node[count];
+            for (int index = 0; index < count; index = index + 1) {
+                children[index] = this.node(depth - 1);
+            }
+            return DiscriminationTreeTest.node(
+                this.pick(DiscriminationTreeTest.TYPES),
+                this.pick(DiscriminationTreeTest.DATA),
+                children
+            );
+        }
+
+        /**
+         * Creates a random node that is likely to match the pattern, some of its
+         *  parts differ from the pattern.
+         * @param pattern The pattern
+         * @return A node
+         */
+        Node instance(final Descriptor pattern) {
+            final List<org.cqfn.astgen.rules.Parameter> parameters = pattern.getParameters();
+            final Node[] children = new Node[parameters.size()];
+            for (int index = 0; index < children.length; index = index + 1) {
+                final org.cqfn.astgen.rules.Parameter parameter = parameters.get(index);
+                if (parameter instanceof Descriptor
+                    && this.random.nextInt(DiscriminationTreeTest.FANOUT) > 0) {
+                    children[index] = this.instance((Descriptor) parameter);
+                } else {
+                    children[index] = this.node(1);
+                }
+            }
+            String data = this.pick(DiscriminationTreeTest.DATA);
+            if (pattern.getData() instanceof StringData
+                && this.random.nextInt(DiscriminationTreeTest.FANOUT) > 0) {
+                data = ((StringData) pattern.getData()).getValue();
+            }
+            return DiscriminationTreeTest.node(pattern.getType(), data, children);
+        }
+
+        /**
+         * Picks a random string.
+         * @param strings The array of strings
+         * @return One of the strings
+         */
+        private String pick(final String... strings) {
+            return strings[this.random.nextInt(strings.length)];
+        }
+    }
+}
@@ -24,8 +24,14 @@
 package org.cqfn.astgen.interpreter;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.cqfn.astgen.Main;
+import org.cqfn.astgen.base.Node;
 import org.cqfn.astgen.exceptions.BaseException;
 import org.cqfn.astgen.utils.FilesReader;
 import org.junit.jupiter.api.Assertions;
@@ -38,16 +44,144 @@ import org.junit.jupiter.api.io.TempDir;
  * @since 1.0
  */
 public class InterpreterTest {
+    /**
+     * The path to test resources.
+     */
+    private static final String PATH = "src/test/resources/interpreter/";
+
+    /**
+     * The prefix of names of files used by the first test.
+     */
+    private static final String FIRST = "test_0";
+
+    /**
+     * The suffix of names of files that contain expected results.
+     */
+    private static final String EXPECTED = "_result.json";
+
+    /**
+     * The option of the action.
+     */
+    private static final String ACTION = "--action";
+
+    /**
+     * The conversion action.
+     */
+    private static final String CONVERT = "convert";
+
+    /**
+     * The option of the rules file.
+     */
+    private static final String RULES = "--rules";
+
+    /**
+     * The option of the source file.
+     */
+    private static final String SOURCE = "--source";
+
+    /**
+     * The option of the destination file.
+     */
+    private static final String DESTINATION = "--destination";
+
     /**
      * First test.
      * @param temp A temporary directory
      */
     @Test
     public void firstTest(@TempDir final Path temp) {
-        final boolean result = this.test("test_0", temp);
+        final boolean result = this.test(InterpreterTest.FIRST, temp);
         Assertions.assertTrue(result);
     }
 
+    /**
+     * Test that writes the resulting tree in the compact form.
+     * @param temp A temporary directory
+     * @throws IOException If the files could not be read
+     * @throws BaseException If the conversion fails
+     */
+    @Test
+    public void compactTest(@TempDir final Path temp) throws IOException, BaseException {
+        final String prefix = InterpreterTest.FIRST;
+        final Path dst = temp.resolve("compact.json");
+        Main.main(InterpreterTest.arguments(prefix, dst, "--compact"));
+        final String actual = new FilesReader(dst.toString()).readAsString();
+        Assertions.assertFalse(actual.contains("\n"));
+        Assertions.assertEquals(
+            new FilesReader(
+                InterpreterTest.PATH.concat(prefix).concat(InterpreterTest.EXPECTED)
+            ).readAsString(),
+            new JsonSerializer(new JsonDeserializer(actual).convert()).serialize()
+        );
+    }
+
+    /**
+     * Test that writes the resulting tree in the binary format, chosen by the extension,
+     * and converts it back to JSON with formats chosen explicitly.
+     * @param temp A temporary directory
+     * @throws IOException If the files could not be read
+     * @throws BaseException If the conversion fails
+     */
+    @Test
+    public void binaryTest(@TempDir final Path temp) throws IOException, BaseException {
+        final String prefix = InterpreterTest.FIRST;
+        final Path binary = temp.resolve("result.ast");
+        Main.main(InterpreterTest.arguments(prefix, binary));
+        final Node tree;
+        try (InputStream stream = Files.newInputStream(binary)) {
+            tree = new BinaryDeserializer(stream).convert();
+        }
+        final String expected = new FilesReader(
+            InterpreterTest.PATH.concat(prefix).concat(InterpreterTest.EXPECTED)
+        ).readAsString();
+        Assertions.assertEquals(expected, new JsonSerializer(tree).serialize());
+        final Path renamed = temp.resolve("binary.json");
+        final Path copy = temp.resolve("copy.ast");
+        Files.copy(binary, renamed);
+        Main.main(
+            InterpreterTest.ACTION, InterpreterTest.CONVERT,
+            InterpreterTest.RULES, InterpreterTest.PATH.concat("empty.dsl"),
+            InterpreterTest.SOURCE, renamed.toString(),
+            "--source-format", "binary",
+            "--mmap",
+            InterpreterTest.DESTINATION, copy.toString(),
+            "--format", "json"
+        );
+        Assertions.assertEquals(expected, new FilesReader(copy.toString()).readAsString());
+    }
+
+    /**
+     * Test that maps the source file in the binary format into memory and writes
+     * the result to the same file, so the file is overwritten after it is read.
+     * @param temp A temporary directory
+     * @throws IOException If the files could not be read
+     * @throws BaseException If the conversion fails
+     */
+    @Test
+    public void mappedSourceOverwrittenTest(@TempDir final Path temp)
+        throws IOException, BaseException {
+        final String prefix = InterpreterTest.FIRST;
+        final Path binary = temp.resolve("tree.ast");
+        Main.main(InterpreterTest.arguments(prefix, binary));
+        Main.main(
+            InterpreterTest.ACTION, InterpreterTest.CONVERT,
+            InterpreterTest.RULES, InterpreterTest.PATH.concat("empty.dsl"),
+            InterpreterTest.SOURCE, binary.toString(),
+            "--mmap",
+            InterpreterTest.DESTINATION, binary.toString()
+        );
+        final Node tree;
+        try (InputStream stream = Files.newInputStream(binary)) {
+            tree = new BinaryDeserializer(stream).convert();
+        }
+        Assertions.assertEquals(
+            new FilesReader(
+                InterpreterTest.PATH.concat(prefix).concat(InterpreterTest.EXPECTED)
+            ).readAsString(),
+            new JsonSerializer(tree).serialize()
+        );
+    }
+
     /**
      * Performs the test.
      * @param prefix The prefix of names of files that contains rules and syntax trees
@@ -55,27 +189,18 @@ public class InterpreterTest {
      * @return Testing result, {@code true} if success
      */
     private boolean test(final String prefix, @TempDir final Path temp) {
-        final String path = "src/test/resources/interpreter/".concat(prefix);
+        final String path = InterpreterTest.PATH.concat(prefix);
         final Path dst = temp.resolve("result.json");
-        final String[] args = {
-            "--action",
-            "convert",
-            "--rules",
-            path.concat("_rules.dsl"),
-            "--source",
-            path.concat("_source_tree.json"),
-            "--destination",
-            dst.toString(),
-        };
         boolean oops = false;
         try {
-            Main.main(args);
+            Main.main(InterpreterTest.arguments(prefix, dst));
         } catch (final BaseException ignored) {
             oops = true;
         }
         boolean result = false;
         try {
-            final String expected = new FilesReader(path.concat("_result.json")).readAsString();
+            final String expected =
+                new FilesReader(path.concat(InterpreterTest.EXPECTED)).readAsString();
             final String actual = new FilesReader(dst.toString()).readAsString();
             result = expected.equals(actual);
         } catch (final IOException ignored) {
@@ -84,4 +209,30 @@ public class InterpreterTest {
         Assertions.assertFalse(oops);
         return result;
     }
+
+    /**
+     * Builds command-line arguments for the conversion.
+     * @param prefix The prefix of names of files that contains rules and syntax trees
+     * @param dst The destination file
+     * @param extra Additional arguments
+     * @return The arguments
+     */
+    private static String[] arguments(final String prefix, final Path dst,
+        final String... extra) {
+        final String path = InterpreterTest.PATH.concat(prefix);
+        final List<String> args = new ArrayList<>(
+            Arrays.asList(
+                InterpreterTest.ACTION,
+                InterpreterTest.CONVERT,
+                InterpreterTest.RULES,
+                path.concat("_rules.dsl"),
+                InterpreterTest.SOURCE,
+                path.concat("_source_tree.json"),
+                InterpreterTest.DESTINATION,
+                dst.toString()
+            )
+        );
+        args.addAll(Arrays.asList(extra));
+        return args.toArray(new String[0]);
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import com.google.gson.JsonSyntaxException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.cqfn.astgen.base.EmptyTree;
+import org.cqfn.astgen.base.Node;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the {@link JsonDeserializer} class.
+ *
+ * @since 1.0
+ */
+public class JsonDeserializerTest {
+    /**
+     * Testing reading a tree from a stream, with properties in any order
+     * and non-ASCII data.
+     */
+    @Test
+    public void testReadingFromStream() {
+        final String json = String.join(
+            "",
+            "{\"version\": 1, \"root\": {\"children\": [",
+            "{\"type\": \"Name\", \"data\": \"été\"}, {\"data\": \"x\"}],",
+            "\"type\": \"Call\", \"extra\": {\"a\": [1, 2]}}}"
+        );
+        final Node root = new JsonDeserializer(
+            new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))
+        ).convert();
+        Assertions.assertEquals("Call", root.getTypeName());
+        Assertions.assertEquals(2, root.getChildCount());
+        Assertions.assertEquals("été", root.getChild(0).getData());
+        Assertions.assertTrue(root.getChild(1) instanceof EmptyTree);
+    }
+
+    /**
+     * Testing that nodes share types and equal data strings.
+     */
+    @Test
+    public void testSharedSymbols() {
+        final String json = String.join(
+            "",
+            "{\"root\": {\"type\": \"List\", \"children\": [",
+            "{\"type\": \"Name\", \"data\": \"abc\"},",
+            "{\"type\": \"Name\", \"data\": \"abc\"}]}}"
+        );
+        final Node root = new JsonDeserializer(json).convert();
+        final Node first = root.getChild(0);
+        final Node second = root.getChild(1);
+        Assertions.assertSame(first.getType(), second.getType());
+        Assertions.assertSame(first.getData(), second.getData());
+        Assertions.assertSame(
+            new JsonDeserializer(json).convert().getType(),
+            root.getType()
+        );
+    }
+
+    /**
+     * Testing that malformed JSON is reported.
+     */
+    @Test
+    public void testMalformedJson() {
+        Assertions.assertThrows(
+            JsonSyntaxException.class,
+            () -> new JsonDeserializer("{\"root\": {\"type\": \"A\", }}").convert()
+        );
+    }
+}
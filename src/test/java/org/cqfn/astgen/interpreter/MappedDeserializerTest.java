@@ -0,0 +1,239 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import org.cqfn.astgen.base.DraftNode;
+import org.cqfn.astgen.base.EmptyTree;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.cqfn.astgen.utils.FilesReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for the {@link MappedDeserializer} class.
+ *
+ * @since 1.0
+ */
+public class MappedDeserializerTest {
+    /**
+     * The path to test resources.
+     */
+    private static final String PATH = "src/test/resources/interpreter/";
+
+    /**
+     * The name of the binary file.
+     */
+    private static final String FILE = "tree.ast";
+
+    /**
+     * The type of chain nodes.
+     */
+    private static final String CHAIN = "Chain";
+
+    /**
+     * The type of leaves.
+     */
+    private static final String LEAF = "Leaf";
+
+    /**
+     * The depth of the chain.
+     */
+    private static final int DEPTH = 100_000;
+
+    /**
+     * The number of children of the wide node.
+     */
+    private static final int WIDTH = 1000;
+
+    /**
+     * Testing that the mapped tree is serialized and converted the same way
+     * as the tree that is read.
+     * @param temp A temporary directory
+     * @throws IOException If the files could not be read
+     * @throws BaseException If the rules could not be parsed
+     */
+    @Test
+    public void testSameAsRead(@TempDir final Path temp) throws IOException, BaseException {
+        final Node tree;
+        try (InputStream stream = Files.newInputStream(
+            Paths.get(MappedDeserializerTest.PATH, "test_0_source_tree.json")
+        )) {
+            tree = TreeFormat.JSON.read(stream);
+        }
+        final Node mapped = MappedDeserializerTest.map(temp, tree);
+        Assertions.assertEquals(
+            new JsonSerializer(tree).serialize(),
+            new JsonSerializer(mapped).serialize()
+        );
+        final Adapter adapter = new Adapter(
+            new ProgramParser(
+                new FilesReader(MappedDeserializerTest.PATH.concat("test_0_rules.dsl"))
+                    .readAsString()
+            ).parse().getTransformations()
+        );
+        Assertions.assertEquals(
+            new JsonSerializer(adapter.convert(tree)).serialize(),
+            new JsonSerializer(adapter.convert(mapped)).serialize()
+        );
+    }
+
+    /**
+     * Testing access to children in any order.
+     * @param temp A temporary directory
+     * @throws IOException If the file could not be mapped
+     */
+    @Test
+    public void testRandomAccess(@TempDir final Path temp) throws IOException {
+        final Node[] children = new Node[MappedDeserializerTest.WIDTH];
+        for (int index = 0; index < children.length; index = index + 1) {
+            children[index] = MappedDeserializerTest.create(
+                "Item",
+                String.valueOf(index),
+                MappedDeserializerTest.create(MappedDeserializerTest.LEAF, "")
+            );
+        }
+        children[1] = EmptyTree.INSTANCE;
+        final Node root = MappedDeserializerTest.map(
+            temp, MappedDeserializerTest.create("List", "", children)
+        );
+        final int middle = MappedDeserializerTest.WIDTH / 2;
+        Assertions.assertEquals(String.valueOf(middle), root.getChild(middle).getData());
+        Assertions.assertEquals(root.getChild(middle), root.getChild(middle));
+        Assertions.assertSame(EmptyTree.INSTANCE, root.getChild(1));
+        for (int index = children.length - 1; index > 1; index = index - 1) {
+            final Node child = root.getChild(index);
+            Assertions.assertEquals(String.valueOf(index), child.getData());
+            Assertions.assertEquals(MappedDeserializerTest.LEAF, child.getChild(0).getTypeName());
+        }
+        Assertions.assertSame(children[0].getType(), root.getChild(0).getType());
+        Assertions.assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> root.getChild(MappedDeserializerTest.WIDTH)
+        );
+    }
+
+    /**
+     * Testing passes over children in which each child is accessed twice,
+     * as matchers do when they check a node and then extract its children.
+     * @param temp A temporary directory
+     * @throws IOException If the file could not be mapped
+     */
+    @Test
+    public void testRepeatedPasses(@TempDir final Path temp) throws IOException {
+        final Node[] children = new Node[MappedDeserializerTest.WIDTH];
+        for (int index = 0; index < children.length; index = index + 1) {
+            children[index] = MappedDeserializerTest.create(
+                MappedDeserializerTest.LEAF, String.valueOf(index)
+            );
+        }
+        final Node root = MappedDeserializerTest.map(
+            temp, MappedDeserializerTest.create("List", "", children)
+        );
+        for (int pass = 0; pass < 2; pass = pass + 1) {
+            for (int index = 0; index < children.length; index = index + 1) {
+                final Node child = root.getChild(index);
+                Assertions.assertEquals(String.valueOf(index), child.getData());
+                Assertions.assertEquals(child, root.getChild(index));
+            }
+        }
+        Assertions.assertEquals("2", root.getChild(2).getData());
+        Assertions.assertEquals("1", root.getChild(1).getData());
+    }
+
+    /**
+     * Testing a deep chain.
+     * @param temp A temporary directory
+     * @throws IOException If the file could not be mapped
+     */
+    @Test
+    public void testDeepChain(@TempDir final Path temp) throws IOException {
+        Node tree = MappedDeserializerTest.create("End", "0");
+        for (int index = 0; index < MappedDeserializerTest.DEPTH; index = index + 1) {
+            tree = MappedDeserializerTest.create(MappedDeserializerTest.CHAIN, "", tree);
+        }
+        Node node = MappedDeserializerTest.map(temp, tree);
+        for (int index = 0; index < MappedDeserializerTest.DEPTH; index = index + 1) {
+            Assertions.assertEquals(MappedDeserializerTest.CHAIN, node.getTypeName());
+            node = node.getChild(0);
+        }
+        Assertions.assertEquals("0", node.getData());
+    }
+
+    /**
+     * Testing that a file in another format is reported.
+     * @param temp A temporary directory
+     * @throws IOException If the file could not be written
+     */
+    @Test
+    public void testWrongFormat(@TempDir final Path temp) throws IOException {
+        final Path file = temp.resolve(MappedDeserializerTest.FILE);
+        Files.write(file, "{\"root\": {}}".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThrows(
+            IOException.class,
+            () -> new MappedDeserializer(file).convert()
+        );
+    }
+
+    /**
+     * Writes a tree to a binary file and maps the file.
+     * @param temp A temporary directory
+     * @param tree The tree
+     * @return The mapped tree
+     * @throws IOException If the file could not be written or mapped
+     */
+    private static Node map(final Path temp, final Node tree) throws IOException {
+        final Path file = temp.resolve(MappedDeserializerTest.FILE);
+        try (OutputStream stream = Files.newOutputStream(file)) {
+            TreeFormat.BINARY.write(tree, stream, false);
+        }
+        return new MappedDeserializer(file).convert();
+    }
+
+    /**
+     * Creates a draft node.
+     * @param type The node type
+     * @param data The node data
+     * @param children The children
+     * @return The node
+     */
+    private static Node create(final String type, final String data,
+        final Node... children) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName(type);
+        ctor.setData(data);
+        ctor.setChildrenList(Arrays.asList(children));
+        return ctor.createNode();
+    }
+}
@@ -23,12 +23,15 @@
  */
 package org.cqfn.astgen.interpreter;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import org.cqfn.astgen.base.Captures;
 import org.cqfn.astgen.base.DraftNode;
 import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.base.TypeTable;
 import org.cqfn.astgen.rules.Descriptor;
 import org.cqfn.astgen.rules.DescriptorFactory;
 import org.cqfn.astgen.rules.Hole;
@@ -124,6 +127,31 @@ public class MatcherTest {
         Assertions.assertEquals(data, collection.get(0));
     }
 
+    /**
+     * Testing that a matcher created before the table of draft node types
+     * was cleared still matches nodes with types taken after that, and does not
+     * match nodes of other types.
+     */
+    @Test
+    public void testTypeTableCleared() {
+        final String type = "Return";
+        final LabelFactory labels = new LabelFactory();
+        final Matcher matcher = new Matcher(
+            new DescriptorFactory(labels.getLabel(), type).createDescriptor()
+        );
+        TypeTable.INSTANCE.clear();
+        DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName(type);
+        Assertions.assertTrue(
+            matcher.match(ctor.createNode(), Collections.emptyMap(), Collections.emptyMap())
+        );
+        ctor = new DraftNode.Constructor();
+        ctor.setName("Break");
+        Assertions.assertFalse(
+            matcher.match(ctor.createNode(), Collections.emptyMap(), Collections.emptyMap())
+        );
+    }
+
     /**
      * Testing the case when the descriptor contains another descriptor that contains
      * a data represented as a string.
@@ -178,4 +206,37 @@ public class MatcherTest {
         Assertions.assertTrue(extracted.containsKey(1));
         Assertions.assertEquals(data, extracted.get(1).get(0).getData());
     }
+
+    /**
+     * Testing that nothing is written to the frame if the data and the first child
+     * are extracted, but the second child does not match.
+     */
+    @Test
+    public void testNoCapturesOnMismatch() {
+        DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName("name");
+        final Node first = ctor.createNode();
+        ctor = new DraftNode.Constructor();
+        ctor.setName("value");
+        ctor.setData("1");
+        final Node second = ctor.createNode();
+        ctor = new DraftNode.Constructor();
+        final String type = "assignment";
+        ctor.setName(type);
+        ctor.setData("=");
+        ctor.setChildrenList(Arrays.asList(first, second));
+        final Node node = ctor.createNode();
+        final LabelFactory labels = new LabelFactory();
+        DescriptorFactory factory = new DescriptorFactory(labels.getLabel(), "value");
+        factory.setData(new StringData("2"));
+        final Descriptor value = factory.createDescriptor();
+        factory = new DescriptorFactory(labels.getLabel(), type);
+        factory.setData(new Hole(0, HoleAttribute.NONE));
+        factory.addParameter(new Hole(1, HoleAttribute.NONE));
+        factory.addParameter(value);
+        final Captures captures = new Captures(2);
+        Assertions.assertFalse(new Matcher(factory.createDescriptor()).match(node, captures));
+        Assertions.assertFalse(captures.hasData(0));
+        Assertions.assertTrue(captures.getChildren(1).isEmpty());
+    }
 }
@@ -0,0 +1,258 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.cqfn.astgen.base.DraftNode;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.base.ParallelAdapter;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the {@link ParallelAdapter} class.
+ *
+ * @since 1.0
+ */
+public class ParallelAdapterTest {
+    /**
+     * The number of threads.
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * The number of random trees.
+     */
+    private static final int TREES = 8;
+
+    /**
+     * The maximum depth of nested blocks in random trees.
+     */
+    private static final int BLOCKS = 6;
+
+    /**
+     * The maximum number of children of a block.
+     */
+    private static final int FANOUT = 5;
+
+    /**
+     * The thresholds, from one task per node to one task for the whole tree.
+     */
+    private static final int[] THRESHOLDS = {1, 5, 64, Integer.MAX_VALUE};
+
+    /**
+     * The threshold for the deep chain.
+     */
+    private static final int SMALL = 16;
+
+    /**
+     * The bound of literal values.
+     */
+    private static final int VALUES = 100;
+
+    /**
+     * The maximum number of conversion passes.
+     */
+    private static final int PASSES = 3;
+
+    /**
+     * The depth of the chain.
+     */
+    private static final int DEPTH = 100_000;
+
+    /**
+     * The type of chain nodes.
+     */
+    private static final String CHAIN = "Chain";
+
+    /**
+     * The rules, some of them are applied only on the second or the third pass.
+     */
+    private static final String RULES = String.join(
+        "\n",
+        "Addition(Literal<#1>, Literal<#2>) -> Sum(IntegerLiteral<#1>, IntegerLiteral<#2>);",
+        "Statement(Sum(#1, #2)) -> Expression(Sum(#2, #1));",
+        "Statement(Literal<#1>) -> Expression(Negation(IntegerLiteral<#1>));",
+        "Block(Expression(#1), Expression(#2)) -> Pair(#1, #2);",
+        "Pair(#1, #2) -> Couple(#2, #1);",
+        "Couple(Sum(#1, #2), #3) -> Block(#3);",
+        "Chain(Leaf) -> Link(Item);",
+        "Chain(Link(#1)) -> Link(Link(#1));"
+    );
+
+    /**
+     * Converts random trees with different thresholds, the results must be the same
+     * as the results of the sequential adapter.
+     * @throws BaseException If the rules could not be parsed
+     */
+    @Test
+    public void testSameResultsAsSequential() throws BaseException {
+        final Adapter adapter = ParallelAdapterTest.createAdapter();
+        final ForkJoinPool pool = new ForkJoinPool(ParallelAdapterTest.THREADS);
+        final Random random = new Random(0);
+        try {
+            for (int seed = 0; seed < ParallelAdapterTest.TREES; seed = seed + 1) {
+                final Node tree =
+                    ParallelAdapterTest.createTree(random, ParallelAdapterTest.BLOCKS);
+                final String expected = new JsonSerializer(
+                    adapter.convert(tree, ParallelAdapterTest.PASSES)
+                ).serialize();
+                Assertions.assertTrue(expected.contains("Expression"));
+                for (final int threshold : ParallelAdapterTest.THRESHOLDS) {
+                    final Node result = new ParallelAdapter(adapter, pool, threshold)
+                        .convert(tree, ParallelAdapterTest.PASSES);
+                    Assertions.assertEquals(expected, new JsonSerializer(result).serialize());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Converts a deep chain, where almost all nodes are above the chunks.
+     * @throws BaseException If the rules could not be parsed
+     */
+    @Test
+    public void testDeepChain() throws BaseException {
+        Node tree = ParallelAdapterTest.create("Leaf");
+        for (int index = 0; index < ParallelAdapterTest.DEPTH; index = index + 1) {
+            tree = ParallelAdapterTest.create(ParallelAdapterTest.CHAIN, tree);
+        }
+        final Adapter adapter = ParallelAdapterTest.createAdapter();
+        final ForkJoinPool pool = new ForkJoinPool(ParallelAdapterTest.THREADS);
+        try {
+            Node result = new ParallelAdapter(adapter, pool, ParallelAdapterTest.SMALL)
+                .convert(tree);
+            for (int index = 0; index < ParallelAdapterTest.DEPTH; index = index + 1) {
+                Assertions.assertEquals("Link", result.getType().getName());
+                result = result.getChild(0);
+            }
+            Assertions.assertEquals("Item", result.getType().getName());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Checks that a threshold that is not positive is rejected.
+     * @throws BaseException If the rules could not be parsed
+     */
+    @Test
+    public void testThresholdNotPositive() throws BaseException {
+        final Adapter adapter = ParallelAdapterTest.createAdapter();
+        final ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new ParallelAdapter(adapter, pool, 0)
+            );
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Creates the adapter.
+     * @return The adapter
+     * @throws BaseException If the rules could not be parsed
+     */
+    private static Adapter createAdapter() throws BaseException {
+        return new Adapter(
+            new ProgramParser(ParallelAdapterTest.RULES).parse().getTransformations()
+        );
+    }
+
+    /**
+     * Creates a random tree of nested blocks.
+     * @param random The random generator
+     * @param depth The maximum depth of blocks
+     * @return The root node
+     */
+    private static Node createTree(final Random random, final int depth) {
+        final int count = random.nextInt(ParallelAdapterTest.FANOUT) + 1;
+        final List<Node> children = new ArrayList<>(count);
+        for (int index = 0; index < count; index = index + 1) {
+            if (depth > 0 && random.nextBoolean()) {
+                children.add(ParallelAdapterTest.createTree(random, depth - 1));
+            } else {
+                children.add(ParallelAdapterTest.createStatement(random));
+            }
+        }
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName("Block");
+        ctor.setChildrenList(children);
+        return ctor.createNode();
+    }
+
+    /**
+     * Creates a random statement.
+     * @param random The random generator
+     * @return The node
+     */
+    private static Node createStatement(final Random random) {
+        final Node literal = ParallelAdapterTest.createLiteral(random);
+        final Node expression;
+        if (random.nextBoolean()) {
+            expression = ParallelAdapterTest.create(
+                "Addition", literal, ParallelAdapterTest.createLiteral(random)
+            );
+        } else {
+            expression = literal;
+        }
+        return ParallelAdapterTest.create("Statement", expression);
+    }
+
+    /**
+     * Creates a random literal.
+     * @param random The random generator
+     * @return The node
+     */
+    private static Node createLiteral(final Random random) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName("Literal");
+        final int value = random.nextInt(ParallelAdapterTest.VALUES);
+        ctor.setData(String.valueOf(value));
+        return ctor.createNode();
+    }
+
+    /**
+     * Creates a node without data.
+     * @param name The type name
+     * @param children The children
+     * @return The node
+     */
+    private static Node create(final String name, final Node... children) {
+        final DraftNode.Constructor ctor = new DraftNode.Constructor();
+        ctor.setName(name);
+        ctor.setChildrenList(Arrays.asList(children));
+        return ctor.createNode();
+    }
+}
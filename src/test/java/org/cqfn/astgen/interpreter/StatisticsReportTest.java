@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.cqfn.astgen.Main;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test that covers {@link StatisticsReport} class.
+ *
+ * @since 1.0
+ */
+public class StatisticsReportTest {
+    /**
+     * The path to test resources.
+     */
+    private static final String PATH = "src/test/resources/interpreter/test_0";
+
+    /**
+     * The name of the 'matches' property.
+     */
+    private static final String MATCHES = "matches";
+
+    /**
+     * Test that writes the JSON report, rules are listed in the order of the DSL.
+     * @param temp A temporary directory
+     * @throws IOException If the report could not be read
+     * @throws BaseException If the conversion fails
+     */
+    @Test
+    public void testJsonReport(@TempDir final Path temp) throws IOException, BaseException {
+        final Path report = temp.resolve("stats.json");
+        Main.main(StatisticsReportTest.arguments(temp, report));
+        final JsonObject root = JsonParser.parseString(
+            new String(Files.readAllBytes(report), StandardCharsets.UTF_8)
+        ).getAsJsonObject();
+        Assertions.assertEquals(1, root.get("trees").getAsLong());
+        final JsonArray rules = root.getAsJsonArray("rules");
+        Assertions.assertEquals(2, rules.size());
+        final JsonObject addition = rules.get(0).getAsJsonObject();
+        Assertions.assertTrue(addition.get("rule").getAsString().contains("Addition"));
+        Assertions.assertEquals(1, addition.get("attempts").getAsLong());
+        Assertions.assertEquals(1, addition.get(StatisticsReportTest.MATCHES).getAsLong());
+        Assertions.assertEquals(1, addition.get("rewrites").getAsLong());
+        Assertions.assertEquals(
+            2,
+            rules.get(1).getAsJsonObject().get(StatisticsReportTest.MATCHES).getAsLong()
+        );
+    }
+
+    /**
+     * Test that writes the text report.
+     * @param temp A temporary directory
+     * @throws IOException If the report could not be read
+     * @throws BaseException If the conversion fails
+     */
+    @Test
+    public void testTextReport(@TempDir final Path temp) throws IOException, BaseException {
+        final Path report = temp.resolve("stats.txt");
+        Main.main(StatisticsReportTest.arguments(temp, report));
+        final String text = new String(Files.readAllBytes(report), StandardCharsets.UTF_8);
+        Assertions.assertTrue(text.startsWith("Trees: 1,"));
+        Assertions.assertTrue(text.contains("Modifier"));
+    }
+
+    /**
+     * Builds command-line arguments for the conversion with statistics.
+     * @param temp A temporary directory
+     * @param report The file of the report
+     * @return The arguments
+     */
+    private static String[] arguments(final Path temp, final Path report) {
+        return new String[] {
+            "--action",
+            "convert",
+            "--rules",
+            StatisticsReportTest.PATH.concat("_rules.dsl"),
+            "--source",
+            StatisticsReportTest.PATH.concat("_source_tree.json"),
+            "--destination",
+            temp.resolve("result.json").toString(),
+            "--stats",
+            report.toString(),
+        };
+    }
+}
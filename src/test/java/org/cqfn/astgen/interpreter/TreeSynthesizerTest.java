@@ -0,0 +1,289 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 Ivan Kniazkov
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.astgen.interpreter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.cqfn.astgen.Main;
+import org.cqfn.astgen.base.Node;
+import org.cqfn.astgen.exceptions.BaseException;
+import org.cqfn.astgen.exceptions.InterpreterCouldNotSynthesizeTree;
+import org.cqfn.astgen.parser.ProgramParser;
+import org.cqfn.astgen.rules.Program;
+import org.cqfn.astgen.utils.FilesReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test for the {@link TreeSynthesizer} class.
+ *
+ * @since 1.0
+ */
+public class TreeSynthesizerTest {
+    /**
+     * The file with rules.
+     */
+    private static final String RULES = "src/test/resources/interpreter/synthesis.dsl";
+
+    /**
+     * The type of assignments.
+     */
+    private static final String ASSIGNMENT = "Assignment";
+
+    /**
+     * The type of additions.
+     */
+    private static final String ADDITION = "Addition";
+
+    /**
+     * The number of nodes.
+     */
+    private static final int SIZE = 5000;
+
+    /**
+     * The maximum depth.
+     */
+    private static final int DEPTH = 7;
+
+    /**
+     * The maximum number of elements of lists.
+     */
+    private static final int FANOUT = 4;
+
+    /**
+     * Checks the size and the depth of a tree, and that nodes satisfy the rules.
+     * @throws Exception If fails
+     */
+    @Test
+    public void testSizeAndDepth() throws Exception {
+        final Settings settings = new Settings(TreeSynthesizerTest.SIZE, "");
+        final StringWriter output = new StringWriter();
+        final long count = new TreeSynthesizer(TreeSynthesizerTest.parse(), settings)
+            .synthesize(output, false);
+        Assertions.assertTrue(count >= TreeSynthesizerTest.SIZE);
+        final Node root = new JsonDeserializer(output.toString()).convert();
+        Assertions.assertEquals("Program", root.getTypeName());
+        Assertions.assertEquals(count, TreeSynthesizerTest.checkTree(root));
+    }
+
+    /**
+     * Checks that the same seed gives the same tree.
+     * @throws Exception If fails
+     */
+    @Test
+    public void testReproducibility() throws Exception {
+        final Settings settings = new Settings(TreeSynthesizerTest.SIZE, "");
+        final TreeSynthesizer synthesizer =
+            new TreeSynthesizer(TreeSynthesizerTest.parse(), settings);
+        final StringWriter first = new StringWriter();
+        synthesizer.synthesize(first, true);
+        final StringWriter second = new StringWriter();
+        synthesizer.synthesize(second, true);
+        Assertions.assertEquals(first.toString(), second.toString());
+    }
+
+    /**
+     * Checks the root that does not fit in the depth and the unknown root.
+     * @throws BaseException If the rules could not be parsed
+     */
+    @Test
+    public void testImpossibleRoot() throws BaseException {
+        final Program program = TreeSynthesizerTest.parse();
+        final Settings settings = new Settings(1, TreeSynthesizerTest.ASSIGNMENT);
+        settings.depth = 1;
+        Assertions.assertThrows(
+            InterpreterCouldNotSynthesizeTree.class,
+            () -> new TreeSynthesizer(program, settings).synthesize(new StringWriter(), false)
+        );
+        settings.depth = 2;
+        Assertions.assertDoesNotThrow(
+            () -> new TreeSynthesizer(program, settings).synthesize(new StringWriter(), false)
+        );
+        Assertions.assertThrows(
+            InterpreterCouldNotSynthesizeTree.class,
+            () -> new TreeSynthesizer(program, new Settings(1, "Unknown")).run()
+        );
+    }
+
+    /**
+     * Synthesizes a tree from the command line.
+     * @param temp The temporary directory
+     * @throws IOException If the tree could not be read
+     * @throws BaseException If fails
+     */
+    @Test
+    public void testAction(@TempDir final Path temp) throws IOException, BaseException {
+        final Path dst = temp.resolve("synthesized.json");
+        Main.main(
+            "--action", "synthesize",
+            "--rules", TreeSynthesizerTest.RULES,
+            "--destination", dst.toString(),
+            "--root", TreeSynthesizerTest.ADDITION,
+            "--size", "100",
+            "--depth", "5",
+            "--seed", "42"
+        );
+        final Node root = new JsonDeserializer(
+            new FilesReader(dst.toString()).readAsString()
+        ).convert();
+        Assertions.assertEquals(TreeSynthesizerTest.ADDITION, root.getTypeName());
+    }
+
+    /**
+     * Checks the depth of a tree and that all nodes satisfy the rules.
+     * @param root The root node
+     * @return The number of nodes
+     */
+    private static long checkTree(final Node root) {
+        final Deque<Node> nodes = new ArrayDeque<>();
+        final Deque<Integer> levels = new ArrayDeque<>();
+        nodes.push(root);
+        levels.push(1);
+        long count = 0;
+        while (!nodes.isEmpty()) {
+            final Node node = nodes.pop();
+            final int level = levels.pop();
+            Assertions.assertTrue(level <= TreeSynthesizerTest.DEPTH);
+            TreeSynthesizerTest.check(node);
+            for (int index = 0; index < node.getChildCount(); index = index + 1) {
+                nodes.push(node.getChild(index));
+                levels.push(level + 1);
+            }
+            count = count + 1;
+        }
+        return count;
+    }
+
+    /**
+     * Checks that a node satisfies the rules.
+     * @param node The node
+     */
+    private static void check(final Node node) {
+        switch (node.getTypeName()) {
+            case TreeSynthesizerTest.ASSIGNMENT:
+                Assertions.assertEquals(2, node.getChildCount());
+                Assertions.assertEquals("Identifier", node.getChild(0).getTypeName());
+                break;
+            case TreeSynthesizerTest.ADDITION:
+                Assertions.assertEquals(2, node.getChildCount());
+                break;
+            case "Return":
+                Assertions.assertTrue(node.getChildCount() <= 1);
+                break;
+            case "IntegerLiteral":
+                Assertions.assertDoesNotThrow(() -> Integer.parseInt(node.getData()));
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Parses the rules.
+     * @return The program
+     * @throws BaseException If the rules could not be parsed
+     */
+    private static Program parse() throws BaseException {
+        String code = "";
+        try {
+            code = new FilesReader(TreeSynthesizerTest.RULES).readAsString();
+        } catch (final IOException ignored) {
+            Assertions.fail("Could not read the rules");
+        }
+        return new ProgramParser(code).parse();
+    }
+
+    /**
+     * The options of the synthesis.
+     *
+     * @since 1.0
+     */
+    private static final class Settings implements SynthesisOptions {
+        /**
+         * The number of nodes.
+         */
+        private final int size;
+
+        /**
+         * The type of the root node.
+         */
+        private final String root;
+
+        /**
+         * The maximum depth.
+         */
+        private int depth;
+
+        /**
+         * Constructor.
+         * @param size The number of nodes
+         * @param root The type of the root node
+         */
+        Settings(final int size, final String root) {
+            this.size = size;
+            this.root = root;
+            this.depth = TreeSynthesizerTest.DEPTH;
+        }
+
+        @Override
+        public File getDestination() {
+            return new File("");
+        }
+
+        @Override
+        public boolean isCompact() {
+            return true;
+        }
+
+        @Override
+        public int getSize() {
+            return this.size;
+        }
+
+        @Override
+        public int getDepth() {
+            return this.depth;
+        }
+
+        @Override
+        public int getFanout() {
+            return TreeSynthesizerTest.FANOUT;
+        }
+
+        @Override
+        public long getSeed() {
+            return 1;
+        }
+
+        @Override
+        public String getRoot() {
+            return this.root;
+        }
+    }
+}